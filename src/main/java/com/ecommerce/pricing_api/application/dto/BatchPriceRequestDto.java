@@ -0,0 +1,24 @@
+package com.ecommerce.pricing_api.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object representing the request payload for resolving many prices at once.
+ *
+ * @param items the price lines to resolve, between 1 and {@value #MAX_ITEMS}
+ */
+public record BatchPriceRequestDto(
+        @NotEmpty
+        @Size(max = BatchPriceRequestDto.MAX_ITEMS)
+        List<@Valid @NotNull PriceQueryDto> items
+) {
+    /**
+     * Maximum number of lines accepted in a single batch request.
+     */
+    public static final int MAX_ITEMS = 500;
+}
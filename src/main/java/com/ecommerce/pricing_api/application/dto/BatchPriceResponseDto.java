@@ -0,0 +1,12 @@
+package com.ecommerce.pricing_api.application.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object representing the response payload of a batch price request.
+ *
+ * @param results one result per requested line, in the same order as the request
+ */
+public record BatchPriceResponseDto(
+        List<BatchPriceResultDto> results
+) {}
@@ -0,0 +1,20 @@
+package com.ecommerce.pricing_api.application.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object representing the outcome of a single line of a batch price request.
+ *
+ * @param productId       the identifier of the requested product
+ * @param brandId         the identifier of the requested brand
+ * @param applicationDate the requested application date
+ * @param status          the HTTP-like status of the line: 200 if a price was found, 404 otherwise
+ * @param price           the applicable price, or {@code null} if none was found
+ */
+public record BatchPriceResultDto(
+        Long productId,
+        Long brandId,
+        LocalDateTime applicationDate,
+        int status,
+        ApplicablePriceResponseDto price
+) {}
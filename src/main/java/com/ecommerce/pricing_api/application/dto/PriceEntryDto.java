@@ -0,0 +1,45 @@
+package com.ecommerce.pricing_api.application.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object representing a price entry to write, with the same fields as a row of the price table.
+ *
+ * @param id        the identifier of the entry, replacing the stored entry with the same identifier if any
+ * @param brandId   the identifier of the brand
+ * @param startDate the date and time from which the price applies (ISO-8601 format)
+ * @param endDate   the date and time until which the price applies (ISO-8601 format)
+ * @param priceList the identifier of the price list
+ * @param productId the identifier of the product
+ * @param priority  the priority of the entry over overlapping entries, the highest wins
+ * @param price     the final price
+ * @param currency  the ISO 4217 code of the currency
+ */
+public record PriceEntryDto(
+        @NotNull Long id,
+        @NotNull Long brandId,
+        @NotNull LocalDateTime startDate,
+        @NotNull LocalDateTime endDate,
+        @NotNull Long priceList,
+        @NotNull Long productId,
+        @NotNull Long priority,
+        @NotNull @PositiveOrZero BigDecimal price,
+        @NotNull @Size(min = 3, max = 3) String currency
+) {
+
+    /**
+     * Tells whether the entry starts before or when it ends. Missing dates are reported by their own constraints.
+     *
+     * @return {@code true} if the period is valid or incomplete
+     */
+    @AssertTrue(message = "startDate must not be after endDate")
+    public boolean isPeriodValid() {
+        return startDate == null || endDate == null || !startDate.isAfter(endDate);
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.pricing_api.application.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object representing a single line of a batch price request.
+ *
+ * @param productId       the identifier of the product
+ * @param brandId         the identifier of the brand
+ * @param applicationDate the date and time for which the price should be calculated (ISO-8601 format)
+ */
+public record PriceQueryDto(
+        @NotNull Long productId,
+        @NotNull Long brandId,
+        @NotNull LocalDateTime applicationDate
+) {}
@@ -0,0 +1,12 @@
+package com.ecommerce.pricing_api.application.dto;
+
+/**
+ * Data Transfer Object representing the outcome of a price write.
+ *
+ * @param entries the number of entries written or deleted
+ * @param keys    the number of product and brand pairs whose cached prices were invalidated
+ */
+public record PriceWriteResponseDto(
+        long entries,
+        int keys
+) {}
@@ -1,13 +1,17 @@
 package com.ecommerce.pricing_api.application.mapper;
 
 import com.ecommerce.pricing_api.application.dto.ApplicablePriceResponseDto;
+import com.ecommerce.pricing_api.application.dto.BatchPriceResultDto;
+import com.ecommerce.pricing_api.application.dto.PriceQueryDto;
 import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceQuery;
 
 import java.util.Optional;
 
 /**
  * Mapper utility for converting domain {@link ApplicablePrice} instances
- * into transport-friendly {@link ApplicablePriceResponseDto} instances.
+ * into transport-friendly {@link ApplicablePriceResponseDto} instances,
+ * and batch request lines from and to their domain counterparts.
  */
 public class ApplicablePriceMapper {
 
@@ -16,7 +20,7 @@ public class ApplicablePriceMapper {
      * {@link Optional} of {@link ApplicablePriceResponseDto} suitable for API responses.
      * <p>
      * If the provided {@link Optional} is empty, this method returns an empty {@link Optional}.
-     * Otherwise, maps all non-null fields, providing sensible defaults where necessary.
+     * Otherwise, maps every available field, leaving unavailable ones {@code null}.
      * </p>
      *
      * @param price the {@link Optional} domain object containing detailed pricing information
@@ -24,13 +28,36 @@ public class ApplicablePriceMapper {
      */
     public static Optional<ApplicablePriceResponseDto> toDto(Optional<ApplicablePrice> price) {
         return price.map(p -> new ApplicablePriceResponseDto(
-                p.productId().orElse(null),
-                p.brandId().orElse(null),
-                p.priceList().orElse(null),
-                p.startDate().orElse(null),
-                p.endDate().orElse(null),
-                p.price().orElse(null),
-                p.currency().orElse(null)
+                p.has(ApplicablePrice.PRODUCT_ID) ? p.productId() : null,
+                p.has(ApplicablePrice.BRAND_ID) ? p.brandId() : null,
+                p.has(ApplicablePrice.PRICE_LIST) ? p.priceList() : null,
+                p.startDate(),
+                p.endDate(),
+                p.price(),
+                p.currency()
         ));
     }
+
+    /**
+     * Transforms a batch request line into its domain {@link PriceQuery}.
+     *
+     * @param dto the requested line
+     * @return the corresponding domain query
+     */
+    public static PriceQuery toQuery(PriceQueryDto dto) {
+        return new PriceQuery(dto.productId(), dto.brandId(), dto.applicationDate());
+    }
+
+    /**
+     * Builds the result of a batch request line from its query and resolved price.
+     *
+     * @param query the resolved query
+     * @param price the applicable price, or empty if none was found
+     * @return a result with status 200 and the price, or status 404 and no price
+     */
+    public static BatchPriceResultDto toBatchResultDto(PriceQuery query, Optional<ApplicablePrice> price) {
+        return toDto(price)
+                .map(dto -> new BatchPriceResultDto(query.productId(), query.brandId(), query.applicationDate(), 200, dto))
+                .orElseGet(() -> new BatchPriceResultDto(query.productId(), query.brandId(), query.applicationDate(), 404, null));
+    }
 }
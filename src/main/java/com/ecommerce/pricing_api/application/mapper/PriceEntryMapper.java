@@ -0,0 +1,43 @@
+package com.ecommerce.pricing_api.application.mapper;
+
+import com.ecommerce.pricing_api.application.dto.PriceEntryDto;
+import com.ecommerce.pricing_api.application.dto.PriceWriteResponseDto;
+import com.ecommerce.pricing_api.domain.model.PriceChange;
+import com.ecommerce.pricing_api.domain.model.PriceEntry;
+
+/**
+ * Mapper utility for converting written {@link PriceEntryDto} instances into domain {@link PriceEntry} instances,
+ * and the resulting {@link PriceChange} into a {@link PriceWriteResponseDto}.
+ */
+public class PriceEntryMapper {
+
+    /**
+     * Transforms a written entry into its domain {@link PriceEntry}.
+     *
+     * @param dto the written entry
+     * @return the corresponding domain entry
+     */
+    public static PriceEntry toEntry(PriceEntryDto dto) {
+        return new PriceEntry(
+                dto.id(),
+                dto.brandId(),
+                dto.startDate(),
+                dto.endDate(),
+                dto.priceList(),
+                dto.productId(),
+                dto.priority(),
+                dto.price(),
+                dto.currency()
+        );
+    }
+
+    /**
+     * Summarizes a write for API responses.
+     *
+     * @param change the entries written and the keys they changed
+     * @return the corresponding response
+     */
+    public static PriceWriteResponseDto toResponseDto(PriceChange change) {
+        return new PriceWriteResponseDto(change.entries(), change.keys().size());
+    }
+}
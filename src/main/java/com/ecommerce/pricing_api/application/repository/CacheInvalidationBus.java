@@ -0,0 +1,34 @@
+package com.ecommerce.pricing_api.application.repository;
+
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import reactor.core.publisher.Mono;
+
+/**
+ * Broadcasts price cache invalidations to every running node.
+ * <p>
+ * Nodes keep price timelines in process, so a change to the prices of a product must be propagated to all of
+ * them rather than waiting for the local entries to expire. Published invalidations are applied to the local
+ * caches of every node, including the publishing one. They do not touch the shared cache, which the
+ * publisher is expected to update or evict itself.
+ * </p>
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Evicts the cached timeline of a single product and brand on every node.
+     *
+     * @param key the product and brand whose prices changed
+     * @return a {@link Mono} that completes once the invalidation is published,
+     *         or emits an error if it could not be published
+     */
+    Mono<Void> evict(PriceKey key);
+
+    /**
+     * Evicts the cached timelines of every product of a brand on every node.
+     *
+     * @param brandId the brand whose prices changed
+     * @return a {@link Mono} that completes once the invalidation is published,
+     *         or emits an error if it could not be published
+     */
+    Mono<Void> evictBrand(Long brandId);
+}
@@ -0,0 +1,77 @@
+package com.ecommerce.pricing_api.application.repository;
+
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+
+import java.util.Optional;
+
+/**
+ * Result of a single cache lookup for a product and brand key.
+ * <p>
+ * Distinguishes between a key whose {@link PriceTimeline} is cached ({@link Status#HIT}), a key
+ * that is not cached at all ({@link Status#MISS}) and a key cached as having no prices
+ * ({@link Status#EMPTY}), so callers can tell all three apart with one round trip.
+ * </p>
+ * <p>
+ * A hit may be flagged as stale when the cached entry is past its soft expiry but not yet gone: the timeline
+ * is still served, while the caller reloads the key in the background.
+ * </p>
+ *
+ * @param status   the outcome of the lookup
+ * @param timeline the cached timeline, present only when {@code status} is {@link Status#HIT}
+ * @param stale    whether the cached timeline is past its soft expiry and should be revalidated
+ */
+public record CacheLookup(Status status, Optional<PriceTimeline> timeline, boolean stale) {
+
+    /**
+     * Possible outcomes of a cache lookup.
+     */
+    public enum Status {
+        /** The key is cached with a timeline holding at least one segment. */
+        HIT,
+        /** The key is not cached. */
+        MISS,
+        /** The key is cached as known to have no prices. */
+        EMPTY
+    }
+
+    private static final CacheLookup MISS = new CacheLookup(Status.MISS, Optional.empty(), false);
+    private static final CacheLookup KNOWN_EMPTY = new CacheLookup(Status.EMPTY, Optional.empty(), false);
+
+    /**
+     * Creates a lookup result for a cached timeline.
+     *
+     * @param timeline the cached timeline
+     * @return a {@link Status#HIT}, or {@link Status#EMPTY} if the timeline has no segments
+     */
+    public static CacheLookup of(PriceTimeline timeline) {
+        return timeline.segments().isEmpty() ? KNOWN_EMPTY : new CacheLookup(Status.HIT, Optional.of(timeline), false);
+    }
+
+    /**
+     * Creates a lookup result for a cached timeline past its soft expiry.
+     *
+     * @param timeline the cached timeline
+     * @return a stale {@link Status#HIT}, or {@link Status#EMPTY} if the timeline has no segments
+     */
+    public static CacheLookup stale(PriceTimeline timeline) {
+        return timeline.segments().isEmpty() ? KNOWN_EMPTY : new CacheLookup(Status.HIT, Optional.of(timeline), true);
+    }
+
+    /**
+     * Returns the lookup result for a key that is not cached.
+     *
+     * @return a {@link Status#MISS} result
+     */
+    public static CacheLookup miss() {
+        return MISS;
+    }
+
+    /**
+     * Returns the lookup result for a key cached as having no prices.
+     *
+     * @return a {@link Status#EMPTY} result
+     */
+    public static CacheLookup knownEmpty() {
+        return KNOWN_EMPTY;
+    }
+}
@@ -1,47 +1,99 @@
 package com.ecommerce.pricing_api.application.repository;
 
 import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
-import reactor.core.publisher.Flux;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
 
 /**
- * Repository abstraction for caching {@link ApplicablePrice} data.
+ * Repository abstraction for caching {@link PriceTimeline} data.
  * <p>
- * Provides reactive methods to save and retrieve lists of applicable prices
- * using a simple key-based cache.
+ * Provides reactive methods to save and retrieve the pre-resolved price timeline
+ * of a product and brand using a simple key-based cache. Keys known to have no prices
+ * can be cached as well, so repeated lookups of unknown products do not reach the database.
  * </p>
  * <p>
- * Each {@link ApplicablePrice} instance internally uses {@link java.util.Optional}
- * for handling nullable fields, ensuring safe consumption of possibly incomplete data.
+ * Each {@link ApplicablePrice} held by the timeline flags its unavailable fields in its presence
+ * bitmask, ensuring safe consumption of possibly incomplete data.
  * </p>
  */
 public interface PricesCacheRepository {
 
     /**
-     * Saves a list of {@link ApplicablePrice} entries in the cache under the given key.
+     * Saves a {@link PriceTimeline} in the cache under the given key.
      * <p>
-     * The cached entries may contain optional fields.
+     * The prices held by the timeline segments may contain unavailable fields.
      * </p>
      *
-     * @param key    the cache key under which to store the price list
-     * @param prices the list of {@link ApplicablePrice} objects to cache
+     * @param key      the cache key under which to store the timeline
+     * @param timeline the {@link PriceTimeline} to cache
      * @return a {@link Mono} that completes when the save operation is done,
      *         or emits an error if the operation fails
      */
-    Mono<Void> save(String key, List<ApplicablePrice> prices);
+    Mono<Void> save(String key, PriceTimeline timeline);
 
     /**
-     * Retrieves a list of {@link ApplicablePrice} entries from the cache for the given key.
+     * Marks the given key as known to have no prices.
      * <p>
-     * The retrieved {@link ApplicablePrice} instances may have empty optional fields
+     * Known-empty keys are kept with their own, usually shorter, time-to-live.
+     * </p>
+     *
+     * @param key the cache key to mark as empty
+     * @return a {@link Mono} that completes when the save operation is done,
+     *         or emits an error if the operation fails
+     */
+    Mono<Void> saveEmpty(String key);
+
+    /**
+     * Looks up the given key in a single round trip.
+     * <p>
+     * The retrieved {@link ApplicablePrice} instances may have unavailable fields
      * depending on the stored data.
      * </p>
      *
-     * @param key the cache key whose associated price list should be fetched
-     * @return a {@link Flux} emitting each {@link ApplicablePrice} found under the key,
-     *         or completing empty if no data is found or an error occurs
+     * @param key the cache key whose associated timeline should be fetched
+     * @return a {@link Mono} emitting a {@link CacheLookup} telling whether the key is cached with a
+     *         timeline, cached as empty, or not cached at all
+     */
+    Mono<CacheLookup> lookup(String key);
+
+    /**
+     * Looks up the given key for resolving a single date, in a single round trip.
+     * <p>
+     * On a hit, the timeline is only guaranteed to resolve {@code applicationDate} like the full timeline
+     * of the key would: layouts able to range over the stored segments return just the one covering that
+     * date. By default the full timeline is returned.
+     * </p>
+     *
+     * @param key             the cache key whose associated timeline should be fetched
+     * @param applicationDate the date the timeline will be resolved for
+     * @return a {@link Mono} emitting a {@link CacheLookup} telling whether the key is cached with a
+     *         timeline, cached as empty, or not cached at all
+     */
+    default Mono<CacheLookup> lookup(String key, LocalDateTime applicationDate) {
+        return lookup(key);
+    }
+
+    /**
+     * Looks up many keys at once, in a single round trip.
+     *
+     * @param keys the cache keys to look up
+     * @return a {@link Mono} emitting the {@link CacheLookup} of every requested key
+     */
+    Mono<Map<String, CacheLookup>> lookupAll(Collection<String> keys);
+
+    /**
+     * Removes many keys at once, in a single round trip, so their next lookups miss.
+     * <p>
+     * Used when the prices of the keys change, so the cache is reloaded from the database.
+     * </p>
+     *
+     * @param keys the cache keys to remove
+     * @return a {@link Mono} that completes when the keys are removed,
+     *         or emits an error if the operation fails
      */
-    Flux<ApplicablePrice> find(String key);
+    Mono<Void> deleteAll(Collection<String> keys);
 }
@@ -1,13 +1,23 @@
 package com.ecommerce.pricing_api.application.repository;
 
 import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceChange;
+import com.ecommerce.pricing_api.domain.model.PriceEntry;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
 
 /**
- * Repository interface for retrieving price data from the underlying database.
+ * Repository interface for retrieving and writing price data in the underlying database.
  * <p>
  * Provides a reactive API to stream all {@link ApplicablePrice} entries
- * associated with a given product and brand.
+ * associated with a given product and brand, or with many of them at once,
+ * and to resolve the applicable price of a single date directly in the database.
+ * Price entries are written and deleted in batches, each reporting the product and brand keys it changed.
  * </p>
  */
 public interface PricesDatabaseRepository {
@@ -17,7 +27,7 @@ public interface PricesDatabaseRepository {
      * <p>
      * The returned {@link Flux} emits zero or more {@link ApplicablePrice}
      * instances, each representing a price record with its validity period,
-     * priority, currency, and other details.
+     * priority, currency, and other details, in insertion order.
      * </p>
      *
      * @param productId the identifier of the product
@@ -26,4 +36,72 @@ public interface PricesDatabaseRepository {
      *         or completes empty if none are found
      */
     Flux<ApplicablePrice> findAllByProductAndBrand(Long productId, Long brandId);
+
+    /**
+     * Finds all prices in the database for every given product and brand, in a single query.
+     *
+     * @param keys the product and brand combinations to fetch
+     * @return a {@link Flux} that emits all matching {@link ApplicablePrice} records,
+     *         or completes empty if none are found
+     */
+    Flux<ApplicablePrice> findAllByProductAndBrandIn(Collection<PriceKey> keys);
+
+    /**
+     * Streams every price in the database, grouped by product and brand.
+     * <p>
+     * The prices of a product and brand are emitted consecutively, in insertion order, so a consumer can
+     * build a per-key index in a single pass without buffering the whole table.
+     * </p>
+     *
+     * @return a {@link Flux} that emits all {@link ApplicablePrice} records,
+     *         or completes empty if there are none
+     */
+    Flux<ApplicablePrice> findAll();
+
+    /**
+     * Resolves in the database the applicable price for the specified product and brand at the given date.
+     * <p>
+     * Among the prices whose validity period contains the date (both bounds inclusive), the one with the
+     * highest priority is returned; on equal priorities, the first one in insertion order wins.
+     * </p>
+     *
+     * @param productId       the identifier of the product
+     * @param brandId         the identifier of the brand
+     * @param applicationDate the date and time at which the price should be applicable
+     * @return a {@link Mono} emitting the applicable price, or completing empty if none applies
+     */
+    Mono<ApplicablePrice> findApplicable(Long productId, Long brandId, LocalDateTime applicationDate);
+
+    /**
+     * Counts the prices stored for every given product and brand, in a single query.
+     *
+     * @param keys the product and brand combinations to count
+     * @return a {@link Mono} emitting the number of prices per key; keys without prices are absent
+     */
+    Mono<Map<PriceKey, Long>> countAllByProductAndBrandIn(Collection<PriceKey> keys);
+
+    /**
+     * Finds the distinct product and brand combinations that have prices, those with the most prices first.
+     *
+     * @param limit the maximum number of keys to return, or {@code 0} for all of them
+     * @return a {@link Flux} emitting the keys by descending number of prices
+     */
+    Flux<PriceKey> findKeysByPriceCount(long limit);
+
+    /**
+     * Inserts the given entries, or replaces the stored entries with the same identifiers, in a single statement.
+     *
+     * @param entries the entries to write
+     * @return a {@link Mono} emitting the number of entries written and the keys whose prices changed: those of
+     *         the written entries, and the previous keys of the replaced ones
+     */
+    Mono<PriceChange> upsertAll(Collection<PriceEntry> entries);
+
+    /**
+     * Deletes the entries with the given identifiers, in a single statement. Unknown identifiers are ignored.
+     *
+     * @param ids the identifiers of the entries to delete
+     * @return a {@link Mono} emitting the number of entries deleted and the keys they belonged to
+     */
+    Mono<PriceChange> deleteAllById(Collection<Long> ids);
 }
@@ -3,37 +3,128 @@ package com.ecommerce.pricing_api.application.service;
 import com.ecommerce.pricing_api.application.repository.PricesCacheRepository;
 import com.ecommerce.pricing_api.application.repository.PricesDatabaseRepository;
 import com.ecommerce.pricing_api.application.usecases.ApplicablePriceUseCase;
+import com.ecommerce.pricing_api.application.usecases.CacheWarmUpUseCase;
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
 import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
-import lombok.RequiredArgsConstructor;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import com.ecommerce.pricing_api.domain.model.PriceQuery;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.domain.model.ResolvedPrice;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
- * Service implementation of {@link ApplicablePriceUseCase} that orchestrates
- * retrieval of price data from cache (Redis) or fallback to the H2 database,
- * applies date filtering and priority sorting, and returns the single
- * most applicable price for a given product, brand, and application date.
+ * Service implementation of {@link ApplicablePriceUseCase} and {@link CacheWarmUpUseCase} that orchestrates
+ * retrieval of the pre-resolved {@link PriceTimeline} from cache (Redis) or fallback
+ * to the H2 database, and returns the single most applicable price for a given
+ * product, brand, and application date.
+ * <p>
+ * The cache is queried once per request and tells hits, misses and keys known to have no prices
+ * apart. Concurrent cache misses for the same key are coalesced through a {@link SingleFlight},
+ * so only one database load and one cache write happen per key at a time.
+ * </p>
+ * <p>
+ * Keys with more rows than {@code pricing.resolution.max-timeline-rows} are never loaded whole:
+ * their prices are resolved per request in the database with a point query instead of being cached
+ * as a timeline.
+ * </p>
+ * <p>
+ * Single price lookups may be hedged by a {@link HedgingPolicy}: when the cache is late to answer, the price is
+ * resolved in the database in parallel and the first answer wins.
+ * </p>
+ * <p>
+ * Timelines the cache flags as stale, past their soft expiry, are served as they are while a background load
+ * revalidates them, so a popular key expiring never makes its requests wait for the database. Revalidations
+ * share the {@link SingleFlight} of cache misses: a batch claims its stale keys in it and reloads those not
+ * already being loaded with a single set-based query.
+ * </p>
+ * <p>
+ * The total resolution time, the time spent in each stage, the cache lookup results and the number of prices
+ * loaded per key are published through {@link PriceResolutionMetrics}.
+ * </p>
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
-public class ApplicablePriceService implements ApplicablePriceUseCase {
+public class ApplicablePriceService implements ApplicablePriceUseCase, CacheWarmUpUseCase {
 
     private final PricesDatabaseRepository pricesDatabaseRepository;
     private final PricesCacheRepository pricesCacheRepository;
+    private final long maxTimelineRows;
+    private final PriceResolutionMetrics metrics;
+    private final HedgingPolicy hedging;
+    private final SingleFlight<String, PriceTimeline> timelineLoads = new SingleFlight<>();
+
+    /**
+     * Creates the service without hedging.
+     *
+     * @param pricesDatabaseRepository the database holding every price
+     * @param pricesCacheRepository    the cache of pre-resolved price timelines
+     * @param maxTimelineRows          the maximum number of prices of a key that is loaded whole and cached
+     *                                 as a timeline; larger keys are resolved in the database
+     * @param meterRegistry            the registry publishing the resolution metrics
+     */
+    public ApplicablePriceService(PricesDatabaseRepository pricesDatabaseRepository,
+                                  PricesCacheRepository pricesCacheRepository,
+                                  long maxTimelineRows,
+                                  MeterRegistry meterRegistry) {
+        this(pricesDatabaseRepository, pricesCacheRepository, maxTimelineRows, meterRegistry,
+                HedgingPolicy.disabled(meterRegistry));
+    }
+
+    /**
+     * Creates the service.
+     *
+     * @param pricesDatabaseRepository the database holding every price
+     * @param pricesCacheRepository    the cache of pre-resolved price timelines
+     * @param maxTimelineRows          the maximum number of prices of a key that is loaded whole and cached
+     *                                 as a timeline; larger keys are resolved in the database
+     * @param meterRegistry            the registry publishing the resolution metrics
+     * @param hedging                  the policy hedging single price lookups with database queries
+     */
+    @Autowired
+    public ApplicablePriceService(PricesDatabaseRepository pricesDatabaseRepository,
+                                  PricesCacheRepository pricesCacheRepository,
+                                  @Value("${pricing.resolution.max-timeline-rows:10000}") long maxTimelineRows,
+                                  MeterRegistry meterRegistry,
+                                  HedgingPolicy hedging) {
+        this.pricesDatabaseRepository = pricesDatabaseRepository;
+        this.pricesCacheRepository = pricesCacheRepository;
+        this.maxTimelineRows = maxTimelineRows;
+        this.metrics = new PriceResolutionMetrics(meterRegistry);
+        this.hedging = hedging;
+    }
 
     /**
      * Retrieves the applicable price for the specified product and brand at the given date and time.
      * <ul>
-     *     <li>Attempts to read a list of prices from the cache using a composite key.</li>
-     *     <li>If the cache is empty, queries the database, stores the results in the cache, and then emits them.</li>
-     *     <li>Filters the emitted prices to those whose validity interval includes {@code applicationDate}.</li>
-     *     <li>Sorts the filtered prices by descending priority and picks the first (highest priority) element.</li>
+     *     <li>Looks up the price timeline in the cache using a composite key, in a single round trip. Cache
+     *     layouts able to range over dates may return only the part of the timeline covering the date.</li>
+     *     <li>If the cached timeline is stale, resolves the price with it and reloads the key in the
+     *     background.</li>
+     *     <li>If the key is cached as known-empty, returns an empty result without querying the database.</li>
+     *     <li>On a cache miss, queries the database, builds the {@link PriceTimeline} from the results,
+     *     stores it in the cache, and then emits it. Keys without prices are cached as known-empty.
+     *     Concurrent misses for the same key share a single load.</li>
+     *     <li>If the key has more rows than the configured maximum, the load is abandoned and the price
+     *     is resolved in the database with a point query.</li>
+     *     <li>Resolves the price with a binary search over the timeline segments, whose priority winners
+     *     were already picked when the timeline was built.</li>
      * </ul>
      *
      * @param productId       the identifier of the product to price
@@ -46,48 +137,319 @@ public class ApplicablePriceService implements ApplicablePriceUseCase {
     public Mono<Optional<ApplicablePrice>> getApplicablePrice(Long productId,
                                                               Long brandId,
                                                               LocalDateTime applicationDate) {
-        String key = productId + ":" + brandId;
+        return resolveApplicablePrice(productId, brandId, applicationDate).map(ResolvedPrice::price);
+    }
+
+    /**
+     * Retrieves the applicable price for the specified product and brand at the given date and time, as
+     * {@link #getApplicablePrice(Long, Long, LocalDateTime)} does, along with the date at which it next changes.
+     * <p>
+     * The next change is read from the timeline the price was resolved on. Prices resolved in the database
+     * are assumed to hold until their end date.
+     * </p>
+     * <p>
+     * With hedging enabled, a cache lookup that is late to answer is raced against a database point query.
+     * </p>
+     *
+     * @param productId       the identifier of the product to price
+     * @param brandId         the identifier of the brand to price under
+     * @param applicationDate the date and time at which the price should be applicable
+     * @return a {@link Mono} emitting the {@link ResolvedPrice} at that date
+     */
+    @Override
+    public Mono<ResolvedPrice> resolveApplicablePrice(Long productId,
+                                                      Long brandId,
+                                                      LocalDateTime applicationDate) {
+        String key = new PriceKey(productId, brandId).cacheKey();
         log.info("Checking cache with key: {}", key);
 
-        return pricesCacheRepository.find(key)
-                .hasElements()
-                .flatMapMany(hasCache -> {
-                    if (hasCache) {
-                        log.info("Cache hit for key: {}", key);
-                        return pricesCacheRepository.find(key);
-                    } else {
+        return metrics.timeSingle(hedging.hedge(
+                metrics.timeCacheLookup(pricesCacheRepository.lookup(key, applicationDate)),
+                lookups -> resolveFromLookup(lookups, productId, brandId, applicationDate, key),
+                () -> resolveInDatabase(productId, brandId, applicationDate).map(ResolvedPrice::of)));
+    }
+
+    /**
+     * Resolves the price of a single request from the answer of its cache lookup, loading the key on a miss.
+     *
+     * @param lookups         the cache lookup of the key
+     * @param productId       the identifier of the product to price
+     * @param brandId         the identifier of the brand to price under
+     * @param applicationDate the date and time at which the price should be applicable
+     * @param key             the cache key of the product and brand
+     * @return a {@link Mono} emitting the {@link ResolvedPrice} at that date
+     */
+    private Mono<ResolvedPrice> resolveFromLookup(Mono<CacheLookup> lookups,
+                                                  Long productId,
+                                                  Long brandId,
+                                                  LocalDateTime applicationDate,
+                                                  String key) {
+        return lookups
+                .flatMap(lookup -> switch (lookup.status()) {
+                    case HIT -> {
+                        if (lookup.stale()) {
+                            log.info("Stale cache hit for key: {}, revalidating", key);
+                            metrics.staleHit();
+                            revalidate(productId, brandId, key);
+                        } else {
+                            log.info("Cache hit for key: {}", key);
+                            metrics.hit();
+                        }
+                        yield Mono.justOrEmpty(lookup.timeline());
+                    }
+                    case EMPTY -> {
+                        log.info("Cache hit for known-empty key: {}", key);
+                        metrics.negativeHit();
+                        yield Mono.just(PriceTimeline.empty());
+                    }
+                    case MISS -> {
                         log.info("Cache miss. Querying H2 database for productId={} and brandId={}", productId, brandId);
-                        return pricesDatabaseRepository.findAllByProductAndBrand(productId, brandId)
-                                .collectList()
-                                .flatMapMany(prices -> {
-                                    if (prices.isEmpty()) {
-                                        log.warn("No prices found in database for productId={} and brandId={}", productId, brandId);
-                                        return Flux.empty();
-                                    }
-                                    log.info("Storing {} prices in Redis for key: {}", prices.size(), key);
-                                    return pricesCacheRepository.save(key, prices)
-                                            .thenMany(Flux.fromIterable(prices));
-                                });
+                        metrics.miss();
+                        yield timelineLoads.execute(key, () -> loadTimeline(productId, brandId, key));
                     }
                 })
-                .filter(p ->
-                        p.startDate().isPresent() &&
-                                p.endDate().isPresent() &&
-                                !applicationDate.isBefore(p.startDate().get()) &&
-                                !applicationDate.isAfter(p.endDate().get())
-                )
-                .reduce((p1, p2) ->
-                        p1.priority().orElse(0L) >= p2.priority().orElse(0L) ? p1 : p2
-                )
-                .map(Optional::of)
-                .switchIfEmpty(Mono.just(Optional.empty()))
-                .doOnNext(optPrice -> {
-                    if (optPrice.isPresent()) {
-                        log.info("Applicable price selected: {}", optPrice.get());
+                .map(timeline -> timeline.resolveWithNextChange(applicationDate))
+                .switchIfEmpty(Mono.defer(() -> resolveInDatabase(productId, brandId, applicationDate).map(ResolvedPrice::of)))
+                .doOnNext(resolved -> {
+                    if (resolved.price().isPresent()) {
+                        log.info("Applicable price selected: {}", resolved.price().get());
                     } else {
                         log.warn("No applicable price matched date filtering for productId={}, brandId={}, date={}",
                                 productId, brandId, applicationDate);
                     }
                 });
     }
+
+    /**
+     * Retrieves the applicable price of every given query at once.
+     * <ul>
+     *     <li>Looks up the timelines of all distinct product and brand keys with a single cache multi-get, and
+     *     reloads the stale ones in the background.</li>
+     *     <li>Counts the rows of every missed key with a single grouped query.</li>
+     *     <li>Loads the missed keys within the configured row limit with a single set-based query, builds their
+     *     timelines and stores them in the cache, marking keys without prices as known-empty.</li>
+     *     <li>Resolves each query against the timeline of its key, or with a database point query when its key
+     *     is too large to be loaded whole.</li>
+     * </ul>
+     *
+     * @param queries the product, brand and application date tuples to resolve
+     * @return a {@link Mono} emitting one result per query, in the same order as the queries
+     */
+    @Override
+    public Mono<List<Optional<ApplicablePrice>>> getApplicablePrices(List<PriceQuery> queries) {
+        Set<PriceKey> keys = new LinkedHashSet<>();
+        queries.forEach(query -> keys.add(query.key()));
+        log.info("Resolving batch of {} queries over {} distinct keys", queries.size(), keys.size());
+
+        return metrics.timeBatch(metrics.timeCacheLookup(
+                        pricesCacheRepository.lookupAll(keys.stream().map(PriceKey::cacheKey).toList()))
+                .flatMap(lookups -> {
+                    Map<PriceKey, PriceTimeline> timelines = new HashMap<>();
+                    List<PriceKey> misses = new ArrayList<>();
+                    List<PriceKey> stale = new ArrayList<>();
+                    for (PriceKey key : keys) {
+                        CacheLookup lookup = lookups.getOrDefault(key.cacheKey(), CacheLookup.miss());
+                        switch (lookup.status()) {
+                            case HIT -> {
+                                if (lookup.stale()) {
+                                    metrics.staleHit();
+                                    stale.add(key);
+                                } else {
+                                    metrics.hit();
+                                }
+                                timelines.put(key, lookup.timeline().orElseThrow());
+                            }
+                            case EMPTY -> {
+                                metrics.negativeHit();
+                                timelines.put(key, PriceTimeline.empty());
+                            }
+                            case MISS -> {
+                                metrics.miss();
+                                misses.add(key);
+                            }
+                        }
+                    }
+                    log.info("Batch cache lookup: {} hits, {} stale, {} misses",
+                            timelines.size(), stale.size(), misses.size());
+                    revalidate(stale);
+                    return loadTimelines(misses)
+                            .map(loaded -> {
+                                timelines.putAll(loaded);
+                                return timelines;
+                            });
+                })
+                .flatMap(timelines -> Flux.fromIterable(queries)
+                        .flatMapSequential(query -> {
+                            PriceTimeline timeline = timelines.get(query.key());
+                            return timeline != null
+                                    ? Mono.just(timeline.resolve(query.applicationDate()))
+                                    : resolveInDatabase(query.productId(), query.brandId(), query.applicationDate());
+                        })
+                        .collectList()));
+    }
+
+    /**
+     * Loads the timelines of the given keys with the same set-based queries as a batch cache miss, and stores
+     * them in the cache. Keys without prices are cached as known-empty, keys over the row limit are skipped.
+     *
+     * @param keys the product and brand combinations to cache
+     * @return a {@link Mono} emitting the number of keys cached
+     */
+    @Override
+    public Mono<Integer> preload(Collection<PriceKey> keys) {
+        return loadTimelines(keys).map(Map::size);
+    }
+
+    /**
+     * Reloads a stale key in the background, sharing the load with any concurrent miss or revalidation of it.
+     * A failed revalidation is only logged: the stale timeline stays served until its hard expiry.
+     *
+     * @param productId the identifier of the product to reload
+     * @param brandId   the identifier of the brand to reload
+     * @param key       the cache key of the product and brand
+     */
+    private void revalidate(Long productId, Long brandId, String key) {
+        timelineLoads.execute(key, () -> loadTimeline(productId, brandId, key))
+                .subscribe(
+                        timeline -> log.debug("Revalidated stale key: {}", key),
+                        e -> log.warn("Failed to revalidate stale key: {}", key, e));
+    }
+
+    /**
+     * Reloads the stale keys of a batch in the background, with the same set-based queries as a batch miss.
+     * Every key is claimed in the same {@link SingleFlight} as single key loads, so keys already being loaded
+     * share that load and only the others are queried. A failed revalidation is only logged: the stale
+     * timelines stay served until their hard expiry.
+     *
+     * @param keys the stale product and brand keys
+     */
+    private void revalidate(List<PriceKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        Map<String, PriceKey> byCacheKey = new LinkedHashMap<>();
+        keys.forEach(key -> byCacheKey.put(key.cacheKey(), key));
+        timelineLoads.executeAll(byCacheKey.keySet(), claimed -> loadTimelines(claimed.stream().map(byCacheKey::get).toList())
+                        .map(loaded -> {
+                            Map<String, PriceTimeline> timelines = new HashMap<>();
+                            loaded.forEach((key, timeline) -> timelines.put(key.cacheKey(), timeline));
+                            return timelines;
+                        }))
+                .subscribe(
+                        loaded -> log.debug("Revalidated {} of {} stale keys", loaded.size(), keys.size()),
+                        e -> log.warn("Failed to revalidate {} stale keys", keys.size(), e));
+    }
+
+    /**
+     * Resolves the applicable price with a database point query, for keys too large to be cached as a timeline.
+     *
+     * @param productId       the identifier of the product to price
+     * @param brandId         the identifier of the brand to price under
+     * @param applicationDate the date and time at which the price should be applicable
+     * @return a {@link Mono} emitting the applicable price wrapped in an Optional, or an empty Optional
+     */
+    private Mono<Optional<ApplicablePrice>> resolveInDatabase(Long productId, Long brandId, LocalDateTime applicationDate) {
+        return metrics.timeDbQuery(pricesDatabaseRepository.findApplicable(productId, brandId, applicationDate))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    /**
+     * Loads every price of the product and brand from the database, builds its {@link PriceTimeline}
+     * and stores it in the cache, or marks the key as known-empty when there are no prices.
+     * <p>
+     * At most one row over the configured maximum is read: once the limit is exceeded the query is
+     * cancelled and nothing is cached, so the caller falls back to point resolution.
+     * </p>
+     *
+     * @param productId the identifier of the product to load
+     * @param brandId   the identifier of the brand to load
+     * @param key       the cache key under which to store the timeline
+     * @return a {@link Mono} emitting the stored timeline (empty for keys without prices),
+     *         or completing empty if the key has too many rows to be loaded whole
+     */
+    private Mono<PriceTimeline> loadTimeline(Long productId, Long brandId, String key) {
+        return metrics.timeDbQuery(pricesDatabaseRepository.findAllByProductAndBrand(productId, brandId)
+                        .take(maxTimelineRows + 1)
+                        .collectList())
+                .flatMap(prices -> {
+                    metrics.rows(prices.size());
+                    if (prices.isEmpty()) {
+                        log.warn("No prices found in database for productId={} and brandId={}", productId, brandId);
+                        return metrics.timeCacheWrite(pricesCacheRepository.saveEmpty(key))
+                                .thenReturn(PriceTimeline.empty());
+                    }
+                    if (prices.size() > maxTimelineRows) {
+                        log.info("Key {} has more than {} prices, resolving in the database", key, maxTimelineRows);
+                        return Mono.<PriceTimeline>empty();
+                    }
+                    PriceTimeline timeline = PriceTimeline.of(prices);
+                    log.info("Storing timeline of {} segments built from {} prices in Redis for key: {}",
+                            timeline.segments().size(), prices.size(), key);
+                    return metrics.timeCacheWrite(pricesCacheRepository.save(key, timeline))
+                            .thenReturn(timeline);
+                });
+    }
+
+    /**
+     * Loads the prices of many keys from the database with a single query, builds their timelines
+     * and stores them in the cache, marking keys without prices as known-empty.
+     * <p>
+     * Keys with more rows than the configured maximum are left out of the load and of the result,
+     * so their queries are resolved with database point queries.
+     * </p>
+     *
+     * @param keys the product and brand keys missed by the cache
+     * @return a {@link Mono} emitting the timeline of every loadable key, empty for keys without prices
+     */
+    private Mono<Map<PriceKey, PriceTimeline>> loadTimelines(Collection<PriceKey> keys) {
+        if (keys.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return metrics.timeDbQuery(pricesDatabaseRepository.countAllByProductAndBrandIn(keys))
+                .map(counts -> {
+                    keys.forEach(key -> metrics.rows(counts.getOrDefault(key, 0L)));
+                    return keys.stream()
+                            .filter(key -> counts.getOrDefault(key, 0L) <= maxTimelineRows)
+                            .toList();
+                })
+                .flatMap(loadable -> {
+                    if (loadable.size() < keys.size()) {
+                        log.info("{} missed keys have more than {} prices, resolving them in the database",
+                                keys.size() - loadable.size(), maxTimelineRows);
+                    }
+                    return loadable.isEmpty()
+                            ? Mono.just(Map.<PriceKey, PriceTimeline>of())
+                            : loadTimelinesWholly(loadable);
+                });
+    }
+
+    /**
+     * Loads every price of the given keys with a single set-based query and caches their timelines.
+     *
+     * @param keys the product and brand keys to load, all within the row limit
+     * @return a {@link Mono} emitting the timeline of every given key, empty for keys without prices
+     */
+    private Mono<Map<PriceKey, PriceTimeline>> loadTimelinesWholly(Collection<PriceKey> keys) {
+        return metrics.timeDbQuery(pricesDatabaseRepository.findAllByProductAndBrandIn(keys)
+                        .collectMultimap(price -> new PriceKey(price.productId(), price.brandId())))
+                .flatMap(pricesByKey -> {
+                    Map<PriceKey, PriceTimeline> loaded = new HashMap<>();
+                    List<Mono<Void>> writes = new ArrayList<>();
+                    for (PriceKey key : keys) {
+                        Collection<ApplicablePrice> prices = pricesByKey.get(key);
+                        if (prices == null || prices.isEmpty()) {
+                            loaded.put(key, PriceTimeline.empty());
+                            writes.add(pricesCacheRepository.saveEmpty(key.cacheKey()));
+                        } else {
+                            PriceTimeline timeline = PriceTimeline.of(List.copyOf(prices));
+                            loaded.put(key, timeline);
+                            writes.add(pricesCacheRepository.save(key.cacheKey(), timeline));
+                        }
+                    }
+                    log.info("Loaded {} of {} missed keys from H2, storing them in Redis", pricesByKey.size(), keys.size());
+                    return metrics.timeCacheWrite(Flux.merge(writes).then())
+                            .thenReturn(loaded);
+                });
+    }
 }
@@ -0,0 +1,215 @@
+package com.ecommerce.pricing_api.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Hedges cache lookups with database queries, so a slow cache answer does not make a slow response.
+ * <p>
+ * When the lookup has not answered within the hedging delay, the backup query is started in parallel; the
+ * first of both to produce a result wins and the other is cancelled. The delay is either fixed, or adaptive:
+ * the configured percentile of the latest {@value #WINDOW} lookup latencies, recomputed every
+ * {@value #REFRESH_EVERY} lookups and never below one millisecond. Until the first recomputation, adaptive
+ * hedging stays idle.
+ * </p>
+ * <p>
+ * Extra queries are capped by a budget: every hedged request earns {@code budget-percent} hundredths of a
+ * query, up to a burst of {@value #MAX_BURST} queries, and every hedge spends a whole one. Hedges beyond the
+ * budget are not started, so hedging adds at most that share of database queries.
+ * </p>
+ * <p>
+ * Hedges are counted in {@value #HEDGE_COUNTER}, tagged by {@code outcome}: {@code started}, {@code won} when the
+ * backup answered first, and {@code denied} when the budget was spent. The current delay is published as
+ * {@value #DELAY_GAUGE}.
+ * </p>
+ */
+@Component
+public class HedgingPolicy {
+
+    static final String HEDGE_COUNTER = "pricing.resolution.hedges";
+    static final String DELAY_GAUGE = "pricing.resolution.hedge.delay";
+    static final int WINDOW = 1024;
+    static final int REFRESH_EVERY = 128;
+    private static final int MAX_BURST = 10;
+    private static final long MILLIS_PER_QUERY = 1_000;
+    private static final long MIN_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final long fixedDelayNanos;
+    private final double percentile;
+    private final long earnedPerRequest;
+    private final AtomicLong budget = new AtomicLong();
+    private final AtomicLongArray latencies = new AtomicLongArray(WINDOW);
+    private final AtomicLong samples = new AtomicLong();
+    private volatile long adaptiveDelayNanos = -1;
+    private final Counter started;
+    private final Counter won;
+    private final Counter denied;
+
+    /**
+     * Creates the policy.
+     *
+     * @param enabled       whether lookups are hedged at all
+     * @param delayMillis   the fixed hedging delay in milliseconds, or {@code 0} for an adaptive delay
+     * @param percentile    the percentile of lookup latencies used as adaptive delay, between 0 and 100
+     * @param budgetPercent the maximum share of hedged requests that may start a backup query, in percent
+     * @param meterRegistry the registry publishing the hedging metrics
+     */
+    public HedgingPolicy(@Value("${pricing.resolution.hedge.enabled:false}") boolean enabled,
+                         @Value("${pricing.resolution.hedge.delay-millis:0}") long delayMillis,
+                         @Value("${pricing.resolution.hedge.percentile:95}") double percentile,
+                         @Value("${pricing.resolution.hedge.budget-percent:5}") double budgetPercent,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.fixedDelayNanos = TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        this.percentile = percentile;
+        this.earnedPerRequest = Math.round(budgetPercent * MILLIS_PER_QUERY / 100);
+        this.started = hedgeCounter(meterRegistry, "started");
+        this.won = hedgeCounter(meterRegistry, "won");
+        this.denied = hedgeCounter(meterRegistry, "denied");
+        Gauge.builder(DELAY_GAUGE, this, policy -> Math.max(0, policy.delayNanos()) / 1e9)
+                .description("Delay after which cache lookups are hedged with a database query")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns a policy that never hedges.
+     *
+     * @param meterRegistry the registry publishing the hedging metrics
+     * @return the disabled policy
+     */
+    public static HedgingPolicy disabled(MeterRegistry meterRegistry) {
+        return new HedgingPolicy(false, 0, 95, 0, meterRegistry);
+    }
+
+    /**
+     * Resolves with the cache lookup, hedged with the backup query when the lookup is late.
+     * <p>
+     * Only the lookup itself is raced: once it has answered, the resolution that follows it is never hedged,
+     * even when it goes on to load the database on a miss. When neither the resolution nor a started backup
+     * produces a result, the returned {@link Mono} fails with their errors once both have terminated.
+     * </p>
+     *
+     * @param lookup     the cache lookup
+     * @param resolution resolves the result from the given lookup
+     * @param backup     supplies the query answering without the cache
+     * @param <L>        the type of the lookup result
+     * @param <T>        the type of the result
+     * @return a {@link Mono} emitting the first result of the resolution and the backup
+     */
+    public <L, T> Mono<T> hedge(Mono<L> lookup, Function<Mono<L>, Mono<T>> resolution, Supplier<Mono<T>> backup) {
+        if (!enabled) {
+            return resolution.apply(lookup);
+        }
+        return Mono.defer(() -> {
+            earn();
+            long delay = delayNanos();
+            AtomicBoolean answered = new AtomicBoolean();
+            long start = System.nanoTime();
+            Runnable answer = () -> {
+                if (answered.compareAndSet(false, true)) {
+                    record(System.nanoTime() - start);
+                }
+            };
+            Mono<T> primary = resolution.apply(lookup
+                    .doOnEach(signal -> answer.run())
+                    .doOnCancel(answer));
+            if (delay < 0) {
+                return primary;
+            }
+            Mono<T> hedge = Mono.delay(Duration.ofNanos(delay))
+                    .flatMap(tick -> {
+                        if (answered.get()) {
+                            return Mono.empty();
+                        }
+                        if (!spend()) {
+                            denied.increment();
+                            return Mono.empty();
+                        }
+                        started.increment();
+                        return backup.get().doOnNext(result -> won.increment());
+                    });
+            return Mono.firstWithValue(primary, hedge);
+        });
+    }
+
+    /**
+     * Returns the current hedging delay.
+     *
+     * @return the delay in nanoseconds, or {@code -1} while the adaptive delay is not known yet
+     */
+    long delayNanos() {
+        return fixedDelayNanos > 0 ? fixedDelayNanos : adaptiveDelayNanos;
+    }
+
+    /**
+     * Records the latency of a lookup, recomputing the adaptive delay every {@value #REFRESH_EVERY} samples.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    private void record(long nanos) {
+        long sample = samples.getAndIncrement();
+        latencies.set((int) (sample % WINDOW), nanos);
+        if ((sample + 1) % REFRESH_EVERY == 0) {
+            int size = (int) Math.min(sample + 1, WINDOW);
+            long[] window = new long[size];
+            for (int i = 0; i < size; i++) {
+                window[i] = latencies.get(i);
+            }
+            Arrays.sort(window);
+            int rank = (int) Math.ceil(percentile / 100 * size) - 1;
+            adaptiveDelayNanos = Math.max(MIN_DELAY_NANOS, window[Math.max(0, Math.min(size - 1, rank))]);
+        }
+    }
+
+    /**
+     * Adds the share of a query earned by a hedged request to the budget, up to the burst.
+     */
+    private void earn() {
+        budget.updateAndGet(millis -> Math.min(MAX_BURST * MILLIS_PER_QUERY, millis + earnedPerRequest));
+    }
+
+    /**
+     * Takes a whole query from the budget.
+     *
+     * @return {@code true} if the budget allowed the query
+     */
+    private boolean spend() {
+        long millis;
+        do {
+            millis = budget.get();
+            if (millis < MILLIS_PER_QUERY) {
+                return false;
+            }
+        } while (!budget.compareAndSet(millis, millis - MILLIS_PER_QUERY));
+        return true;
+    }
+
+    /**
+     * Registers the hedge counter of an outcome.
+     *
+     * @param meterRegistry the registry publishing the counter
+     * @param outcome       the {@code outcome} tag
+     * @return the registered counter
+     */
+    private static Counter hedgeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(HEDGE_COUNTER)
+                .description("Cache lookups hedged with a database query, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,232 @@
+package com.ecommerce.pricing_api.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the price resolution pipeline, registered once so the hot path only records values.
+ * <ul>
+ *     <li>{@value #RESOLUTION_TIMER}: total resolution time, tagged by {@code operation} ({@code single} or
+ *     {@code batch}).</li>
+ *     <li>{@value #STAGE_TIMER}: time spent in each stage, tagged by {@code stage}: {@code cache.lookup},
+ *     {@code db.query} and {@code cache.write}.</li>
+ *     <li>{@value #LOOKUP_COUNTER}: cache lookups per key, tagged by {@code result}: {@code hit}, {@code miss},
+ *     {@code negative.hit} for keys cached as known-empty and {@code stale.hit} for timelines served past their
+ *     soft expiry while revalidated.</li>
+ *     <li>{@value #ROWS_SUMMARY}: prices per key loaded from the database on a cache miss.</li>
+ * </ul>
+ * Timers publish histogram buckets between {@value #MIN_EXPECTED_MICROS} microseconds and {@value #MAX_EXPECTED_SECONDS} s,
+ * so percentiles can be aggregated across nodes. Tags only take the fixed values above.
+ */
+public class PriceResolutionMetrics {
+
+    static final String RESOLUTION_TIMER = "pricing.resolution";
+    static final String STAGE_TIMER = "pricing.resolution.stage";
+    static final String LOOKUP_COUNTER = "pricing.cache.lookups";
+    static final String ROWS_SUMMARY = "pricing.resolution.rows";
+    private static final long MIN_EXPECTED_MICROS = 50;
+    private static final long MAX_EXPECTED_SECONDS = 5;
+
+    private final Timer single;
+    private final Timer batch;
+    private final Timer cacheLookup;
+    private final Timer dbQuery;
+    private final Timer cacheWrite;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter negativeHits;
+    private final Counter staleHits;
+    private final DistributionSummary rowsPerKey;
+
+    /**
+     * Registers the meters in the given registry.
+     *
+     * @param meterRegistry the registry publishing the meters
+     */
+    public PriceResolutionMetrics(MeterRegistry meterRegistry) {
+        this.single = resolutionTimer(meterRegistry, "single");
+        this.batch = resolutionTimer(meterRegistry, "batch");
+        this.cacheLookup = stageTimer(meterRegistry, "cache.lookup");
+        this.dbQuery = stageTimer(meterRegistry, "db.query");
+        this.cacheWrite = stageTimer(meterRegistry, "cache.write");
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.negativeHits = lookupCounter(meterRegistry, "negative.hit");
+        this.staleHits = lookupCounter(meterRegistry, "stale.hit");
+        this.rowsPerKey = DistributionSummary.builder(ROWS_SUMMARY)
+                .description("Prices per product and brand loaded from the database on a cache miss")
+                .baseUnit("rows")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(100_000.0)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Times the resolution of a single price.
+     *
+     * @param resolution the resolution
+     * @param <T>        the type of the result
+     * @return the resolution, recording its duration when it terminates or is cancelled
+     */
+    <T> Mono<T> timeSingle(Mono<T> resolution) {
+        return time(single, resolution);
+    }
+
+    /**
+     * Times the resolution of a batch of prices.
+     *
+     * @param resolution the resolution
+     * @param <T>        the type of the result
+     * @return the resolution, recording its duration when it terminates or is cancelled
+     */
+    <T> Mono<T> timeBatch(Mono<T> resolution) {
+        return time(batch, resolution);
+    }
+
+    /**
+     * Times a cache lookup.
+     *
+     * @param lookup the lookup
+     * @param <T>    the type of the result
+     * @return the lookup, recording its duration when it terminates or is cancelled
+     */
+    <T> Mono<T> timeCacheLookup(Mono<T> lookup) {
+        return time(cacheLookup, lookup);
+    }
+
+    /**
+     * Times a database query.
+     *
+     * @param query the query
+     * @param <T>   the type of the result
+     * @return the query, recording its duration when it terminates or is cancelled
+     */
+    <T> Mono<T> timeDbQuery(Mono<T> query) {
+        return time(dbQuery, query);
+    }
+
+    /**
+     * Times a cache write.
+     *
+     * @param write the write
+     * @param <T>   the type of the result
+     * @return the write, recording its duration when it terminates or is cancelled
+     */
+    <T> Mono<T> timeCacheWrite(Mono<T> write) {
+        return time(cacheWrite, write);
+    }
+
+    /**
+     * Counts a key found in the cache.
+     */
+    void hit() {
+        hits.increment();
+    }
+
+    /**
+     * Counts a key missed by the cache.
+     */
+    void miss() {
+        misses.increment();
+    }
+
+    /**
+     * Counts a key found in the cache as known to have no prices.
+     */
+    void negativeHit() {
+        negativeHits.increment();
+    }
+
+    /**
+     * Counts a key found in the cache past its soft expiry, served while it is revalidated.
+     */
+    void staleHit() {
+        staleHits.increment();
+    }
+
+    /**
+     * Records the number of prices of a key loaded from the database.
+     *
+     * @param rows the number of prices of the key
+     */
+    void rows(long rows) {
+        rowsPerKey.record(rows);
+    }
+
+    /**
+     * Measures the time from subscription to termination or cancellation of a {@link Mono}.
+     *
+     * @param timer the timer to record into
+     * @param work  the work to time
+     * @param <T>   the type of the result
+     * @return the timed work
+     */
+    private static <T> Mono<T> time(Timer timer, Mono<T> work) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return work.doFinally(signal -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    /**
+     * Registers the total resolution timer of an operation.
+     *
+     * @param meterRegistry the registry publishing the timer
+     * @param operation     the {@code operation} tag
+     * @return the registered timer
+     */
+    private static Timer resolutionTimer(MeterRegistry meterRegistry, String operation) {
+        return histogram(Timer.builder(RESOLUTION_TIMER)
+                .description("Total time to resolve applicable prices")
+                .tag("operation", operation))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers the timer of a resolution stage.
+     *
+     * @param meterRegistry the registry publishing the timer
+     * @param stage         the {@code stage} tag
+     * @return the registered timer
+     */
+    private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return histogram(Timer.builder(STAGE_TIMER)
+                .description("Time spent in each stage of price resolution")
+                .tag("stage", stage))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publishes histogram buckets over the expected range of resolution times.
+     *
+     * @param builder the timer to configure
+     * @return the configured timer
+     */
+    private static Timer.Builder histogram(Timer.Builder builder) {
+        return builder
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(MIN_EXPECTED_MICROS)))
+                .maximumExpectedValue(Duration.ofSeconds(MAX_EXPECTED_SECONDS));
+    }
+
+    /**
+     * Registers the cache lookup counter of a result.
+     *
+     * @param meterRegistry the registry publishing the counter
+     * @param result        the {@code result} tag
+     * @return the registered counter
+     */
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(LOOKUP_COUNTER)
+                .description("Cache lookups per product and brand key, by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
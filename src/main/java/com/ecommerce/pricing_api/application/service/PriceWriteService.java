@@ -0,0 +1,121 @@
+package com.ecommerce.pricing_api.application.service;
+
+import com.ecommerce.pricing_api.application.repository.CacheInvalidationBus;
+import com.ecommerce.pricing_api.application.repository.PricesCacheRepository;
+import com.ecommerce.pricing_api.application.repository.PricesDatabaseRepository;
+import com.ecommerce.pricing_api.application.usecases.PriceWriteUseCase;
+import com.ecommerce.pricing_api.domain.model.PriceChange;
+import com.ecommerce.pricing_api.domain.model.PriceEntry;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Service implementation of {@link PriceWriteUseCase} that persists price entries in the database and
+ * invalidates the cached timelines of the affected keys only.
+ * <p>
+ * Entries and identifiers are consumed as a stream and written in batches of {@code pricing.write.batch-size},
+ * one statement per batch, one batch at a time, so a bulk request of any size holds at most one batch in memory
+ * and later batches win over earlier ones. Once a batch is written, the keys whose prices it changed are
+ * removed from the shared cache with a single round trip and evicted from the near cache of every node through
+ * the {@link CacheInvalidationBus}; their next lookups load the new timelines from the database. Keys the batch
+ * did not touch stay cached.
+ * </p>
+ * <p>
+ * A failed batch stops the stream: earlier batches stay written, and the error is propagated. Writes are
+ * idempotent, so the request can be retried as a whole.
+ * </p>
+ */
+@Service
+@Slf4j
+public class PriceWriteService implements PriceWriteUseCase {
+
+    private final PricesDatabaseRepository pricesDatabaseRepository;
+    private final PricesCacheRepository pricesCacheRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final int batchSize;
+
+    /**
+     * Creates the service.
+     *
+     * @param pricesDatabaseRepository the database holding every price
+     * @param pricesCacheRepository    the cache of pre-resolved price timelines
+     * @param cacheInvalidationBus     the bus evicting changed keys from the near cache of every node
+     * @param batchSize                the number of entries written per statement
+     */
+    public PriceWriteService(PricesDatabaseRepository pricesDatabaseRepository,
+                             PricesCacheRepository pricesCacheRepository,
+                             CacheInvalidationBus cacheInvalidationBus,
+                             @Value("${pricing.write.batch-size:500}") int batchSize) {
+        this.pricesDatabaseRepository = pricesDatabaseRepository;
+        this.pricesCacheRepository = pricesCacheRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Upserts the entries batch by batch, invalidating the keys changed by each batch once it is written.
+     *
+     * @param entries the entries to write
+     * @return a {@link Mono} emitting the number of entries written and the keys whose prices changed
+     */
+    @Override
+    public Mono<PriceChange> upsert(Flux<PriceEntry> entries) {
+        return write(entries, pricesDatabaseRepository::upsertAll, "Upserted");
+    }
+
+    /**
+     * Deletes the entries batch by batch, invalidating the keys changed by each batch once it is written.
+     *
+     * @param ids the identifiers of the entries to delete
+     * @return a {@link Mono} emitting the number of entries deleted and the keys whose prices changed
+     */
+    @Override
+    public Mono<PriceChange> delete(Flux<Long> ids) {
+        return write(ids, pricesDatabaseRepository::deleteAllById, "Deleted");
+    }
+
+    /**
+     * Applies the writer to the items in sequential batches, invalidating the changed keys after each batch.
+     *
+     * @param items  the items to write
+     * @param writer the database write of a batch
+     * @param action the verb logged for each batch
+     * @param <T>    the type of the written items
+     * @return a {@link Mono} emitting the combined change of every batch
+     */
+    private <T> Mono<PriceChange> write(Flux<T> items, Function<List<T>, Mono<PriceChange>> writer, String action) {
+        return items
+                .buffer(batchSize)
+                .concatMap(batch -> writer.apply(batch)
+                        .flatMap(change -> {
+                            log.info("{} {} price entries of {} in the database, invalidating {} keys",
+                                    action, change.entries(), batch.size(), change.keys().size());
+                            return invalidate(change.keys()).thenReturn(change);
+                        }))
+                .reduce(PriceChange.none(), PriceChange::merge);
+    }
+
+    /**
+     * Removes the keys from the shared cache, then evicts them from the near cache of every node, so no node
+     * reloads a key from the shared cache before it is removed there.
+     *
+     * @param keys the keys whose prices changed
+     * @return a {@link Mono} that completes once the keys are removed and the evictions published
+     */
+    private Mono<Void> invalidate(Collection<PriceKey> keys) {
+        if (keys.isEmpty()) {
+            return Mono.empty();
+        }
+        return pricesCacheRepository.deleteAll(keys.stream().map(PriceKey::cacheKey).toList())
+                .thenMany(Flux.fromIterable(keys).flatMap(cacheInvalidationBus::evict))
+                .then();
+    }
+}
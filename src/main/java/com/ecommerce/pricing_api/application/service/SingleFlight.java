@@ -0,0 +1,94 @@
+package com.ecommerce.pricing_api.application.service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key into a single execution.
+ * <p>
+ * The first caller for a key subscribes to the loader; every caller arriving while that load
+ * is still in flight shares its result instead of starting a new one. Once the load terminates,
+ * successfully, empty or with an error, the key is released so the next caller starts a fresh load.
+ * </p>
+ *
+ * @param <K> the type of the keys being loaded
+ * @param <V> the type of the loaded values
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the in-flight load for the given key, or starts a new one with the given loader.
+     *
+     * @param key    the key being loaded
+     * @param loader supplies the {@link Mono} performing the load; only invoked when no load is in flight
+     * @return a {@link Mono} sharing the result of the single load for the key
+     */
+    public Mono<V> execute(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> {
+            AtomicReference<Mono<V>> self = new AtomicReference<>();
+            Mono<V> shared = loader.get()
+                    .doFinally(signal -> inFlight.remove(k, self.get()))
+                    .cache();
+            self.set(shared);
+            return shared;
+        }));
+    }
+
+    /**
+     * Loads many keys at once, sharing the in-flight load of every key already being loaded and loading the
+     * others together.
+     * <p>
+     * Every key not in flight is claimed before the loader runs, so concurrent callers of any of them share
+     * this load, and the loader is invoked once with all of them. A key the loader leaves out of its result
+     * completes empty and is left out of the returned map.
+     * </p>
+     *
+     * @param keys   the keys to load
+     * @param loader loads the given keys together; only invoked with the keys no load was in flight for,
+     *               and not at all if every key was
+     * @return a {@link Mono} emitting the value of every key that has one, whoever loaded it
+     */
+    public Mono<Map<K, V>> executeAll(Collection<K> keys, Function<List<K>, Mono<Map<K, V>>> loader) {
+        return Mono.defer(() -> {
+            List<K> claimed = new ArrayList<>();
+            Mono<Map<K, V>> load = Mono.defer(() -> loader.apply(List.copyOf(claimed))).cache();
+            Map<K, Mono<V>> loads = new LinkedHashMap<>();
+            for (K key : keys) {
+                loads.put(key, inFlight.computeIfAbsent(key, k -> {
+                    claimed.add(k);
+                    AtomicReference<Mono<V>> self = new AtomicReference<>();
+                    Mono<V> shared = load.mapNotNull(values -> values.get(k))
+                            .doFinally(signal -> inFlight.remove(k, self.get()))
+                            .cache();
+                    self.set(shared);
+                    return shared;
+                }));
+            }
+            return Flux.fromIterable(loads.entrySet())
+                    .flatMap(entry -> entry.getValue().map(value -> Map.entry(entry.getKey(), value)),
+                            Math.max(1, loads.size()))
+                    .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+        });
+    }
+
+    /**
+     * Returns the number of keys currently being loaded.
+     *
+     * @return the number of in-flight loads
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
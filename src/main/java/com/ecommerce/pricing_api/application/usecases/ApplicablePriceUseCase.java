@@ -1,14 +1,17 @@
 package com.ecommerce.pricing_api.application.usecases;
 
 import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceQuery;
+import com.ecommerce.pricing_api.domain.model.ResolvedPrice;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Defines the contract for retrieving the applicable price of a product
- * for a specific brand at a given date and time.
+ * for a specific brand at a given date and time, one at a time or in batches.
  */
 public interface ApplicablePriceUseCase {
 
@@ -25,4 +28,26 @@ public interface ApplicablePriceUseCase {
     Mono<Optional<ApplicablePrice>> getApplicablePrice(Long productId,
                                                        Long brandId,
                                                        LocalDateTime applicationDate);
+
+    /**
+     * Fetches the price that applies to the specified product and brand at the given application date and
+     * time, along with the date from which that outcome may change.
+     *
+     * @param productId       the identifier of the product to price
+     * @param brandId         the identifier of the brand
+     * @param applicationDate the date and time at which to determine the price
+     * @return a {@link Mono} emitting the {@link ResolvedPrice}, whose price is empty if no price applies
+     */
+    Mono<ResolvedPrice> resolveApplicablePrice(Long productId,
+                                               Long brandId,
+                                               LocalDateTime applicationDate);
+
+    /**
+     * Fetches the applicable price of every given query at once.
+     *
+     * @param queries the product, brand and application date tuples to resolve
+     * @return a {@link Mono} emitting one {@link Optional} per query, in the same order as the queries,
+     *         each containing the {@link ApplicablePrice} if found or empty if no price applies
+     */
+    Mono<List<Optional<ApplicablePrice>>> getApplicablePrices(List<PriceQuery> queries);
 }
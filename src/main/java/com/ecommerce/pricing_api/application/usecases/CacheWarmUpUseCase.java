@@ -0,0 +1,23 @@
+package com.ecommerce.pricing_api.application.usecases;
+
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Defines the contract for filling the price cache ahead of traffic, so the first requests
+ * for the given products and brands do not miss it.
+ */
+public interface CacheWarmUpUseCase {
+
+    /**
+     * Loads the prices of the given product and brand combinations and caches them, exactly as
+     * a cache miss for all of them would.
+     *
+     * @param keys the product and brand combinations to cache
+     * @return a {@link Mono} emitting the number of keys cached, including those cached as having no prices;
+     *         keys too large to be cached as a whole are not counted
+     */
+    Mono<Integer> preload(Collection<PriceKey> keys);
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.pricing_api.application.usecases;
+
+import com.ecommerce.pricing_api.domain.model.PriceChange;
+import com.ecommerce.pricing_api.domain.model.PriceEntry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Defines the contract for writing price entries, one at a time or as streams of any size,
+ * keeping the cached prices of the affected products consistent.
+ */
+public interface PriceWriteUseCase {
+
+    /**
+     * Inserts the given entries, or replaces the stored entries with the same identifiers.
+     *
+     * @param entries the entries to write, written in batches as they arrive
+     * @return a {@link Mono} emitting the number of entries written and the keys whose prices changed
+     */
+    Mono<PriceChange> upsert(Flux<PriceEntry> entries);
+
+    /**
+     * Deletes the entries with the given identifiers. Unknown identifiers are ignored.
+     *
+     * @param ids the identifiers of the entries to delete, deleted in batches as they arrive
+     * @return a {@link Mono} emitting the number of entries deleted and the keys whose prices changed
+     */
+    Mono<PriceChange> delete(Flux<Long> ids);
+}
@@ -2,32 +2,195 @@ package com.ecommerce.pricing_api.domain.model;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.time.ZoneOffset;
 
 /**
  * Represents the price information applicable to a given product and brand
  * for a specific time interval and priority.
  * <p>
- * All fields are wrapped in {@link Optional} to handle potential null values
- * coming from database queries or external systems safely.
+ * The record only holds primitives and the currency code, so a price costs a single allocation however
+ * it is built, cached or decoded. Dates are kept as epoch seconds and nanoseconds of their UTC reading,
+ * and the amount as an integer number of minor units of {@code 10^-priceScale}. Fields coming from
+ * database queries or external systems may be unavailable: the {@code presence} bitmask tells which ones
+ * were set, using the field constants of this class, and unavailable fields hold zero (or {@code null}
+ * for the currency). An unavailable priority therefore reads as {@code 0}.
  * </p>
  *
- * @param productId  the identifier of the product, or empty if unavailable
- * @param brandId    the identifier of the brand, or empty if unavailable
- * @param priceList  the identifier of the price list applicable, or empty if unavailable
- * @param startDate  the start date and time from which this price is valid, or empty if unavailable
- * @param endDate    the end date and time until which this price is valid, or empty if unavailable
- * @param price      the price amount, or empty if unavailable
- * @param currency   the currency code of the price (e.g., "EUR", "USD"), or empty if unavailable
- * @param priority   the priority of this price when overlapping intervals occur, or empty if unavailable
+ * @param productId        the identifier of the product
+ * @param brandId          the identifier of the brand
+ * @param priceList        the identifier of the price list applicable
+ * @param startEpochSecond the epoch seconds of the start date and time from which this price is valid
+ * @param startNano        the nanoseconds of the start date and time
+ * @param endEpochSecond   the epoch seconds of the end date and time until which this price is valid
+ * @param endNano          the nanoseconds of the end date and time
+ * @param priceUnits       the price amount in minor units of {@code 10^-priceScale}
+ * @param priceScale       the number of decimal digits of the price amount
+ * @param currency         the currency code of the price (e.g., "EUR", "USD"), or {@code null} if unavailable
+ * @param priority         the priority of this price when overlapping intervals occur
+ * @param presence         the bitmask of the available fields
  */
 public record ApplicablePrice(
-        Optional<Long> productId,
-        Optional<Long> brandId,
-        Optional<Long> priceList,
-        Optional<LocalDateTime> startDate,
-        Optional<LocalDateTime> endDate,
-        Optional<BigDecimal> price,
-        Optional<String> currency,
-        Optional<Long> priority
-) {}
+        long productId,
+        long brandId,
+        long priceList,
+        long startEpochSecond,
+        int startNano,
+        long endEpochSecond,
+        int endNano,
+        long priceUnits,
+        int priceScale,
+        String currency,
+        long priority,
+        int presence
+) {
+
+    /**
+     * Presence bit of the product identifier.
+     */
+    public static final int PRODUCT_ID = 1;
+
+    /**
+     * Presence bit of the brand identifier.
+     */
+    public static final int BRAND_ID = 1 << 1;
+
+    /**
+     * Presence bit of the price list identifier.
+     */
+    public static final int PRICE_LIST = 1 << 2;
+
+    /**
+     * Presence bit of the start date.
+     */
+    public static final int START_DATE = 1 << 3;
+
+    /**
+     * Presence bit of the end date.
+     */
+    public static final int END_DATE = 1 << 4;
+
+    /**
+     * Presence bit of the price amount.
+     */
+    public static final int PRICE = 1 << 5;
+
+    /**
+     * Presence bit of the currency code.
+     */
+    public static final int CURRENCY = 1 << 6;
+
+    /**
+     * Presence bit of the priority.
+     */
+    public static final int PRIORITY = 1 << 7;
+
+    /**
+     * Bitmask with every field available.
+     */
+    public static final int ALL = 0xFF;
+
+    /**
+     * Normalizes the price so that unavailable fields hold zero and the currency is available
+     * exactly when it is not {@code null}, keeping equality consistent.
+     */
+    public ApplicablePrice {
+        presence &= ALL;
+        presence = currency == null ? presence & ~CURRENCY : presence;
+        currency = (presence & CURRENCY) != 0 ? currency : null;
+        productId = (presence & PRODUCT_ID) != 0 ? productId : 0;
+        brandId = (presence & BRAND_ID) != 0 ? brandId : 0;
+        priceList = (presence & PRICE_LIST) != 0 ? priceList : 0;
+        startEpochSecond = (presence & START_DATE) != 0 ? startEpochSecond : 0;
+        startNano = (presence & START_DATE) != 0 ? startNano : 0;
+        endEpochSecond = (presence & END_DATE) != 0 ? endEpochSecond : 0;
+        endNano = (presence & END_DATE) != 0 ? endNano : 0;
+        priceUnits = (presence & PRICE) != 0 ? priceUnits : 0;
+        priceScale = (presence & PRICE) != 0 ? priceScale : 0;
+        priority = (presence & PRIORITY) != 0 ? priority : 0;
+    }
+
+    /**
+     * Builds a price from possibly {@code null} values, each {@code null} marking its field as unavailable.
+     *
+     * @param productId the identifier of the product, or {@code null}
+     * @param brandId   the identifier of the brand, or {@code null}
+     * @param priceList the identifier of the price list, or {@code null}
+     * @param startDate the start date and time, or {@code null}
+     * @param endDate   the end date and time, or {@code null}
+     * @param price     the price amount, or {@code null}
+     * @param currency  the currency code, or {@code null}
+     * @param priority  the priority, or {@code null}
+     * @return the price
+     * @throws ArithmeticException if the price amount does not fit in a {@code long} of minor units
+     */
+    public static ApplicablePrice of(
+            Long productId,
+            Long brandId,
+            Long priceList,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            BigDecimal price,
+            String currency,
+            Long priority
+    ) {
+        int presence = (productId != null ? PRODUCT_ID : 0)
+                | (brandId != null ? BRAND_ID : 0)
+                | (priceList != null ? PRICE_LIST : 0)
+                | (startDate != null ? START_DATE : 0)
+                | (endDate != null ? END_DATE : 0)
+                | (price != null ? PRICE : 0)
+                | (currency != null ? CURRENCY : 0)
+                | (priority != null ? PRIORITY : 0);
+        return new ApplicablePrice(
+                productId != null ? productId : 0,
+                brandId != null ? brandId : 0,
+                priceList != null ? priceList : 0,
+                startDate != null ? startDate.toEpochSecond(ZoneOffset.UTC) : 0,
+                startDate != null ? startDate.getNano() : 0,
+                endDate != null ? endDate.toEpochSecond(ZoneOffset.UTC) : 0,
+                endDate != null ? endDate.getNano() : 0,
+                price != null ? price.unscaledValue().longValueExact() : 0,
+                price != null ? price.scale() : 0,
+                currency,
+                priority != null ? priority : 0,
+                presence
+        );
+    }
+
+    /**
+     * Tells whether the given fields are available.
+     *
+     * @param fields one or more field constants of this class, combined with {@code |}
+     * @return {@code true} if every given field is available
+     */
+    public boolean has(int fields) {
+        return (presence & fields) == fields;
+    }
+
+    /**
+     * Returns the start date and time from which this price is valid.
+     *
+     * @return the start date and time, or {@code null} if unavailable
+     */
+    public LocalDateTime startDate() {
+        return has(START_DATE) ? LocalDateTime.ofEpochSecond(startEpochSecond, startNano, ZoneOffset.UTC) : null;
+    }
+
+    /**
+     * Returns the end date and time until which this price is valid.
+     *
+     * @return the end date and time, or {@code null} if unavailable
+     */
+    public LocalDateTime endDate() {
+        return has(END_DATE) ? LocalDateTime.ofEpochSecond(endEpochSecond, endNano, ZoneOffset.UTC) : null;
+    }
+
+    /**
+     * Returns the price amount.
+     *
+     * @return the amount, or {@code null} if unavailable
+     */
+    public BigDecimal price() {
+        return has(PRICE) ? BigDecimal.valueOf(priceUnits, priceScale) : null;
+    }
+}
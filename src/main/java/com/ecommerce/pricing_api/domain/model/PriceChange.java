@@ -0,0 +1,42 @@
+package com.ecommerce.pricing_api.domain.model;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The outcome of writing price entries: how many entries were written or deleted, and the price histories
+ * they changed.
+ *
+ * @param entries the number of entries written or deleted
+ * @param keys    the product and brand keys whose prices changed
+ */
+public record PriceChange(long entries, Set<PriceKey> keys) {
+
+    /**
+     * Creates a change, keeping an immutable copy of the keys.
+     */
+    public PriceChange {
+        keys = Set.copyOf(keys);
+    }
+
+    /**
+     * Returns a change that touched nothing.
+     *
+     * @return an empty change
+     */
+    public static PriceChange none() {
+        return new PriceChange(0, Set.of());
+    }
+
+    /**
+     * Combines this change with a later one.
+     *
+     * @param other the change to add
+     * @return a change counting the entries of both and holding the keys of both
+     */
+    public PriceChange merge(PriceChange other) {
+        Set<PriceKey> merged = new HashSet<>(keys);
+        merged.addAll(other.keys);
+        return new PriceChange(entries + other.entries, merged);
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.pricing_api.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A stored price entry, as written through the price write API.
+ *
+ * @param id        the unique identifier of the entry
+ * @param brandId   the identifier of the brand
+ * @param startDate the start of the period in which the price applies, inclusive
+ * @param endDate   the end of the period in which the price applies, inclusive
+ * @param priceList the price list the entry belongs to
+ * @param productId the identifier of the product
+ * @param priority  the priority of the entry; higher values win when periods overlap
+ * @param price     the monetary value of the price
+ * @param currency  the ISO 4217 currency code of the price
+ */
+public record PriceEntry(
+        Long id,
+        Long brandId,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        Long priceList,
+        Long productId,
+        Long priority,
+        BigDecimal price,
+        String currency
+) {
+
+    /**
+     * Returns the key of the price history this entry belongs to.
+     *
+     * @return the {@link PriceKey} of the product and brand
+     */
+    public PriceKey key() {
+        return new PriceKey(productId, brandId);
+    }
+}
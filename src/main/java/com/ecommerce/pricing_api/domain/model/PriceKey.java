@@ -0,0 +1,19 @@
+package com.ecommerce.pricing_api.domain.model;
+
+/**
+ * Identifies the price history of a product for a given brand.
+ *
+ * @param productId the identifier of the product
+ * @param brandId   the identifier of the brand
+ */
+public record PriceKey(Long productId, Long brandId) {
+
+    /**
+     * Returns the composite key under which the price timeline of this product and brand is cached.
+     *
+     * @return the cache key, in {@code productId:brandId} format
+     */
+    public String cacheKey() {
+        return productId + ":" + brandId;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.pricing_api.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * A request for the price applicable to a product and brand at a given date and time.
+ *
+ * @param productId       the identifier of the product to price
+ * @param brandId         the identifier of the brand to price under
+ * @param applicationDate the date and time at which the price should be applicable
+ */
+public record PriceQuery(Long productId, Long brandId, LocalDateTime applicationDate) {
+
+    /**
+     * Returns the key of the price history this query resolves against.
+     *
+     * @return the {@link PriceKey} of the product and brand
+     */
+    public PriceKey key() {
+        return new PriceKey(productId, brandId);
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.pricing_api.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * A single slice of a {@link PriceTimeline}.
+ * <p>
+ * A segment applies from its {@code start} (inclusive) until the start of the next segment
+ * in the timeline (exclusive). Its price is the priority winner among every
+ * {@link ApplicablePrice} valid during that slice, or empty when no price applies.
+ * </p>
+ *
+ * @param start the date and time from which this segment applies (inclusive)
+ * @param price the winning price for the whole segment, or empty if the segment is a gap
+ */
+public record PriceSegment(
+        LocalDateTime start,
+        Optional<ApplicablePrice> price
+) {}
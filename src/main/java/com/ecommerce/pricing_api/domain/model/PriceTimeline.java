@@ -0,0 +1,161 @@
+package com.ecommerce.pricing_api.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Pre-resolved price history of a single product and brand.
+ * <p>
+ * The timeline flattens a list of possibly overlapping {@link ApplicablePrice} entries into
+ * non-overlapping {@link PriceSegment}s sorted by start date, each one already holding the
+ * priority winner for its time slice. Resolving the applicable price for a date is then a
+ * single binary search over the segment start dates.
+ * </p>
+ * <p>
+ * The winner of a slice follows the same rules as the original in-memory selection: only prices
+ * with both dates present are considered, both dates are inclusive, the highest priority wins
+ * (missing priorities count as {@code 0}) and ties are resolved in favour of the entry that
+ * comes first in the source list.
+ * </p>
+ *
+ * @param segments the segments of the timeline, sorted by ascending start date
+ */
+public record PriceTimeline(List<PriceSegment> segments) {
+
+    /**
+     * Creates a timeline from already resolved segments, defensively copying them.
+     *
+     * @param segments the segments sorted by ascending start date, or {@code null} for none
+     */
+    public PriceTimeline {
+        segments = segments == null ? List.of() : List.copyOf(segments);
+    }
+
+    /**
+     * Returns a timeline with no segments, for product and brand combinations without prices.
+     *
+     * @return an empty timeline
+     */
+    public static PriceTimeline empty() {
+        return new PriceTimeline(List.of());
+    }
+
+    /**
+     * Builds the timeline for the given list of prices of a single product and brand.
+     * <p>
+     * Each price opens an interval at its start date and closes it right after its end date.
+     * The boundaries are swept in order while keeping the open prices sorted by priority,
+     * so building the timeline costs {@code O(n log n)} for {@code n} prices.
+     * </p>
+     *
+     * @param prices the prices to flatten, in the order they were retrieved
+     * @return the resulting timeline, with no segments if no price has a valid interval
+     */
+    public static PriceTimeline of(List<ApplicablePrice> prices) {
+        TreeMap<LocalDateTime, List<Integer>> openings = new TreeMap<>();
+        TreeMap<LocalDateTime, List<Integer>> closings = new TreeMap<>();
+
+        for (int i = 0; i < prices.size(); i++) {
+            ApplicablePrice price = prices.get(i);
+            if (!price.has(ApplicablePrice.START_DATE | ApplicablePrice.END_DATE)) {
+                continue;
+            }
+            LocalDateTime start = price.startDate();
+            LocalDateTime end = price.endDate();
+            if (end.isBefore(start)) {
+                continue;
+            }
+            openings.computeIfAbsent(start, k -> new ArrayList<>()).add(i);
+            if (!end.equals(LocalDateTime.MAX)) {
+                closings.computeIfAbsent(end.plusNanos(1), k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        TreeSet<LocalDateTime> boundaries = new TreeSet<>(openings.keySet());
+        boundaries.addAll(closings.keySet());
+
+        Comparator<Integer> byPriority = Comparator
+                .comparingLong((Integer i) -> prices.get(i).priority())
+                .reversed()
+                .thenComparingInt(i -> i);
+        TreeSet<Integer> active = new TreeSet<>(byPriority);
+
+        List<PriceSegment> segments = new ArrayList<>();
+        int previousWinner = -1;
+        for (LocalDateTime boundary : boundaries) {
+            closings.getOrDefault(boundary, List.of()).forEach(active::remove);
+            active.addAll(openings.getOrDefault(boundary, List.of()));
+
+            int winner = active.isEmpty() ? -1 : active.first();
+            if (segments.isEmpty() || winner != previousWinner) {
+                segments.add(new PriceSegment(
+                        boundary,
+                        winner < 0 ? Optional.empty() : Optional.of(prices.get(winner))
+                ));
+                previousWinner = winner;
+            }
+        }
+
+        return new PriceTimeline(segments);
+    }
+
+    /**
+     * Resolves the price applicable at the given date and time.
+     *
+     * @param applicationDate the date and time at which the price should be applicable
+     * @return an {@link Optional} containing the winning {@link ApplicablePrice},
+     *         or empty if no price applies at that date
+     */
+    public Optional<ApplicablePrice> resolve(LocalDateTime applicationDate) {
+        int found = segmentAt(applicationDate);
+        return found < 0 ? Optional.empty() : segments.get(found).price();
+    }
+
+    /**
+     * Resolves the price applicable at the given date and time, along with the date at which it next changes.
+     * <p>
+     * The next change is the start of the following segment. When no segment follows, as with the last segment
+     * of the timeline, the end of the resolved price bounds it instead.
+     * </p>
+     *
+     * @param applicationDate the date and time at which the price should be applicable
+     * @return the {@link ResolvedPrice} at that date
+     */
+    public ResolvedPrice resolveWithNextChange(LocalDateTime applicationDate) {
+        int found = segmentAt(applicationDate);
+        Optional<ApplicablePrice> price = found < 0 ? Optional.empty() : segments.get(found).price();
+        if (found + 1 < segments.size()) {
+            return new ResolvedPrice(price, Optional.of(segments.get(found + 1).start()));
+        }
+        return ResolvedPrice.of(price);
+    }
+
+    /**
+     * Finds the segment covering the given date with a binary search over the segment start dates.
+     *
+     * @param applicationDate the date and time to look up
+     * @return the index of the last segment starting at or before the date, or {@code -1} if there is none
+     */
+    private int segmentAt(LocalDateTime applicationDate) {
+        int low = 0;
+        int high = segments.size() - 1;
+        int found = -1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (segments.get(mid).start().isAfter(applicationDate)) {
+                high = mid - 1;
+            } else {
+                found = mid;
+                low = mid + 1;
+            }
+        }
+
+        return found;
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.pricing_api.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Outcome of resolving the applicable price of a product and brand at a date, together with how long
+ * that outcome holds.
+ * <p>
+ * The {@code nextChange} is the earliest date after the resolved one at which a different price (or no
+ * price) may apply. It is only an upper bound when the resolution did not see the whole price history of
+ * the key, and is empty when the outcome holds indefinitely or the bound is unknown.
+ * </p>
+ *
+ * @param price      the applicable price, or empty if none applies
+ * @param nextChange the date from which the resolved outcome may no longer apply, or empty if unknown
+ */
+public record ResolvedPrice(
+        Optional<ApplicablePrice> price,
+        Optional<LocalDateTime> nextChange
+) {
+
+    /**
+     * Creates the outcome of a resolution that only knows the winning price, which holds at most until
+     * the end of its validity period.
+     *
+     * @param price the applicable price, or empty if none applies
+     * @return the outcome, changing no later than right after the end date of the price
+     */
+    public static ResolvedPrice of(Optional<ApplicablePrice> price) {
+        return new ResolvedPrice(price, price.flatMap(ResolvedPrice::afterEnd));
+    }
+
+    /**
+     * Returns the instant right after the end of the validity period of a price.
+     *
+     * @param price the price
+     * @return the instant one nanosecond after its end date, or empty if it has no end or ends at the end of time
+     */
+    static Optional<LocalDateTime> afterEnd(ApplicablePrice price) {
+        LocalDateTime end = price.endDate();
+        return end == null || end.equals(LocalDateTime.MAX) ? Optional.empty() : Optional.of(end.plusNanos(1));
+    }
+}
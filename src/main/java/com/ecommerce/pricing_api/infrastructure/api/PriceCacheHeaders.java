@@ -0,0 +1,109 @@
+package com.ecommerce.pricing_api.infrastructure.api;
+
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import org.springframework.http.CacheControl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Utility computing the HTTP validators and freshness of price responses.
+ * <p>
+ * The entity tag of a response is a 64-bit fingerprint of the fields of the price it is built from, so
+ * it changes whenever a write changes the price served for the request, and identical responses from
+ * different nodes share it. The {@code max-age} is bounded both by a configured limit, since prices may be
+ * rewritten at any time, and by the time the resolved price stays in force after the requested date.
+ * </p>
+ */
+public final class PriceCacheHeaders {
+
+    /**
+     * Version of the response format, mixed into every entity tag so that tags issued for an older
+     * response shape never match.
+     */
+    private static final long FORMAT_VERSION = 1;
+
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private PriceCacheHeaders() {
+    }
+
+    /**
+     * Computes the strong entity tag of the response built from the given price.
+     * <p>
+     * Every field shown in the response is fingerprinted, including the scale of the amount; the priority,
+     * which is not shown, is left out.
+     * </p>
+     *
+     * @param price the price the response is built from
+     * @return the quoted entity tag
+     */
+    public static String etag(ApplicablePrice price) {
+        long hash = mix(FORMAT_VERSION, price.presence() & ~ApplicablePrice.PRIORITY);
+        hash = mix(hash, price.productId());
+        hash = mix(hash, price.brandId());
+        hash = mix(hash, price.priceList());
+        hash = mix(hash, price.startEpochSecond());
+        hash = mix(hash, price.startNano());
+        hash = mix(hash, price.endEpochSecond());
+        hash = mix(hash, price.endNano());
+        hash = mix(hash, price.priceUnits());
+        hash = mix(hash, price.priceScale());
+        hash = mix(hash, price.currency() == null ? 0 : price.currency().hashCode());
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Builds the {@code Cache-Control} of a price response.
+     *
+     * @param applicationDate the requested date
+     * @param nextChange      the date from which the resolved price may no longer apply, if known
+     * @param maxAge          the longest freshness allowed
+     * @return public caching for the shorter of {@code maxAge} and the time from the requested date to the
+     *         next change, never negative
+     */
+    public static CacheControl cacheControl(LocalDateTime applicationDate, Optional<LocalDateTime> nextChange, Duration maxAge) {
+        long seconds = maxAge.toSeconds();
+        if (nextChange.isPresent()) {
+            seconds = Math.min(seconds, ChronoUnit.SECONDS.between(applicationDate, nextChange.get()));
+        }
+        return CacheControl.maxAge(Duration.ofSeconds(Math.max(0, seconds))).cachePublic();
+    }
+
+    /**
+     * Tells whether a conditional request already holds the representation with the given entity tag.
+     * <p>
+     * Follows the weak comparison that {@code If-None-Match} requires: {@code W/} prefixes are ignored, and
+     * {@code *} matches any current representation.
+     * </p>
+     *
+     * @param ifNoneMatch the value of the {@code If-None-Match} header, or {@code null} if absent
+     * @param etag        the entity tag of the current representation
+     * @return {@code true} if a {@code 304 Not Modified} can be returned
+     */
+    public static boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long mix(long hash, long value) {
+        hash = (hash ^ value) * MULTIPLIER;
+        return hash ^ (hash >>> 32);
+    }
+}
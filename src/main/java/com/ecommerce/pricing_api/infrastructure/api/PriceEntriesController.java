@@ -0,0 +1,141 @@
+package com.ecommerce.pricing_api.infrastructure.api;
+
+import com.ecommerce.pricing_api.application.dto.PriceEntryDto;
+import com.ecommerce.pricing_api.application.dto.PriceWriteResponseDto;
+import com.ecommerce.pricing_api.application.mapper.PriceEntryMapper;
+import com.ecommerce.pricing_api.application.usecases.PriceWriteUseCase;
+import com.ecommerce.pricing_api.infrastructure.api.exceptions.PriceEntryNotFoundException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller for writing price entries.
+ * <p>
+ * Exposes endpoints to upsert and delete price entries, either one at a time or as a stream of any size,
+ * sent as a JSON array or as newline-delimited JSON. Bulk streams are written in batches as they arrive.
+ * Only the cached prices of the products and brands touched by a write are invalidated.
+ * </p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/prices/entries")
+@RequiredArgsConstructor
+@Validated
+public class PriceEntriesController {
+
+    private final PriceWriteUseCase priceWriteUseCase;
+
+    /**
+     * Inserts a price entry, or replaces the stored entry with the same identifier.
+     *
+     * @param entry the entry to write
+     * @return a {@link Mono} emitting a {@link ResponseEntity} containing the {@link PriceWriteResponseDto}
+     */
+    @Operation(
+            summary = "Upsert a price entry",
+            description = "Inserts a price entry or replaces the entry with the same id, invalidating its cached prices"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Entry written"),
+            @ApiResponse(responseCode = "400", description = "Invalid request body"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PutMapping
+    public Mono<ResponseEntity<PriceWriteResponseDto>> upsert(@Valid @RequestBody PriceEntryDto entry) {
+        log.info("Received upsert -> id: {}, productId: {}, brandId: {}", entry.id(), entry.productId(), entry.brandId());
+
+        return priceWriteUseCase.upsert(Flux.just(PriceEntryMapper.toEntry(entry)))
+                .map(change -> ResponseEntity.ok(PriceEntryMapper.toResponseDto(change)));
+    }
+
+    /**
+     * Deletes a price entry.
+     *
+     * @param id the identifier of the entry
+     * @return a {@link Mono} emitting a {@link ResponseEntity} containing the {@link PriceWriteResponseDto}
+     * @throws PriceEntryNotFoundException if no entry has this identifier
+     */
+    @Operation(
+            summary = "Delete a price entry",
+            description = "Deletes the price entry with the given id, invalidating its cached prices"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Entry deleted"),
+            @ApiResponse(responseCode = "404", description = "No entry with this id"),
+            @ApiResponse(responseCode = "400", description = "Invalid parameters"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<PriceWriteResponseDto>> delete(
+            @Parameter(description = "Price entry ID", example = "1")
+            @PathVariable Long id
+    ) {
+        log.info("Received delete -> id: {}", id);
+
+        return priceWriteUseCase.delete(Flux.just(id))
+                .flatMap(change -> change.entries() == 0
+                        ? Mono.error(new PriceEntryNotFoundException(id))
+                        : Mono.just(ResponseEntity.ok(PriceEntryMapper.toResponseDto(change))));
+    }
+
+    /**
+     * Upserts a stream of price entries, written in batches as they arrive.
+     * <p>
+     * Batches are written in order, so a later entry with the same identifier wins. If an entry is invalid or
+     * a batch fails, the earlier batches stay written and the request can be retried as a whole.
+     * </p>
+     *
+     * @param entries the entries to write, as a JSON array or newline-delimited JSON
+     * @return a {@link Mono} emitting a {@link ResponseEntity} containing the {@link PriceWriteResponseDto}
+     */
+    @Operation(
+            summary = "Upsert price entries in bulk",
+            description = "Streams price entries as a JSON array or NDJSON, writing them in batches and invalidating the cached prices they change"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Entries written"),
+            @ApiResponse(responseCode = "400", description = "Invalid request body"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<PriceWriteResponseDto>> upsertAll(@Valid @RequestBody Flux<PriceEntryDto> entries) {
+        log.info("Received bulk upsert");
+
+        return priceWriteUseCase.upsert(entries.map(PriceEntryMapper::toEntry))
+                .map(change -> ResponseEntity.ok(PriceEntryMapper.toResponseDto(change)));
+    }
+
+    /**
+     * Deletes a stream of price entries, deleted in batches as they arrive. Unknown identifiers are ignored.
+     *
+     * @param ids the identifiers of the entries to delete, as a JSON array or newline-delimited JSON
+     * @return a {@link Mono} emitting a {@link ResponseEntity} containing the {@link PriceWriteResponseDto}
+     */
+    @Operation(
+            summary = "Delete price entries in bulk",
+            description = "Streams price entry ids as a JSON array or NDJSON, deleting them in batches and invalidating the cached prices they change"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Entries deleted"),
+            @ApiResponse(responseCode = "400", description = "Invalid request body"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/bulk-delete", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<PriceWriteResponseDto>> deleteAll(@RequestBody Flux<Long> ids) {
+        log.info("Received bulk delete");
+
+        return priceWriteUseCase.delete(ids)
+                .map(change -> ResponseEntity.ok(PriceEntryMapper.toResponseDto(change)));
+    }
+}
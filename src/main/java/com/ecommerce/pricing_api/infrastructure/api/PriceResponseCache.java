@@ -0,0 +1,178 @@
+package com.ecommerce.pricing_api.infrastructure.api;
+
+import com.ecommerce.pricing_api.application.dto.ApplicablePriceResponseDto;
+import com.ecommerce.pricing_api.application.dto.ErrorResponseDto;
+import com.ecommerce.pricing_api.application.mapper.ApplicablePriceMapper;
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.infrastructure.config.HttpCacheProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+
+/**
+ * In-process cache of the serialized bodies of single price responses.
+ * <p>
+ * The body of a price response depends only on the price it is built from, never on the requested date, so
+ * every request resolved to the same price of a timeline segment gets the same bytes. They are serialized once
+ * with the application {@link ObjectMapper}, exactly as WebFlux would write the
+ * {@link ApplicablePriceResponseDto}, and kept along with their entity tag, keyed by the price itself: a
+ * price that changes becomes a different key, so entries never need invalidating and stale ones simply age
+ * out of the cache, bounded by {@link HttpCacheProperties#getResponseCacheMaxEntries()}.
+ * </p>
+ * <p>
+ * Not-found bodies carry the request and the time of the response, so they cannot be cached whole. Instead,
+ * an {@link ErrorResponseDto} with placeholder message and timestamp is serialized once with the same mapper,
+ * and each request only splices its message and timestamp into the bytes around them. Should the mapper write
+ * dates in another format than ISO-8601, every not-found body is serialized in full instead.
+ * </p>
+ */
+@Slf4j
+@Component
+public class PriceResponseCache {
+
+    private static final String MESSAGE_PLACEHOLDER = "{message}";
+    private static final LocalDateTime TIMESTAMP_PLACEHOLDER = LocalDateTime.of(1970, 1, 1, 0, 0, 0, 1_000);
+
+    private final ObjectMapper objectMapper;
+    private final Cache<ApplicablePrice, PriceResponse> cache;
+    private final NotFoundTemplate notFoundTemplate;
+
+    /**
+     * Serialized response of a price, ready to be written.
+     *
+     * @param body the UTF-8 JSON body
+     * @param etag the entity tag of the body, as computed by {@link PriceCacheHeaders#etag(ApplicablePrice)}
+     */
+    public record PriceResponse(byte[] body, String etag) {
+    }
+
+    /**
+     * Serialized not-found body split around its message and timestamp, both written as JSON strings.
+     *
+     * @param head   the bytes before the message
+     * @param middle the bytes between the message and the timestamp
+     * @param tail   the bytes after the timestamp
+     */
+    private record NotFoundTemplate(byte[] head, byte[] middle, byte[] tail) {
+
+        /**
+         * Splits a serialized error around its placeholders.
+         *
+         * @param json the error serialized with {@link #MESSAGE_PLACEHOLDER} and {@link #TIMESTAMP_PLACEHOLDER}
+         * @return the template, or {@code null} if the placeholders are not found as expected
+         */
+        static NotFoundTemplate of(String json) {
+            String timestamp = TIMESTAMP_PLACEHOLDER.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            int message = json.indexOf(MESSAGE_PLACEHOLDER);
+            int date = json.indexOf(timestamp);
+            if (message < 0 || date < message) {
+                return null;
+            }
+            return new NotFoundTemplate(
+                    json.substring(0, message).getBytes(StandardCharsets.UTF_8),
+                    json.substring(message + MESSAGE_PLACEHOLDER.length(), date).getBytes(StandardCharsets.UTF_8),
+                    json.substring(date + timestamp.length()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Writes a not-found body.
+         *
+         * @param message   the message, holding no character JSON strings must escape
+         * @param timestamp the time of the response
+         * @return the UTF-8 JSON body
+         */
+        byte[] render(String message, LocalDateTime timestamp) {
+            byte[] messageBytes = message.getBytes(StandardCharsets.US_ASCII);
+            byte[] timestampBytes = timestamp.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME).getBytes(StandardCharsets.US_ASCII);
+            byte[] body = new byte[head.length + messageBytes.length + middle.length + timestampBytes.length + tail.length];
+            int offset = 0;
+            for (byte[] part : new byte[][]{head, messageBytes, middle, timestampBytes, tail}) {
+                System.arraycopy(part, 0, body, offset, part.length);
+                offset += part.length;
+            }
+            return body;
+        }
+    }
+
+    /**
+     * Creates the cache using the limits configured in {@link HttpCacheProperties}.
+     *
+     * @param objectMapper        the object mapper WebFlux writes JSON responses with
+     * @param httpCacheProperties the properties with the maximum number of entries
+     */
+    public PriceResponseCache(ObjectMapper objectMapper, HttpCacheProperties httpCacheProperties) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(httpCacheProperties.getResponseCacheMaxEntries())
+                .recordStats()
+                .build();
+        this.notFoundTemplate = NotFoundTemplate.of(new String(
+                writeError(MESSAGE_PLACEHOLDER, TIMESTAMP_PLACEHOLDER), StandardCharsets.UTF_8));
+        log.info("Price response cache config --> maxEntries: {}", httpCacheProperties.getResponseCacheMaxEntries());
+    }
+
+    /**
+     * Returns the serialized response of the given price, serializing it on first use.
+     *
+     * @param price the resolved price
+     * @return the body and entity tag of the response
+     * @throws UncheckedIOException if the price cannot be serialized
+     */
+    public PriceResponse response(ApplicablePrice price) {
+        return cache.get(price, this::serialize);
+    }
+
+    /**
+     * Builds the body of the response to a request without an applicable price.
+     *
+     * @param productId       the identifier of the requested product
+     * @param brandId         the identifier of the requested brand
+     * @param applicationDate the requested date and time
+     * @return the UTF-8 JSON body of the {@link ErrorResponseDto}
+     * @throws UncheckedIOException if the error cannot be serialized
+     */
+    public byte[] notFound(Long productId, Long brandId, LocalDateTime applicationDate) {
+        String message = "No applicable price found for productId=" + productId + ", brandId=" + brandId
+                + " on date=" + applicationDate;
+        LocalDateTime now = LocalDateTime.now();
+        return notFoundTemplate == null ? writeError(message, now) : notFoundTemplate.render(message, now);
+    }
+
+    /**
+     * Returns the hit, miss and eviction counters of the cache.
+     *
+     * @return the cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private byte[] writeError(String message, LocalDateTime timestamp) {
+        try {
+            return objectMapper.writeValueAsBytes(
+                    new ErrorResponseDto(HttpStatus.NOT_FOUND.value(), "Not Found", message, timestamp));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private PriceResponse serialize(ApplicablePrice price) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(ApplicablePriceMapper.toDto(Optional.of(price)).orElseThrow());
+            return new PriceResponse(body, PriceCacheHeaders.etag(price));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
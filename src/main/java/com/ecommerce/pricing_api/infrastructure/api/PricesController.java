@@ -1,28 +1,45 @@
 package com.ecommerce.pricing_api.infrastructure.api;
 
 import com.ecommerce.pricing_api.application.dto.ApplicablePriceResponseDto;
+import com.ecommerce.pricing_api.application.dto.BatchPriceRequestDto;
+import com.ecommerce.pricing_api.application.dto.BatchPriceResponseDto;
+import com.ecommerce.pricing_api.application.dto.BatchPriceResultDto;
+import com.ecommerce.pricing_api.application.dto.ErrorResponseDto;
 import com.ecommerce.pricing_api.application.mapper.ApplicablePriceMapper;
 import com.ecommerce.pricing_api.application.usecases.ApplicablePriceUseCase;
-import com.ecommerce.pricing_api.infrastructure.api.exceptions.PriceNotFoundException;
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceQuery;
+import com.ecommerce.pricing_api.infrastructure.config.HttpCacheProperties;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * REST controller for handling price retrieval requests.
  * <p>
- * Exposes an endpoint to obtain the applicable price for a given product and brand at a specified date and time.
+ * Exposes endpoints to obtain the applicable price for a given product and brand at a specified date and time,
+ * either one at a time or for many product, brand and date tuples in a single call.
  */
 @Slf4j
 @RestController
@@ -32,43 +49,116 @@ import java.time.LocalDateTime;
 public class PricesController {
 
     private final ApplicablePriceUseCase applicablePriceUseCase;
+    private final HttpCacheProperties httpCacheProperties;
+    private final PriceResponseCache priceResponseCache;
 
     /**
      * Retrieves the applicable price for a given product and brand at the specified application date.
+     * <p>
+     * Responses carry an {@code ETag} fingerprinting the price and a {@code Cache-Control} whose {@code max-age}
+     * never outlasts the resolved price. When {@code If-None-Match} already holds that tag, the response is a
+     * bodiless {@code 304 Not Modified}.
+     * </p>
+     * <p>
+     * The tag is computed before any body, so a {@code 304} never serializes one; bodies of {@code 200}
+     * responses are serialized once per price by the {@link PriceResponseCache}, and requests without an
+     * applicable price get a 404 body built without raising an exception.
+     * </p>
      *
      * @param applicationDate the date and time for which the price should be calculated (ISO-8601 format)
      * @param productId       the identifier of the product
      * @param brandId         the identifier of the brand
-     * @return a {@link Mono} emitting a {@link ResponseEntity} containing the {@link ApplicablePriceResponseDto} if a price is found.
-     * @throws PriceNotFoundException if no applicable price exists
+     * @param ifNoneMatch     the entity tags the client already holds, if any
+     * @return a {@link Mono} emitting a {@link ResponseEntity} containing the JSON of the {@link ApplicablePriceResponseDto}
+     *         if a price is found, or of an {@link ErrorResponseDto} otherwise
      */
     @Operation(
             summary = "Get applicable price",
             description = "Returns the applicable price for a given product and brand at a specific date"
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Price found"),
-            @ApiResponse(responseCode = "404", description = "No applicable price found"),
+            @ApiResponse(responseCode = "200", description = "Price found",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApplicablePriceResponseDto.class))),
+            @ApiResponse(responseCode = "304", description = "Price unchanged since the given entity tag"),
+            @ApiResponse(responseCode = "404", description = "No applicable price found",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponseDto.class))),
             @ApiResponse(responseCode = "400", description = "Invalid parameters"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping
-    public Mono<ResponseEntity<ApplicablePriceResponseDto>> getPrice(
+    public Mono<ResponseEntity<byte[]>> getPrice(
             @Parameter(description = "Application date in ISO-8601 format", example = "2020-06-14T10:00:00")
             @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime applicationDate,
             @Parameter(description = "Product ID", example = "35455")
             @RequestParam @NotNull Long productId,
             @Parameter(description = "Brand ID", example = "1")
-            @RequestParam @NotNull Long brandId
+            @RequestParam @NotNull Long brandId,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
         log.info("Received request -> applicationDate: {}, productId: {}, brandId: {}", applicationDate, productId, brandId);
 
-        return applicablePriceUseCase.getApplicablePrice(productId, brandId, applicationDate)
-                .flatMap(price -> ApplicablePriceMapper.toDto(price)
-                        .map(dto -> Mono.just(ResponseEntity.ok(dto)))
-                        .orElseThrow(() -> new PriceNotFoundException(
-                                productId, brandId, applicationDate
-                        ))
-                );
+        return applicablePriceUseCase.resolveApplicablePrice(productId, brandId, applicationDate)
+                .map(resolved -> {
+                    if (resolved.price().isEmpty()) {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(priceResponseCache.notFound(productId, brandId, applicationDate));
+                    }
+                    ApplicablePrice price = resolved.price().get();
+                    String etag = PriceCacheHeaders.etag(price);
+                    CacheControl cacheControl = PriceCacheHeaders.cacheControl(applicationDate, resolved.nextChange(),
+                            Duration.ofSeconds(httpCacheProperties.getMaxAgeSeconds()));
+                    if (PriceCacheHeaders.notModified(ifNoneMatch, etag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(etag)
+                                .cacheControl(cacheControl)
+                                .<byte[]>build();
+                    }
+                    return ResponseEntity.ok()
+                            .eTag(etag)
+                            .cacheControl(cacheControl)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(priceResponseCache.response(price).body());
+                });
+    }
+
+    /**
+     * Retrieves the applicable prices of many product, brand and application date tuples in a single call.
+     * <p>
+     * Every line gets its own result, in the same order as the request; lines without an applicable
+     * price are reported with status 404 instead of failing the whole batch.
+     * </p>
+     *
+     * @param request the lines to resolve
+     * @return a {@link Mono} emitting a {@link ResponseEntity} containing one {@link BatchPriceResultDto} per line
+     */
+    @Operation(
+            summary = "Get applicable prices in batch",
+            description = "Returns the applicable price of every requested product, brand and date tuple, reporting not-found per line"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch resolved"),
+            @ApiResponse(responseCode = "400", description = "Invalid request body"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<BatchPriceResponseDto>> getPrices(@Valid @RequestBody BatchPriceRequestDto request) {
+        log.info("Received batch request -> {} items", request.items().size());
+
+        List<PriceQuery> queries = request.items().stream()
+                .map(ApplicablePriceMapper::toQuery)
+                .toList();
+
+        return applicablePriceUseCase.getApplicablePrices(queries)
+                .map(prices -> {
+                    List<BatchPriceResultDto> results = new ArrayList<>(queries.size());
+                    for (int i = 0; i < queries.size(); i++) {
+                        results.add(ApplicablePriceMapper.toBatchResultDto(queries.get(i), prices.get(i)));
+                    }
+                    return ResponseEntity.ok(new BatchPriceResponseDto(results));
+                });
     }
 }
@@ -59,13 +59,13 @@ public class GlobalExceptionHandler {
     }
 
     /**
-     * Handles cases where no applicable price is found, returning a 404 response.
+     * Handles deletions of unknown price entries, returning a 404 response.
      *
-     * @param ex the thrown PriceNotFoundException
+     * @param ex the thrown PriceEntryNotFoundException
      * @return a 404 Not Found response with error details
      */
-    @ExceptionHandler(PriceNotFoundException.class)
-    public ResponseEntity<ErrorResponseDto> handlePriceNotFoundException(PriceNotFoundException ex) {
+    @ExceptionHandler(PriceEntryNotFoundException.class)
+    public ResponseEntity<ErrorResponseDto> handlePriceEntryNotFoundException(PriceEntryNotFoundException ex) {
         ErrorResponseDto errorResponseDto = new ErrorResponseDto(
                 HttpStatus.NOT_FOUND.value(),
                 "Not Found",
@@ -0,0 +1,19 @@
+package com.ecommerce.pricing_api.infrastructure.api.exceptions;
+
+/**
+ * Exception thrown when a price entry to delete does not exist.
+ * <p>
+ * This exception signals a 404 Not Found error in the API.
+ * </p>
+ */
+public class PriceEntryNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new PriceEntryNotFoundException with a detailed message.
+     *
+     * @param id the identifier of the missing entry
+     */
+    public PriceEntryNotFoundException(Long id) {
+        super(String.format("No price entry found for id=%d", id));
+    }
+}
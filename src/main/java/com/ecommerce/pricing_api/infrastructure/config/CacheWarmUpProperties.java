@@ -0,0 +1,154 @@
+package com.ecommerce.pricing_api.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for warming up the price cache at startup.
+ * <p>
+ * Binds to properties prefixed with {@code pricing.warm-up} in the application configuration.
+ * Includes whether the warm-up runs at all, how many keys it caches, how they are grouped and
+ * throttled, and whether the application waits for it before reporting itself ready.
+ */
+@Component
+@ConfigurationProperties(prefix = "pricing.warm-up")
+public class CacheWarmUpProperties {
+
+    /**
+     * Whether to warm up the cache once the database is initialized.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of keys to cache, those with the most prices first. {@code 0} caches every key.
+     */
+    private long maxKeys = 0;
+
+    /**
+     * Number of keys loaded from the database and written to the cache together.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Maximum number of batches in flight at the same time.
+     */
+    private int concurrency = 2;
+
+    /**
+     * Maximum number of keys cached per second. {@code 0} disables throttling.
+     */
+    private long keysPerSecond = 0;
+
+    /**
+     * Whether readiness waits for the warm-up to finish.
+     */
+    private boolean waitBeforeReady = false;
+
+    /**
+     * Gets whether the cache is warmed up at startup.
+     *
+     * @return {@code true} if the warm-up is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the cache is warmed up at startup.
+     *
+     * @param enabled {@code true} to enable the warm-up
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the number of keys to cache.
+     *
+     * @return the maximum number of keys, {@code 0} for all
+     */
+    public long getMaxKeys() {
+        return maxKeys;
+    }
+
+    /**
+     * Sets the number of keys to cache.
+     *
+     * @param maxKeys the maximum number of keys, {@code 0} for all
+     */
+    public void setMaxKeys(long maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Gets the number of keys loaded and cached together.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of keys loaded and cached together.
+     *
+     * @param batchSize the batch size
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets the maximum number of batches in flight at the same time.
+     *
+     * @return the warm-up concurrency
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Sets the maximum number of batches in flight at the same time.
+     *
+     * @param concurrency the warm-up concurrency
+     */
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Gets the maximum number of keys cached per second.
+     *
+     * @return the rate limit, {@code 0} if unthrottled
+     */
+    public long getKeysPerSecond() {
+        return keysPerSecond;
+    }
+
+    /**
+     * Sets the maximum number of keys cached per second.
+     *
+     * @param keysPerSecond the rate limit, {@code 0} to disable throttling
+     */
+    public void setKeysPerSecond(long keysPerSecond) {
+        this.keysPerSecond = keysPerSecond;
+    }
+
+    /**
+     * Gets whether readiness waits for the warm-up to finish.
+     *
+     * @return {@code true} if the application is only ready once the cache is warm
+     */
+    public boolean isWaitBeforeReady() {
+        return waitBeforeReady;
+    }
+
+    /**
+     * Sets whether readiness waits for the warm-up to finish.
+     *
+     * @param waitBeforeReady {@code true} to only report the application ready once the cache is warm
+     */
+    public void setWaitBeforeReady(boolean waitBeforeReady) {
+        this.waitBeforeReady = waitBeforeReady;
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.pricing_api.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the initial load of price entries into H2.
+ * <p>
+ * Binds to properties prefixed with {@code pricing.data-load} in the application configuration.
+ * Includes the number of rows written per multi-row {@code INSERT} statement and the number of
+ * statements executed concurrently.
+ */
+@Component
+@ConfigurationProperties(prefix = "pricing.data-load")
+public class DataLoadProperties {
+
+    /**
+     * Number of rows inserted per statement.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Maximum number of insert statements in flight at the same time.
+     */
+    private int concurrency = 4;
+
+    /**
+     * Gets the number of rows inserted per statement.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of rows inserted per statement.
+     *
+     * @param batchSize the batch size
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets the maximum number of insert statements in flight at the same time.
+     *
+     * @return the insert concurrency
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Sets the maximum number of insert statements in flight at the same time.
+     *
+     * @param concurrency the insert concurrency
+     */
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+}
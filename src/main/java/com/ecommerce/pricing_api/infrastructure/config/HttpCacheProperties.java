@@ -0,0 +1,62 @@
+package com.ecommerce.pricing_api.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for HTTP caching of price responses.
+ * <p>
+ * Binds to properties prefixed with {@code pricing.http-cache} in the application configuration.
+ * Includes the longest time a client or CDN may reuse a price response without revalidating it, and the
+ * number of serialized price responses kept in memory.
+ */
+@Component
+@ConfigurationProperties(prefix = "pricing.http-cache")
+public class HttpCacheProperties {
+
+    /**
+     * Upper bound of the {@code max-age} of price responses, in seconds.
+     */
+    private long maxAgeSeconds = 60;
+
+    /**
+     * Maximum number of distinct prices whose serialized responses are kept in memory.
+     */
+    private long responseCacheMaxEntries = 10_000;
+
+    /**
+     * Gets the upper bound of the {@code max-age} of price responses.
+     *
+     * @return the maximum age in seconds
+     */
+    public long getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+
+    /**
+     * Sets the upper bound of the {@code max-age} of price responses.
+     *
+     * @param maxAgeSeconds the maximum age in seconds
+     */
+    public void setMaxAgeSeconds(long maxAgeSeconds) {
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    /**
+     * Gets the maximum number of serialized price responses kept in memory.
+     *
+     * @return the maximum number of entries
+     */
+    public long getResponseCacheMaxEntries() {
+        return responseCacheMaxEntries;
+    }
+
+    /**
+     * Sets the maximum number of serialized price responses kept in memory.
+     *
+     * @param responseCacheMaxEntries the maximum number of entries
+     */
+    public void setResponseCacheMaxEntries(long responseCacheMaxEntries) {
+        this.responseCacheMaxEntries = responseCacheMaxEntries;
+    }
+}
@@ -0,0 +1,86 @@
+package com.ecommerce.pricing_api.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the in-memory price store.
+ * <p>
+ * Binds to properties prefixed with {@code pricing.in-memory-store} in the application configuration.
+ * Includes whether the whole PRICES table is kept in memory in place of the near cache, how often
+ * it is reloaded from the database, and how many price changes it absorbs before reloading.
+ */
+@Component
+@ConfigurationProperties(prefix = "pricing.in-memory-store")
+public class InMemoryStoreProperties {
+
+    /**
+     * Whether to serve prices from an in-memory copy of the PRICES table instead of the near cache.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Seconds between two full reloads of the table. {@code 0} only loads it at startup.
+     */
+    private long reloadIntervalSeconds = 0;
+
+    /**
+     * Number of keys overridden by price changes since the last load that triggers a reload of the table.
+     * {@code 0} never reloads on overrides.
+     */
+    private int maxOverrides = 10_000;
+
+    /**
+     * Gets whether prices are served from the in-memory store.
+     *
+     * @return {@code true} if the store is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether prices are served from the in-memory store.
+     *
+     * @param enabled {@code true} to enable the store
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the number of seconds between two full reloads of the table.
+     *
+     * @return the reload interval in seconds, {@code 0} if the table is only loaded at startup
+     */
+    public long getReloadIntervalSeconds() {
+        return reloadIntervalSeconds;
+    }
+
+    /**
+     * Sets the number of seconds between two full reloads of the table.
+     *
+     * @param reloadIntervalSeconds the reload interval in seconds, {@code 0} to only load at startup
+     */
+    public void setReloadIntervalSeconds(long reloadIntervalSeconds) {
+        this.reloadIntervalSeconds = reloadIntervalSeconds;
+    }
+
+    /**
+     * Gets the number of overridden keys that triggers a reload of the table.
+     *
+     * @return the maximum number of overridden keys, {@code 0} if overrides never trigger a reload
+     */
+    public int getMaxOverrides() {
+        return maxOverrides;
+    }
+
+    /**
+     * Sets the number of overridden keys that triggers a reload of the table.
+     *
+     * @param maxOverrides the maximum number of overridden keys, {@code 0} to never reload on overrides
+     */
+    public void setMaxOverrides(int maxOverrides) {
+        this.maxOverrides = maxOverrides;
+    }
+}
@@ -5,83 +5,260 @@ import com.fasterxml.jackson.datatype.jdk8.Jdk8Module; // <- necesario para Opti
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer.ApplicablePriceJsonModule;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer.CachedPriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer.PriceTimelineRedisSerializer;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.resource.ClientResources;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
+import org.springframework.data.redis.connection.RedisNode;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import java.util.List;
+import java.time.Duration;
+import java.util.Optional;
 
 /**
  * Spring configuration class for setting up Redis serialization and connection.
  * <p>
- * Provides a {@link ReactiveRedisTemplate} bean that uses String keys and JSON-serialized
- * lists of {@link ApplicablePrice} as values. Also explicitly configures the
- * {@link ReactiveRedisConnectionFactory} using {@link RedisProperties}.
+ * Provides a {@link ReactiveRedisTemplate} bean that uses String keys and {@link PriceTimeline}s of
+ * {@link ApplicablePrice} as values, serialized as JSON or compact binary. Also explicitly configures the
+ * {@link ReactiveRedisConnectionFactory} using {@link RedisProperties}, for a standalone server, a
+ * Sentinel-monitored master or a Redis Cluster, optionally reading from replicas.
  * <p>
- * The {@link ObjectMapper} is customized to handle {@link java.util.Optional}
- * and Java 8 date/time types.
+ * Lettuce already pipelines the commands of concurrent requests over its shared connection, writing each one
+ * without waiting for the replies to the previous ones, so no explicit pipelining is configured; the socket
+ * options only decide whether those writes may be coalesced.
+ * <p>
+ * The {@link ObjectMapper} is customized to handle {@link java.util.Optional},
+ * Java 8 date/time types and compact {@link ApplicablePrice}s.
+ * <p>
+ * A second {@link ReactiveRedisTemplate} with raw byte array values backs the sorted-set layout of
+ * cached timelines, whose members are encoded segment by segment, and a {@link ReactiveStringRedisTemplate}
+ * publishes cache invalidations to the other nodes.
  */
 @Configuration
 public class RedisConfig {
 
     /**
-     * Creates a reactive Redis connection factory using host and port from {@link RedisProperties}.
+     * Qualifier of the Redis-backed {@code PricesCacheRepository} guarded by timeouts and a circuit breaker,
+     * which the near cache delegates to.
+     */
+    public static final String REDIS_CACHE = "redisPricesCache";
+
+    /**
+     * Qualifier of the Redis-backed {@code PricesCacheRepository} selected by {@code spring.redis.layout},
+     * before it is guarded.
+     */
+    public static final String UNGUARDED_REDIS_CACHE = "unguardedRedisPricesCache";
+
+    /**
+     * Creates the Lettuce client resources, with the I/O and computation thread pools sized by
+     * {@link RedisProperties}. They are shut down with the application context.
      *
-     * @param redisProperties the properties with host and port configuration
+     * @param redisProperties the properties with the thread counts
+     * @return the client resources shared by every Redis connection
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ClientResources lettuceClientResources(RedisProperties redisProperties) {
+        ClientResources.Builder resources = ClientResources.builder();
+        if (redisProperties.getIoThreads() > 0) {
+            resources.ioThreadPoolSize(redisProperties.getIoThreads());
+        }
+        if (redisProperties.getComputationThreads() > 0) {
+            resources.computationThreadPoolSize(redisProperties.getComputationThreads());
+        }
+        return resources.build();
+    }
+
+    /**
+     * Creates a reactive Redis connection factory for the topology, nodes, read preference, command timeout and
+     * socket options from {@link RedisProperties}.
+     *
+     * @param redisProperties the properties with the topology and client configuration
+     * @param clientResources the Lettuce client resources
      * @return the reactive Redis connection factory
+     * @throws IllegalStateException if a Sentinel or cluster topology is configured without nodes
      */
     @Bean
     @Primary
-    public ReactiveRedisConnectionFactory reactiveRedisConnectionFactory(RedisProperties redisProperties) {
-        RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
-        config.setHostName(redisProperties.getHost());
-        config.setPort(redisProperties.getPort());
-        return new LettuceConnectionFactory(config);
+    public ReactiveRedisConnectionFactory reactiveRedisConnectionFactory(RedisProperties redisProperties,
+                                                                         ClientResources clientResources) {
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder client = LettuceClientConfiguration.builder()
+                .clientResources(clientResources)
+                .clientOptions(clientOptions(redisProperties));
+        if (redisProperties.getTimeout() > 0) {
+            client.commandTimeout(Duration.ofMillis(redisProperties.getTimeout()));
+        }
+        readFrom(redisProperties.getReadFrom()).ifPresent(client::readFrom);
+        return new LettuceConnectionFactory(serverConfiguration(redisProperties), client.build());
+    }
+
+    /**
+     * Builds the server configuration of the configured topology.
+     *
+     * @param redisProperties the properties with the topology and its nodes
+     * @return the standalone, Sentinel or cluster configuration
+     * @throws IllegalStateException if a Sentinel or cluster topology is configured without nodes
+     */
+    static RedisConfiguration serverConfiguration(RedisProperties redisProperties) {
+        if (redisProperties.getTopology() != RedisProperties.Topology.STANDALONE
+                && redisProperties.getNodes().isEmpty()) {
+            throw new IllegalStateException("spring.redis.nodes must list the nodes of the "
+                    + redisProperties.getTopology().name().toLowerCase() + " topology");
+        }
+        return switch (redisProperties.getTopology()) {
+            case STANDALONE -> new RedisStandaloneConfiguration(redisProperties.getHost(), redisProperties.getPort());
+            case SENTINEL -> {
+                RedisSentinelConfiguration sentinel = new RedisSentinelConfiguration()
+                        .master(redisProperties.getSentinelMaster());
+                redisProperties.getNodes().forEach(node -> sentinel.addSentinel(RedisNode.fromString(node)));
+                yield sentinel;
+            }
+            case CLUSTER -> {
+                RedisClusterConfiguration cluster = new RedisClusterConfiguration(redisProperties.getNodes());
+                cluster.setMaxRedirects(redisProperties.getClusterMaxRedirects());
+                yield cluster;
+            }
+        };
+    }
+
+    /**
+     * Builds the Lettuce client options: socket options for every topology, plus redirections and topology
+     * refreshes for a cluster, which is refreshed on every adaptive trigger and, if configured, periodically.
+     *
+     * @param redisProperties the properties with the socket and cluster options
+     * @return the client options
+     */
+    static ClientOptions clientOptions(RedisProperties redisProperties) {
+        SocketOptions.Builder socket = SocketOptions.builder()
+                .keepAlive(true)
+                .tcpNoDelay(redisProperties.isTcpNoDelay());
+        if (redisProperties.getConnectTimeoutMillis() > 0) {
+            socket.connectTimeout(Duration.ofMillis(redisProperties.getConnectTimeoutMillis()));
+        }
+        if (redisProperties.getTopology() != RedisProperties.Topology.CLUSTER) {
+            return ClientOptions.builder().socketOptions(socket.build()).build();
+        }
+        ClusterTopologyRefreshOptions.Builder refresh = ClusterTopologyRefreshOptions.builder()
+                .enableAllAdaptiveRefreshTriggers();
+        if (redisProperties.getClusterRefreshPeriodMillis() > 0) {
+            refresh.enablePeriodicRefresh(Duration.ofMillis(redisProperties.getClusterRefreshPeriodMillis()));
+        }
+        return ClusterClientOptions.builder()
+                .socketOptions(socket.build())
+                .maxRedirects(redisProperties.getClusterMaxRedirects())
+                .topologyRefreshOptions(refresh.build())
+                .build();
+    }
+
+    /**
+     * Maps a read preference to the Lettuce {@link ReadFrom} setting.
+     *
+     * @param readPreference the configured read preference
+     * @return the {@link ReadFrom} setting, or empty to keep every command on the master
+     */
+    static Optional<ReadFrom> readFrom(RedisProperties.ReadPreference readPreference) {
+        return Optional.ofNullable(switch (readPreference) {
+            case PRIMARY -> null;
+            case PRIMARY_PREFERRED -> ReadFrom.UPSTREAM_PREFERRED;
+            case REPLICA -> ReadFrom.REPLICA;
+            case REPLICA_PREFERRED -> ReadFrom.REPLICA_PREFERRED;
+            case LOWEST_LATENCY -> ReadFrom.LOWEST_LATENCY;
+            case ANY -> ReadFrom.ANY;
+        });
     }
 
     /**
      * Creates and configures a {@link ReactiveRedisTemplate} for Redis operations.
      * <p>
-     * Keys are serialized as plain strings, while values (lists of {@link ApplicablePrice})
-     * are serialized to and from JSON using Jackson.
+     * Keys are serialized as plain strings, while values ({@link PriceTimeline}s of {@link ApplicablePrice},
+     * with their soft expiry, as {@link CachedPriceTimeline}s) are written in the format selected by {@link RedisProperties#getValueFormat()} through a
+     * {@link PriceTimelineRedisSerializer}, which reads both JSON and binary values.
      * <p>
      * The provided {@link ObjectMapper} is enhanced with the {@link Jdk8Module} for {@link java.util.Optional}
-     * support, and the {@link JavaTimeModule} for Java 8 date/time support. Timestamps are written in ISO format.
+     * support, the {@link JavaTimeModule} for Java 8 date/time support and the {@link ApplicablePriceJsonModule}
+     * for compact prices. Timestamps are written in ISO format.
      *
-     * @param factory      the reactive Redis connection factory
-     * @param objectMapper the Jackson object mapper for JSON serialization
-     * @return a reactive Redis template for String keys and List&lt;ApplicablePrice&gt; values
+     * @param factory         the reactive Redis connection factory
+     * @param objectMapper    the Jackson object mapper for JSON serialization
+     * @param redisProperties the properties with the value format to write
+     * @return a reactive Redis template for String keys and {@link CachedPriceTimeline} values
      */
     @Bean
-    public ReactiveRedisTemplate<String, List<ApplicablePrice>> reactiveRedisTemplate(
+    public ReactiveRedisTemplate<String, CachedPriceTimeline> reactiveRedisTemplate(
             ReactiveRedisConnectionFactory factory,
-            ObjectMapper objectMapper
+            ObjectMapper objectMapper,
+            RedisProperties redisProperties
     ) {
         objectMapper.registerModule(new JavaTimeModule());
         objectMapper.registerModule(new Jdk8Module()); // <-- Muy importante para Optional
+        objectMapper.registerModule(new ApplicablePriceJsonModule());
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
         RedisSerializer<String> keySerializer = new StringRedisSerializer();
 
-        Jackson2JsonRedisSerializer<List<ApplicablePrice>> valueSerializer =
+        Jackson2JsonRedisSerializer<CachedPriceTimeline> jsonSerializer =
                 new Jackson2JsonRedisSerializer<>(
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, ApplicablePrice.class)
+                        objectMapper.getTypeFactory().constructType(CachedPriceTimeline.class)
                 );
-        valueSerializer.setObjectMapper(objectMapper);
+        jsonSerializer.setObjectMapper(objectMapper);
 
-        RedisSerializationContext<String, List<ApplicablePrice>> context = RedisSerializationContext
-                .<String, List<ApplicablePrice>>newSerializationContext(keySerializer)
+        RedisSerializer<CachedPriceTimeline> valueSerializer =
+                new PriceTimelineRedisSerializer(jsonSerializer, redisProperties.getValueFormat());
+
+        RedisSerializationContext<String, CachedPriceTimeline> context = RedisSerializationContext
+                .<String, CachedPriceTimeline>newSerializationContext(keySerializer)
                 .value(valueSerializer)
                 .build();
 
         return new ReactiveRedisTemplate<>(factory, context);
     }
+
+    /**
+     * Creates a {@link ReactiveRedisTemplate} with String keys and raw byte array values, used by the
+     * sorted-set layout to read and write individually encoded timeline segments and to run its scripts.
+     *
+     * @param factory the reactive Redis connection factory
+     * @return a reactive Redis template for String keys and byte array values
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, byte[]> segmentRedisTemplate(ReactiveRedisConnectionFactory factory) {
+        RedisSerializationContext<String, byte[]> context = RedisSerializationContext
+                .<String, byte[]>newSerializationContext(new StringRedisSerializer())
+                .value(RedisSerializer.byteArray())
+                .build();
+
+        return new ReactiveRedisTemplate<>(factory, context);
+    }
+
+    /**
+     * Creates a {@link ReactiveStringRedisTemplate} with String keys and values, used to publish cache
+     * invalidations to every node.
+     *
+     * @param factory the reactive Redis connection factory
+     * @return a reactive Redis template for String keys and values
+     */
+    @Bean
+    public ReactiveStringRedisTemplate reactiveStringRedisTemplate(ReactiveRedisConnectionFactory factory) {
+        return new ReactiveStringRedisTemplate(factory);
+    }
 }
@@ -3,28 +3,89 @@ package com.ecommerce.pricing_api.infrastructure.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Configuration properties for Redis cache behavior.
  * <p>
  * Binds to properties prefixed with {@code spring.redis} in the application configuration.
- * Includes the host, port, connection timeout, and TTL for cached price entries.
+ * Includes the topology of the deployment (a standalone server, Sentinel-monitored or a cluster) and the nodes
+ * to reach it, the nodes reads are routed to, the tuning of the Lettuce client, the operation timeout, and TTLs
+ * for cached and known-empty price entries, with their random jitter and the window in which expired timelines
+ * are still served stale, as well as the size and TTL of the in-process near cache placed in front of Redis,
+ * the encoding of cached values, the layout in which price timelines are stored, the channel on which cache
+ * invalidations are broadcast and the thresholds of the circuit breaker guarding Redis calls.
  */
 @Component
 @ConfigurationProperties(prefix = "spring.redis")
 public class RedisProperties {
 
     /**
-     * Redis server hostname or IP address.
+     * Topology of the Redis deployment.
+     */
+    private Topology topology = Topology.STANDALONE;
+
+    /**
+     * Redis server hostname or IP address, for the standalone topology.
      */
     private String host;
 
     /**
-     * Redis server port number.
+     * Redis server port number, for the standalone topology.
      */
     private int port;
 
     /**
-     * Connection timeout (in milliseconds).
+     * {@code host:port} of the cluster seed nodes, or of the Sentinels, for the other topologies.
+     */
+    private List<String> nodes = new ArrayList<>();
+
+    /**
+     * Name of the master monitored by the Sentinels.
+     */
+    private String sentinelMaster;
+
+    /**
+     * Maximum number of cluster redirections followed by a command.
+     */
+    private int clusterMaxRedirects = 3;
+
+    /**
+     * Interval between periodic refreshes of the cluster topology, in milliseconds. {@code 0} disables them;
+     * the topology is still refreshed on redirections and reconnections.
+     */
+    private long clusterRefreshPeriodMillis = 30_000;
+
+    /**
+     * Nodes that read commands are routed to. Writes always go to the master. The replicas of a standalone server
+     * are discovered from the server itself.
+     */
+    private ReadPreference readFrom = ReadPreference.PRIMARY;
+
+    /**
+     * Number of Lettuce I/O threads. {@code 0} keeps the Lettuce default, the number of processors.
+     */
+    private int ioThreads;
+
+    /**
+     * Number of Lettuce computation threads. {@code 0} keeps the Lettuce default, the number of processors.
+     */
+    private int computationThreads;
+
+    /**
+     * Timeout of establishing a connection, in milliseconds. {@code 0} keeps the Lettuce default of 10 seconds.
+     */
+    private long connectTimeoutMillis;
+
+    /**
+     * Whether commands are written to the socket as soon as they are flushed. Disabling it lets the kernel
+     * coalesce the small writes of concurrent commands into fewer packets, at the cost of latency.
+     */
+    private boolean tcpNoDelay = true;
+
+    /**
+     * Timeout of every Redis command and cache operation (in milliseconds). {@code 0} disables it.
      */
     private long timeout;
 
@@ -33,6 +94,77 @@ public class RedisProperties {
      */
     private long ttlSeconds;
 
+    /**
+     * Time-to-live for keys cached as having no prices, in seconds.
+     */
+    private long negativeTtlSeconds;
+
+    /**
+     * Time cached timelines are kept past their TTL, in seconds, served stale while they are reloaded in the
+     * background. {@code 0} disables it.
+     */
+    private long staleSeconds;
+
+    /**
+     * Maximum share by which each TTL is randomly shortened, in percent, so keys written together expire
+     * apart. {@code 0} disables it.
+     */
+    private int ttlJitterPercent;
+
+    /**
+     * Maximum number of keys held by the in-process near cache. {@code 0} disables it.
+     */
+    private long nearCacheMaxEntries;
+
+    /**
+     * Time-to-live for near cache entries, in seconds. {@code 0} disables it.
+     */
+    private long nearCacheTtlSeconds;
+
+    /**
+     * Encoding used to write cached price timelines. Values in either encoding are always readable.
+     */
+    private ValueFormat valueFormat = ValueFormat.JSON;
+
+    /**
+     * Layout in which price timelines are stored in Redis. Either {@code value} or {@code sorted-set}.
+     */
+    private Layout layout = Layout.VALUE;
+
+    /**
+     * Pub/sub channel on which cache invalidations are broadcast to every node.
+     */
+    private String invalidationChannel = "pricing:invalidation";
+
+    /**
+     * Number of consecutive failed or timed-out cache operations that opens the circuit breaker.
+     * {@code 0} disables the breaker.
+     */
+    private int circuitBreakerFailureThreshold = 5;
+
+    /**
+     * Time the circuit breaker stays open before letting a trial operation through, in milliseconds.
+     */
+    private long circuitBreakerOpenMillis = 5_000;
+
+    /**
+     * Gets the topology of the Redis deployment.
+     *
+     * @return the topology
+     */
+    public Topology getTopology() {
+        return topology;
+    }
+
+    /**
+     * Sets the topology of the Redis deployment.
+     *
+     * @param topology the topology
+     */
+    public void setTopology(Topology topology) {
+        this.topology = topology;
+    }
+
     /**
      * Gets the Redis server hostname or IP.
      *
@@ -70,7 +202,169 @@ public class RedisProperties {
     }
 
     /**
-     * Gets the connection timeout in milliseconds.
+     * Gets the {@code host:port} of the cluster seed nodes or of the Sentinels.
+     *
+     * @return the nodes
+     */
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Sets the {@code host:port} of the cluster seed nodes or of the Sentinels.
+     *
+     * @param nodes the nodes
+     */
+    public void setNodes(List<String> nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * Gets the name of the master monitored by the Sentinels.
+     *
+     * @return the master name
+     */
+    public String getSentinelMaster() {
+        return sentinelMaster;
+    }
+
+    /**
+     * Sets the name of the master monitored by the Sentinels.
+     *
+     * @param sentinelMaster the master name
+     */
+    public void setSentinelMaster(String sentinelMaster) {
+        this.sentinelMaster = sentinelMaster;
+    }
+
+    /**
+     * Gets the maximum number of cluster redirections followed by a command.
+     *
+     * @return the maximum number of redirections
+     */
+    public int getClusterMaxRedirects() {
+        return clusterMaxRedirects;
+    }
+
+    /**
+     * Sets the maximum number of cluster redirections followed by a command.
+     *
+     * @param clusterMaxRedirects the maximum number of redirections
+     */
+    public void setClusterMaxRedirects(int clusterMaxRedirects) {
+        this.clusterMaxRedirects = clusterMaxRedirects;
+    }
+
+    /**
+     * Gets the interval between periodic refreshes of the cluster topology, in milliseconds.
+     *
+     * @return the refresh period, {@code 0} if periodic refreshes are disabled
+     */
+    public long getClusterRefreshPeriodMillis() {
+        return clusterRefreshPeriodMillis;
+    }
+
+    /**
+     * Sets the interval between periodic refreshes of the cluster topology, in milliseconds.
+     *
+     * @param clusterRefreshPeriodMillis the refresh period, {@code 0} to disable periodic refreshes
+     */
+    public void setClusterRefreshPeriodMillis(long clusterRefreshPeriodMillis) {
+        this.clusterRefreshPeriodMillis = clusterRefreshPeriodMillis;
+    }
+
+    /**
+     * Gets the nodes that read commands are routed to.
+     *
+     * @return the read preference
+     */
+    public ReadPreference getReadFrom() {
+        return readFrom;
+    }
+
+    /**
+     * Sets the nodes that read commands are routed to.
+     *
+     * @param readFrom the read preference
+     */
+    public void setReadFrom(ReadPreference readFrom) {
+        this.readFrom = readFrom;
+    }
+
+    /**
+     * Gets the number of Lettuce I/O threads.
+     *
+     * @return the number of I/O threads, {@code 0} for the Lettuce default
+     */
+    public int getIoThreads() {
+        return ioThreads;
+    }
+
+    /**
+     * Sets the number of Lettuce I/O threads.
+     *
+     * @param ioThreads the number of I/O threads, {@code 0} for the Lettuce default
+     */
+    public void setIoThreads(int ioThreads) {
+        this.ioThreads = ioThreads;
+    }
+
+    /**
+     * Gets the number of Lettuce computation threads.
+     *
+     * @return the number of computation threads, {@code 0} for the Lettuce default
+     */
+    public int getComputationThreads() {
+        return computationThreads;
+    }
+
+    /**
+     * Sets the number of Lettuce computation threads.
+     *
+     * @param computationThreads the number of computation threads, {@code 0} for the Lettuce default
+     */
+    public void setComputationThreads(int computationThreads) {
+        this.computationThreads = computationThreads;
+    }
+
+    /**
+     * Gets the timeout of establishing a connection, in milliseconds.
+     *
+     * @return the connect timeout, {@code 0} for the Lettuce default
+     */
+    public long getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    /**
+     * Sets the timeout of establishing a connection, in milliseconds.
+     *
+     * @param connectTimeoutMillis the connect timeout, {@code 0} for the Lettuce default
+     */
+    public void setConnectTimeoutMillis(long connectTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+    }
+
+    /**
+     * Tells whether commands are written to the socket without waiting to coalesce them.
+     *
+     * @return {@code true} if {@code TCP_NODELAY} is set
+     */
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    /**
+     * Sets whether commands are written to the socket without waiting to coalesce them.
+     *
+     * @param tcpNoDelay {@code true} to set {@code TCP_NODELAY}
+     */
+    public void setTcpNoDelay(boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+    }
+
+    /**
+     * Gets the timeout of Redis operations in milliseconds.
      *
      * @return the timeout value
      */
@@ -79,7 +373,7 @@ public class RedisProperties {
     }
 
     /**
-     * Sets the connection timeout in milliseconds.
+     * Sets the timeout of Redis operations in milliseconds.
      *
      * @param timeout the timeout value
      */
@@ -104,4 +398,275 @@ public class RedisProperties {
     public void setTtlSeconds(long ttlSeconds) {
         this.ttlSeconds = ttlSeconds;
     }
+
+    /**
+     * Gets the time-to-live (TTL) for keys cached as having no prices, in seconds.
+     *
+     * @return the negative TTL in seconds
+     */
+    public long getNegativeTtlSeconds() {
+        return negativeTtlSeconds;
+    }
+
+    /**
+     * Sets the time-to-live (TTL) for keys cached as having no prices, in seconds.
+     *
+     * @param negativeTtlSeconds the negative TTL in seconds
+     */
+    public void setNegativeTtlSeconds(long negativeTtlSeconds) {
+        this.negativeTtlSeconds = negativeTtlSeconds;
+    }
+
+    /**
+     * Gets the time cached timelines are served stale past their TTL, in seconds.
+     *
+     * @return the stale window in seconds, {@code 0} if disabled
+     */
+    public long getStaleSeconds() {
+        return staleSeconds;
+    }
+
+    /**
+     * Sets the time cached timelines are served stale past their TTL, in seconds.
+     *
+     * @param staleSeconds the stale window in seconds, {@code 0} to disable it
+     */
+    public void setStaleSeconds(long staleSeconds) {
+        this.staleSeconds = staleSeconds;
+    }
+
+    /**
+     * Gets the maximum share by which each TTL is randomly shortened, in percent.
+     *
+     * @return the TTL jitter in percent, {@code 0} if disabled
+     */
+    public int getTtlJitterPercent() {
+        return ttlJitterPercent;
+    }
+
+    /**
+     * Sets the maximum share by which each TTL is randomly shortened, in percent.
+     *
+     * @param ttlJitterPercent the TTL jitter in percent, {@code 0} to disable it
+     */
+    public void setTtlJitterPercent(int ttlJitterPercent) {
+        this.ttlJitterPercent = ttlJitterPercent;
+    }
+
+    /**
+     * Gets the maximum number of keys held by the in-process near cache.
+     *
+     * @return the maximum number of near cache entries
+     */
+    public long getNearCacheMaxEntries() {
+        return nearCacheMaxEntries;
+    }
+
+    /**
+     * Sets the maximum number of keys held by the in-process near cache.
+     *
+     * @param nearCacheMaxEntries the maximum number of near cache entries
+     */
+    public void setNearCacheMaxEntries(long nearCacheMaxEntries) {
+        this.nearCacheMaxEntries = nearCacheMaxEntries;
+    }
+
+    /**
+     * Gets the time-to-live (TTL) for near cache entries in seconds.
+     *
+     * @return the near cache TTL in seconds
+     */
+    public long getNearCacheTtlSeconds() {
+        return nearCacheTtlSeconds;
+    }
+
+    /**
+     * Sets the time-to-live (TTL) for near cache entries in seconds.
+     *
+     * @param nearCacheTtlSeconds the near cache TTL in seconds
+     */
+    public void setNearCacheTtlSeconds(long nearCacheTtlSeconds) {
+        this.nearCacheTtlSeconds = nearCacheTtlSeconds;
+    }
+
+    /**
+     * Gets the encoding used to write cached price timelines.
+     *
+     * @return the value format
+     */
+    public ValueFormat getValueFormat() {
+        return valueFormat;
+    }
+
+    /**
+     * Sets the encoding used to write cached price timelines.
+     *
+     * @param valueFormat the value format
+     */
+    public void setValueFormat(ValueFormat valueFormat) {
+        this.valueFormat = valueFormat;
+    }
+
+    /**
+     * Gets the layout in which price timelines are stored in Redis.
+     *
+     * @return the storage layout
+     */
+    public Layout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Sets the layout in which price timelines are stored in Redis.
+     *
+     * @param layout the storage layout
+     */
+    public void setLayout(Layout layout) {
+        this.layout = layout;
+    }
+
+    /**
+     * Gets the pub/sub channel on which cache invalidations are broadcast.
+     *
+     * @return the invalidation channel
+     */
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    /**
+     * Sets the pub/sub channel on which cache invalidations are broadcast.
+     *
+     * @param invalidationChannel the invalidation channel
+     */
+    public void setInvalidationChannel(String invalidationChannel) {
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    /**
+     * Gets the number of consecutive cache failures that opens the circuit breaker.
+     *
+     * @return the failure threshold, {@code 0} if the breaker is disabled
+     */
+    public int getCircuitBreakerFailureThreshold() {
+        return circuitBreakerFailureThreshold;
+    }
+
+    /**
+     * Sets the number of consecutive cache failures that opens the circuit breaker.
+     *
+     * @param circuitBreakerFailureThreshold the failure threshold, {@code 0} to disable the breaker
+     */
+    public void setCircuitBreakerFailureThreshold(int circuitBreakerFailureThreshold) {
+        this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+    }
+
+    /**
+     * Gets the time the circuit breaker stays open before a trial operation, in milliseconds.
+     *
+     * @return the open duration in milliseconds
+     */
+    public long getCircuitBreakerOpenMillis() {
+        return circuitBreakerOpenMillis;
+    }
+
+    /**
+     * Sets the time the circuit breaker stays open before a trial operation, in milliseconds.
+     *
+     * @param circuitBreakerOpenMillis the open duration in milliseconds
+     */
+    public void setCircuitBreakerOpenMillis(long circuitBreakerOpenMillis) {
+        this.circuitBreakerOpenMillis = circuitBreakerOpenMillis;
+    }
+
+    /**
+     * Topologies of Redis deployments.
+     */
+    public enum Topology {
+
+        /**
+         * A single server, reached at {@code host} and {@code port}.
+         */
+        STANDALONE,
+
+        /**
+         * A master and its replicas monitored by Sentinels, which are reached at {@code nodes} and tell the
+         * current master of {@code sentinel-master}.
+         */
+        SENTINEL,
+
+        /**
+         * A Redis Cluster, whose topology is discovered from the seed {@code nodes}.
+         */
+        CLUSTER
+    }
+
+    /**
+     * Nodes that read commands may be routed to.
+     */
+    public enum ReadPreference {
+
+        /**
+         * Always the master.
+         */
+        PRIMARY,
+
+        /**
+         * The master, or a replica when the master is unavailable.
+         */
+        PRIMARY_PREFERRED,
+
+        /**
+         * Always a replica.
+         */
+        REPLICA,
+
+        /**
+         * A replica, or the master when no replica is available.
+         */
+        REPLICA_PREFERRED,
+
+        /**
+         * The node with the lowest measured latency, master or replica.
+         */
+        LOWEST_LATENCY,
+
+        /**
+         * Any node.
+         */
+        ANY
+    }
+
+    /**
+     * Encodings available for cached price timelines.
+     */
+    public enum ValueFormat {
+
+        /**
+         * Jackson JSON, with ISO date strings.
+         */
+        JSON,
+
+        /**
+         * Versioned compact binary encoding.
+         */
+        BINARY
+    }
+
+    /**
+     * Layouts available for cached price timelines.
+     */
+    public enum Layout {
+
+        /**
+         * The whole timeline of a key stored as a single string value.
+         */
+        VALUE,
+
+        /**
+         * One sorted set member per timeline segment, scored by its start date, so a lookup for a date
+         * fetches only the segment covering it.
+         */
+        SORTED_SET
+    }
 }
@@ -1,39 +1,90 @@
 package com.ecommerce.pricing_api.infrastructure.persistance.h2;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ecommerce.pricing_api.infrastructure.config.DataLoadProperties;
 import com.ecommerce.pricing_api.infrastructure.persistance.h2.model.EntryPricesTable;
-import jakarta.annotation.PostConstruct;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Component responsible for initializing the H2 database schema and populating it with initial data.
  * <p>
- * On application startup, it executes DDL to create the PRICES table (if not exists) and loads
- * JSON entries defined under classpath paths depending on environment and region.
+ * On application startup, it executes DDL to create the PRICES table (if not exists), streams
+ * JSON entries defined under classpath paths depending on environment and region into batched
+ * multi-row inserts, and creates the indexes once the data is in place.
+ * <p>
+ * Initialization runs as an {@link ApplicationRunner} and blocks until it completes, so the application
+ * only reports itself ready to accept traffic once the PRICES table is populated, and a failure aborts
+ * the startup. It runs before any other runner, such as the cache warm-up, which needs the data in place.
+ * The duration of each phase is logged and recorded in the {@value #PHASE_TIMER} timer,
+ * tagged by {@code phase}:
+ * <ul>
+ *     <li>{@code ddl}: creation of the PRICES table.</li>
+ *     <li>{@code parse}: time spent parsing the seed file, summed over all entries.</li>
+ *     <li>{@code insert}: wall-clock time of the streamed load, which overlaps with parsing.</li>
+ *     <li>{@code index}: creation of the indexes.</li>
+ * </ul>
+ * The inserted rows are counted in {@value #ROWS_COUNTER} as each batch is written, and the rows/second of the
+ * whole load are published in the {@value #THROUGHPUT_GAUGE} gauge once it completes.
  */
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
 @RequiredArgsConstructor
 @Slf4j
-public class H2Initializer {
+public class H2Initializer implements ApplicationRunner {
+
+    static final String PHASE_TIMER = "pricing.startup.phase";
+    static final String ROWS_COUNTER = "pricing.startup.rows";
+    static final String THROUGHPUT_GAUGE = "pricing.startup.load.throughput";
 
     private final ObjectMapper objectMapper;
     private final DatabaseClient databaseClient;
+    private final DataLoadProperties dataLoadProperties;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong rowsPerSecond = new AtomicLong();
+
+    /**
+     * Runs the database initialization once the application context is started.
+     *
+     * @param args the application arguments, unused
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        init();
+    }
 
     /**
-     * Entry point called after bean construction to initialize database schema and data.
+     * Initializes database schema and data, blocking until every phase completes.
+     *
+     * @throws IllegalStateException if any phase fails
      */
-    @PostConstruct
     public void init() {
         log.info("Starting database initialization...");
 
@@ -41,16 +92,65 @@ public class H2Initializer {
         String region = System.getenv().getOrDefault("APP_REGION", "es");
         String jsonPath = String.format("data/%s/%s/entries.json", env, region);
         String ddlPath = "schema.sql";
+        String indexesPath = "indexes.sql";
 
-        readSqlFromClasspath(ddlPath)
-                .flatMap(this::createPricesTableIfNotExists)
-                .doOnSuccess(unused -> log.info("Prices table created or already exists"))
-                .then(loadEntriesFromJson(jsonPath))
-                .doOnNext(entries -> log.info("Loaded {} entries from JSON", entries.size()))
-                .flatMap(this::insertEntries)
-                .doOnSuccess(unused -> log.info("Entries inserted successfully"))
-                .doOnError(e -> log.error("Database initialization failed", e))
-                .subscribe();
+        Map<String, Long> phaseNanos = new LinkedHashMap<>();
+        LongAdder parseNanos = new LongAdder();
+        long start = System.nanoTime();
+
+        try {
+            timed("ddl", phaseNanos, readSqlFromClasspath(ddlPath).flatMap(this::createPricesTableIfNotExists))
+                    .doOnSuccess(unused -> log.info("Prices table created or already exists"))
+                    .then(timed("insert", phaseNanos,
+                            insertEntries(streamEntriesFromJson(new ClassPathResource(jsonPath), parseNanos))))
+                    .doOnSuccess(unused -> {
+                        record("parse", phaseNanos, parseNanos.sum());
+                        log.info("Entries inserted successfully");
+                    })
+                    .then(timed("index", phaseNanos, readSqlFromClasspath(indexesPath).flatMap(this::createIndexes)))
+                    .doOnSuccess(unused -> log.info("Indexes created"))
+                    .block();
+        } catch (RuntimeException e) {
+            log.error("Database initialization failed", e);
+            throw new IllegalStateException("Database initialization failed", e);
+        }
+
+        log.info("Database initialization completed in {} ms, phases (ms): {}",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                phaseNanos.entrySet().stream()
+                        .map(phase -> phase.getKey() + "=" + TimeUnit.NANOSECONDS.toMillis(phase.getValue()))
+                        .toList());
+    }
+
+    /**
+     * Measures the wall-clock time of a phase from subscription to completion and records it.
+     *
+     * @param phase      the phase name
+     * @param phaseNanos the durations recorded so far, by phase
+     * @param work       the phase itself
+     * @return Mono completing when the phase completes
+     */
+    private Mono<Void> timed(String phase, Map<String, Long> phaseNanos, Mono<Void> work) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return work.doOnSuccess(unused -> record(phase, phaseNanos, System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Records the duration of a phase in the {@value #PHASE_TIMER} timer and in the phase summary.
+     *
+     * @param phase      the phase name
+     * @param phaseNanos the durations recorded so far, by phase
+     * @param nanos      the duration of the phase, in nanoseconds
+     */
+    private void record(String phase, Map<String, Long> phaseNanos, long nanos) {
+        phaseNanos.put(phase, nanos);
+        Timer.builder(PHASE_TIMER)
+                .description("Duration of each database initialization phase")
+                .tag("phase", phase)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
     }
 
     /**
@@ -85,49 +185,194 @@ public class H2Initializer {
     }
 
     /**
-     * Loads a list of {@link EntryPricesTable} objects from a JSON file on the classpath.
+     * Streams the {@link EntryPricesTable} objects of a JSON array file, parsing one entry at a time.
+     * <p>
+     * The file is read token by token and each entry is only deserialized when requested downstream,
+     * so memory use depends on the demand of the subscriber and not on the size of the file.
+     * The parser is closed on completion, error or cancellation.
+     * </p>
+     *
+     * @param resource the JSON file holding an array of entries
+     * @return Flux emitting the parsed entries in file order
+     */
+    Flux<EntryPricesTable> streamEntriesFromJson(Resource resource) {
+        return streamEntriesFromJson(resource, new LongAdder());
+    }
+
+    /**
+     * Streams the {@link EntryPricesTable} objects of a JSON array file, adding the time spent parsing
+     * each entry to the given accumulator.
+     *
+     * @param resource   the JSON file holding an array of entries
+     * @param parseNanos accumulator of the nanoseconds spent parsing
+     * @return Flux emitting the parsed entries in file order
+     */
+    Flux<EntryPricesTable> streamEntriesFromJson(Resource resource, LongAdder parseNanos) {
+        return Flux.<EntryPricesTable, JsonParser>generate(
+                        () -> openEntriesArray(resource),
+                        (parser, sink) -> {
+                            long start = System.nanoTime();
+                            try {
+                                JsonToken token = parser.nextToken();
+                                if (token == JsonToken.START_OBJECT) {
+                                    EntryPricesTable entry = objectMapper.readValue(parser, EntryPricesTable.class);
+                                    parseNanos.add(System.nanoTime() - start);
+                                    sink.next(entry);
+                                } else if (token == JsonToken.END_ARRAY) {
+                                    sink.complete();
+                                } else {
+                                    sink.error(new RuntimeException("Unexpected token " + token + " in JSON file: "
+                                            + resource.getDescription()));
+                                }
+                            } catch (IOException e) {
+                                sink.error(new RuntimeException("Could not load JSON file: " + resource.getDescription(), e));
+                            }
+                            return parser;
+                        },
+                        this::closeParser)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Opens a parser over the resource and moves it past the opening token of the entries array.
      *
-     * @param path classpath-relative JSON file path
-     * @return Mono emitting the parsed list of entries
+     * @param resource the JSON file holding an array of entries
+     * @return the parser, positioned on the start of the array
      */
-    Mono<List<EntryPricesTable>> loadEntriesFromJson(String path) {
+    private JsonParser openEntriesArray(Resource resource) {
         try {
-            var inputStream = getClass().getClassLoader().getResourceAsStream(path);
-            if (inputStream == null) {
-                throw new RuntimeException("File not found in classpath: " + path);
+            JsonParser parser = objectMapper.createParser(resource.getInputStream());
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.close();
+                throw new IOException("Expected a JSON array of entries");
             }
-            List<EntryPricesTable> entries = objectMapper.readValue(inputStream, new TypeReference<>() {});
-            return Mono.just(entries);
-        } catch (Exception e) {
-            return Mono.error(new RuntimeException("Could not load JSON file: " + path, e));
+            return parser;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not load JSON file: " + resource.getDescription(), e);
         }
     }
 
     /**
-     * Inserts a list of {@link EntryPricesTable} entries into the PRICES table.
+     * Closes the parser and its underlying stream, logging instead of failing if that is not possible.
      *
-     * @param entries list of table entry objects to insert
+     * @param parser the parser to close
+     */
+    private void closeParser(JsonParser parser) {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            log.warn("Could not close JSON parser", e);
+        }
+    }
+
+    /**
+     * Executes the provided SQL to create the indexes of the PRICES table.
+     * <p>
+     * Called once the entries are inserted, so the index is built in a single pass
+     * instead of being maintained on every inserted row.
+     * </p>
+     *
+     * @param sql DDL statement(s) to execute
+     * @return Mono completing when execution finishes
+     */
+    Mono<Void> createIndexes(String sql) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return databaseClient.sql(sql)
+                    .fetch()
+                    .rowsUpdated()
+                    .then()
+                    .doOnSuccess(unused -> log.info("Indexes built in {} ms",
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        });
+    }
+
+    /**
+     * Inserts a stream of {@link EntryPricesTable} entries into the PRICES table.
+     * <p>
+     * Entries are grouped into multi-row {@code INSERT} statements of {@code pricing.data-load.batch-size}
+     * rows, and up to {@code pricing.data-load.concurrency} statements run at the same time.
+     * Entries are only requested from the source as batches are written, so at most
+     * {@code batch-size * concurrency} of them are held in memory at any time.
+     * The number of inserted rows and the achieved rows/second are logged and published on completion.
+     * </p>
+     *
+     * @param entries the table entry objects to insert
      * @return Mono completing when all inserts have been processed
      */
-    Mono<Void> insertEntries(List<EntryPricesTable> entries) {
-        return Flux.fromIterable(entries)
-                .flatMap(entry -> databaseClient.sql("""
-                INSERT INTO PRICES (ID, BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURRENCY)
-                VALUES (:id, :brandId, :startDate, :endDate, :priceList, :productId, :priority, :price, :currency)
-            """)
-                        .bind("id", entry.getId())
-                        .bind("brandId", entry.getBrandId())
-                        .bind("startDate", entry.getStartDate())
-                        .bind("endDate", entry.getEndDate())
-                        .bind("priceList", entry.getPriceList())
-                        .bind("productId", entry.getProductId())
-                        .bind("priority", entry.getPriority())
-                        .bind("price", entry.getPrice())
-                        .bind("currency", entry.getCurrency())
-                        .fetch()
-                        .rowsUpdated()
-                        .doOnNext(count -> log.debug("Inserted entry with ID {} ({} row(s) affected)", entry.getId(), count))
-                )
-                .then();
+    Mono<Void> insertEntries(Flux<EntryPricesTable> entries) {
+        int batchSize = Math.max(1, dataLoadProperties.getBatchSize());
+        int concurrency = Math.max(1, dataLoadProperties.getConcurrency());
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            Counter rowsCounter = Counter.builder(ROWS_COUNTER)
+                    .description("Rows inserted by the database initialization")
+                    .baseUnit("rows")
+                    .register(meterRegistry);
+            return entries
+                    .buffer(batchSize)
+                    .flatMap(this::insertBatch, concurrency)
+                    .doOnNext(rowsCounter::increment)
+                    .reduce(0L, Long::sum)
+                    .doOnNext(rows -> {
+                        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+                        rowsPerSecond.set(rows * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+                        Gauge.builder(THROUGHPUT_GAUGE, rowsPerSecond, AtomicLong::get)
+                                .description("Rows per second achieved by the database initialization")
+                                .baseUnit("rows/s")
+                                .register(meterRegistry);
+                        log.info("Inserted {} rows in {} ms ({} rows/s, batch size {}, concurrency {})",
+                                rows,
+                                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                                rowsPerSecond.get(),
+                                batchSize,
+                                concurrency);
+                    })
+                    .then();
+        });
+    }
+
+    /**
+     * Inserts a batch of entries with a single multi-row {@code INSERT} statement.
+     *
+     * @param batch the entries to insert, at most one batch size long
+     * @return Mono emitting the number of inserted rows
+     */
+    Mono<Long> insertBatch(List<EntryPricesTable> batch) {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO PRICES (ID, BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURRENCY) VALUES ");
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:id").append(i)
+                    .append(", :brandId").append(i)
+                    .append(", :startDate").append(i)
+                    .append(", :endDate").append(i)
+                    .append(", :priceList").append(i)
+                    .append(", :productId").append(i)
+                    .append(", :priority").append(i)
+                    .append(", :price").append(i)
+                    .append(", :currency").append(i)
+                    .append(')');
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < batch.size(); i++) {
+            EntryPricesTable entry = batch.get(i);
+            spec = spec.bind("id" + i, entry.getId())
+                    .bind("brandId" + i, entry.getBrandId())
+                    .bind("startDate" + i, entry.getStartDate())
+                    .bind("endDate" + i, entry.getEndDate())
+                    .bind("priceList" + i, entry.getPriceList())
+                    .bind("productId" + i, entry.getProductId())
+                    .bind("priority" + i, entry.getPriority())
+                    .bind("price" + i, entry.getPrice())
+                    .bind("currency" + i, entry.getCurrency());
+        }
+        return spec.fetch()
+                .rowsUpdated()
+                .doOnNext(count -> log.debug("Inserted batch of {} entries starting at ID {} ({} row(s) affected)",
+                        batch.size(), batch.get(0).getId(), count));
     }
 }
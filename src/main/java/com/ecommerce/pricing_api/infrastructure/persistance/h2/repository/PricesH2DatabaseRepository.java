@@ -2,22 +2,33 @@ package com.ecommerce.pricing_api.infrastructure.persistance.h2.repository;
 
 import com.ecommerce.pricing_api.application.repository.PricesDatabaseRepository;
 import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceChange;
+import com.ecommerce.pricing_api.domain.model.PriceEntry;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import io.r2dbc.spi.Row;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * H2-based implementation of {@link PricesDatabaseRepository} using R2DBC.
  * <p>
  * Executes SQL queries against the PRICES table to fetch pricing records
- * for a given product and brand, and maps the result set into the
- * {@link ApplicablePrice} domain model using {@link Optional} to safely handle potential nulls.
+ * for one or many products and brands, and maps the result set into the
+ * compact {@link ApplicablePrice} domain model, marking {@code NULL} columns as unavailable.
+ * Price entries are upserted with multi-row {@code MERGE} statements and deleted by identifier.
  * </p>
  */
 @Repository
@@ -32,7 +43,7 @@ public class PricesH2DatabaseRepository implements PricesDatabaseRepository {
      * product and brand identifiers.
      * <p>
      * Executes a parameterized SQL query and maps each resulting row into an
-     * {@link ApplicablePrice} instance wrapped with {@link Optional} to avoid {@code NullPointerException}.
+     * {@link ApplicablePrice} instance, marking {@code NULL} columns as unavailable.
      * </p>
      *
      * @param productId the identifier of the product to filter by
@@ -46,21 +57,273 @@ public class PricesH2DatabaseRepository implements PricesDatabaseRepository {
             SELECT PRODUCT_ID, BRAND_ID, PRICE_LIST, START_DATE, END_DATE, PRIORITY, PRICE, CURRENCY
             FROM PRICES
             WHERE PRODUCT_ID = :productId AND BRAND_ID = :brandId
+            ORDER BY ID
         """)
                 .bind("productId", productId)
                 .bind("brandId", brandId)
-                .map((row, metadata) -> new ApplicablePrice(
-                        Optional.ofNullable(row.get("PRODUCT_ID", Long.class)),
-                        Optional.ofNullable(row.get("BRAND_ID", Long.class)),
-                        Optional.ofNullable(row.get("PRICE_LIST", Long.class)),
-                        Optional.ofNullable(row.get("START_DATE", LocalDateTime.class)),
-                        Optional.ofNullable(row.get("END_DATE", LocalDateTime.class)),
-                        Optional.ofNullable(row.get("PRICE", BigDecimal.class)),
-                        Optional.ofNullable(row.get("CURRENCY", String.class)),
-                        Optional.ofNullable(row.get("PRIORITY", Long.class))
-                ))
+                .map((row, metadata) -> toApplicablePrice(row))
                 .all()
                 .doOnSubscribe(sub -> log.debug("Querying DB for productId={}, brandId={}", productId, brandId))
                 .doOnComplete(() -> log.debug("Completed fetching prices for productId={}, brandId={}", productId, brandId));
     }
+
+    /**
+     * Retrieves all price entries from the PRICES table for every given product and brand
+     * with a single set-based query.
+     * <p>
+     * The keys are bound as a list of {@code (PRODUCT_ID, BRAND_ID)} row values, so the number of
+     * statements does not grow with the number of requested keys.
+     * </p>
+     *
+     * @param keys the product and brand combinations to fetch
+     * @return a {@link Flux} emitting zero or more {@link ApplicablePrice}
+     *         records matching any of the given keys
+     */
+    @Override
+    public Flux<ApplicablePrice> findAllByProductAndBrandIn(Collection<PriceKey> keys) {
+        if (keys.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("""
+            SELECT PRODUCT_ID, BRAND_ID, PRICE_LIST, START_DATE, END_DATE, PRIORITY, PRICE, CURRENCY
+            FROM PRICES
+            WHERE (PRODUCT_ID, BRAND_ID) IN (:keys)
+            ORDER BY ID
+        """)
+                .bind("keys", toRowValues(keys))
+                .map((row, metadata) -> toApplicablePrice(row))
+                .all()
+                .doOnSubscribe(sub -> log.debug("Querying DB for {} product/brand keys", keys.size()))
+                .doOnComplete(() -> log.debug("Completed fetching prices for {} product/brand keys", keys.size()));
+    }
+
+    /**
+     * Streams every price entry of the PRICES table with a single query.
+     * <p>
+     * Rows are ordered by product, brand and {@code ID}, so the prices of each key arrive consecutively
+     * and in insertion order. The result is streamed as the rows are read, never buffered as a whole.
+     * </p>
+     *
+     * @return a {@link Flux} emitting every {@link ApplicablePrice} record
+     */
+    @Override
+    public Flux<ApplicablePrice> findAll() {
+        return databaseClient.sql("""
+            SELECT PRODUCT_ID, BRAND_ID, PRICE_LIST, START_DATE, END_DATE, PRIORITY, PRICE, CURRENCY
+            FROM PRICES
+            ORDER BY PRODUCT_ID, BRAND_ID, ID
+        """)
+                .map((row, metadata) -> toApplicablePrice(row))
+                .all()
+                .doOnSubscribe(sub -> log.debug("Querying DB for every price"));
+    }
+
+    /**
+     * Resolves the applicable price for the specified product and brand at the given date
+     * with a single point query.
+     * <p>
+     * The date range predicate and the priority ordering are evaluated by the database over the
+     * {@code idx_prices_query} covering index, and only the winning row is returned. Ties on priority
+     * are broken by {@code ID}, matching the insertion order used by the full-list queries.
+     * </p>
+     *
+     * @param productId       the identifier of the product to filter by
+     * @param brandId         the identifier of the brand to filter by
+     * @param applicationDate the date and time at which the price should be applicable
+     * @return a {@link Mono} emitting the applicable price, or completing empty if none applies
+     */
+    @Override
+    public Mono<ApplicablePrice> findApplicable(Long productId, Long brandId, LocalDateTime applicationDate) {
+        return databaseClient.sql("""
+            SELECT PRODUCT_ID, BRAND_ID, PRICE_LIST, START_DATE, END_DATE, PRIORITY, PRICE, CURRENCY
+            FROM PRICES
+            WHERE PRODUCT_ID = :productId AND BRAND_ID = :brandId
+              AND START_DATE <= :applicationDate AND END_DATE >= :applicationDate
+            ORDER BY PRIORITY DESC, ID
+            LIMIT 1
+        """)
+                .bind("productId", productId)
+                .bind("brandId", brandId)
+                .bind("applicationDate", applicationDate)
+                .map((row, metadata) -> toApplicablePrice(row))
+                .one()
+                .doOnSubscribe(sub -> log.debug("Resolving price in DB for productId={}, brandId={}, date={}",
+                        productId, brandId, applicationDate));
+    }
+
+    /**
+     * Counts the price entries of every given product and brand with a single grouped query.
+     *
+     * @param keys the product and brand combinations to count
+     * @return a {@link Mono} emitting the number of rows per key; keys without rows are absent
+     */
+    @Override
+    public Mono<Map<PriceKey, Long>> countAllByProductAndBrandIn(Collection<PriceKey> keys) {
+        if (keys.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return databaseClient.sql("""
+            SELECT PRODUCT_ID, BRAND_ID, COUNT(*) AS ROW_COUNT
+            FROM PRICES
+            WHERE (PRODUCT_ID, BRAND_ID) IN (:keys)
+            GROUP BY PRODUCT_ID, BRAND_ID
+        """)
+                .bind("keys", toRowValues(keys))
+                .map((row, metadata) -> Map.entry(
+                        new PriceKey(row.get("PRODUCT_ID", Long.class), row.get("BRAND_ID", Long.class)),
+                        row.get("ROW_COUNT", Long.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .doOnSubscribe(sub -> log.debug("Counting DB rows for {} product/brand keys", keys.size()));
+    }
+
+    /**
+     * Lists the product and brand combinations of the PRICES table with a single grouped query over the
+     * leading columns of the {@code idx_prices_query} index, ordered by descending row count. Ties are
+     * broken by product and brand, so the order is stable across runs.
+     *
+     * @param limit the maximum number of keys to return, or {@code 0} for all of them
+     * @return a {@link Flux} emitting the keys by descending number of rows
+     */
+    @Override
+    public Flux<PriceKey> findKeysByPriceCount(long limit) {
+        String sql = """
+            SELECT PRODUCT_ID, BRAND_ID
+            FROM PRICES
+            GROUP BY PRODUCT_ID, BRAND_ID
+            ORDER BY COUNT(*) DESC, PRODUCT_ID, BRAND_ID
+        """;
+        DatabaseClient.GenericExecuteSpec spec = limit > 0
+                ? databaseClient.sql(sql + "LIMIT :limit").bind("limit", limit)
+                : databaseClient.sql(sql);
+        return spec
+                .map((row, metadata) -> new PriceKey(row.get("PRODUCT_ID", Long.class), row.get("BRAND_ID", Long.class)))
+                .all()
+                .doOnSubscribe(sub -> log.debug("Listing up to {} product/brand keys by price count", limit > 0 ? limit : "all"));
+    }
+
+    /**
+     * Upserts the entries with a single multi-row {@code MERGE ... KEY (ID)} statement, after reading the
+     * current keys of the entries being replaced, so entries moved to another product or brand also report
+     * the key they left.
+     *
+     * @param entries the entries to write
+     * @return a {@link Mono} emitting the number of rows written and the keys whose prices changed
+     */
+    @Override
+    public Mono<PriceChange> upsertAll(Collection<PriceEntry> entries) {
+        if (entries.isEmpty()) {
+            return Mono.just(PriceChange.none());
+        }
+        List<PriceEntry> batch = List.copyOf(entries);
+        StringBuilder sql = new StringBuilder(
+                "MERGE INTO PRICES (ID, BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURRENCY) KEY (ID) VALUES ");
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:id").append(i)
+                    .append(", :brandId").append(i)
+                    .append(", :startDate").append(i)
+                    .append(", :endDate").append(i)
+                    .append(", :priceList").append(i)
+                    .append(", :productId").append(i)
+                    .append(", :priority").append(i)
+                    .append(", :price").append(i)
+                    .append(", :currency").append(i)
+                    .append(')');
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < batch.size(); i++) {
+            PriceEntry entry = batch.get(i);
+            spec = spec.bind("id" + i, entry.id())
+                    .bind("brandId" + i, entry.brandId())
+                    .bind("startDate" + i, entry.startDate())
+                    .bind("endDate" + i, entry.endDate())
+                    .bind("priceList" + i, entry.priceList())
+                    .bind("productId" + i, entry.productId())
+                    .bind("priority" + i, entry.priority())
+                    .bind("price" + i, entry.price())
+                    .bind("currency" + i, entry.currency());
+        }
+        DatabaseClient.GenericExecuteSpec merge = spec;
+
+        return findKeysById(batch.stream().map(PriceEntry::id).toList())
+                .flatMap(previousKeys -> merge.fetch()
+                        .rowsUpdated()
+                        .map(rows -> {
+                            Set<PriceKey> keys = new HashSet<>(previousKeys);
+                            batch.forEach(entry -> keys.add(entry.key()));
+                            return new PriceChange(rows, keys);
+                        }))
+                .doOnSubscribe(sub -> log.debug("Upserting {} price entries", batch.size()));
+    }
+
+    /**
+     * Deletes the entries with a single {@code DELETE ... WHERE ID IN} statement, after reading the keys
+     * they belong to.
+     *
+     * @param ids the identifiers of the entries to delete
+     * @return a {@link Mono} emitting the number of rows deleted and the keys they belonged to
+     */
+    @Override
+    public Mono<PriceChange> deleteAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(PriceChange.none());
+        }
+        List<Long> batch = List.copyOf(ids);
+        return findKeysById(batch)
+                .flatMap(keys -> databaseClient.sql("DELETE FROM PRICES WHERE ID IN (:ids)")
+                        .bind("ids", batch)
+                        .fetch()
+                        .rowsUpdated()
+                        .map(rows -> new PriceChange(rows, keys)))
+                .doOnSubscribe(sub -> log.debug("Deleting {} price entries", batch.size()));
+    }
+
+    /**
+     * Reads the distinct product and brand keys of the stored entries with the given identifiers.
+     *
+     * @param ids the entry identifiers
+     * @return a {@link Mono} emitting the keys of the entries found
+     */
+    private Mono<Set<PriceKey>> findKeysById(List<Long> ids) {
+        return databaseClient.sql("SELECT DISTINCT PRODUCT_ID, BRAND_ID FROM PRICES WHERE ID IN (:ids)")
+                .bind("ids", ids)
+                .map((row, metadata) -> new PriceKey(row.get("PRODUCT_ID", Long.class), row.get("BRAND_ID", Long.class)))
+                .all()
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Converts the keys into {@code (PRODUCT_ID, BRAND_ID)} row values for an {@code IN} predicate.
+     *
+     * @param keys the product and brand combinations
+     * @return one two-element array per key
+     */
+    private static List<Object[]> toRowValues(Collection<PriceKey> keys) {
+        return keys.stream()
+                .map(key -> new Object[]{key.productId(), key.brandId()})
+                .toList();
+    }
+
+    /**
+     * Maps a PRICES row into an {@link ApplicablePrice}, marking {@code NULL} columns as unavailable.
+     *
+     * @param row the result row
+     * @return the mapped price
+     */
+    private static ApplicablePrice toApplicablePrice(Row row) {
+        return ApplicablePrice.of(
+                row.get("PRODUCT_ID", Long.class),
+                row.get("BRAND_ID", Long.class),
+                row.get("PRICE_LIST", Long.class),
+                row.get("START_DATE", LocalDateTime.class),
+                row.get("END_DATE", LocalDateTime.class),
+                row.get("PRICE", BigDecimal.class),
+                row.get("CURRENCY", String.class),
+                row.get("PRIORITY", Long.class)
+        );
+    }
 }
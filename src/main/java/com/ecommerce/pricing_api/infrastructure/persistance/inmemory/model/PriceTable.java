@@ -0,0 +1,485 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.inmemory.model;
+
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the PRICES table packed into primitive arrays, with no object per price.
+ * <p>
+ * Product and brand pairs are packed into a single {@code long} key by {@link #pack(long, long)} and indexed
+ * by an open-addressing hash table with linear probing, kept at most half full. Each slot points at the
+ * contiguous run of rows of its key. Row columns are stored as parallel arrays: the start and end dates as
+ * UTC epoch seconds (plus nanoseconds, only allocated when some date has a fractional second), the priority,
+ * price list and amount in minor units as {@code long}s, the scale and presence bitmask as {@code byte}s and
+ * the currency as a {@code short} index into a dictionary of codes.
+ * </p>
+ * <p>
+ * A row takes {@value #ROW_BYTES} bytes ({@value #NANOS_BYTES} more with fractional seconds) and a key 32 to
+ * 64 bytes of index, depending on how full the hash table is; {@link #footprintBytes()} reports the total.
+ * Prices are only materialized as {@link ApplicablePrice} when returned, so resolving a date allocates at most
+ * the winning price.
+ * </p>
+ * <p>
+ * Rows without both dates can never be applicable and are not stored. Instances are built with a
+ * {@link Builder} and are safe to share between threads once built.
+ * </p>
+ */
+public final class PriceTable {
+
+    /**
+     * Value returned by {@link #pack(long, long)} for identifiers that do not fit a packed key.
+     */
+    public static final long NO_KEY = -1;
+
+    /**
+     * Bytes taken by the columns of a row without fractional seconds.
+     */
+    public static final int ROW_BYTES = 5 * Long.BYTES + Short.BYTES + 2;
+
+    /**
+     * Extra bytes taken by a row when some date of the table has fractional seconds.
+     */
+    public static final int NANOS_BYTES = 2 * Integer.BYTES;
+
+    private static final int BRAND_BITS = 24;
+    private static final int PRODUCT_BITS = Long.SIZE - 1 - BRAND_BITS;
+    private static final long BRAND_MASK = (1L << BRAND_BITS) - 1;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final int REQUIRED_FIELDS = ApplicablePrice.START_DATE | ApplicablePrice.END_DATE;
+    private static final long MAX_EPOCH_SECOND = LocalDateTime.MAX.toEpochSecond(ZoneOffset.UTC);
+    private static final int MAX_NANO = 999_999_999;
+
+    private final long[] slotKeys;
+    private final int[] slotOffsets;
+    private final int[] slotCounts;
+    private final int hashShift;
+    private final int keys;
+
+    private final int rows;
+    private final long[] startSeconds;
+    private final long[] endSeconds;
+    private final int[] startNanos;
+    private final int[] endNanos;
+    private final long[] priorities;
+    private final long[] priceLists;
+    private final long[] priceUnits;
+    private final byte[] priceScales;
+    private final short[] currencies;
+    private final byte[] presence;
+    private final String[] currencyCodes;
+
+    private PriceTable(Builder builder) {
+        this.rows = builder.rows;
+        this.startSeconds = Arrays.copyOf(builder.startSeconds, rows);
+        this.endSeconds = Arrays.copyOf(builder.endSeconds, rows);
+        this.startNanos = builder.fractionalSeconds ? Arrays.copyOf(builder.startNanos, rows) : null;
+        this.endNanos = builder.fractionalSeconds ? Arrays.copyOf(builder.endNanos, rows) : null;
+        this.priorities = Arrays.copyOf(builder.priorities, rows);
+        this.priceLists = Arrays.copyOf(builder.priceLists, rows);
+        this.priceUnits = Arrays.copyOf(builder.priceUnits, rows);
+        this.priceScales = Arrays.copyOf(builder.priceScales, rows);
+        this.currencies = Arrays.copyOf(builder.currencies, rows);
+        this.presence = Arrays.copyOf(builder.presence, rows);
+        this.currencyCodes = builder.currencyCodes.toArray(new String[0]);
+
+        this.keys = builder.keys;
+        int capacity = Integer.highestOneBit(Math.max(1, keys) * 2 - 1) << 1;
+        this.hashShift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+        this.slotKeys = new long[capacity];
+        this.slotOffsets = new int[capacity];
+        this.slotCounts = new int[capacity];
+        Arrays.fill(slotKeys, NO_KEY);
+        for (int k = 0; k < keys; k++) {
+            long key = builder.keyValues[k];
+            int slot = hash(key);
+            while (slotKeys[slot] != NO_KEY) {
+                if (slotKeys[slot] == key) {
+                    throw new IllegalStateException("Rows of product " + productOf(key) + " and brand "
+                            + brandOf(key) + " are not contiguous");
+                }
+                slot = (slot + 1) & (capacity - 1);
+            }
+            slotKeys[slot] = key;
+            slotOffsets[slot] = builder.keyOffsets[k];
+            slotCounts[slot] = (k + 1 < keys ? builder.keyOffsets[k + 1] : rows) - builder.keyOffsets[k];
+        }
+    }
+
+    /**
+     * Creates a builder for a new table.
+     *
+     * @return an empty builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Packs a product and brand pair into a single key.
+     *
+     * @param productId the product identifier, from {@code 0} to {@code 2^39 - 1}
+     * @param brandId   the brand identifier, from {@code 0} to {@code 2^24 - 1}
+     * @return the packed key, or {@link #NO_KEY} if an identifier is out of range
+     */
+    public static long pack(long productId, long brandId) {
+        if (productId < 0 || productId >>> PRODUCT_BITS != 0 || brandId < 0 || brandId > BRAND_MASK) {
+            return NO_KEY;
+        }
+        return productId << BRAND_BITS | brandId;
+    }
+
+    /**
+     * Returns the product identifier of a packed key.
+     *
+     * @param key the packed key
+     * @return the product identifier
+     */
+    public static long productOf(long key) {
+        return key >>> BRAND_BITS;
+    }
+
+    /**
+     * Returns the brand identifier of a packed key.
+     *
+     * @param key the packed key
+     * @return the brand identifier
+     */
+    public static long brandOf(long key) {
+        return key & BRAND_MASK;
+    }
+
+    /**
+     * Returns the number of rows stored for a key.
+     *
+     * @param key the packed key
+     * @return the number of rows, or {@code 0} if the key is not in the table
+     */
+    public int rowsOf(long key) {
+        int slot = find(key);
+        return slot < 0 ? 0 : slotCounts[slot];
+    }
+
+    /**
+     * Resolves the price of a key applicable at the given instant, scanning its rows without allocating.
+     * <p>
+     * Among the rows whose period contains the instant (both bounds inclusive), the one with the highest
+     * priority wins; on equal priorities, the first one in insertion order.
+     * </p>
+     *
+     * @param key         the packed key
+     * @param epochSecond the epoch seconds of the UTC reading of the instant
+     * @param nano        the nanoseconds of the instant
+     * @return the applicable price, or {@code null} if none applies or the key is not in the table
+     */
+    public ApplicablePrice resolve(long key, long epochSecond, int nano) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        int winner = winner(slot, epochSecond, nano);
+        return winner < 0 ? null : price(key, winner);
+    }
+
+    /**
+     * Finds the first instant after the given one at which a different row of a key, or no row, wins.
+     * <p>
+     * The candidate instants are the starts of the rows beginning after the instant and the instants right
+     * after the ends of the rows containing it; they are tried in order, skipping those where the same row
+     * still wins, so the result is the start of the next segment of the timeline of the key.
+     * </p>
+     *
+     * @param key         the packed key
+     * @param epochSecond the epoch seconds of the UTC reading of the instant
+     * @param nano        the nanoseconds of the instant
+     * @return the instant the applicable price changes at, or {@code null} if it never changes or the key is
+     *         not in the table
+     */
+    public LocalDateTime nextChange(long key, long epochSecond, int nano) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        int winner = winner(slot, epochSecond, nano);
+        long seconds = epochSecond;
+        int nanos = nano;
+        while (true) {
+            long nextSeconds = Long.MAX_VALUE;
+            int nextNanos = 0;
+            for (int row = slotOffsets[slot], end = row + slotCounts[slot]; row < end; row++) {
+                long candidateSeconds;
+                int candidateNanos;
+                if (isAfter(startSeconds[row], startNano(row), seconds, nanos)) {
+                    candidateSeconds = startSeconds[row];
+                    candidateNanos = startNano(row);
+                } else if (contains(row, seconds, nanos) && (endSeconds[row] != MAX_EPOCH_SECOND || endNano(row) != MAX_NANO)) {
+                    candidateSeconds = endNano(row) == MAX_NANO ? endSeconds[row] + 1 : endSeconds[row];
+                    candidateNanos = endNano(row) == MAX_NANO ? 0 : endNano(row) + 1;
+                } else {
+                    continue;
+                }
+                if (isAfter(nextSeconds, nextNanos, candidateSeconds, candidateNanos)) {
+                    nextSeconds = candidateSeconds;
+                    nextNanos = candidateNanos;
+                }
+            }
+            if (nextSeconds == Long.MAX_VALUE) {
+                return null;
+            }
+            seconds = nextSeconds;
+            nanos = nextNanos;
+            if (winner(slot, seconds, nanos) != winner) {
+                return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+            }
+        }
+    }
+
+    /**
+     * Returns every price stored for a key, in insertion order.
+     *
+     * @param key the packed key
+     * @return the prices, empty if the key is not in the table
+     */
+    public List<ApplicablePrice> prices(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return List.of();
+        }
+        List<ApplicablePrice> prices = new ArrayList<>(slotCounts[slot]);
+        for (int row = slotOffsets[slot], end = row + slotCounts[slot]; row < end; row++) {
+            prices.add(price(key, row));
+        }
+        return prices;
+    }
+
+    /**
+     * Returns the number of distinct product and brand keys.
+     *
+     * @return the number of keys
+     */
+    public int keys() {
+        return keys;
+    }
+
+    /**
+     * Returns the number of stored rows.
+     *
+     * @return the number of rows
+     */
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * Returns the memory taken by the arrays of the table, excluding array headers and the currency codes,
+     * which are shared and bounded by the number of distinct currencies.
+     *
+     * @return the footprint in bytes
+     */
+    public long footprintBytes() {
+        long index = (long) slotKeys.length * (Long.BYTES + 2 * Integer.BYTES);
+        long columns = (long) rows * (startNanos != null ? ROW_BYTES + NANOS_BYTES : ROW_BYTES);
+        return index + columns + (long) currencyCodes.length * Integer.BYTES;
+    }
+
+    private int hash(long key) {
+        return (int) ((key * HASH_MULTIPLIER) >>> hashShift);
+    }
+
+    private int find(long key) {
+        if (key == NO_KEY) {
+            return -1;
+        }
+        int mask = slotKeys.length - 1;
+        for (int slot = hash(key); ; slot = (slot + 1) & mask) {
+            long candidate = slotKeys[slot];
+            if (candidate == key) {
+                return slot;
+            }
+            if (candidate == NO_KEY) {
+                return -1;
+            }
+        }
+    }
+
+    private int winner(int slot, long epochSecond, int nano) {
+        int winner = -1;
+        for (int row = slotOffsets[slot], end = row + slotCounts[slot]; row < end; row++) {
+            if (contains(row, epochSecond, nano) && (winner < 0 || priorities[row] > priorities[winner])) {
+                winner = row;
+            }
+        }
+        return winner;
+    }
+
+    private int startNano(int row) {
+        return startNanos != null ? startNanos[row] : 0;
+    }
+
+    private int endNano(int row) {
+        return endNanos != null ? endNanos[row] : 0;
+    }
+
+    private static boolean isAfter(long seconds, int nanos, long otherSeconds, int otherNanos) {
+        return seconds > otherSeconds || (seconds == otherSeconds && nanos > otherNanos);
+    }
+
+    private boolean contains(int row, long epochSecond, int nano) {
+        long start = startSeconds[row];
+        long end = endSeconds[row];
+        if (epochSecond < start || epochSecond > end) {
+            return false;
+        }
+        if (startNanos == null) {
+            return (epochSecond != start || nano >= 0) && (epochSecond != end || nano == 0);
+        }
+        return (epochSecond != start || nano >= startNanos[row]) && (epochSecond != end || nano <= endNanos[row]);
+    }
+
+    private ApplicablePrice price(long key, int row) {
+        short currency = currencies[row];
+        return new ApplicablePrice(
+                productOf(key),
+                brandOf(key),
+                priceLists[row],
+                startSeconds[row],
+                startNanos != null ? startNanos[row] : 0,
+                endSeconds[row],
+                endNanos != null ? endNanos[row] : 0,
+                priceUnits[row],
+                priceScales[row],
+                currency < 0 ? null : currencyCodes[currency],
+                priorities[row],
+                presence[row] & ApplicablePrice.ALL
+        );
+    }
+
+    /**
+     * Accumulates the rows of a table in growable arrays.
+     * <p>
+     * Rows must be added grouped by product and brand, as streamed by the database; {@link #build()} fails
+     * if the rows of a key are split. A builder is not thread-safe and must not be reused once built.
+     * </p>
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_ROWS = 1024;
+        private static final int INITIAL_KEYS = 256;
+
+        private int rows;
+        private long[] startSeconds = new long[INITIAL_ROWS];
+        private long[] endSeconds = new long[INITIAL_ROWS];
+        private int[] startNanos = new int[INITIAL_ROWS];
+        private int[] endNanos = new int[INITIAL_ROWS];
+        private long[] priorities = new long[INITIAL_ROWS];
+        private long[] priceLists = new long[INITIAL_ROWS];
+        private long[] priceUnits = new long[INITIAL_ROWS];
+        private byte[] priceScales = new byte[INITIAL_ROWS];
+        private short[] currencies = new short[INITIAL_ROWS];
+        private byte[] presence = new byte[INITIAL_ROWS];
+        private boolean fractionalSeconds;
+
+        private int keys;
+        private long[] keyValues = new long[INITIAL_KEYS];
+        private int[] keyOffsets = new int[INITIAL_KEYS];
+
+        private final List<String> currencyCodes = new ArrayList<>();
+        private final Map<String, Short> currencyIndex = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a price to the table.
+         *
+         * @param price the price to add
+         * @return {@code true} if the price was stored, {@code false} if it lacks its product, brand or dates,
+         *         or its identifiers do not fit a packed key
+         * @throws IllegalArgumentException if the scale of the amount does not fit a byte
+         * @throws IllegalStateException    if the table already holds {@link Short#MAX_VALUE} currencies
+         */
+        public boolean add(ApplicablePrice price) {
+            if (!price.has(REQUIRED_FIELDS | ApplicablePrice.PRODUCT_ID | ApplicablePrice.BRAND_ID)) {
+                return false;
+            }
+            long key = pack(price.productId(), price.brandId());
+            if (key == NO_KEY) {
+                return false;
+            }
+            if (price.priceScale() != (byte) price.priceScale()) {
+                throw new IllegalArgumentException("Price scale " + price.priceScale() + " does not fit the table");
+            }
+            if (keys == 0 || keyValues[keys - 1] != key) {
+                if (keys == keyValues.length) {
+                    keyValues = Arrays.copyOf(keyValues, keys * 2);
+                    keyOffsets = Arrays.copyOf(keyOffsets, keys * 2);
+                }
+                keyValues[keys] = key;
+                keyOffsets[keys] = rows;
+                keys++;
+            }
+            if (rows == startSeconds.length) {
+                grow();
+            }
+            startSeconds[rows] = price.startEpochSecond();
+            endSeconds[rows] = price.endEpochSecond();
+            startNanos[rows] = price.startNano();
+            endNanos[rows] = price.endNano();
+            fractionalSeconds |= price.startNano() != 0 || price.endNano() != 0;
+            priorities[rows] = price.priority();
+            priceLists[rows] = price.priceList();
+            priceUnits[rows] = price.priceUnits();
+            priceScales[rows] = (byte) price.priceScale();
+            currencies[rows] = currencyOf(price.currency());
+            presence[rows] = (byte) price.presence();
+            rows++;
+            return true;
+        }
+
+        /**
+         * Builds the table, trimming the arrays to the number of rows added.
+         *
+         * @return the table
+         * @throws IllegalStateException if the rows of a key were not added consecutively
+         */
+        public PriceTable build() {
+            return new PriceTable(this);
+        }
+
+        private short currencyOf(String currency) {
+            if (currency == null) {
+                return -1;
+            }
+            Short index = currencyIndex.get(currency);
+            if (index == null) {
+                if (currencyCodes.size() == Short.MAX_VALUE) {
+                    throw new IllegalStateException("Too many distinct currencies for the table");
+                }
+                index = (short) currencyCodes.size();
+                currencyCodes.add(currency);
+                currencyIndex.put(currency, index);
+            }
+            return index;
+        }
+
+        private void grow() {
+            int capacity = startSeconds.length * 2;
+            startSeconds = Arrays.copyOf(startSeconds, capacity);
+            endSeconds = Arrays.copyOf(endSeconds, capacity);
+            startNanos = Arrays.copyOf(startNanos, capacity);
+            endNanos = Arrays.copyOf(endNanos, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            priceLists = Arrays.copyOf(priceLists, capacity);
+            priceUnits = Arrays.copyOf(priceUnits, capacity);
+            priceScales = Arrays.copyOf(priceScales, capacity);
+            currencies = Arrays.copyOf(currencies, capacity);
+            presence = Arrays.copyOf(presence, capacity);
+        }
+    }
+}
@@ -0,0 +1,492 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.inmemory.repository;
+
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
+import com.ecommerce.pricing_api.application.repository.PricesCacheRepository;
+import com.ecommerce.pricing_api.application.repository.PricesDatabaseRepository;
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import com.ecommerce.pricing_api.domain.model.PriceSegment;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.config.InMemoryStoreProperties;
+import com.ecommerce.pricing_api.infrastructure.persistance.h2.H2Initializer;
+import com.ecommerce.pricing_api.infrastructure.persistance.inmemory.model.PriceTable;
+import com.ecommerce.pricing_api.infrastructure.persistance.nearcache.repository.PricesNearCacheRepository;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.invalidation.LocalPriceCache;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.invalidation.RedisCacheInvalidationBus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Repository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Price cache holding the whole PRICES table in memory as a packed {@link PriceTable}, used in place of the
+ * {@link PricesNearCacheRepository} when {@code pricing.in-memory-store.enabled} is set.
+ * <p>
+ * The table is streamed from the database once the {@link H2Initializer} has filled it, before the
+ * application reports itself ready, and optionally reloaded every {@code pricing.in-memory-store.reload-interval-seconds}.
+ * A reload builds a new table next to the current one and replaces it atomically, so lookups never see a
+ * partially loaded table. Lookups for a single date are resolved directly on the packed rows and return a
+ * window holding the winner and the segment that follows it, so the next price change is known exactly; keys
+ * absent from the table are known to be empty.
+ * </p>
+ * <p>
+ * Price changes are applied as overrides on top of the table: keys written or evicted through this cache or the
+ * {@link RedisCacheInvalidationBus} read as missing until the service saves their reloaded timeline, and evicted
+ * brands read as missing until the next reload. Overrides recorded while a reload is running are carried over to
+ * the new table, so a change cannot be lost to a table read before it. An {@link #evictAll()}, sent when
+ * invalidations may have been missed, reloads the table in the background. So does the key override that
+ * reaches {@code pricing.in-memory-store.max-overrides}: overrides hold whole timelines and are only dropped
+ * by a reload, so they are compacted into a new table before they outgrow it.
+ * </p>
+ * <p>
+ * Keys whose identifiers do not fit {@link PriceTable#pack(long, long)} are never stored and always read as
+ * missing, so they are served from the database. The size of the table is published in the
+ * {@value #ROWS_GAUGE}, {@value #KEYS_GAUGE} and {@value #MEMORY_GAUGE} gauges and the reload duration in
+ * {@value #RELOAD_TIMER}.
+ * </p>
+ */
+@Slf4j
+@Primary
+@Repository
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(prefix = "pricing.in-memory-store", name = "enabled", havingValue = "true")
+public class PricesInMemoryRepository implements PricesCacheRepository, LocalPriceCache, ApplicationRunner {
+
+    static final String ROWS_GAUGE = "pricing.store.rows";
+    static final String KEYS_GAUGE = "pricing.store.keys";
+    static final String MEMORY_GAUGE = "pricing.store.memory";
+    static final String RELOAD_TIMER = "pricing.store.reload";
+
+    private final PricesDatabaseRepository pricesDatabaseRepository;
+    private final InMemoryStoreProperties properties;
+    private final Timer reloadTimer;
+
+    private final Object lock = new Object();
+    private volatile Snapshot current;
+    private Overrides pending;
+    private boolean reloadRequested;
+    private volatile Disposable periodicReload;
+
+    /**
+     * Creates the store and registers its gauges; the table is loaded by {@link #run(ApplicationArguments)}.
+     *
+     * @param pricesDatabaseRepository the database the table is loaded from
+     * @param properties               the properties with the reload interval
+     * @param meterRegistry            the registry the store metrics are published to
+     */
+    public PricesInMemoryRepository(PricesDatabaseRepository pricesDatabaseRepository,
+                                    InMemoryStoreProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.pricesDatabaseRepository = pricesDatabaseRepository;
+        this.properties = properties;
+        this.reloadTimer = Timer.builder(RELOAD_TIMER)
+                .description("Duration of the full loads of the in-memory price store")
+                .register(meterRegistry);
+        gauge(meterRegistry, ROWS_GAUGE, "Rows held by the in-memory price store", "rows", PriceTable::rows);
+        gauge(meterRegistry, KEYS_GAUGE, "Product and brand keys held by the in-memory price store", "keys", PriceTable::keys);
+        gauge(meterRegistry, MEMORY_GAUGE, "Memory taken by the arrays of the in-memory price store", "bytes",
+                PriceTable::footprintBytes);
+    }
+
+    /**
+     * Loads the table before the application reports itself ready, then schedules the periodic reloads if any.
+     * A failed load is logged and leaves the store empty, so every lookup misses and is served from the database.
+     *
+     * @param args the application arguments, unused
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        reload()
+                .onErrorResume(e -> {
+                    log.error("Initial load of the in-memory price store failed, serving prices from the database", e);
+                    return Mono.empty();
+                })
+                .block();
+        long interval = properties.getReloadIntervalSeconds();
+        if (interval > 0) {
+            periodicReload = Flux.interval(Duration.ofSeconds(interval))
+                    .concatMap(tick -> reload().onErrorResume(e -> {
+                        log.warn("Reload of the in-memory price store failed, keeping the current table", e);
+                        return Mono.empty();
+                    }))
+                    .subscribe();
+        }
+    }
+
+    /**
+     * Cancels the periodic reloads when the application shuts down.
+     */
+    @PreDestroy
+    public void stop() {
+        Disposable running = periodicReload;
+        if (running != null) {
+            running.dispose();
+        }
+    }
+
+    /**
+     * Builds a new table from the database and replaces the current one with it.
+     * <p>
+     * Only one reload runs at a time: a reload requested while another is running completes immediately and
+     * makes the running one start again once done, so the table read last started after the request.
+     * </p>
+     *
+     * @return a {@link Mono} completing when the new table is in place, or right away if a reload is running
+     */
+    public Mono<Void> reload() {
+        return Mono.defer(() -> {
+            Overrides overrides = new Overrides();
+            synchronized (lock) {
+                if (pending != null) {
+                    reloadRequested = true;
+                    return Mono.<Void>empty();
+                }
+                pending = overrides;
+            }
+            long start = System.nanoTime();
+            PriceTable.Builder builder = PriceTable.builder();
+            AtomicLong skipped = new AtomicLong();
+            return pricesDatabaseRepository.findAll()
+                    .doOnNext(price -> {
+                        if (!builder.add(price)) {
+                            skipped.incrementAndGet();
+                        }
+                    })
+                    .then(Mono.fromCallable(builder::build))
+                    .map(table -> {
+                        boolean again;
+                        synchronized (lock) {
+                            current = new Snapshot(table, overrides);
+                            pending = null;
+                            again = reloadRequested;
+                            reloadRequested = false;
+                        }
+                        long nanos = System.nanoTime() - start;
+                        reloadTimer.record(nanos, TimeUnit.NANOSECONDS);
+                        log.info("Loaded {} rows of {} keys into the in-memory price store in {} ms, {} bytes ({} skipped)",
+                                table.rows(), table.keys(), TimeUnit.NANOSECONDS.toMillis(nanos),
+                                table.footprintBytes(), skipped.get());
+                        return again;
+                    })
+                    .doOnError(e -> abandon(overrides))
+                    .doOnCancel(() -> abandon(overrides))
+                    .flatMap(again -> again ? reload() : Mono.<Void>empty());
+        });
+    }
+
+    /**
+     * Records the timeline as an override of the key.
+     *
+     * @param key      the cache key under which to store the timeline
+     * @param timeline the {@link PriceTimeline} to cache
+     * @return a {@link Mono} completing once the override is recorded
+     */
+    @Override
+    public Mono<Void> save(String key, PriceTimeline timeline) {
+        return Mono.fromRunnable(() -> override(packedKey(key), CacheLookup.of(timeline)));
+    }
+
+    /**
+     * Records the key as known to have no prices.
+     *
+     * @param key the cache key to mark as empty
+     * @return a {@link Mono} completing once the override is recorded
+     */
+    @Override
+    public Mono<Void> saveEmpty(String key) {
+        return Mono.fromRunnable(() -> override(packedKey(key), CacheLookup.knownEmpty()));
+    }
+
+    /**
+     * Looks the key up, building its whole timeline from the packed rows.
+     *
+     * @param key the cache key whose associated timeline should be fetched
+     * @return a {@link Mono} emitting the result of the lookup
+     */
+    @Override
+    public Mono<CacheLookup> lookup(String key) {
+        return Mono.fromSupplier(() -> find(key, null));
+    }
+
+    /**
+     * Looks the key up, resolving the given date directly on the packed rows.
+     *
+     * @param key             the cache key whose associated timeline should be fetched
+     * @param applicationDate the date the timeline will be resolved for
+     * @return a {@link Mono} emitting a window of the segment starting at the date and of the next one, if
+     *         any, the override of the key, or a miss
+     */
+    @Override
+    public Mono<CacheLookup> lookup(String key, LocalDateTime applicationDate) {
+        return Mono.fromSupplier(() -> find(key, applicationDate));
+    }
+
+    /**
+     * Looks many keys up, building their whole timelines from the packed rows.
+     *
+     * @param keys the cache keys to look up
+     * @return a {@link Mono} emitting the {@link CacheLookup} of every requested key
+     */
+    @Override
+    public Mono<Map<String, CacheLookup>> lookupAll(Collection<String> keys) {
+        return Mono.fromSupplier(() -> {
+            Map<String, CacheLookup> lookups = new HashMap<>();
+            for (String key : keys) {
+                lookups.put(key, find(key, null));
+            }
+            return lookups;
+        });
+    }
+
+    /**
+     * Marks the keys as missing until their timelines are saved again.
+     *
+     * @param keys the cache keys to remove
+     * @return a {@link Mono} completing once the keys are marked
+     */
+    @Override
+    public Mono<Void> deleteAll(Collection<String> keys) {
+        return Mono.fromRunnable(() -> keys.forEach(key -> override(packedKey(key), CacheLookup.miss())));
+    }
+
+    /**
+     * Marks a product and brand as missing until its timeline is saved again, after a price change on any node.
+     *
+     * @param key the product and brand to evict
+     */
+    @Override
+    public void evict(PriceKey key) {
+        override(PriceTable.pack(key.productId(), key.brandId()), CacheLookup.miss());
+    }
+
+    /**
+     * Marks every product of a brand as missing until its timeline is saved again or the table is reloaded,
+     * after a price change on any node.
+     *
+     * @param brandId the brand to evict
+     */
+    @Override
+    public void evictBrand(Long brandId) {
+        synchronized (lock) {
+            Snapshot snapshot = current;
+            if (snapshot != null) {
+                snapshot.overrides().evictBrand(brandId);
+            }
+            if (pending != null) {
+                pending.evictBrand(brandId);
+            }
+        }
+    }
+
+    /**
+     * Reloads the whole table in the background, since invalidations may have been missed.
+     */
+    @Override
+    public void evictAll() {
+        reload().subscribe(null, e -> log.warn("Reload of the in-memory price store failed, keeping the current table", e));
+    }
+
+    /**
+     * Returns the table currently served.
+     *
+     * @return the current table, or {@code null} until the first load completes
+     */
+    PriceTable table() {
+        Snapshot snapshot = current;
+        return snapshot == null ? null : snapshot.table();
+    }
+
+    /**
+     * Resolves a lookup against the current table and its overrides.
+     *
+     * @param key             the cache key
+     * @param applicationDate the date to resolve, or {@code null} for the whole timeline
+     * @return the result of the lookup
+     */
+    private CacheLookup find(String key, LocalDateTime applicationDate) {
+        Snapshot snapshot = current;
+        long packed = packedKey(key);
+        if (snapshot == null || packed == PriceTable.NO_KEY) {
+            return CacheLookup.miss();
+        }
+        CacheLookup override = snapshot.overrides().find(packed);
+        if (override != null) {
+            return override;
+        }
+        PriceTable table = snapshot.table();
+        if (table.rowsOf(packed) == 0) {
+            return CacheLookup.knownEmpty();
+        }
+        if (applicationDate == null) {
+            return CacheLookup.of(PriceTimeline.of(table.prices(packed)));
+        }
+        long epochSecond = applicationDate.toEpochSecond(ZoneOffset.UTC);
+        PriceSegment covering = new PriceSegment(applicationDate,
+                Optional.ofNullable(table.resolve(packed, epochSecond, applicationDate.getNano())));
+        LocalDateTime nextChange = table.nextChange(packed, epochSecond, applicationDate.getNano());
+        if (nextChange == null) {
+            return CacheLookup.of(new PriceTimeline(List.of(covering)));
+        }
+        PriceSegment next = new PriceSegment(nextChange, Optional.ofNullable(
+                table.resolve(packed, nextChange.toEpochSecond(ZoneOffset.UTC), nextChange.getNano())));
+        return CacheLookup.of(new PriceTimeline(List.of(covering, next)));
+    }
+
+    /**
+     * Records an override of a key on the current table and on the one being loaded, if any, and reloads the
+     * table in the background once the current one has too many overrides.
+     *
+     * @param key    the packed key, ignored if it is {@link PriceTable#NO_KEY}
+     * @param lookup the result later lookups of the key return
+     */
+    private void override(long key, CacheLookup lookup) {
+        if (key == PriceTable.NO_KEY) {
+            return;
+        }
+        int overridden = 0;
+        synchronized (lock) {
+            Snapshot snapshot = current;
+            if (snapshot != null) {
+                snapshot.overrides().put(key, lookup);
+            }
+            if (pending != null) {
+                pending.put(key, lookup);
+            } else if (snapshot != null) {
+                overridden = snapshot.overrides().size();
+            }
+        }
+        int maxOverrides = properties.getMaxOverrides();
+        if (maxOverrides > 0 && overridden >= maxOverrides) {
+            log.info("{} keys of the in-memory price store are overridden, reloading it", overridden);
+            evictAll();
+        }
+    }
+
+    /**
+     * Forgets a reload that failed or was cancelled, so the next one can start.
+     *
+     * @param overrides the overrides of the abandoned reload
+     */
+    private void abandon(Overrides overrides) {
+        synchronized (lock) {
+            if (pending == overrides) {
+                pending = null;
+                reloadRequested = false;
+            }
+        }
+    }
+
+    private void gauge(MeterRegistry meterRegistry, String name, String description, String unit,
+                       ToDoubleFunction<PriceTable> value) {
+        Gauge.builder(name, this, store -> {
+                    PriceTable table = store.table();
+                    return table == null ? 0 : value.applyAsDouble(table);
+                })
+                .description(description)
+                .baseUnit(unit)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Parses a {@code productId:brandId} cache key into a packed key, without allocating.
+     *
+     * @param key the cache key
+     * @return the packed key, or {@link PriceTable#NO_KEY} if the key is malformed or does not fit
+     */
+    static long packedKey(String key) {
+        int separator = key.indexOf(':');
+        if (separator <= 0 || separator == key.length() - 1) {
+            return PriceTable.NO_KEY;
+        }
+        long productId = parse(key, 0, separator);
+        long brandId = parse(key, separator + 1, key.length());
+        return productId < 0 || brandId < 0 ? PriceTable.NO_KEY : PriceTable.pack(productId, brandId);
+    }
+
+    private static long parse(String key, int from, int to) {
+        if (to - from > 18) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = key.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * A loaded table with the overrides recorded since its load started.
+     *
+     * @param table     the packed table
+     * @param overrides the overrides applying on top of it
+     */
+    private record Snapshot(PriceTable table, Overrides overrides) {}
+
+    /**
+     * Keys and brands whose table rows are outdated.
+     */
+    private static final class Overrides {
+
+        private final ConcurrentMap<Long, CacheLookup> keys = new ConcurrentHashMap<>();
+        private final Set<Long> brands = ConcurrentHashMap.newKeySet();
+
+        void put(long key, CacheLookup lookup) {
+            keys.put(key, lookup);
+        }
+
+        int size() {
+            return keys.size();
+        }
+
+        void evictBrand(long brandId) {
+            brands.add(brandId);
+            keys.keySet().removeIf(key -> PriceTable.brandOf(key) == brandId);
+        }
+
+        /**
+         * Returns the override of a key: its saved or evicted state, or a miss if its brand was evicted.
+         *
+         * @param key the packed key
+         * @return the override, or {@code null} if the table rows of the key are current
+         */
+        CacheLookup find(long key) {
+            if (!keys.isEmpty()) {
+                CacheLookup lookup = keys.get(key);
+                if (lookup != null) {
+                    return lookup;
+                }
+            }
+            return !brands.isEmpty() && brands.contains(PriceTable.brandOf(key)) ? CacheLookup.miss() : null;
+        }
+    }
+}
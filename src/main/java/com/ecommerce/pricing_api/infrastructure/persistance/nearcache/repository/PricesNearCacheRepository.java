@@ -0,0 +1,387 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.nearcache.repository;
+
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
+import com.ecommerce.pricing_api.application.repository.PricesCacheRepository;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.config.RedisConfig;
+import com.ecommerce.pricing_api.infrastructure.config.RedisProperties;
+import com.ecommerce.pricing_api.infrastructure.persistance.inmemory.repository.PricesInMemoryRepository;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.invalidation.LocalPriceCache;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.invalidation.RedisCacheInvalidationBus;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.repository.PricesRedisRepository;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.repository.PricesRedisSortedSetRepository;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.resilience.PricesResilientCacheRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process (L1) near cache placed in front of the Redis repository selected by {@code spring.redis.layout},
+ * either {@link PricesRedisRepository} or {@link PricesRedisSortedSetRepository}, as guarded by the
+ * {@link PricesResilientCacheRepository}.
+ * <p>
+ * Keeps the most recently used {@link PriceTimeline}s inside the JVM, bounded both by the number
+ * of keys and by a time-to-live configured via {@link RedisProperties}. Lookups are answered
+ * locally whenever possible, so a hot product costs no network round trip to Redis; misses are
+ * read through from Redis and kept locally for subsequent requests. Keys known to have no prices
+ * are kept locally too, for no longer than the negative TTL.
+ * </p>
+ * <p>
+ * With the sorted-set layout, lookups for a single date read only the covering segment and the next one from
+ * Redis. That window is returned as is but never kept locally, since it cannot resolve other dates; the near
+ * cache is then filled by saves and multi-key lookups, which always carry whole timelines.
+ * </p>
+ * <p>
+ * Timelines Redis flags as stale are returned but not kept locally either: the near cache is filled with the
+ * revalidated timeline once the service saves it.
+ * </p>
+ * <p>
+ * Price changes made on any node are applied here through the {@link RedisCacheInvalidationBus}. A read
+ * through from Redis that was in flight when an invalidation arrived is returned but not kept locally, so it
+ * cannot bring back a timeline evicted in the meantime. Likewise, the invalidation count is noted when Redis
+ * misses a key or flags it stale, and the save of the timeline then loaded from the database is dropped, both
+ * locally and in Redis, if an invalidation arrived in between: the load may have read the prices before the
+ * change, so the key is left for the next lookup to load again.
+ * </p>
+ * <p>
+ * Hit, miss and eviction counters are available through {@link #stats()}. The near cache is replaced by the
+ * {@link PricesInMemoryRepository} when {@code pricing.in-memory-store.enabled} is set.
+ * </p>
+ */
+@Slf4j
+@Primary
+@Repository
+@ConditionalOnProperty(prefix = "pricing.in-memory-store", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class PricesNearCacheRepository implements PricesCacheRepository, LocalPriceCache {
+
+    private final PricesCacheRepository delegate;
+    private final boolean rangedDelegate;
+    private final Cache<String, PriceTimeline> cache;
+    private final Cache<String, Long> loadGenerations;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Creates the near cache using the limits configured in {@link RedisProperties}.
+     *
+     * @param delegate        the guarded Redis repository backing this cache
+     * @param redisProperties the properties with the near cache size and TTL, and the Redis layout
+     */
+    @Autowired
+    public PricesNearCacheRepository(@Qualifier(RedisConfig.REDIS_CACHE) PricesCacheRepository delegate,
+                                     RedisProperties redisProperties) {
+        this(delegate, redisProperties, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates the near cache with an explicit time source and maintenance executor.
+     *
+     * @param delegate        the Redis repository backing this cache
+     * @param redisProperties the properties with the near cache size and TTL, and the Redis layout
+     * @param ticker          the time source used to expire entries
+     * @param executor        the executor running eviction maintenance
+     */
+    PricesNearCacheRepository(PricesCacheRepository delegate,
+                              RedisProperties redisProperties,
+                              Ticker ticker,
+                              Executor executor) {
+        this.delegate = delegate;
+        this.rangedDelegate = redisProperties.getLayout() == RedisProperties.Layout.SORTED_SET;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(redisProperties.getNearCacheMaxEntries())
+                .expireAfter(expiry(
+                        Duration.ofSeconds(redisProperties.getNearCacheTtlSeconds()),
+                        Duration.ofSeconds(Math.min(redisProperties.getNearCacheTtlSeconds(), redisProperties.getNegativeTtlSeconds()))
+                ))
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .build();
+        this.loadGenerations = Caffeine.newBuilder()
+                .maximumSize(redisProperties.getNearCacheMaxEntries())
+                .expireAfterWrite(Duration.ofSeconds(redisProperties.getNearCacheTtlSeconds()))
+                .ticker(ticker)
+                .executor(executor)
+                .build();
+        log.info("Near cache config --> maxEntries: {}, ttlSeconds: {}",
+                redisProperties.getNearCacheMaxEntries(), redisProperties.getNearCacheTtlSeconds());
+    }
+
+    /**
+     * Stores the timeline locally and writes it through to Redis, unless the key was invalidated since Redis
+     * missed it.
+     *
+     * @param key      the cache key under which to store the timeline
+     * @param timeline the {@link PriceTimeline} to cache
+     * @return a {@link Mono} that completes when Redis has stored the timeline or the save was dropped,
+     *         or emits an error if the Redis operation fails
+     */
+    @Override
+    public Mono<Void> save(String key, PriceTimeline timeline) {
+        return Mono.defer(() -> store(key, timeline) ? delegate.save(key, timeline) : Mono.empty());
+    }
+
+    /**
+     * Marks the key as empty locally and writes the marker through to Redis, unless the key was invalidated
+     * since Redis missed it.
+     *
+     * @param key the cache key to mark as empty
+     * @return a {@link Mono} that completes when Redis has stored the marker or the save was dropped,
+     *         or emits an error if the Redis operation fails
+     */
+    @Override
+    public Mono<Void> saveEmpty(String key) {
+        return Mono.defer(() -> store(key, PriceTimeline.empty()) ? delegate.saveEmpty(key) : Mono.empty());
+    }
+
+    /**
+     * Looks the key up in the local cache, reading it through from Redis on a local miss.
+     *
+     * @param key the cache key whose associated timeline should be fetched
+     * @return a {@link Mono} emitting the local result if present, or the Redis result otherwise
+     */
+    @Override
+    public Mono<CacheLookup> lookup(String key) {
+        return Mono.defer(() -> {
+            PriceTimeline local = cache.getIfPresent(key);
+            if (local != null) {
+                log.debug("Near cache hit for key: {}", key);
+                return Mono.just(CacheLookup.of(local));
+            }
+            long generation = invalidations.get();
+            return delegate.lookup(key)
+                    .doOnNext(lookup -> {
+                        noteLoad(key, lookup, generation);
+                        remember(key, lookup, generation);
+                    });
+        });
+    }
+
+    /**
+     * Looks the key up in the local cache, reading it through from Redis for the given date on a local miss.
+     * <p>
+     * Known-empty results are always kept locally; hits only when Redis returned the whole timeline.
+     * </p>
+     *
+     * @param key             the cache key whose associated timeline should be fetched
+     * @param applicationDate the date the timeline will be resolved for
+     * @return a {@link Mono} emitting the local result if present, or the Redis result otherwise
+     */
+    @Override
+    public Mono<CacheLookup> lookup(String key, LocalDateTime applicationDate) {
+        return Mono.defer(() -> {
+            PriceTimeline local = cache.getIfPresent(key);
+            if (local != null) {
+                log.debug("Near cache hit for key: {}", key);
+                return Mono.just(CacheLookup.of(local));
+            }
+            long generation = invalidations.get();
+            return delegate.lookup(key, applicationDate)
+                    .doOnNext(lookup -> {
+                        noteLoad(key, lookup, generation);
+                        if (!rangedDelegate || lookup.status() == CacheLookup.Status.EMPTY) {
+                            remember(key, lookup, generation);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Looks many keys up in the local cache, reading the ones missing locally through from Redis
+     * with a single multi-get.
+     *
+     * @param keys the cache keys to look up
+     * @return a {@link Mono} emitting the {@link CacheLookup} of every requested key
+     */
+    @Override
+    public Mono<Map<String, CacheLookup>> lookupAll(Collection<String> keys) {
+        return Mono.defer(() -> {
+            Map<String, CacheLookup> lookups = new HashMap<>();
+            cache.getAllPresent(keys).forEach((key, timeline) -> lookups.put(key, CacheLookup.of(timeline)));
+
+            List<String> remoteKeys = new ArrayList<>();
+            for (String key : keys) {
+                if (!lookups.containsKey(key)) {
+                    remoteKeys.add(key);
+                }
+            }
+            if (remoteKeys.isEmpty()) {
+                return Mono.just(lookups);
+            }
+            long generation = invalidations.get();
+            return delegate.lookupAll(remoteKeys)
+                    .map(remote -> {
+                        remote.forEach((key, lookup) -> {
+                            noteLoad(key, lookup, generation);
+                            remember(key, lookup, generation);
+                        });
+                        lookups.putAll(remote);
+                        return lookups;
+                    });
+        });
+    }
+
+    /**
+     * Drops the keys locally and removes them from Redis.
+     *
+     * @param keys the cache keys to remove
+     * @return a {@link Mono} that completes when Redis has removed the keys,
+     *         or emits an error if the Redis operation fails
+     */
+    @Override
+    public Mono<Void> deleteAll(Collection<String> keys) {
+        return Mono.fromRunnable(() -> {
+                    invalidations.incrementAndGet();
+                    cache.invalidateAll(keys);
+                })
+                .then(delegate.deleteAll(keys));
+    }
+
+    /**
+     * Drops the local timeline of a product and brand, after a price change on any node.
+     *
+     * @param key the product and brand to evict
+     */
+    @Override
+    public void evict(PriceKey key) {
+        invalidations.incrementAndGet();
+        cache.invalidate(key.cacheKey());
+    }
+
+    /**
+     * Drops the local timelines of every product of a brand, after a price change on any node.
+     *
+     * @param brandId the brand to evict
+     */
+    @Override
+    public void evictBrand(Long brandId) {
+        invalidations.incrementAndGet();
+        String suffix = ":" + brandId;
+        cache.asMap().keySet().removeIf(key -> key.endsWith(suffix));
+    }
+
+    /**
+     * Drops every local timeline.
+     */
+    @Override
+    public void evictAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns a snapshot of the near cache hit, miss and eviction counters.
+     *
+     * @return the current {@link CacheStats}
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Keeps a Redis lookup result locally, so the next lookup of the key is answered in-process, unless an
+     * invalidation was applied since the lookup started or the timeline is stale.
+     *
+     * @param key        the looked up key
+     * @param lookup     the result returned by Redis
+     * @param generation the invalidation count observed when the lookup started
+     */
+    private void remember(String key, CacheLookup lookup, long generation) {
+        if (invalidations.get() != generation) {
+            log.debug("Not keeping key {} locally, an invalidation arrived while reading it", key);
+            return;
+        }
+        switch (lookup.status()) {
+            case HIT -> {
+                if (!lookup.stale()) {
+                    cache.put(key, lookup.timeline().orElseThrow());
+                }
+            }
+            case EMPTY -> cache.put(key, PriceTimeline.empty());
+            case MISS -> { }
+        }
+    }
+
+    /**
+     * Notes the invalidation count observed when Redis missed a key or flagged it stale, after which the service
+     * loads the key from the database and saves it. The oldest count is kept while a load may be in flight.
+     *
+     * @param key        the looked up key
+     * @param lookup     the result returned by Redis
+     * @param generation the invalidation count observed when the lookup started
+     */
+    private void noteLoad(String key, CacheLookup lookup, long generation) {
+        if (lookup.status() == CacheLookup.Status.MISS || lookup.stale()) {
+            loadGenerations.asMap().merge(key, generation, Math::min);
+        }
+    }
+
+    /**
+     * Keeps a timeline loaded from the database locally, unless an invalidation was applied since Redis missed
+     * the key. Timelines saved without a prior lookup, such as by the cache warm-up, are always kept.
+     *
+     * @param key      the saved key
+     * @param timeline the loaded timeline
+     * @return {@code true} if the timeline was kept and should be written through to Redis
+     */
+    private boolean store(String key, PriceTimeline timeline) {
+        Long generation = loadGenerations.asMap().remove(key);
+        if (generation != null && generation != invalidations.get()) {
+            log.debug("Not saving key {}, an invalidation arrived while loading it", key);
+            return false;
+        }
+        cache.put(key, timeline);
+        if (generation != null && generation != invalidations.get()) {
+            cache.invalidate(key);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Builds the per-entry expiry policy: timelines live for the near cache TTL, while
+     * known-empty markers live for the shorter of the near cache and negative TTLs.
+     *
+     * @param ttl         the time-to-live of cached timelines
+     * @param negativeTtl the time-to-live of known-empty markers
+     * @return the expiry policy
+     */
+    private static Expiry<String, PriceTimeline> expiry(Duration ttl, Duration negativeTtl) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, PriceTimeline timeline, long currentTime) {
+                return timeline.segments().isEmpty() ? negativeTtl.toNanos() : ttl.toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, PriceTimeline timeline, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, timeline, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String key, PriceTimeline timeline, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.invalidation;
+
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+
+/**
+ * In-process price cache kept consistent across nodes by the {@link RedisCacheInvalidationBus}.
+ * <p>
+ * Every bean implementing this interface receives the invalidations published by any node.
+ * Implementations must be thread-safe, as invalidations are applied from the Redis I/O threads.
+ * </p>
+ */
+public interface LocalPriceCache {
+
+    /**
+     * Drops the locally cached timeline of a product and brand, if any.
+     *
+     * @param key the product and brand to evict
+     */
+    void evict(PriceKey key);
+
+    /**
+     * Drops the locally cached timelines of every product of a brand.
+     *
+     * @param brandId the brand to evict
+     */
+    void evictBrand(Long brandId);
+
+    /**
+     * Drops every locally cached timeline, used when invalidations may have been missed.
+     */
+    void evictAll();
+}
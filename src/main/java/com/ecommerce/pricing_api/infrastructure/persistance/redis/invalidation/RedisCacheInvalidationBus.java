@@ -0,0 +1,201 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.invalidation;
+
+import com.ecommerce.pricing_api.application.repository.CacheInvalidationBus;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import com.ecommerce.pricing_api.infrastructure.config.RedisProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveSubscription.Message;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * {@link CacheInvalidationBus} broadcasting invalidations over a Redis pub/sub channel.
+ * <p>
+ * Invalidations are published on {@code spring.redis.invalidation-channel} as {@code key:<productId>:<brandId>}
+ * or {@code brand:<brandId>} messages, through the shared reactive Redis connection. Every node subscribes to
+ * the channel at startup and applies the messages it receives to all its {@link LocalPriceCache}s. The
+ * publishing node applies its own invalidations before publishing them, so it never serves the stale entry
+ * while the message is in transit.
+ * </p>
+ * <p>
+ * Redis pub/sub does not keep messages for disconnected subscribers. When the subscription fails, the local
+ * caches are cleared, since invalidations may have been missed, and the node subscribes again with an
+ * exponential backoff. Until then, local entries are bounded by their own TTL. A node that cannot reach Redis
+ * at startup still starts, and keeps trying to subscribe in the background.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RedisCacheInvalidationBus implements CacheInvalidationBus {
+
+    static final String KEY_PREFIX = "key:";
+    static final String BRAND_PREFIX = "brand:";
+    private static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final ReactiveRedisConnectionFactory connectionFactory;
+    private final ReactiveStringRedisTemplate template;
+    private final List<LocalPriceCache> localCaches;
+    private final String channel;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    private volatile Disposable subscription;
+
+    /**
+     * Creates the bus on the configured invalidation channel.
+     *
+     * @param connectionFactory the reactive Redis connection factory used to subscribe
+     * @param template          the template used to publish invalidations
+     * @param localCaches       the in-process caches to apply invalidations to
+     * @param redisProperties   the properties with the invalidation channel
+     */
+    public RedisCacheInvalidationBus(ReactiveRedisConnectionFactory connectionFactory,
+                                     ReactiveStringRedisTemplate template,
+                                     List<LocalPriceCache> localCaches,
+                                     RedisProperties redisProperties) {
+        this.connectionFactory = connectionFactory;
+        this.template = template;
+        this.localCaches = localCaches;
+        this.channel = redisProperties.getInvalidationChannel();
+    }
+
+    /**
+     * Evicts the key locally, then publishes the eviction to the other nodes.
+     *
+     * @param key the product and brand whose prices changed
+     * @return a {@link Mono} that completes once the invalidation is published,
+     *         or emits an error if the Redis operation fails
+     */
+    @Override
+    public Mono<Void> evict(PriceKey key) {
+        return publish(KEY_PREFIX + key.cacheKey());
+    }
+
+    /**
+     * Evicts the brand locally, then publishes the eviction to the other nodes.
+     *
+     * @param brandId the brand whose prices changed
+     * @return a {@link Mono} that completes once the invalidation is published,
+     *         or emits an error if the Redis operation fails
+     */
+    @Override
+    public Mono<Void> evictBrand(Long brandId) {
+        return publish(BRAND_PREFIX + brandId);
+    }
+
+    /**
+     * Subscribes to the invalidation channel in the background.
+     */
+    @PostConstruct
+    public void start() {
+        subscription = messages().subscribe(this::apply);
+    }
+
+    /**
+     * Cancels the subscription when the application shuts down.
+     */
+    @PreDestroy
+    public void stop() {
+        Disposable running = subscription;
+        if (running != null) {
+            running.dispose();
+        }
+        subscribed.set(false);
+    }
+
+    /**
+     * Tells whether this node is currently subscribed to the invalidation channel.
+     *
+     * @return {@code true} once the subscription is active, {@code false} while (re)connecting
+     */
+    public boolean isSubscribed() {
+        return subscribed.get();
+    }
+
+    /**
+     * Receives the invalidation messages of the channel, subscribing again whenever the subscription fails.
+     * <p>
+     * Creating the listener container opens a connection, which blocks, so it is done on a worker thread.
+     * </p>
+     *
+     * @return Flux of the received messages, never completing until cancelled
+     */
+    Flux<String> messages() {
+        ChannelTopic topic = ChannelTopic.of(channel);
+        return Flux.usingWhen(
+                        Mono.fromCallable(() -> new ReactiveRedisMessageListenerContainer(connectionFactory))
+                                .subscribeOn(Schedulers.boundedElastic()),
+                        container -> container.receiveLater(topic)
+                                .doOnNext(messages -> {
+                                    subscribed.set(true);
+                                    log.info("Subscribed to cache invalidations on channel {}", channel);
+                                })
+                                .flatMapMany(Function.identity()),
+                        ReactiveRedisMessageListenerContainer::destroyLater)
+                .map(Message::getMessage)
+                .doOnError(e -> {
+                    subscribed.set(false);
+                    log.warn("Cache invalidation subscription on channel {} failed, clearing local caches and resubscribing",
+                            channel, e);
+                    localCaches.forEach(LocalPriceCache::evictAll);
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, MIN_BACKOFF).maxBackoff(MAX_BACKOFF));
+    }
+
+    /**
+     * Applies an invalidation message to every local cache. Unknown or malformed messages are logged and ignored.
+     *
+     * @param message the received message
+     */
+    void apply(String message) {
+        try {
+            if (message.startsWith(KEY_PREFIX)) {
+                String[] ids = message.substring(KEY_PREFIX.length()).split(":");
+                if (ids.length == 2) {
+                    PriceKey key = new PriceKey(Long.valueOf(ids[0]), Long.valueOf(ids[1]));
+                    log.debug("Evicting key {} from local caches", key.cacheKey());
+                    localCaches.forEach(cache -> cache.evict(key));
+                    return;
+                }
+            } else if (message.startsWith(BRAND_PREFIX)) {
+                Long brandId = Long.valueOf(message.substring(BRAND_PREFIX.length()));
+                log.debug("Evicting brand {} from local caches", brandId);
+                localCaches.forEach(cache -> cache.evictBrand(brandId));
+                return;
+            }
+            log.warn("Ignoring unknown cache invalidation: {}", message);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed cache invalidation: {}", message);
+        }
+    }
+
+    /**
+     * Applies an invalidation locally and publishes it on the channel.
+     *
+     * @param message the invalidation message
+     * @return a {@link Mono} that completes once Redis has accepted the message
+     */
+    private Mono<Void> publish(String message) {
+        return Mono.defer(() -> {
+                    apply(message);
+                    return template.convertAndSend(channel, message);
+                })
+                .doOnNext(receivers -> log.info("Published cache invalidation {} to {} subscribers", message, receivers))
+                .then();
+    }
+}
@@ -0,0 +1,138 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.repository;
+
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
+import com.ecommerce.pricing_api.infrastructure.config.RedisProperties;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Expiry of the keys written by the Redis layouts, as configured in {@link RedisProperties}.
+ * <p>
+ * Every time-to-live is shortened by a random share of up to {@code ttl-jitter-percent}, so keys written
+ * together, such as after a deploy or a warm-up, do not all expire together. Timelines are kept for
+ * {@code stale-seconds} past their soft expiry: once it has passed, lookups still return them but flag them
+ * as stale, so they are revalidated in the background before the hard expiry removes them.
+ * </p>
+ * <p>
+ * The soft expiry is read from the data already fetched by a lookup, never with a command of its own: the value
+ * layout stores it in the value, and the scripts of the sorted-set layout reply with the remaining time-to-live
+ * of the set next to its members.
+ * </p>
+ */
+final class CacheExpiry {
+
+    private final RedisProperties redisProperties;
+    private final DoubleSupplier random;
+    private final LongSupplier clock;
+
+    /**
+     * Creates the expiry with a thread-local random source and the system clock.
+     *
+     * @param redisProperties the properties with the TTLs, jitter and stale window
+     */
+    CacheExpiry(RedisProperties redisProperties) {
+        this(redisProperties, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * Creates the expiry with an explicit random source and the system clock.
+     *
+     * @param redisProperties the properties with the TTLs, jitter and stale window
+     * @param random          supplies uniformly distributed values between 0 (inclusive) and 1 (exclusive)
+     */
+    CacheExpiry(RedisProperties redisProperties, DoubleSupplier random) {
+        this(redisProperties, random, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates the expiry with an explicit random source and clock.
+     *
+     * @param redisProperties the properties with the TTLs, jitter and stale window
+     * @param random          supplies uniformly distributed values between 0 (inclusive) and 1 (exclusive)
+     * @param clock           supplies the current epoch millisecond
+     */
+    CacheExpiry(RedisProperties redisProperties, DoubleSupplier random, LongSupplier clock) {
+        this.redisProperties = redisProperties;
+        this.random = random;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the hard time-to-live of a new timeline: its jittered soft TTL plus the stale window.
+     *
+     * @return the time-to-live to write the timeline with
+     */
+    Duration ttl() {
+        return jittered(redisProperties.getTtlSeconds()).plus(staleWindow());
+    }
+
+    /**
+     * Returns the time-to-live of a new known-empty marker. Markers are never served stale.
+     *
+     * @return the jittered negative time-to-live
+     */
+    Duration negativeTtl() {
+        return jittered(redisProperties.getNegativeTtlSeconds());
+    }
+
+    /**
+     * Returns the soft expiry of a timeline written now with the given time-to-live.
+     *
+     * @param ttl the hard time-to-live the timeline is written with, as returned by {@link #ttl()}
+     * @return the epoch millisecond the timeline becomes stale
+     */
+    long softExpiry(Duration ttl) {
+        return clock.getAsLong() + ttl.minus(staleWindow()).toMillis();
+    }
+
+    /**
+     * Tells whether lookups flag stale timelines.
+     *
+     * @return {@code true} if a stale window is configured
+     */
+    boolean tracksStaleness() {
+        return redisProperties.getStaleSeconds() > 0;
+    }
+
+    /**
+     * Flags a hit as stale once the soft expiry stored with it has passed.
+     *
+     * @param lookup        the lookup result read from Redis
+     * @param softExpiresAt the epoch millisecond stored with the timeline, or {@code 0} if none was stored
+     * @return the lookup, flagged as stale if needed
+     */
+    CacheLookup markBySoftExpiry(CacheLookup lookup, long softExpiresAt) {
+        if (!tracksStaleness() || lookup.status() != CacheLookup.Status.HIT || softExpiresAt <= 0) {
+            return lookup;
+        }
+        return clock.getAsLong() >= softExpiresAt ? CacheLookup.stale(lookup.timeline().orElseThrow()) : lookup;
+    }
+
+    /**
+     * Flags a hit as stale when the remaining time-to-live of its key, as replied by {@code PTTL}, is within the
+     * stale window.
+     *
+     * @param lookup          the lookup result read from Redis
+     * @param remainingMillis the remaining time-to-live of the key, negative if it never expires
+     * @return the lookup, flagged as stale if needed
+     */
+    CacheLookup markByTtl(CacheLookup lookup, long remainingMillis) {
+        if (!tracksStaleness() || lookup.status() != CacheLookup.Status.HIT || remainingMillis < 0) {
+            return lookup;
+        }
+        return remainingMillis <= staleWindow().toMillis() ? CacheLookup.stale(lookup.timeline().orElseThrow()) : lookup;
+    }
+
+    private Duration staleWindow() {
+        return Duration.ofSeconds(redisProperties.getStaleSeconds());
+    }
+
+    private Duration jittered(long seconds) {
+        long millis = seconds * 1_000;
+        long jitter = Math.round(millis * redisProperties.getTtlJitterPercent() / 100.0 * random.getAsDouble());
+        return Duration.ofMillis(millis - jitter);
+    }
+}
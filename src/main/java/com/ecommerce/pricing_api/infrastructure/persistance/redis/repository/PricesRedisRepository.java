@@ -1,85 +1,199 @@
 package com.ecommerce.pricing_api.infrastructure.persistance.redis.repository;
 
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
 import com.ecommerce.pricing_api.application.repository.PricesCacheRepository;
 import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.config.RedisConfig;
 import com.ecommerce.pricing_api.infrastructure.config.RedisProperties;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer.CachedPriceTimeline;
 import jakarta.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.stereotype.Repository;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 /**
  * Reactive Redis-based implementation of the {@link PricesCacheRepository}.
  * <p>
- * Provides methods to save and retrieve lists of {@link ApplicablePrice}
- * objects in Redis, using a time-to-live (TTL) configured via {@link RedisProperties}.
+ * Provides methods to save and retrieve the {@link PriceTimeline} of a product and brand
+ * in Redis, using a time-to-live (TTL) configured via {@link RedisProperties}. Keys without
+ * prices are stored as an empty timeline with their own, shorter, negative TTL. Both are jittered, and every
+ * timeline is stored as a {@link CachedPriceTimeline} carrying its soft expiry, so lookups flag timelines past
+ * it as stale from the value alone, with no extra command per key (see {@link CacheExpiry}).
  * <p>
- * Each {@link ApplicablePrice} internally handles nullability using {@link Optional},
+ * Each {@link ApplicablePrice} tracks its unavailable fields in its presence bitmask,
  * ensuring safe serialization and deserialization of possibly incomplete data.
+ * <p>
+ * This is the default layout, selected unless {@code spring.redis.layout} is {@code sorted-set}.
  */
 @Slf4j
 @Repository
-@RequiredArgsConstructor
+@Qualifier(RedisConfig.UNGUARDED_REDIS_CACHE)
+@ConditionalOnProperty(prefix = "spring.redis", name = "layout", havingValue = "value", matchIfMissing = true)
 public class PricesRedisRepository implements PricesCacheRepository {
 
-    private final ReactiveRedisTemplate<String, List<ApplicablePrice>> redisTemplate;
+    private static final CachedPriceTimeline KNOWN_EMPTY = CachedPriceTimeline.of(PriceTimeline.empty(), 0);
+
+    private final ReactiveRedisTemplate<String, CachedPriceTimeline> redisTemplate;
     private final RedisProperties redisProperties;
+    private final CacheExpiry expiry;
+
+    /**
+     * Creates the repository.
+     *
+     * @param redisTemplate   the template with {@link CachedPriceTimeline} values
+     * @param redisProperties the properties with the TTLs, jitter and stale window of cached keys
+     */
+    @Autowired
+    public PricesRedisRepository(ReactiveRedisTemplate<String, CachedPriceTimeline> redisTemplate,
+                                 RedisProperties redisProperties) {
+        this(redisTemplate, redisProperties, new CacheExpiry(redisProperties));
+    }
 
     /**
-     * Logs the Redis host and port configuration during bean initialization.
+     * Creates the repository with an explicit expiry policy.
+     *
+     * @param redisTemplate   the template with {@link CachedPriceTimeline} values
+     * @param redisProperties the properties of the Redis connection
+     * @param expiry          the expiry of written keys
+     */
+    PricesRedisRepository(ReactiveRedisTemplate<String, CachedPriceTimeline> redisTemplate,
+                          RedisProperties redisProperties,
+                          CacheExpiry expiry) {
+        this.redisTemplate = redisTemplate;
+        this.redisProperties = redisProperties;
+        this.expiry = expiry;
+    }
+
+    /**
+     * Logs the Redis topology, host and port, and nodes configuration during bean initialization.
      * Useful for debugging container networking or property resolution issues.
      */
     @PostConstruct
     public void checkRedisConfig() {
-        log.info("Redis config --> {}:{}", redisProperties.getHost(), redisProperties.getPort());
+        log.info("Redis config --> {} {}:{} nodes={}", redisProperties.getTopology(),
+                redisProperties.getHost(), redisProperties.getPort(), redisProperties.getNodes());
     }
 
     /**
-     * Serializes and stores a list of {@link ApplicablePrice} objects under the given key,
-     * with a time-to-live (TTL) as configured in {@link RedisProperties}.
+     * Serializes and stores a {@link PriceTimeline} under the given key, along with its soft expiry,
+     * with the jittered time-to-live (TTL) configured in {@link RedisProperties}, extended by the stale window.
      * <p>
-     * The {@link ApplicablePrice} entries may contain optional fields, ensuring
+     * The {@link ApplicablePrice} entries of the timeline may contain unavailable fields, ensuring
      * robust handling of missing or partial data during cache operations.
      *
-     * @param key    the Redis key under which to store the prices list
-     * @param prices the list of {@link ApplicablePrice} instances to cache
+     * @param key      the Redis key under which to store the timeline
+     * @param timeline the {@link PriceTimeline} to cache
      * @return a {@link Mono} that completes when the operation has finished successfully,
      *         or emits an error if serialization or Redis operation fails
      */
     @Override
-    public Mono<Void> save(String key, List<ApplicablePrice> prices) {
-        Duration ttl = Duration.ofSeconds(redisProperties.getTtlSeconds());
+    public Mono<Void> save(String key, PriceTimeline timeline) {
+        Duration ttl = expiry.ttl();
         return redisTemplate.opsForValue()
-                .set(key, prices, ttl)
-                .doOnSuccess(success -> log.debug("Serialized and saved {} prices to Redis with key: {}", prices.size(), key))
+                .set(key, CachedPriceTimeline.of(timeline, expiry.softExpiry(ttl)), ttl)
+                .doOnSuccess(success -> log.debug("Serialized and saved {} price segments to Redis with key: {}", timeline.segments().size(), key))
                 .doOnError(e -> log.error("Failed to serialize prices to Redis for key: {}", key, e))
                 .then();
     }
 
     /**
-     * Retrieves and deserializes a cached list of {@link ApplicablePrice} objects
-     * for the given key.
+     * Stores an empty {@link PriceTimeline} under the given key, marking it as known to have no prices,
+     * with the jittered negative time-to-live (TTL) configured in {@link RedisProperties}.
+     *
+     * @param key the Redis key to mark as empty
+     * @return a {@link Mono} that completes when the operation has finished successfully,
+     *         or emits an error if serialization or Redis operation fails
+     */
+    @Override
+    public Mono<Void> saveEmpty(String key) {
+        Duration ttl = expiry.negativeTtl();
+        return redisTemplate.opsForValue()
+                .set(key, KNOWN_EMPTY, ttl)
+                .doOnSuccess(success -> log.debug("Saved known-empty marker to Redis with key: {}", key))
+                .doOnError(e -> log.error("Failed to save known-empty marker to Redis for key: {}", key, e))
+                .then();
+    }
+
+    /**
+     * Retrieves and deserializes the cached {@link PriceTimeline} for the given key with a single {@code GET}.
      * <p>
-     * The retrieved {@link ApplicablePrice} instances are guaranteed to handle
-     * missing fields via {@link Optional}, avoiding NullPointerExceptions downstream.
+     * The retrieved {@link ApplicablePrice} instances are guaranteed to flag
+     * missing fields in their presence bitmask, avoiding NullPointerExceptions downstream.
      *
-     * @param key the Redis key whose associated prices list is to be retrieved
-     * @return a {@link Flux} emitting each {@link ApplicablePrice} found under the key,
-     *         or completing empty if the key is not present or on deserialization errors
+     * @param key the Redis key whose associated timeline is to be retrieved
+     * @return a {@link Mono} emitting a hit with the {@link PriceTimeline} found under the key, flagged as stale
+     *         past its soft expiry, a known-empty result if the key was marked as empty, or a miss if the key is
+     *         not present
      */
     @Override
-    public Flux<ApplicablePrice> find(String key) {
+    public Mono<CacheLookup> lookup(String key) {
         return redisTemplate.opsForValue()
                 .get(key)
                 .doOnNext(p -> log.debug("Found cache for key: {}", key))
                 .doOnError(e -> log.error("Failed to deserialize Redis data for key: {}", key, e))
-                .flatMapMany(Flux::fromIterable);
+                .map(this::toLookup)
+                .defaultIfEmpty(CacheLookup.miss());
+    }
+
+    /**
+     * Retrieves the cached {@link PriceTimeline}s of many keys with a single {@code MGET}, flagging those past
+     * their soft expiry as stale.
+     *
+     * @param keys the Redis keys to look up
+     * @return a {@link Mono} emitting the {@link CacheLookup} of every requested key
+     */
+    @Override
+    public Mono<Map<String, CacheLookup>> lookupAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        List<String> orderedKeys = new ArrayList<>(keys);
+        return redisTemplate.opsForValue()
+                .multiGet(orderedKeys)
+                .doOnError(e -> log.error("Failed to multi-get {} keys from Redis", orderedKeys.size(), e))
+                .map(values -> {
+                    Map<String, CacheLookup> lookups = new HashMap<>();
+                    for (int i = 0; i < orderedKeys.size(); i++) {
+                        CachedPriceTimeline value = values.get(i);
+                        lookups.put(orderedKeys.get(i), value == null ? CacheLookup.miss() : toLookup(value));
+                    }
+                    log.debug("Multi-get of {} keys from Redis returned {} cached entries",
+                            orderedKeys.size(), values.stream().filter(v -> v != null).count());
+                    return lookups;
+                });
+    }
+
+    /**
+     * Removes many keys with a single {@code DEL}.
+     *
+     * @param keys the Redis keys to remove
+     * @return a {@link Mono} that completes when Redis has removed the keys,
+     *         or emits an error if the Redis operation fails
+     */
+    @Override
+    public Mono<Void> deleteAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Mono.empty();
+        }
+        return redisTemplate.delete(keys.toArray(String[]::new))
+                .doOnNext(deleted -> log.debug("Deleted {} of {} keys from Redis", deleted, keys.size()))
+                .doOnError(e -> log.error("Failed to delete {} keys from Redis", keys.size(), e))
+                .then();
+    }
+
+    private CacheLookup toLookup(CachedPriceTimeline value) {
+        return expiry.markBySoftExpiry(CacheLookup.of(value.timeline()), value.softExpiresAt());
     }
 }
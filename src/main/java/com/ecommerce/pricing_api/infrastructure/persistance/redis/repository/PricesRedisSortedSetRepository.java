@@ -0,0 +1,258 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.repository;
+
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
+import com.ecommerce.pricing_api.application.repository.PricesCacheRepository;
+import com.ecommerce.pricing_api.domain.model.PriceSegment;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.config.RedisConfig;
+import com.ecommerce.pricing_api.infrastructure.config.RedisProperties;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer.PriceSegmentMemberCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reactive Redis implementation of the {@link PricesCacheRepository} storing each timeline as a sorted set.
+ * <p>
+ * Every {@link PriceSegment} of a timeline is a member of the sorted set {@code segments:<key>}, scored by
+ * its start date and encoded with {@link PriceSegmentMemberCodec}. Resolving a single date then fetches
+ * only the segment covering it and the next one, with a server-side script ranging over the scores, instead of
+ * the whole price history of the key. Keys without prices hold a single empty member scored {@code -inf}.
+ * </p>
+ * <p>
+ * Timelines are written by a script that replaces the whole set and sets its time-to-live at once,
+ * so readers never observe a partially filled key. Enabled with {@code spring.redis.layout=sorted-set}.
+ * </p>
+ * <p>
+ * Time-to-lives are jittered and extended by the stale window like those of the value layout. The lookup
+ * scripts reply with the remaining time-to-live of the set next to its members, so stale timelines are flagged
+ * without a command of their own; see {@link CacheExpiry}.
+ * </p>
+ */
+@Slf4j
+@Repository
+@Qualifier(RedisConfig.UNGUARDED_REDIS_CACHE)
+@ConditionalOnProperty(prefix = "spring.redis", name = "layout", havingValue = "sorted-set")
+public class PricesRedisSortedSetRepository implements PricesCacheRepository {
+
+    static final String KEY_PREFIX = "segments:";
+
+    private static final byte[] EMPTY_MEMBER = new byte[0];
+    private static final byte[] NEGATIVE_INFINITY = "-inf".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] KNOWN_EMPTY_REPLY = "E".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NO_SEGMENT_REPLY = "N".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Segment covering the requested date when every segment of a key starts after it: a gap.
+     */
+    private static final PriceSegment BEFORE_FIRST_SEGMENT = new PriceSegment(LocalDateTime.MIN, Optional.empty());
+
+    private static final RedisScript<Long> FILL_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/fill-segments.lua"), Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> FIND_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/find-segment.lua"), List.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> READ_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/read-segments.lua"), List.class);
+
+    private final ReactiveRedisTemplate<String, byte[]> redisTemplate;
+    private final CacheExpiry expiry;
+
+    /**
+     * Creates the repository.
+     *
+     * @param redisTemplate   the template with raw byte array values
+     * @param redisProperties the properties with the TTLs, jitter and stale window of cached keys
+     */
+    @Autowired
+    public PricesRedisSortedSetRepository(ReactiveRedisTemplate<String, byte[]> redisTemplate,
+                                          RedisProperties redisProperties) {
+        this(redisTemplate, new CacheExpiry(redisProperties));
+    }
+
+    /**
+     * Creates the repository with an explicit expiry policy.
+     *
+     * @param redisTemplate the template with raw byte array values
+     * @param expiry        the expiry of written keys
+     */
+    PricesRedisSortedSetRepository(ReactiveRedisTemplate<String, byte[]> redisTemplate, CacheExpiry expiry) {
+        this.redisTemplate = redisTemplate;
+        this.expiry = expiry;
+        log.info("Redis cache layout --> sorted set per key");
+    }
+
+    /**
+     * Replaces the segments stored under the key with those of the timeline, atomically, with the jittered
+     * time-to-live configured in {@link RedisProperties}, extended by the stale window.
+     *
+     * @param key      the cache key under which to store the timeline
+     * @param timeline the {@link PriceTimeline} to cache
+     * @return a {@link Mono} that completes when the operation has finished successfully,
+     *         or emits an error if the Redis operation fails
+     */
+    @Override
+    public Mono<Void> save(String key, PriceTimeline timeline) {
+        List<byte[]> args = new ArrayList<>(1 + 2 * timeline.segments().size());
+        args.add(ttlMillis(expiry.ttl()));
+        for (PriceSegment segment : timeline.segments()) {
+            args.add(PriceSegmentMemberCodec.score(segment.start()).getBytes(StandardCharsets.UTF_8));
+            args.add(PriceSegmentMemberCodec.encode(segment));
+        }
+        return fill(key, args)
+                .doOnSuccess(members -> log.debug("Saved {} price segments to Redis sorted set with key: {}", members, key))
+                .doOnError(e -> log.error("Failed to save price segments to Redis for key: {}", key, e))
+                .then();
+    }
+
+    /**
+     * Stores the known-empty marker under the key, with the jittered negative time-to-live configured
+     * in {@link RedisProperties}.
+     *
+     * @param key the cache key to mark as empty
+     * @return a {@link Mono} that completes when the operation has finished successfully,
+     *         or emits an error if the Redis operation fails
+     */
+    @Override
+    public Mono<Void> saveEmpty(String key) {
+        List<byte[]> args = List.of(ttlMillis(expiry.negativeTtl()), NEGATIVE_INFINITY, EMPTY_MEMBER);
+        return fill(key, args)
+                .doOnSuccess(members -> log.debug("Saved known-empty marker to Redis sorted set with key: {}", key))
+                .doOnError(e -> log.error("Failed to save known-empty marker to Redis for key: {}", key, e))
+                .then();
+    }
+
+    /**
+     * Retrieves every segment stored under the key, with a single script call ranging over the whole set.
+     *
+     * @param key the cache key whose associated timeline should be fetched
+     * @return a {@link Mono} emitting a hit with the full {@link PriceTimeline}, flagged as stale past its soft
+     *         expiry, a known-empty result if the key was marked as empty, or a miss if the key is not present
+     */
+    @Override
+    public Mono<CacheLookup> lookup(String key) {
+        return redisTemplate.execute(READ_SCRIPT, List.of(KEY_PREFIX + key), List.of())
+                .next()
+                .map(this::toLookup)
+                .defaultIfEmpty(CacheLookup.miss())
+                .doOnError(e -> log.error("Failed to read price segments from Redis for key: {}", key, e));
+    }
+
+    /**
+     * Retrieves only the segment covering the given date and the one following it, with a single script call
+     * ranging over the segment scores. The following segment tells when the resolved price next changes.
+     *
+     * @param key             the cache key whose associated timeline should be fetched
+     * @param applicationDate the date the timeline will be resolved for
+     * @return a {@link Mono} emitting a hit with a window {@link PriceTimeline} resolving the date, flagged
+     *         as stale past its soft expiry, a known-empty result if the key was marked as empty, or a miss if the
+     *         key is not present
+     */
+    @Override
+    public Mono<CacheLookup> lookup(String key, LocalDateTime applicationDate) {
+        List<byte[]> args = List.of(
+                PriceSegmentMemberCodec.score(applicationDate).getBytes(StandardCharsets.UTF_8),
+                PriceSegmentMemberCodec.prefix(applicationDate)
+        );
+        return redisTemplate.execute(FIND_SCRIPT, List.of(KEY_PREFIX + key), args)
+                .next()
+                .map(this::toWindowLookup)
+                .defaultIfEmpty(CacheLookup.miss())
+                .doOnError(e -> log.error("Failed to find price segment in Redis for key: {}", key, e));
+    }
+
+    /**
+     * Retrieves the full timelines of many keys, issuing one script call per key over the shared,
+     * pipelined connection.
+     *
+     * @param keys the cache keys to look up
+     * @return a {@link Mono} emitting the {@link CacheLookup} of every requested key
+     */
+    @Override
+    public Mono<Map<String, CacheLookup>> lookupAll(Collection<String> keys) {
+        return Flux.fromIterable(new LinkedHashSet<>(keys))
+                .flatMap(key -> lookup(key).map(lookup -> Map.entry(key, lookup)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /**
+     * Removes the sorted sets of many keys with a single {@code DEL}.
+     *
+     * @param keys the cache keys to remove
+     * @return a {@link Mono} that completes when Redis has removed the keys,
+     *         or emits an error if the Redis operation fails
+     */
+    @Override
+    public Mono<Void> deleteAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Mono.empty();
+        }
+        return redisTemplate.delete(keys.stream().map(key -> KEY_PREFIX + key).toArray(String[]::new))
+                .doOnNext(deleted -> log.debug("Deleted {} of {} sorted sets from Redis", deleted, keys.size()))
+                .doOnError(e -> log.error("Failed to delete {} sorted sets from Redis", keys.size(), e))
+                .then();
+    }
+
+    private Mono<Long> fill(String key, List<byte[]> args) {
+        return redisTemplate.execute(FILL_SCRIPT, List.of(KEY_PREFIX + key), args).next();
+    }
+
+    private static byte[] ttlMillis(Duration ttl) {
+        return Long.toString(ttl.toMillis()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Maps the reply of the read script: the members of the set followed by its remaining time-to-live.
+     */
+    private CacheLookup toLookup(List<?> reply) {
+        int members = reply.size() - 1;
+        if (members <= 0) {
+            return CacheLookup.miss();
+        }
+        if (((byte[]) reply.get(0)).length == 0) {
+            return CacheLookup.knownEmpty();
+        }
+        List<PriceSegment> segments = new ArrayList<>(members);
+        for (int i = 0; i < members; i++) {
+            segments.add(PriceSegmentMemberCodec.decode((byte[]) reply.get(i)));
+        }
+        return expiry.markByTtl(CacheLookup.of(new PriceTimeline(segments)), (Long) reply.get(members));
+    }
+
+    /**
+     * Maps the reply of the find script: the covering member or a marker, followed by the remaining
+     * time-to-live of the set and by the next member, if any.
+     */
+    private CacheLookup toWindowLookup(List<?> reply) {
+        byte[] member = (byte[]) reply.get(0);
+        if (Arrays.equals(member, KNOWN_EMPTY_REPLY)) {
+            return CacheLookup.knownEmpty();
+        }
+        PriceSegment covering = Arrays.equals(member, NO_SEGMENT_REPLY)
+                ? BEFORE_FIRST_SEGMENT
+                : PriceSegmentMemberCodec.decode(member);
+        List<PriceSegment> window = reply.size() > 2
+                ? List.of(covering, PriceSegmentMemberCodec.decode((byte[]) reply.get(2)))
+                : List.of(covering);
+        return expiry.markByTtl(CacheLookup.of(new PriceTimeline(window)), (Long) reply.get(1));
+    }
+}
@@ -0,0 +1,179 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.resilience;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Consecutive-failure circuit breaker, shared by every operation sent to a remote dependency.
+ * <p>
+ * While {@link State#CLOSED closed}, every call is permitted and failures are counted; a success resets the
+ * count. Once the count reaches the threshold the breaker {@link State#OPEN opens} and rejects every call for
+ * the open duration. After it, a single trial call is let through, {@link State#HALF_OPEN half-open}: its
+ * success closes the breaker, its failure opens it again for another open duration. A trial cancelled before
+ * completing leaves the breaker open, ready for a new trial.
+ * </p>
+ * <p>
+ * Every permitted call gets a permit, handed back when it completes. Only the permit of the current trial can
+ * close or reopen a half-open breaker, so calls sent before the breaker opened, still in flight, cannot close
+ * it without a trial.
+ * </p>
+ * <p>
+ * A threshold of {@code 0} disables the breaker: it stays closed and permits every call.
+ * </p>
+ */
+public class CircuitBreaker {
+
+    /**
+     * States of the breaker.
+     */
+    public enum State {
+        /**
+         * Calls are permitted and failures counted.
+         */
+        CLOSED,
+        /**
+         * Calls are rejected until the open duration has elapsed.
+         */
+        OPEN,
+        /**
+         * A single trial call is in flight; other calls are rejected.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * Returned by {@link #tryAcquire()} when the call must fall back.
+     */
+    public static final long REJECTED = -1;
+
+    /**
+     * Permit of the calls sent while the breaker is closed; trial calls get a positive permit of their own.
+     */
+    public static final long PERMITTED = 0;
+
+    private record Status(State state, long openedAt, long trial) {
+    }
+
+    private static final Status CLOSED = new Status(State.CLOSED, 0, PERMITTED);
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final Ticker ticker;
+    private final AtomicReference<Status> status = new AtomicReference<>(CLOSED);
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicLong trials = new AtomicLong();
+
+    /**
+     * Creates a closed breaker.
+     *
+     * @param failureThreshold the number of consecutive failures that opens the breaker, {@code 0} to disable it
+     * @param openDuration     the time the breaker stays open before a trial call
+     * @param ticker           the time source
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration, Ticker ticker) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.ticker = ticker;
+    }
+
+    /**
+     * Tells whether a call may be sent, moving an open breaker whose open duration has elapsed to half-open.
+     * <p>
+     * Every permitted call must be followed by exactly one of {@link #onSuccess(long)}, {@link #onFailure(long)}
+     * or {@link #onCancel(long)}, given the permit returned here.
+     * </p>
+     *
+     * @return the permit of the call, {@link #PERMITTED} or a positive trial permit, or {@link #REJECTED} if the
+     *         call must fall back
+     */
+    public long tryAcquire() {
+        Status current = status.get();
+        return switch (current.state()) {
+            case CLOSED -> PERMITTED;
+            case HALF_OPEN -> REJECTED;
+            case OPEN -> {
+                if (ticker.read() - current.openedAt() < openNanos) {
+                    yield REJECTED;
+                }
+                long trial = trials.incrementAndGet();
+                yield status.compareAndSet(current, new Status(State.HALF_OPEN, current.openedAt(), trial))
+                        ? trial
+                        : REJECTED;
+            }
+        };
+    }
+
+    /**
+     * Records a successful call, closing a half-open breaker if the call was its trial.
+     *
+     * @param permit the permit returned by {@link #tryAcquire()} for the call
+     */
+    public void onSuccess(long permit) {
+        if (permit != PERMITTED) {
+            Status trial = trial(permit);
+            if (trial == null || !status.compareAndSet(trial, CLOSED)) {
+                return;
+            }
+        }
+        failures.set(0);
+    }
+
+    /**
+     * Records a failed call, opening the breaker when it was the trial or when the threshold is reached.
+     *
+     * @param permit the permit returned by {@link #tryAcquire()} for the call
+     */
+    public void onFailure(long permit) {
+        if (failureThreshold <= 0) {
+            return;
+        }
+        if (permit != PERMITTED) {
+            Status trial = trial(permit);
+            if (trial != null) {
+                status.compareAndSet(trial, new Status(State.OPEN, ticker.read(), PERMITTED));
+            }
+            return;
+        }
+        Status current = status.get();
+        if (failures.incrementAndGet() >= failureThreshold && current.state() == State.CLOSED) {
+            status.compareAndSet(current, new Status(State.OPEN, ticker.read(), PERMITTED));
+        }
+    }
+
+    /**
+     * Records a call cancelled before completing; a cancelled trial returns the breaker to open, without
+     * restarting its open duration.
+     *
+     * @param permit the permit returned by {@link #tryAcquire()} for the call
+     */
+    public void onCancel(long permit) {
+        Status trial = trial(permit);
+        if (trial != null) {
+            status.compareAndSet(trial, new Status(State.OPEN, trial.openedAt(), PERMITTED));
+        }
+    }
+
+    /**
+     * Returns the current state of the breaker.
+     *
+     * @return the state
+     */
+    public State state() {
+        return status.get().state();
+    }
+
+    /**
+     * Returns the current status if the breaker is half-open on the trial of the given permit.
+     *
+     * @param permit the permit of a completed call
+     * @return the half-open status of that trial, or {@code null} if the call was not the current trial
+     */
+    private Status trial(long permit) {
+        Status current = status.get();
+        return current.state() == State.HALF_OPEN && current.trial() == permit ? current : null;
+    }
+}
@@ -0,0 +1,228 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.resilience;
+
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
+import com.ecommerce.pricing_api.application.repository.PricesCacheRepository;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.config.RedisConfig;
+import com.ecommerce.pricing_api.infrastructure.config.RedisProperties;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Guards the Redis repository selected by {@code spring.redis.layout} with per-operation timeouts and a
+ * {@link CircuitBreaker}, so that a slow or unavailable Redis degrades price resolution to the database
+ * instead of failing or stalling it.
+ * <p>
+ * Every operation is bounded by {@code spring.redis.timeout}. Lookups that fail, time out or are rejected by
+ * the open breaker are answered as cache misses, so callers read the database; writes are skipped. Deletions
+ * are bounded too but keep failing loudly, since a lost deletion would leave a changed price cached.
+ * Consecutive failures of lookups and writes open the breaker, which then stops calling Redis until a trial
+ * call succeeds.
+ * </p>
+ * <p>
+ * The breaker state is published as the {@code pricing.cache.breaker.state} gauge, set to {@code 1} for the
+ * current state and {@code 0} for the others, and every fallback is counted in {@code pricing.cache.fallbacks},
+ * tagged with the operation and the reason: {@code timeout}, {@code error} or {@code open}. This repository is
+ * the one the {@link com.ecommerce.pricing_api.infrastructure.persistance.nearcache.repository.PricesNearCacheRepository}
+ * delegates to.
+ * </p>
+ */
+@Slf4j
+@Repository
+@Qualifier(RedisConfig.REDIS_CACHE)
+public class PricesResilientCacheRepository implements PricesCacheRepository {
+
+    static final String STATE_GAUGE = "pricing.cache.breaker.state";
+    static final String FALLBACK_COUNTER = "pricing.cache.fallbacks";
+    private static final List<String> OPERATIONS = List.of("save", "saveEmpty", "lookup", "lookupAll");
+    private static final List<String> REASONS = List.of("timeout", "error", "open");
+
+    private final PricesCacheRepository delegate;
+    private final Duration timeout;
+    private final CircuitBreaker breaker;
+    private final Map<String, Map<String, Counter>> fallbacks;
+
+    /**
+     * Creates the guard using the timeout and breaker thresholds configured in {@link RedisProperties}.
+     *
+     * @param delegate        the Redis repository to guard
+     * @param redisProperties the properties with the operation timeout and the breaker thresholds
+     * @param meterRegistry   the registry the breaker state and fallback counts are published to
+     */
+    @Autowired
+    public PricesResilientCacheRepository(@Qualifier(RedisConfig.UNGUARDED_REDIS_CACHE) PricesCacheRepository delegate,
+                                          RedisProperties redisProperties,
+                                          MeterRegistry meterRegistry) {
+        this(delegate, redisProperties, meterRegistry, Ticker.systemTicker());
+    }
+
+    /**
+     * Creates the guard with an explicit time source for the breaker.
+     *
+     * @param delegate        the Redis repository to guard
+     * @param redisProperties the properties with the operation timeout and the breaker thresholds
+     * @param meterRegistry   the registry the breaker state and fallback counts are published to
+     * @param ticker          the time source of the breaker
+     */
+    PricesResilientCacheRepository(PricesCacheRepository delegate,
+                                   RedisProperties redisProperties,
+                                   MeterRegistry meterRegistry,
+                                   Ticker ticker) {
+        this.delegate = delegate;
+        this.timeout = Duration.ofMillis(redisProperties.getTimeout());
+        this.breaker = new CircuitBreaker(redisProperties.getCircuitBreakerFailureThreshold(),
+                Duration.ofMillis(redisProperties.getCircuitBreakerOpenMillis()), ticker);
+        Map<String, Map<String, Counter>> counters = new HashMap<>();
+        for (String operation : OPERATIONS) {
+            Map<String, Counter> byReason = new HashMap<>();
+            for (String reason : REASONS) {
+                byReason.put(reason, Counter.builder(FALLBACK_COUNTER)
+                        .description("Cache operations answered without Redis")
+                        .tag("operation", operation)
+                        .tag("reason", reason)
+                        .register(meterRegistry));
+            }
+            counters.put(operation, Map.copyOf(byReason));
+        }
+        this.fallbacks = Map.copyOf(counters);
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder(STATE_GAUGE, breaker, b -> b.state() == state ? 1 : 0)
+                    .description("Whether the circuit breaker guarding Redis is in the given state")
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        log.info("Redis guard config --> timeoutMillis: {}, breakerFailureThreshold: {}, breakerOpenMillis: {}",
+                redisProperties.getTimeout(), redisProperties.getCircuitBreakerFailureThreshold(),
+                redisProperties.getCircuitBreakerOpenMillis());
+    }
+
+    /**
+     * Stores the timeline in Redis, or skips the write if Redis is unavailable.
+     *
+     * @param key      the cache key under which to store the timeline
+     * @param timeline the {@link PriceTimeline} to cache
+     * @return a {@link Mono} that completes when the timeline is stored or the write is skipped
+     */
+    @Override
+    public Mono<Void> save(String key, PriceTimeline timeline) {
+        return guard("save", () -> delegate.save(key, timeline), () -> null);
+    }
+
+    /**
+     * Marks the key as empty in Redis, or skips the write if Redis is unavailable.
+     *
+     * @param key the cache key to mark as empty
+     * @return a {@link Mono} that completes when the marker is stored or the write is skipped
+     */
+    @Override
+    public Mono<Void> saveEmpty(String key) {
+        return guard("saveEmpty", () -> delegate.saveEmpty(key), () -> null);
+    }
+
+    /**
+     * Looks the key up in Redis, answering a miss if Redis is unavailable.
+     *
+     * @param key the cache key to look up
+     * @return a {@link Mono} emitting the {@link CacheLookup} of the key
+     */
+    @Override
+    public Mono<CacheLookup> lookup(String key) {
+        return guard("lookup", () -> delegate.lookup(key), CacheLookup::miss);
+    }
+
+    /**
+     * Looks the key up in Redis for the given date, answering a miss if Redis is unavailable.
+     *
+     * @param key             the cache key to look up
+     * @param applicationDate the date the caller resolves the price at
+     * @return a {@link Mono} emitting the {@link CacheLookup} of the key
+     */
+    @Override
+    public Mono<CacheLookup> lookup(String key, LocalDateTime applicationDate) {
+        return guard("lookup", () -> delegate.lookup(key, applicationDate), CacheLookup::miss);
+    }
+
+    /**
+     * Looks many keys up in Redis, answering misses for all of them if Redis is unavailable.
+     *
+     * @param keys the cache keys to look up
+     * @return a {@link Mono} emitting the {@link CacheLookup} of every requested key
+     */
+    @Override
+    public Mono<Map<String, CacheLookup>> lookupAll(Collection<String> keys) {
+        return guard("lookupAll", () -> delegate.lookupAll(keys), () -> {
+            Map<String, CacheLookup> misses = new HashMap<>();
+            keys.forEach(key -> misses.put(key, CacheLookup.miss()));
+            return misses;
+        });
+    }
+
+    /**
+     * Removes the keys from Redis within the operation timeout.
+     * <p>
+     * Neither rejected by the breaker nor counted by it: a failed deletion is returned to the caller.
+     * </p>
+     *
+     * @param keys the cache keys to remove
+     * @return a {@link Mono} that completes when the keys are removed,
+     *         or emits an error if Redis fails or does not answer in time
+     */
+    @Override
+    public Mono<Void> deleteAll(Collection<String> keys) {
+        return bounded(delegate.deleteAll(keys));
+    }
+
+    /**
+     * Returns the current state of the circuit breaker.
+     *
+     * @return the breaker state
+     */
+    public CircuitBreaker.State breakerState() {
+        return breaker.state();
+    }
+
+    private <T> Mono<T> guard(String operation, Supplier<Mono<T>> call, Supplier<T> fallback) {
+        return Mono.defer(() -> {
+            long permit = breaker.tryAcquire();
+            if (permit == CircuitBreaker.REJECTED) {
+                fallback(operation, "open");
+                return Mono.justOrEmpty(fallback.get());
+            }
+            return bounded(call.get())
+                    .doOnSuccess(value -> breaker.onSuccess(permit))
+                    .doOnCancel(() -> breaker.onCancel(permit))
+                    .onErrorResume(e -> {
+                        breaker.onFailure(permit);
+                        String reason = e instanceof TimeoutException ? "timeout" : "error";
+                        log.warn("Redis {} failed ({}), falling back: {}", operation, reason, e.toString());
+                        fallback(operation, reason);
+                        return Mono.justOrEmpty(fallback.get());
+                    });
+        });
+    }
+
+    private <T> Mono<T> bounded(Mono<T> call) {
+        return timeout.isZero() ? call : call.timeout(timeout);
+    }
+
+    private void fallback(String operation, String reason) {
+        fallbacks.get(operation).get(reason).increment();
+    }
+}
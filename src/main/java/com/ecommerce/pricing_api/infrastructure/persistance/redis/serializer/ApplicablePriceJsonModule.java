@@ -0,0 +1,125 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer;
+
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Jackson module reading and writing {@link ApplicablePrice} in the JSON shape of cached timelines.
+ * <p>
+ * A price is written as an object with the {@code productId}, {@code brandId}, {@code priceList},
+ * {@code startDate}, {@code endDate}, {@code price}, {@code currency} and {@code priority} fields,
+ * dates as ISO local date-times and unavailable fields as {@code null}. This is the shape the JSON
+ * values were written in before prices were kept in their compact form, so entries cached by older
+ * nodes remain readable. Unknown fields are ignored.
+ * </p>
+ */
+public class ApplicablePriceJsonModule extends SimpleModule {
+
+    /**
+     * Registers the serializer and deserializer of {@link ApplicablePrice}.
+     */
+    public ApplicablePriceJsonModule() {
+        super(ApplicablePriceJsonModule.class.getSimpleName());
+        addSerializer(ApplicablePrice.class, new Serializer());
+        addDeserializer(ApplicablePrice.class, new Deserializer());
+    }
+
+    /**
+     * Writes a price as a JSON object with {@code null} unavailable fields.
+     */
+    private static final class Serializer extends StdSerializer<ApplicablePrice> {
+
+        Serializer() {
+            super(ApplicablePrice.class);
+        }
+
+        @Override
+        public void serialize(ApplicablePrice price, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            writeLong(gen, "productId", price.has(ApplicablePrice.PRODUCT_ID), price.productId());
+            writeLong(gen, "brandId", price.has(ApplicablePrice.BRAND_ID), price.brandId());
+            writeLong(gen, "priceList", price.has(ApplicablePrice.PRICE_LIST), price.priceList());
+            writeDateTime(gen, "startDate", price.startDate());
+            writeDateTime(gen, "endDate", price.endDate());
+            gen.writeFieldName("price");
+            if (price.has(ApplicablePrice.PRICE)) {
+                gen.writeNumber(price.price());
+            } else {
+                gen.writeNull();
+            }
+            gen.writeStringField("currency", price.currency());
+            writeLong(gen, "priority", price.has(ApplicablePrice.PRIORITY), price.priority());
+            gen.writeEndObject();
+        }
+
+        private static void writeLong(JsonGenerator gen, String name, boolean present, long value) throws IOException {
+            gen.writeFieldName(name);
+            if (present) {
+                gen.writeNumber(value);
+            } else {
+                gen.writeNull();
+            }
+        }
+
+        private static void writeDateTime(JsonGenerator gen, String name, LocalDateTime value) throws IOException {
+            gen.writeStringField(name, value == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+    }
+
+    /**
+     * Reads a price from a JSON object, treating missing and {@code null} fields as unavailable.
+     */
+    private static final class Deserializer extends StdDeserializer<ApplicablePrice> {
+
+        Deserializer() {
+            super(ApplicablePrice.class);
+        }
+
+        @Override
+        public ApplicablePrice deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartObjectToken()) {
+                return (ApplicablePrice) context.handleUnexpectedToken(ApplicablePrice.class, parser);
+            }
+            Long productId = null;
+            Long brandId = null;
+            Long priceList = null;
+            LocalDateTime startDate = null;
+            LocalDateTime endDate = null;
+            BigDecimal price = null;
+            String currency = null;
+            Long priority = null;
+            for (String name = parser.nextFieldName(); name != null; name = parser.nextFieldName()) {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (name) {
+                    case "productId" -> productId = parser.getValueAsLong();
+                    case "brandId" -> brandId = parser.getValueAsLong();
+                    case "priceList" -> priceList = parser.getValueAsLong();
+                    case "startDate" -> startDate = LocalDateTime.parse(parser.getText());
+                    case "endDate" -> endDate = LocalDateTime.parse(parser.getText());
+                    case "price" -> price = token == JsonToken.VALUE_STRING
+                            ? new BigDecimal(parser.getText())
+                            : parser.getDecimalValue();
+                    case "currency" -> currency = parser.getText();
+                    case "priority" -> priority = parser.getValueAsLong();
+                    default -> parser.skipChildren();
+                }
+            }
+            return ApplicablePrice.of(productId, brandId, priceList, startDate, endDate, price, currency, priority);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer;
+
+import com.ecommerce.pricing_api.domain.model.PriceSegment;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+
+import java.util.List;
+
+/**
+ * Value stored under a key of the Redis value layout: the segments of a {@link PriceTimeline} and the instant
+ * it becomes stale.
+ * <p>
+ * Carrying the soft expiry in the value lets a single {@code GET} or {@code MGET} tell stale timelines apart,
+ * without reading the remaining time-to-live of every key. In JSON it is written as a {@code softExpiresAt}
+ * field next to {@code segments}, so values written before it existed are read with no soft expiry.
+ * </p>
+ *
+ * @param segments      the segments of the timeline, sorted by ascending start date
+ * @param softExpiresAt the epoch millisecond the timeline becomes stale, or {@code 0} if it never does
+ */
+public record CachedPriceTimeline(List<PriceSegment> segments, long softExpiresAt) {
+
+    /**
+     * Creates the value, defensively copying the segments.
+     *
+     * @param segments      the segments sorted by ascending start date, or {@code null} for none
+     * @param softExpiresAt the epoch millisecond the timeline becomes stale, or {@code 0} if it never does
+     */
+    public CachedPriceTimeline {
+        segments = segments == null ? List.of() : List.copyOf(segments);
+    }
+
+    /**
+     * Creates the value of a timeline.
+     *
+     * @param timeline      the timeline to store
+     * @param softExpiresAt the epoch millisecond the timeline becomes stale, or {@code 0} if it never does
+     * @return the value to store
+     */
+    public static CachedPriceTimeline of(PriceTimeline timeline, long softExpiresAt) {
+        return new CachedPriceTimeline(timeline.segments(), softExpiresAt);
+    }
+
+    /**
+     * Returns the stored timeline.
+     *
+     * @return the timeline made of the stored segments
+     */
+    public PriceTimeline timeline() {
+        return new PriceTimeline(segments);
+    }
+}
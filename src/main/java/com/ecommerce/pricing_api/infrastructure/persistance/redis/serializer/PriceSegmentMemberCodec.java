@@ -0,0 +1,100 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer;
+
+import com.ecommerce.pricing_api.domain.model.PriceSegment;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+/**
+ * Encoding of a single {@link PriceSegment} as a Redis sorted set member.
+ * <p>
+ * Layout:
+ * </p>
+ * <pre>
+ * start seconds  8 bytes, big-endian epoch seconds (UTC) with the sign bit flipped
+ * start nanos    4 bytes, big-endian
+ * price          the {@link PriceTimelineBinaryCodec} encoding of the price, absent for gaps
+ * </pre>
+ * <p>
+ * The fixed-width {@link #PREFIX_LENGTH}-byte prefix sorts byte by byte in the same order as the
+ * start dates, so members sharing a score (segments starting within the same second) are still kept
+ * in chronological order by Redis, and a lookup can compare a member against {@link #prefix(LocalDateTime)}
+ * of the requested date without decoding it.
+ * </p>
+ */
+public final class PriceSegmentMemberCodec {
+
+    /**
+     * Length of the start date prefix of every member.
+     */
+    public static final int PREFIX_LENGTH = 12;
+
+    private PriceSegmentMemberCodec() {
+    }
+
+    /**
+     * Encodes the segment as a sorted set member.
+     *
+     * @param segment the segment to encode
+     * @return the member bytes
+     */
+    public static byte[] encode(PriceSegment segment) {
+        byte[] price = segment.price().map(PriceTimelineBinaryCodec::encodePrice).orElse(new byte[0]);
+        return ByteBuffer.allocate(PREFIX_LENGTH + price.length)
+                .put(prefix(segment.start()))
+                .put(price)
+                .array();
+    }
+
+    /**
+     * Decodes a member written by {@link #encode(PriceSegment)}.
+     *
+     * @param member the member bytes
+     * @return the decoded segment
+     * @throws IllegalArgumentException if the member is malformed
+     */
+    public static PriceSegment decode(byte[] member) {
+        if (member.length < PREFIX_LENGTH) {
+            throw new IllegalArgumentException("Truncated price segment member");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(member);
+        long seconds = buffer.getLong() ^ Long.MIN_VALUE;
+        int nanos = buffer.getInt();
+        if (nanos < 0 || nanos > 999_999_999) {
+            throw new IllegalArgumentException("Nanoseconds out of range: " + nanos);
+        }
+        LocalDateTime start = LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+        return new PriceSegment(start, member.length == PREFIX_LENGTH
+                ? Optional.empty()
+                : Optional.of(PriceTimelineBinaryCodec.decodePrice(member, PREFIX_LENGTH)));
+    }
+
+    /**
+     * Encodes the sortable prefix of a date: the bytes every member starting at that date begins with.
+     *
+     * @param dateTime the date and time to encode
+     * @return the {@link #PREFIX_LENGTH}-byte prefix
+     */
+    public static byte[] prefix(LocalDateTime dateTime) {
+        return ByteBuffer.allocate(PREFIX_LENGTH)
+                .putLong(dateTime.toEpochSecond(ZoneOffset.UTC) ^ Long.MIN_VALUE)
+                .putInt(dateTime.getNano())
+                .array();
+    }
+
+    /**
+     * Returns the sorted set score of a date: its epoch second (UTC).
+     * <p>
+     * Scores are doubles, so they only narrow the range down to the second; the member prefix
+     * breaks ties within it.
+     * </p>
+     *
+     * @param dateTime the date and time to score
+     * @return the score, as the decimal string sent to Redis
+     */
+    public static String score(LocalDateTime dateTime) {
+        return Long.toString(dateTime.toEpochSecond(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,429 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer;
+
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceSegment;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Compact, versioned binary encoding of a {@link PriceTimeline}.
+ * <p>
+ * Layout of version {@value #VERSION}, where every integer is a variable-length quantity
+ * (signed ones zig-zag encoded):
+ * </p>
+ * <pre>
+ * version        byte
+ * priceCount     varint
+ * price *        presence bitmask byte, then every present field in record order:
+ *                  ids and priority  signed varint
+ *                  dates             signed varint epoch seconds (UTC), varint nanos
+ *                  price             signed varint scale, signed varint unscaled value
+ *                  currency          varint dictionary index + 1, or 0 followed by a length-prefixed UTF-8 code
+ * segmentCount   varint
+ * segment *      signed varint epoch seconds delta from the previous start, varint nanos,
+ *                varint price index + 1 (0 for gaps)
+ * </pre>
+ * <p>
+ * Version {@value #EXPIRING_VERSION} inserts the soft expiry of a {@link CachedPriceTimeline}, as a varint epoch
+ * millisecond, right after the version byte. Values without a soft expiry keep the shorter version
+ * {@value #VERSION}, and both are read.
+ * </p>
+ * <p>
+ * Each distinct price is written once and referenced by index from its segments. The first byte of a
+ * binary value is always below {@code 0x09}, so it can never be mistaken for the start of a JSON document.
+ * </p>
+ */
+public final class PriceTimelineBinaryCodec {
+
+    /**
+     * Current version of the encoding, written as the first byte of every value.
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * Version of timelines preceded by their soft expiry.
+     */
+    public static final byte EXPIRING_VERSION = 2;
+
+    /**
+     * Highest first byte reserved for binary versions; JSON documents never start below it.
+     */
+    private static final byte MAX_VERSION = 0x08;
+
+    /**
+     * Range of epoch seconds of the dates {@link LocalDateTime} can represent.
+     */
+    private static final long MIN_EPOCH_SECOND = LocalDateTime.MIN.toEpochSecond(ZoneOffset.UTC);
+    private static final long MAX_EPOCH_SECOND = LocalDateTime.MAX.toEpochSecond(ZoneOffset.UTC);
+
+    /**
+     * Currency codes encoded as a single byte. Only append to this list: indexes are part of the format.
+     */
+    private static final List<String> CURRENCIES = List.of(
+            "EUR", "USD", "GBP", "CHF", "JPY", "CNY", "SEK", "NOK", "DKK", "PLN",
+            "CZK", "HUF", "RON", "BGN", "TRY", "MXN", "BRL", "CAD", "AUD"
+    );
+
+    private PriceTimelineBinaryCodec() {
+    }
+
+    /**
+     * Tells whether the given value was written by this codec rather than as JSON.
+     *
+     * @param bytes the stored value
+     * @return {@code true} if the value starts with a binary version byte
+     */
+    public static boolean isBinary(byte[] bytes) {
+        return bytes.length > 0 && bytes[0] > 0 && bytes[0] <= MAX_VERSION;
+    }
+
+    /**
+     * Encodes the timeline.
+     *
+     * @param timeline the timeline to encode
+     * @return the encoded bytes
+     */
+    public static byte[] encode(PriceTimeline timeline) {
+        return encode(timeline, 0);
+    }
+
+    /**
+     * Encodes a cached timeline along with its soft expiry.
+     *
+     * @param value the cached timeline to encode
+     * @return the encoded bytes
+     */
+    public static byte[] encode(CachedPriceTimeline value) {
+        return encode(value.timeline(), value.softExpiresAt());
+    }
+
+    private static byte[] encode(PriceTimeline timeline, long softExpiresAt) {
+        Map<ApplicablePrice, Integer> dictionary = new LinkedHashMap<>();
+        for (PriceSegment segment : timeline.segments()) {
+            segment.price().ifPresent(price -> dictionary.putIfAbsent(price, dictionary.size()));
+        }
+
+        Output out = new Output(26 + dictionary.size() * 40 + timeline.segments().size() * 8);
+        if (softExpiresAt > 0) {
+            out.writeByte(EXPIRING_VERSION);
+            out.writeVarLong(softExpiresAt);
+        } else {
+            out.writeByte(VERSION);
+        }
+        out.writeVarLong(dictionary.size());
+        dictionary.keySet().forEach(price -> writePrice(out, price));
+        out.writeVarLong(timeline.segments().size());
+        long previousSeconds = 0;
+        for (PriceSegment segment : timeline.segments()) {
+            long seconds = segment.start().toEpochSecond(ZoneOffset.UTC);
+            out.writeSignedVarLong(seconds - previousSeconds);
+            out.writeVarLong(segment.start().getNano());
+            out.writeVarLong(segment.price().map(price -> dictionary.get(price) + 1L).orElse(0L));
+            previousSeconds = seconds;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a value written by {@link #encode(PriceTimeline)}, or by {@link #encode(CachedPriceTimeline)}
+     * ignoring its soft expiry.
+     *
+     * @param bytes the encoded bytes
+     * @return the decoded timeline
+     * @throws IllegalArgumentException if the version is unknown or the bytes are malformed
+     */
+    public static PriceTimeline decode(byte[] bytes) {
+        return decodeCached(bytes).timeline();
+    }
+
+    /**
+     * Decodes a value written by {@link #encode(CachedPriceTimeline)} or {@link #encode(PriceTimeline)}.
+     *
+     * @param bytes the encoded bytes
+     * @return the decoded timeline, with a soft expiry of {@code 0} if none was written
+     * @throws IllegalArgumentException if the version is unknown or the bytes are malformed
+     */
+    public static CachedPriceTimeline decodeCached(byte[] bytes) {
+        Input in = new Input(bytes);
+        byte version = in.readByte();
+        if (version != VERSION && version != EXPIRING_VERSION) {
+            throw new IllegalArgumentException("Unsupported price timeline encoding version: " + version);
+        }
+        long softExpiresAt = version == EXPIRING_VERSION ? in.readVarLong() : 0;
+
+        int priceCount = in.readCount();
+        List<ApplicablePrice> prices = new ArrayList<>(Math.min(priceCount, in.remaining()));
+        for (int i = 0; i < priceCount; i++) {
+            prices.add(readPrice(in));
+        }
+
+        int segmentCount = in.readCount();
+        List<PriceSegment> segments = new ArrayList<>(Math.min(segmentCount, in.remaining()));
+        long seconds = 0;
+        for (int i = 0; i < segmentCount; i++) {
+            seconds += in.readSignedVarLong();
+            LocalDateTime start = LocalDateTime.ofEpochSecond(seconds, in.readNanos(), ZoneOffset.UTC);
+            int reference = in.readCount();
+            if (reference > prices.size()) {
+                throw new IllegalArgumentException("Segment references unknown price " + reference);
+            }
+            segments.add(new PriceSegment(start, reference == 0 ? Optional.empty() : Optional.of(prices.get(reference - 1))));
+        }
+
+        if (in.remaining() != 0) {
+            throw new IllegalArgumentException(in.remaining() + " trailing bytes after price timeline");
+        }
+        return new CachedPriceTimeline(segments, softExpiresAt);
+    }
+
+    /**
+     * Encodes a single price as a version byte followed by the price record of the timeline layout,
+     * for layouts that store each segment on its own.
+     *
+     * @param price the price to encode
+     * @return the encoded bytes
+     */
+    static byte[] encodePrice(ApplicablePrice price) {
+        Output out = new Output(48);
+        out.writeByte(VERSION);
+        writePrice(out, price);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a price written by {@link #encodePrice(ApplicablePrice)}, stored from the given offset
+     * to the end of the array.
+     *
+     * @param bytes  the array holding the encoded price
+     * @param offset the index of the version byte
+     * @return the decoded price
+     * @throws IllegalArgumentException if the version is unknown or the bytes are malformed
+     */
+    static ApplicablePrice decodePrice(byte[] bytes, int offset) {
+        Input in = new Input(bytes, offset);
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported price encoding version: " + version);
+        }
+        ApplicablePrice price = readPrice(in);
+        if (in.remaining() != 0) {
+            throw new IllegalArgumentException(in.remaining() + " trailing bytes after price");
+        }
+        return price;
+    }
+
+    private static void writePrice(Output out, ApplicablePrice price) {
+        out.writeByte((byte) price.presence());
+        if (price.has(ApplicablePrice.PRODUCT_ID)) {
+            out.writeSignedVarLong(price.productId());
+        }
+        if (price.has(ApplicablePrice.BRAND_ID)) {
+            out.writeSignedVarLong(price.brandId());
+        }
+        if (price.has(ApplicablePrice.PRICE_LIST)) {
+            out.writeSignedVarLong(price.priceList());
+        }
+        if (price.has(ApplicablePrice.START_DATE)) {
+            out.writeSignedVarLong(price.startEpochSecond());
+            out.writeVarLong(price.startNano());
+        }
+        if (price.has(ApplicablePrice.END_DATE)) {
+            out.writeSignedVarLong(price.endEpochSecond());
+            out.writeVarLong(price.endNano());
+        }
+        if (price.has(ApplicablePrice.PRICE)) {
+            out.writeSignedVarLong(price.priceScale());
+            out.writeSignedVarLong(price.priceUnits());
+        }
+        if (price.has(ApplicablePrice.CURRENCY)) {
+            writeCurrency(out, price.currency());
+        }
+        if (price.has(ApplicablePrice.PRIORITY)) {
+            out.writeSignedVarLong(price.priority());
+        }
+    }
+
+    private static ApplicablePrice readPrice(Input in) {
+        int presence = in.readByte() & 0xFF;
+        long productId = (presence & ApplicablePrice.PRODUCT_ID) != 0 ? in.readSignedVarLong() : 0;
+        long brandId = (presence & ApplicablePrice.BRAND_ID) != 0 ? in.readSignedVarLong() : 0;
+        long priceList = (presence & ApplicablePrice.PRICE_LIST) != 0 ? in.readSignedVarLong() : 0;
+        long startSeconds = 0;
+        int startNanos = 0;
+        if ((presence & ApplicablePrice.START_DATE) != 0) {
+            startSeconds = in.readEpochSecond();
+            startNanos = in.readNanos();
+        }
+        long endSeconds = 0;
+        int endNanos = 0;
+        if ((presence & ApplicablePrice.END_DATE) != 0) {
+            endSeconds = in.readEpochSecond();
+            endNanos = in.readNanos();
+        }
+        long units = 0;
+        int scale = 0;
+        if ((presence & ApplicablePrice.PRICE) != 0) {
+            scale = Math.toIntExact(in.readSignedVarLong());
+            units = in.readSignedVarLong();
+        }
+        String currency = (presence & ApplicablePrice.CURRENCY) != 0 ? readCurrency(in) : null;
+        long priority = (presence & ApplicablePrice.PRIORITY) != 0 ? in.readSignedVarLong() : 0;
+        return new ApplicablePrice(productId, brandId, priceList, startSeconds, startNanos, endSeconds, endNanos,
+                units, scale, currency, priority, presence);
+    }
+
+    private static void writeCurrency(Output out, String currency) {
+        int index = CURRENCIES.indexOf(currency);
+        out.writeVarLong(index + 1L);
+        if (index < 0) {
+            byte[] code = currency.getBytes(StandardCharsets.UTF_8);
+            out.writeVarLong(code.length);
+            out.writeBytes(code);
+        }
+    }
+
+    private static String readCurrency(Input in) {
+        int index = in.readCount();
+        if (index > CURRENCIES.size()) {
+            throw new IllegalArgumentException("Unknown currency index " + index);
+        }
+        return index > 0
+                ? CURRENCIES.get(index - 1)
+                : new String(in.readBytes(in.readCount()), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Growable byte buffer with variable-length integer writers.
+     */
+    private static final class Output {
+
+        private byte[] buffer;
+        private int size;
+
+        Output(int initialCapacity) {
+            buffer = new byte[initialCapacity];
+        }
+
+        void writeByte(byte value) {
+            ensureCapacity(1);
+            buffer[size++] = value;
+        }
+
+        void writeBytes(byte[] values) {
+            ensureCapacity(values.length);
+            System.arraycopy(values, 0, buffer, size, values.length);
+            size += values.length;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeSignedVarLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    /**
+     * Cursor over encoded bytes with variable-length integer readers, failing on truncated input.
+     */
+    private static final class Input {
+
+        private final byte[] bytes;
+        private int position;
+
+        Input(byte[] bytes) {
+            this(bytes, 0);
+        }
+
+        Input(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        int remaining() {
+            return bytes.length - position;
+        }
+
+        byte readByte() {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("Truncated price timeline");
+            }
+            return bytes[position++];
+        }
+
+        byte[] readBytes(int length) {
+            if (length > remaining()) {
+                throw new IllegalArgumentException("Truncated price timeline");
+            }
+            byte[] values = Arrays.copyOfRange(bytes, position, position + length);
+            position += length;
+            return values;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte current = readByte();
+                value |= (long) (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed variable-length integer");
+        }
+
+        long readSignedVarLong() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        int readCount() {
+            long value = readVarLong();
+            if (value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Count out of range: " + value);
+            }
+            return (int) value;
+        }
+
+        long readEpochSecond() {
+            long value = readSignedVarLong();
+            if (value < MIN_EPOCH_SECOND || value > MAX_EPOCH_SECOND) {
+                throw new IllegalArgumentException("Epoch seconds out of range: " + value);
+            }
+            return value;
+        }
+
+        int readNanos() {
+            long value = readVarLong();
+            if (value > 999_999_999L) {
+                throw new IllegalArgumentException("Nanoseconds out of range: " + value);
+            }
+            return (int) value;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer;
+
+import com.ecommerce.pricing_api.infrastructure.config.RedisProperties.ValueFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * {@link RedisSerializer} for {@link CachedPriceTimeline}s that writes either JSON or the compact
+ * {@link PriceTimelineBinaryCodec} encoding, and reads both.
+ * <p>
+ * The written format is chosen through {@code spring.redis.value-format}. Since values are recognized by
+ * their first byte, switching the format in either direction needs no cache flush: entries written in the
+ * previous format stay readable until they expire.
+ * </p>
+ */
+@RequiredArgsConstructor
+public class PriceTimelineRedisSerializer implements RedisSerializer<CachedPriceTimeline> {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final RedisSerializer<CachedPriceTimeline> jsonSerializer;
+    private final ValueFormat writeFormat;
+
+    /**
+     * Serializes the timeline in the configured format.
+     *
+     * @param timeline the timeline to serialize
+     * @return the serialized bytes, empty for a {@code null} timeline
+     */
+    @Override
+    public byte[] serialize(CachedPriceTimeline timeline) {
+        if (timeline == null) {
+            return EMPTY;
+        }
+        return writeFormat == ValueFormat.BINARY
+                ? PriceTimelineBinaryCodec.encode(timeline)
+                : jsonSerializer.serialize(timeline);
+    }
+
+    /**
+     * Deserializes a timeline written in either format.
+     *
+     * @param bytes the stored bytes
+     * @return the timeline, or {@code null} for empty input
+     * @throws SerializationException if the bytes are not a valid timeline in any format
+     */
+    @Override
+    public CachedPriceTimeline deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (!PriceTimelineBinaryCodec.isBinary(bytes)) {
+            return jsonSerializer.deserialize(bytes);
+        }
+        try {
+            return PriceTimelineBinaryCodec.decodeCached(bytes);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Could not decode binary price timeline", e);
+        }
+    }
+}
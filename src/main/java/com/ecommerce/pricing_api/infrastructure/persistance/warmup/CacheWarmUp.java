@@ -0,0 +1,173 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.warmup;
+
+import com.ecommerce.pricing_api.application.repository.PricesDatabaseRepository;
+import com.ecommerce.pricing_api.application.usecases.CacheWarmUpUseCase;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import com.ecommerce.pricing_api.infrastructure.config.CacheWarmUpProperties;
+import com.ecommerce.pricing_api.infrastructure.persistance.h2.H2Initializer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the price cache once the database is initialized, so the first requests after a deploy or a
+ * Redis restart do not all miss it.
+ * <p>
+ * Runs as an {@link ApplicationRunner} after the {@link H2Initializer}. The product and brand keys with
+ * the most prices are read first, up to {@code pricing.warm-up.max-keys}, and cached in batches through
+ * {@link CacheWarmUpUseCase}: each batch is loaded with one set-based query and its cache writes are
+ * issued together, so they are pipelined over the shared Redis connection. Batches are started no faster
+ * than {@code pricing.warm-up.keys-per-second} allows, with at most {@code pricing.warm-up.concurrency}
+ * in flight.
+ * </p>
+ * <p>
+ * With {@code pricing.warm-up.wait-before-ready}, the runner blocks until the warm-up finishes, so the
+ * application only reports itself ready to accept traffic with a warm cache; otherwise the warm-up runs in
+ * the background. A failed warm-up is logged and leaves the cache cold, it never aborts the startup.
+ * Progress is logged every {@value #PROGRESS_INTERVAL_SECONDS} seconds, the cached keys are counted in
+ * {@value #KEYS_COUNTER} and the total duration is recorded in {@value #DURATION_TIMER}.
+ * </p>
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class CacheWarmUp implements ApplicationRunner {
+
+    static final String DURATION_TIMER = "pricing.cache.warmup";
+    static final String KEYS_COUNTER = "pricing.cache.warmup.keys";
+    static final long PROGRESS_INTERVAL_SECONDS = 5;
+
+    private final PricesDatabaseRepository pricesDatabaseRepository;
+    private final CacheWarmUpUseCase cacheWarmUpUseCase;
+    private final CacheWarmUpProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private volatile Disposable background;
+
+    /**
+     * Runs the warm-up once the application context is started, if enabled, waiting for it
+     * only when readiness is configured to depend on it.
+     *
+     * @param args the application arguments, unused
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            log.info("Cache warm-up disabled");
+            return;
+        }
+        if (properties.isWaitBeforeReady()) {
+            warmUp().block();
+        } else {
+            background = warmUp().subscribe();
+        }
+    }
+
+    /**
+     * Cancels a warm-up still running in the background when the application shuts down.
+     */
+    @PreDestroy
+    public void stop() {
+        Disposable running = background;
+        if (running != null) {
+            running.dispose();
+        }
+    }
+
+    /**
+     * Caches the configured keys in throttled batches, reporting progress and the final duration.
+     *
+     * @return Mono completing when every batch is cached, or when the warm-up fails
+     */
+    Mono<Void> warmUp() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicLong read = new AtomicLong();
+            AtomicLong cached = new AtomicLong();
+            AtomicLong lastReport = new AtomicLong(start);
+            Counter keysCounter = Counter.builder(KEYS_COUNTER)
+                    .description("Keys cached by the startup cache warm-up")
+                    .register(meterRegistry);
+
+            log.info("Starting cache warm-up of {} keys, batch size {}, concurrency {}, rate limit {} keys/s",
+                    properties.getMaxKeys() > 0 ? properties.getMaxKeys() : "all",
+                    properties.getBatchSize(), properties.getConcurrency(),
+                    properties.getKeysPerSecond() > 0 ? properties.getKeysPerSecond() : "none");
+
+            Flux<List<PriceKey>> batches = pricesDatabaseRepository.findKeysByPriceCount(properties.getMaxKeys())
+                    .buffer(properties.getBatchSize());
+            if (properties.getKeysPerSecond() > 0) {
+                batches = batches.delayElements(batchInterval());
+            }
+
+            return batches
+                    .flatMap(batch -> cacheWarmUpUseCase.preload(batch)
+                            .doOnNext(count -> {
+                                read.addAndGet(batch.size());
+                                cached.addAndGet(count);
+                                keysCounter.increment(count);
+                                reportProgress(start, lastReport, read.get(), cached.get());
+                            }), properties.getConcurrency())
+                    .then(Mono.fromRunnable(() -> {
+                        long nanos = System.nanoTime() - start;
+                        Timer.builder(DURATION_TIMER)
+                                .description("Duration of the startup cache warm-up")
+                                .register(meterRegistry)
+                                .record(nanos, TimeUnit.NANOSECONDS);
+                        log.info("Cache warm-up completed in {} ms: {} keys read, {} cached ({} keys/s)",
+                                TimeUnit.NANOSECONDS.toMillis(nanos), read.get(), cached.get(), rate(read.get(), nanos));
+                    }))
+                    .onErrorResume(e -> {
+                        log.warn("Cache warm-up failed after {} keys, continuing with a partially cold cache", read.get(), e);
+                        return Mono.empty();
+                    })
+                    .then();
+        });
+    }
+
+    /**
+     * Returns the delay between two batches that keeps the warm-up under the configured rate.
+     *
+     * @return the interval between batch starts
+     */
+    private Duration batchInterval() {
+        return Duration.ofNanos(Math.max(1, TimeUnit.SECONDS.toNanos(properties.getBatchSize()) / properties.getKeysPerSecond()));
+    }
+
+    /**
+     * Logs the progress of the warm-up if the last report is older than the progress interval.
+     *
+     * @param start      the start of the warm-up, in nanoseconds
+     * @param lastReport the time of the last progress report, in nanoseconds
+     * @param read       the number of keys read so far
+     * @param cached     the number of keys cached so far
+     */
+    private static void reportProgress(long start, AtomicLong lastReport, long read, long cached) {
+        long now = System.nanoTime();
+        long last = lastReport.get();
+        if (now - last >= TimeUnit.SECONDS.toNanos(PROGRESS_INTERVAL_SECONDS) && lastReport.compareAndSet(last, now)) {
+            log.info("Cache warm-up progress: {} keys read, {} cached ({} keys/s)", read, cached, rate(read, now - start));
+        }
+    }
+
+    private static long rate(long keys, long nanos) {
+        return nanos == 0 ? 0 : keys * TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+}
@@ -0,0 +1,5 @@
+-- Created by H2Initializer after the initial entries are loaded, so the bulk insert does not maintain it row by row.
+-- Covering index: equality on product/brand, range on START_DATE, and every selected column,
+-- so both the full-list and the point resolution queries are answered from the index alone.
+CREATE INDEX IF NOT EXISTS idx_prices_query
+ON PRICES (PRODUCT_ID, BRAND_ID, START_DATE, END_DATE, PRIORITY, PRICE_LIST, PRICE, CURRENCY);
@@ -0,0 +1,11 @@
+-- Atomically replaces the price segments of a key.
+-- KEYS[1]  the sorted set holding the segments
+-- ARGV[1]  time-to-live in milliseconds
+-- ARGV[2…] score and member pairs
+redis.call('DEL', KEYS[1])
+local chunk = 1000
+for i = 2, #ARGV, chunk do
+    redis.call('ZADD', KEYS[1], unpack(ARGV, i, math.min(i + chunk - 1, #ARGV)))
+end
+redis.call('PEXPIRE', KEYS[1], ARGV[1])
+return redis.call('ZCARD', KEYS[1])
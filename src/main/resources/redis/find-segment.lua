@@ -0,0 +1,46 @@
+-- Finds the segment of a key covering a date: the member with the latest start not after it.
+-- KEYS[1]  the sorted set holding the segments
+-- ARGV[1]  score of the date (its epoch second)
+-- ARGV[2]  member prefix of the date
+-- Returns nil if the key is not cached, otherwise 'E' if it is cached as having no prices, 'N' if every
+-- segment starts after the date, or the covering member, followed by the remaining time-to-live of the key
+-- in milliseconds (-1 if it never expires) and, unless the key is empty, by the member of the next segment
+-- if there is one.
+local function notAfter(member, prefix)
+    for i = 1, #prefix do
+        local a, b = string.byte(member, i), string.byte(prefix, i)
+        if a ~= b then
+            return a < b
+        end
+    end
+    return true
+end
+
+local function withNext(reply, rank)
+    local following = redis.call('ZRANGE', KEYS[1], rank, rank)
+    if #following > 0 then
+        reply[3] = following[1]
+    end
+    return reply
+end
+
+local ttl = redis.call('PTTL', KEYS[1])
+if ttl == -2 then
+    return false
+end
+local offset = 0
+while true do
+    local members = redis.call('ZREVRANGEBYSCORE', KEYS[1], ARGV[1], '-inf', 'LIMIT', offset, 8)
+    if #members == 0 then
+        return withNext({ 'N', ttl }, 0)
+    end
+    for _, member in ipairs(members) do
+        if member == '' then
+            return { 'E', ttl }
+        end
+        if notAfter(member, ARGV[2]) then
+            return withNext({ member, ttl }, redis.call('ZRANK', KEYS[1], member) + 1)
+        end
+    end
+    offset = offset + #members
+end
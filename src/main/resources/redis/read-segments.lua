@@ -0,0 +1,11 @@
+-- Reads every segment of a key along with its remaining time-to-live.
+-- KEYS[1]  the sorted set holding the segments
+-- Returns nil if the key is not cached, otherwise its members by ascending score followed by the
+-- remaining time-to-live of the key in milliseconds (-1 if it never expires).
+local ttl = redis.call('PTTL', KEYS[1])
+if ttl == -2 then
+    return false
+end
+local members = redis.call('ZRANGE', KEYS[1], 0, -1)
+members[#members + 1] = ttl
+return members
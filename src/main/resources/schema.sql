@@ -9,6 +9,3 @@ CREATE TABLE IF NOT EXISTS PRICES (
     PRICE DECIMAL(10,2) NOT NULL,
     CURRENCY VARCHAR(3) NOT NULL
 );
-
-CREATE INDEX IF NOT EXISTS idx_prices_query
-ON PRICES (PRODUCT_ID, BRAND_ID, START_DATE, END_DATE);
@@ -1,7 +1,10 @@
 package com.ecommerce.pricing_api.application.mapper;
 
 import com.ecommerce.pricing_api.application.dto.ApplicablePriceResponseDto;
+import com.ecommerce.pricing_api.application.dto.BatchPriceResultDto;
+import com.ecommerce.pricing_api.application.dto.PriceQueryDto;
 import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceQuery;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -30,15 +33,15 @@ class ApplicablePriceMapperTest {
         @Test
         @DisplayName("Should correctly map all fields when all fields are present")
         void shouldMapAllFieldsCorrectly() {
-            ApplicablePrice price = new ApplicablePrice(
-                    Optional.of(35455L),
-                    Optional.of(1L),
-                    Optional.of(2L),
-                    Optional.of(LocalDateTime.parse("2020-06-14T00:00:00")),
-                    Optional.of(LocalDateTime.parse("2020-12-31T23:59:59")),
-                    Optional.of(BigDecimal.valueOf(35.50)),
-                    Optional.of("EUR"),
-                    Optional.of(0L)
+            ApplicablePrice price = ApplicablePrice.of(
+                    35455L,
+                    1L,
+                    2L,
+                    LocalDateTime.parse("2020-06-14T00:00:00"),
+                    LocalDateTime.parse("2020-12-31T23:59:59"),
+                    BigDecimal.valueOf(35.50),
+                    "EUR",
+                    0L
             );
 
             Optional<ApplicablePriceResponseDto> result = ApplicablePriceMapper.toDto(Optional.of(price));
@@ -57,15 +60,15 @@ class ApplicablePriceMapperTest {
         @Test
         @DisplayName("Should map nulls when fields are absent")
         void shouldMapNullsWhenFieldsAreAbsent() {
-            ApplicablePrice price = new ApplicablePrice(
-                    Optional.empty(),
-                    Optional.empty(),
-                    Optional.empty(),
-                    Optional.empty(),
-                    Optional.empty(),
-                    Optional.empty(),
-                    Optional.empty(),
-                    Optional.empty()
+            ApplicablePrice price = ApplicablePrice.of(
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null
             );
 
             Optional<ApplicablePriceResponseDto> result = ApplicablePriceMapper.toDto(Optional.of(price));
@@ -81,4 +84,47 @@ class ApplicablePriceMapperTest {
             assertThat(dto.currency()).isNull();
         }
     }
+
+    @Nested
+    @DisplayName("batch mapping methods")
+    class BatchMethods {
+
+        private final LocalDateTime date = LocalDateTime.parse("2020-06-14T10:00:00");
+
+        @Test
+        @DisplayName("Should map a request line into a domain query")
+        void shouldMapRequestLineToQuery() {
+            PriceQuery query = ApplicablePriceMapper.toQuery(new PriceQueryDto(35455L, 1L, date));
+
+            assertThat(query).isEqualTo(new PriceQuery(35455L, 1L, date));
+        }
+
+        @Test
+        @DisplayName("Should build a 200 result with the price when found")
+        void shouldBuildFoundResult() {
+            ApplicablePrice price = ApplicablePrice.of(
+                    35455L, 1L, 1L,
+                    LocalDateTime.parse("2020-06-14T00:00:00"),
+                    LocalDateTime.parse("2020-12-31T23:59:59"),
+                    BigDecimal.valueOf(35.50), "EUR", 0L
+            );
+
+            BatchPriceResultDto result = ApplicablePriceMapper.toBatchResultDto(new PriceQuery(35455L, 1L, date), Optional.of(price));
+
+            assertThat(result.status()).isEqualTo(200);
+            assertThat(result.applicationDate()).isEqualTo(date);
+            assertThat(result.price().price()).isEqualTo(BigDecimal.valueOf(35.50));
+        }
+
+        @Test
+        @DisplayName("Should build a 404 result without price when not found")
+        void shouldBuildNotFoundResult() {
+            BatchPriceResultDto result = ApplicablePriceMapper.toBatchResultDto(new PriceQuery(1L, 2L, date), Optional.empty());
+
+            assertThat(result.status()).isEqualTo(404);
+            assertThat(result.productId()).isEqualTo(1L);
+            assertThat(result.brandId()).isEqualTo(2L);
+            assertThat(result.price()).isNull();
+        }
+    }
 }
@@ -0,0 +1,60 @@
+package com.ecommerce.pricing_api.application.mapper;
+
+import com.ecommerce.pricing_api.application.dto.PriceEntryDto;
+import com.ecommerce.pricing_api.application.dto.PriceWriteResponseDto;
+import com.ecommerce.pricing_api.domain.model.PriceChange;
+import com.ecommerce.pricing_api.domain.model.PriceEntry;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PriceEntryMapper Unit Tests")
+class PriceEntryMapperTest {
+
+    @Nested
+    @DisplayName("toEntry method")
+    class ToEntryMethod {
+
+        @Test
+        @DisplayName("Should map every field of the written entry")
+        void shouldMapAllFields() {
+            PriceEntryDto dto = new PriceEntryDto(
+                    5L, 1L,
+                    LocalDateTime.parse("2020-06-14T00:00:00"), LocalDateTime.parse("2020-12-31T23:59:59"),
+                    2L, 35455L, 1L, BigDecimal.valueOf(35.50), "EUR"
+            );
+
+            PriceEntry entry = PriceEntryMapper.toEntry(dto);
+
+            assertThat(entry).isEqualTo(new PriceEntry(
+                    5L, 1L,
+                    LocalDateTime.parse("2020-06-14T00:00:00"), LocalDateTime.parse("2020-12-31T23:59:59"),
+                    2L, 35455L, 1L, BigDecimal.valueOf(35.50), "EUR"
+            ));
+            assertThat(entry.key()).isEqualTo(new PriceKey(35455L, 1L));
+        }
+    }
+
+    @Nested
+    @DisplayName("toResponseDto method")
+    class ToResponseDtoMethod {
+
+        @Test
+        @DisplayName("Should report the entries written and the keys invalidated")
+        void shouldSummarizeChange() {
+            PriceChange change = new PriceChange(3, Set.of(new PriceKey(35455L, 1L), new PriceKey(35456L, 1L)));
+
+            PriceWriteResponseDto dto = PriceEntryMapper.toResponseDto(change);
+
+            assertThat(dto.entries()).isEqualTo(3);
+            assertThat(dto.keys()).isEqualTo(2);
+        }
+    }
+}
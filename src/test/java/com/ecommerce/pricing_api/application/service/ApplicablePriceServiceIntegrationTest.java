@@ -1,8 +1,11 @@
 package com.ecommerce.pricing_api.application.service;
 
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
 import com.ecommerce.pricing_api.application.repository.PricesCacheRepository;
 import com.ecommerce.pricing_api.application.repository.PricesDatabaseRepository;
 import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -15,12 +18,13 @@ import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest(classes = ApplicablePriceService.class)
+@SpringBootTest(classes = {ApplicablePriceService.class, HedgingPolicy.class, SimpleMeterRegistry.class})
 class ApplicablePriceServiceIntegrationTest {
 
     @Autowired
@@ -33,15 +37,15 @@ class ApplicablePriceServiceIntegrationTest {
     private PricesDatabaseRepository pricesDatabaseRepository;
 
     private ApplicablePrice buildSamplePrice(LocalDateTime now) {
-        return new ApplicablePrice(
-                Optional.of(35455L),
-                Optional.of(1L),
-                Optional.of(2L),
-                Optional.of(now.minusHours(2)),
-                Optional.of(now.plusHours(2)),
-                Optional.of(BigDecimal.valueOf(25.99)),
-                Optional.of("EUR"),
-                Optional.of(1L)
+        return ApplicablePrice.of(
+                35455L,
+                1L,
+                2L,
+                now.minusHours(2),
+                now.plusHours(2),
+                BigDecimal.valueOf(25.99),
+                "EUR",
+                1L
         );
     }
 
@@ -55,14 +59,14 @@ class ApplicablePriceServiceIntegrationTest {
             LocalDateTime now = LocalDateTime.now();
             ApplicablePrice price = buildSamplePrice(now);
 
-            when(pricesCacheRepository.find(any())).thenReturn(Flux.just(price));
+            when(pricesCacheRepository.lookup(any(), any())).thenReturn(Mono.just(CacheLookup.of(PriceTimeline.of(List.of(price)))));
 
             StepVerifier.create(service.getApplicablePrice(35455L, 1L, now))
                     .expectNextMatches(opt -> opt.isPresent() &&
-                            opt.get().price().orElseThrow().compareTo(BigDecimal.valueOf(25.99)) == 0)
+                            opt.get().price().compareTo(BigDecimal.valueOf(25.99)) == 0)
                     .verifyComplete();
 
-            verify(pricesCacheRepository, times(2)).find(any());
+            verify(pricesCacheRepository, times(1)).lookup(any(), any());
             verifyNoInteractions(pricesDatabaseRepository);
         }
 
@@ -72,16 +76,16 @@ class ApplicablePriceServiceIntegrationTest {
             LocalDateTime now = LocalDateTime.now();
             ApplicablePrice dbPrice = buildSamplePrice(now);
 
-            when(pricesCacheRepository.find(any())).thenReturn(Flux.empty());
+            when(pricesCacheRepository.lookup(any(), any())).thenReturn(Mono.just(CacheLookup.miss()));
             when(pricesDatabaseRepository.findAllByProductAndBrand(any(), any())).thenReturn(Flux.just(dbPrice));
             when(pricesCacheRepository.save(any(), any())).thenReturn(Mono.empty());
 
             StepVerifier.create(service.getApplicablePrice(35455L, 1L, now))
                     .expectNextMatches(opt -> opt.isPresent() &&
-                            opt.get().productId().orElseThrow().equals(35455L))
+                            opt.get().productId() == 35455L)
                     .verifyComplete();
 
-            verify(pricesCacheRepository, times(1)).find(any());
+            verify(pricesCacheRepository, times(1)).lookup(any(), any());
             verify(pricesDatabaseRepository, times(1)).findAllByProductAndBrand(35455L, 1L);
             verify(pricesCacheRepository, times(1)).save(any(), any());
         }
@@ -91,15 +95,17 @@ class ApplicablePriceServiceIntegrationTest {
         void shouldReturnEmptyWhenNoMatch() {
             LocalDateTime now = LocalDateTime.now();
 
-            when(pricesCacheRepository.find(any())).thenReturn(Flux.empty());
+            when(pricesCacheRepository.lookup(any(), any())).thenReturn(Mono.just(CacheLookup.miss()));
             when(pricesDatabaseRepository.findAllByProductAndBrand(any(), any())).thenReturn(Flux.empty());
+            when(pricesCacheRepository.saveEmpty(any())).thenReturn(Mono.empty());
 
             StepVerifier.create(service.getApplicablePrice(35455L, 1L, now))
                     .expectNextMatches(Optional::isEmpty)
                     .verifyComplete();
 
-            verify(pricesCacheRepository, times(1)).find(any());
+            verify(pricesCacheRepository, times(1)).lookup(any(), any());
             verify(pricesDatabaseRepository, times(1)).findAllByProductAndBrand(35455L, 1L);
+            verify(pricesCacheRepository, times(1)).saveEmpty(any());
         }
     }
 }
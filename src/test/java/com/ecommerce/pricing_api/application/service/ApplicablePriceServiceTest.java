@@ -1,21 +1,36 @@
 package com.ecommerce.pricing_api.application.service;
 
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
 import com.ecommerce.pricing_api.application.repository.PricesCacheRepository;
 import com.ecommerce.pricing_api.application.repository.PricesDatabaseRepository;
 import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import com.ecommerce.pricing_api.domain.model.PriceQuery;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -28,29 +43,65 @@ class ApplicablePriceServiceTest {
     @Mock
     private PricesDatabaseRepository pricesDatabaseRepository;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
+
     private ApplicablePriceService applicablePriceService;
 
+    private static final long MAX_TIMELINE_ROWS = 2;
+
     private final LocalDateTime now = LocalDateTime.now();
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        applicablePriceService = new ApplicablePriceService(pricesDatabaseRepository, pricesCacheRepository, MAX_TIMELINE_ROWS, meterRegistry);
     }
 
     private ApplicablePrice buildPrice(Long priority, LocalDateTime start, LocalDateTime end) {
-        return new ApplicablePrice(
-                Optional.of(35455L),
-                Optional.of(1L),
-                Optional.of(2L),
-                Optional.of(start),
-                Optional.of(end),
-                Optional.of(BigDecimal.valueOf(50.00)),
-                Optional.of("EUR"),
-                Optional.of(priority)
+        return buildPrice(35455L, priority, start, end);
+    }
+
+    private ApplicablePrice buildPrice(Long productId, Long priority, LocalDateTime start, LocalDateTime end) {
+        return ApplicablePrice.of(
+                productId,
+                1L,
+                2L,
+                start,
+                end,
+                BigDecimal.valueOf(50.00),
+                "EUR",
+                priority
         );
     }
 
+    @Nested
+    @DisplayName("When hedging slow cache lookups")
+    class Hedging {
+
+        @Test
+        @DisplayName("Should resolve in the database when the cache does not answer within the delay")
+        void shouldResolveInDatabaseWhenCacheIsSlow() {
+            ApplicablePrice price = buildPrice(1L, now.minusHours(1), now.plusHours(1));
+            AtomicBoolean cancelled = new AtomicBoolean();
+            when(pricesCacheRepository.lookup(anyString(), any()))
+                    .thenReturn(Mono.<CacheLookup>never().doOnCancel(() -> cancelled.set(true)));
+            when(pricesDatabaseRepository.findApplicable(35455L, 1L, now)).thenReturn(Mono.just(price));
+            ApplicablePriceService service = new ApplicablePriceService(pricesDatabaseRepository,
+                    pricesCacheRepository, MAX_TIMELINE_ROWS, meterRegistry,
+                    new HedgingPolicy(true, 50, 95, 100, meterRegistry));
+
+            StepVerifier.withVirtualTime(() -> service.resolveApplicablePrice(35455L, 1L, now))
+                    .expectSubscription()
+                    .thenAwait(Duration.ofMillis(50))
+                    .assertNext(resolved -> assertThat(resolved.price()).contains(price))
+                    .verifyComplete();
+
+            assertThat(cancelled).isTrue();
+            verify(pricesDatabaseRepository, never()).findAllByProductAndBrand(anyLong(), anyLong());
+        }
+    }
+
     @Nested
     @DisplayName("When fetching applicable prices")
     class FetchingPrices {
@@ -60,14 +111,14 @@ class ApplicablePriceServiceTest {
         void shouldReturnPriceFromCache() {
             ApplicablePrice price = buildPrice(1L, now.minusHours(1), now.plusHours(1));
 
-            when(pricesCacheRepository.find(anyString())).thenReturn(Flux.just(price));
+            when(pricesCacheRepository.lookup(anyString(), any())).thenReturn(Mono.just(CacheLookup.of(PriceTimeline.of(List.of(price)))));
 
             Optional<ApplicablePrice> result = applicablePriceService.getApplicablePrice(35455L, 1L, now).block();
 
             assertThat(result).isPresent();
             assertThat(result.get()).isEqualTo(price);
 
-            verify(pricesCacheRepository, times(2)).find(anyString());
+            verify(pricesCacheRepository, times(1)).lookup(anyString(), any());
             verifyNoInteractions(pricesDatabaseRepository);
         }
 
@@ -76,21 +127,74 @@ class ApplicablePriceServiceTest {
         void shouldFallbackToDatabaseWhenCacheEmpty() {
             ApplicablePrice price = buildPrice(1L, now.minusHours(2), now.plusHours(2));
 
-            when(pricesCacheRepository.find(anyString())).thenReturn(Flux.empty());
+            when(pricesCacheRepository.lookup(anyString(), any())).thenReturn(Mono.just(CacheLookup.miss()));
             when(pricesDatabaseRepository.findAllByProductAndBrand(anyLong(), anyLong())).thenReturn(Flux.just(price));
-            when(pricesCacheRepository.save(anyString(), anyList())).thenReturn(Mono.empty());
+            when(pricesCacheRepository.save(anyString(), any(PriceTimeline.class))).thenReturn(Mono.empty());
 
             Optional<ApplicablePrice> result = applicablePriceService.getApplicablePrice(35455L, 1L, now).block();
 
             assertThat(result).isPresent();
             assertThat(result.get()).isEqualTo(price);
+            verify(pricesCacheRepository, times(1)).save(eq("35455:1"), eq(PriceTimeline.of(List.of(price))));
         }
 
         @Test
-        @DisplayName("Should return empty when no prices available")
+        @DisplayName("Should return empty and cache the key as known-empty when no prices available")
         void shouldReturnEmptyWhenNoPrices() {
-            when(pricesCacheRepository.find(anyString())).thenReturn(Flux.empty());
+            when(pricesCacheRepository.lookup(anyString(), any())).thenReturn(Mono.just(CacheLookup.miss()));
             when(pricesDatabaseRepository.findAllByProductAndBrand(anyLong(), anyLong())).thenReturn(Flux.empty());
+            when(pricesCacheRepository.saveEmpty(anyString())).thenReturn(Mono.empty());
+
+            Optional<ApplicablePrice> result = applicablePriceService.getApplicablePrice(35455L, 1L, now).block();
+
+            assertThat(result).isEmpty();
+            verify(pricesCacheRepository, times(1)).saveEmpty("35455:1");
+            verify(pricesCacheRepository, never()).save(anyString(), any(PriceTimeline.class));
+        }
+
+        @Test
+        @DisplayName("Should return empty without querying the database for known-empty keys")
+        void shouldReturnEmptyForKnownEmptyKey() {
+            when(pricesCacheRepository.lookup(anyString(), any())).thenReturn(Mono.just(CacheLookup.knownEmpty()));
+
+            Optional<ApplicablePrice> result = applicablePriceService.getApplicablePrice(35455L, 1L, now).block();
+
+            assertThat(result).isEmpty();
+            verifyNoInteractions(pricesDatabaseRepository);
+        }
+
+        @Test
+        @DisplayName("Should resolve in the database without caching when the key has too many prices")
+        void shouldResolveLargeKeysInDatabase() {
+            ApplicablePrice winner = buildPrice(3L, now.minusHours(1), now.plusHours(1));
+
+            when(pricesCacheRepository.lookup(anyString(), any())).thenReturn(Mono.just(CacheLookup.miss()));
+            when(pricesDatabaseRepository.findAllByProductAndBrand(anyLong(), anyLong())).thenReturn(Flux.just(
+                    buildPrice(1L, now.minusDays(3), now.minusDays(2)),
+                    buildPrice(2L, now.minusDays(2), now.minusDays(1)),
+                    winner,
+                    buildPrice(4L, now.plusDays(1), now.plusDays(2))
+            ));
+            when(pricesDatabaseRepository.findApplicable(35455L, 1L, now)).thenReturn(Mono.just(winner));
+
+            Optional<ApplicablePrice> result = applicablePriceService.getApplicablePrice(35455L, 1L, now).block();
+
+            assertThat(result).contains(winner);
+            verify(pricesDatabaseRepository, times(1)).findApplicable(35455L, 1L, now);
+            verify(pricesCacheRepository, never()).save(anyString(), any(PriceTimeline.class));
+            verify(pricesCacheRepository, never()).saveEmpty(anyString());
+        }
+
+        @Test
+        @DisplayName("Should return empty when the database point query finds no applicable price")
+        void shouldReturnEmptyWhenPointQueryFindsNothing() {
+            when(pricesCacheRepository.lookup(anyString(), any())).thenReturn(Mono.just(CacheLookup.miss()));
+            when(pricesDatabaseRepository.findAllByProductAndBrand(anyLong(), anyLong())).thenReturn(Flux.just(
+                    buildPrice(1L, now.minusDays(3), now.minusDays(2)),
+                    buildPrice(2L, now.minusDays(3), now.minusDays(2)),
+                    buildPrice(3L, now.minusDays(3), now.minusDays(2))
+            ));
+            when(pricesDatabaseRepository.findApplicable(anyLong(), anyLong(), any())).thenReturn(Mono.empty());
 
             Optional<ApplicablePrice> result = applicablePriceService.getApplicablePrice(35455L, 1L, now).block();
 
@@ -103,12 +207,12 @@ class ApplicablePriceServiceTest {
             ApplicablePrice lowPriority = buildPrice(1L, now.minusDays(1), now.plusDays(1));
             ApplicablePrice highPriority = buildPrice(10L, now.minusDays(1), now.plusDays(1));
 
-            when(pricesCacheRepository.find(anyString())).thenReturn(Flux.just(lowPriority, highPriority));
+            when(pricesCacheRepository.lookup(anyString(), any())).thenReturn(Mono.just(CacheLookup.of(PriceTimeline.of(List.of(lowPriority, highPriority)))));
 
             Optional<ApplicablePrice> result = applicablePriceService.getApplicablePrice(35455L, 1L, now).block();
 
             assertThat(result).isPresent();
-            assertThat(result.get().priority()).contains(10L);
+            assertThat(result.get().priority()).isEqualTo(10L);
         }
 
         @Test
@@ -116,11 +220,322 @@ class ApplicablePriceServiceTest {
         void shouldFilterInvalidDates() {
             ApplicablePrice futurePrice = buildPrice(5L, now.plusDays(1), now.plusDays(2));
 
-            when(pricesCacheRepository.find(anyString())).thenReturn(Flux.just(futurePrice));
+            when(pricesCacheRepository.lookup(anyString(), any())).thenReturn(Mono.just(CacheLookup.of(PriceTimeline.of(List.of(futurePrice)))));
 
             Optional<ApplicablePrice> result = applicablePriceService.getApplicablePrice(35455L, 1L, now).block();
 
             assertThat(result).isEmpty();
         }
     }
+
+    @Nested
+    @DisplayName("When concurrent requests miss the cache")
+    class ConcurrentMisses {
+
+        @Test
+        @DisplayName("Should query the database and write the cache exactly once for N parallel misses")
+        void shouldCoalesceParallelMisses() throws InterruptedException {
+            int requests = 64;
+            ApplicablePrice price = buildPrice(1L, now.minusHours(2), now.plusHours(2));
+            Sinks.Empty<Void> gate = Sinks.empty();
+
+            when(pricesCacheRepository.lookup(anyString(), any())).thenReturn(Mono.just(CacheLookup.miss()));
+            when(pricesDatabaseRepository.findAllByProductAndBrand(anyLong(), anyLong()))
+                    .thenReturn(Flux.just(price).delaySubscription(gate.asMono()));
+            when(pricesCacheRepository.save(anyString(), any(PriceTimeline.class))).thenReturn(Mono.empty());
+
+            Queue<Optional<ApplicablePrice>> results = new ConcurrentLinkedQueue<>();
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            for (int i = 0; i < requests; i++) {
+                executor.submit(() -> applicablePriceService.getApplicablePrice(35455L, 1L, now).subscribe(results::add));
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+            gate.tryEmitEmpty();
+
+            assertThat(results).hasSize(requests).allMatch(result -> result.equals(Optional.of(price)));
+            verify(pricesDatabaseRepository, times(1)).findAllByProductAndBrand(35455L, 1L);
+            verify(pricesCacheRepository, times(1)).save(anyString(), any(PriceTimeline.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("When serving stale timelines")
+    class StaleTimelines {
+
+        private double staleHits() {
+            return meterRegistry.get(PriceResolutionMetrics.LOOKUP_COUNTER).tag("result", "stale.hit").counter().count();
+        }
+
+        @Test
+        @DisplayName("Should serve the stale timeline and revalidate the key in the background")
+        void shouldServeStaleAndRevalidate() {
+            ApplicablePrice stale = buildPrice(1L, now.minusHours(1), now.plusHours(1));
+            ApplicablePrice fresh = buildPrice(2L, now.minusHours(1), now.plusHours(1));
+            when(pricesCacheRepository.lookup(anyString(), any()))
+                    .thenReturn(Mono.just(CacheLookup.stale(PriceTimeline.of(List.of(stale)))));
+            when(pricesDatabaseRepository.findAllByProductAndBrand(35455L, 1L)).thenReturn(Flux.just(stale, fresh));
+            when(pricesCacheRepository.save(anyString(), any(PriceTimeline.class))).thenReturn(Mono.empty());
+
+            StepVerifier.create(applicablePriceService.getApplicablePrice(35455L, 1L, now))
+                    .expectNext(Optional.of(stale))
+                    .verifyComplete();
+
+            verify(pricesCacheRepository, timeout(1_000)).save("35455:1", PriceTimeline.of(List.of(stale, fresh)));
+            assertThat(staleHits()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should keep serving the stale timeline when the revalidation fails")
+        void shouldServeStaleWhenRevalidationFails() {
+            ApplicablePrice stale = buildPrice(1L, now.minusHours(1), now.plusHours(1));
+            when(pricesCacheRepository.lookup(anyString(), any()))
+                    .thenReturn(Mono.just(CacheLookup.stale(PriceTimeline.of(List.of(stale)))));
+            when(pricesDatabaseRepository.findAllByProductAndBrand(35455L, 1L))
+                    .thenReturn(Flux.error(new IllegalStateException("database down")));
+
+            StepVerifier.create(applicablePriceService.getApplicablePrice(35455L, 1L, now))
+                    .expectNext(Optional.of(stale))
+                    .verifyComplete();
+
+            verify(pricesCacheRepository, never()).save(anyString(), any(PriceTimeline.class));
+        }
+
+        @Test
+        @DisplayName("Should serve the stale timelines of a batch and reload them with one set-based query")
+        void shouldRevalidateStaleKeysOfBatch() {
+            ApplicablePrice stale = buildPrice(1L, 1L, now.minusHours(1), now.plusHours(1));
+            ApplicablePrice fresh = buildPrice(1L, 2L, now.minusHours(1), now.plusHours(1));
+            when(pricesCacheRepository.lookupAll(anyCollection())).thenReturn(Mono.just(Map.of(
+                    "1:1", CacheLookup.stale(PriceTimeline.of(List.of(stale)))
+            )));
+            when(pricesDatabaseRepository.countAllByProductAndBrandIn(anyCollection()))
+                    .thenReturn(Mono.just(Map.of(new PriceKey(1L, 1L), 1L)));
+            when(pricesDatabaseRepository.findAllByProductAndBrandIn(anyCollection())).thenReturn(Flux.just(fresh));
+            when(pricesCacheRepository.save(anyString(), any(PriceTimeline.class))).thenReturn(Mono.empty());
+
+            List<Optional<ApplicablePrice>> result = applicablePriceService.getApplicablePrices(List.of(
+                    new PriceQuery(1L, 1L, now)
+            )).block();
+
+            assertThat(result).containsExactly(Optional.of(stale));
+            verify(pricesDatabaseRepository, timeout(1_000)).findAllByProductAndBrandIn(List.of(new PriceKey(1L, 1L)));
+            verify(pricesCacheRepository, timeout(1_000)).save("1:1", PriceTimeline.of(List.of(fresh)));
+            assertThat(staleHits()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should not reload in a batch the stale keys a single lookup is already revalidating")
+        void shouldShareInFlightRevalidationWithBatch() {
+            ApplicablePrice first = buildPrice(1L, 1L, now.minusHours(1), now.plusHours(1));
+            ApplicablePrice second = buildPrice(2L, 1L, now.minusHours(1), now.plusHours(1));
+            Sinks.Many<ApplicablePrice> slowLoad = Sinks.many().unicast().onBackpressureBuffer();
+            when(pricesCacheRepository.lookup(anyString(), any()))
+                    .thenReturn(Mono.just(CacheLookup.stale(PriceTimeline.of(List.of(first)))));
+            when(pricesDatabaseRepository.findAllByProductAndBrand(1L, 1L)).thenReturn(slowLoad.asFlux());
+            when(pricesCacheRepository.lookupAll(anyCollection())).thenReturn(Mono.just(Map.of(
+                    "1:1", CacheLookup.stale(PriceTimeline.of(List.of(first))),
+                    "2:1", CacheLookup.stale(PriceTimeline.of(List.of(second)))
+            )));
+            when(pricesDatabaseRepository.countAllByProductAndBrandIn(anyCollection()))
+                    .thenReturn(Mono.just(Map.of(new PriceKey(2L, 1L), 1L)));
+            when(pricesDatabaseRepository.findAllByProductAndBrandIn(anyCollection())).thenReturn(Flux.just(second));
+            when(pricesCacheRepository.save(anyString(), any(PriceTimeline.class))).thenReturn(Mono.empty());
+
+            applicablePriceService.getApplicablePrice(1L, 1L, now).block();
+            List<Optional<ApplicablePrice>> result = applicablePriceService.getApplicablePrices(List.of(
+                    new PriceQuery(1L, 1L, now),
+                    new PriceQuery(2L, 1L, now)
+            )).block();
+            slowLoad.tryEmitNext(first);
+            slowLoad.tryEmitComplete();
+
+            assertThat(result).containsExactly(Optional.of(first), Optional.of(second));
+            verify(pricesCacheRepository, timeout(1_000)).save("1:1", PriceTimeline.of(List.of(first)));
+            verify(pricesCacheRepository, timeout(1_000)).save("2:1", PriceTimeline.of(List.of(second)));
+            verify(pricesDatabaseRepository).findAllByProductAndBrandIn(List.of(new PriceKey(2L, 1L)));
+            verify(pricesDatabaseRepository, times(1)).findAllByProductAndBrand(1L, 1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("When fetching applicable prices in batch")
+    class BatchPrices {
+
+        @Test
+        @DisplayName("Should resolve hits, misses and known-empty keys with one multi-get and one DB query")
+        void shouldResolveBatchWithSingleRoundTrips() {
+            ApplicablePrice cached = buildPrice(1L, 1L, now.minusHours(1), now.plusHours(1));
+            ApplicablePrice loaded = buildPrice(2L, 1L, now.minusHours(1), now.plusHours(1));
+
+            when(pricesCacheRepository.lookupAll(anyCollection())).thenReturn(Mono.just(Map.of(
+                    "1:1", CacheLookup.of(PriceTimeline.of(List.of(cached))),
+                    "2:1", CacheLookup.miss(),
+                    "3:1", CacheLookup.knownEmpty()
+            )));
+            when(pricesDatabaseRepository.countAllByProductAndBrandIn(anyCollection()))
+                    .thenReturn(Mono.just(Map.of(new PriceKey(2L, 1L), 1L)));
+            when(pricesDatabaseRepository.findAllByProductAndBrandIn(anyCollection())).thenReturn(Flux.just(loaded));
+            when(pricesCacheRepository.save(anyString(), any(PriceTimeline.class))).thenReturn(Mono.empty());
+
+            List<Optional<ApplicablePrice>> result = applicablePriceService.getApplicablePrices(List.of(
+                    new PriceQuery(1L, 1L, now),
+                    new PriceQuery(2L, 1L, now),
+                    new PriceQuery(3L, 1L, now),
+                    new PriceQuery(1L, 1L, now.plusDays(1))
+            )).block();
+
+            assertThat(result).containsExactly(Optional.of(cached), Optional.of(loaded), Optional.empty(), Optional.empty());
+            verify(pricesCacheRepository, times(1)).lookupAll(List.of("1:1", "2:1", "3:1"));
+            verify(pricesDatabaseRepository, times(1)).findAllByProductAndBrandIn(List.of(new PriceKey(2L, 1L)));
+            verify(pricesCacheRepository, times(1)).save(eq("2:1"), any(PriceTimeline.class));
+            verify(pricesDatabaseRepository, never()).findAllByProductAndBrand(anyLong(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Should cache missed keys without prices as known-empty")
+        void shouldCacheMissedKeysWithoutPricesAsEmpty() {
+            when(pricesCacheRepository.lookupAll(anyCollection())).thenReturn(Mono.just(Map.of("9:1", CacheLookup.miss())));
+            when(pricesDatabaseRepository.countAllByProductAndBrandIn(anyCollection())).thenReturn(Mono.just(Map.of()));
+            when(pricesDatabaseRepository.findAllByProductAndBrandIn(anyCollection())).thenReturn(Flux.empty());
+            when(pricesCacheRepository.saveEmpty(anyString())).thenReturn(Mono.empty());
+
+            List<Optional<ApplicablePrice>> result = applicablePriceService.getApplicablePrices(List.of(new PriceQuery(9L, 1L, now))).block();
+
+            assertThat(result).containsExactly(Optional.empty());
+            verify(pricesCacheRepository, times(1)).saveEmpty("9:1");
+        }
+
+        @Test
+        @DisplayName("Should resolve queries on keys with too many prices with database point queries")
+        void shouldResolveLargeKeysWithPointQueries() {
+            ApplicablePrice small = buildPrice(1L, 1L, now.minusHours(1), now.plusHours(1));
+            ApplicablePrice large = buildPrice(2L, 1L, now.minusHours(1), now.plusHours(1));
+
+            when(pricesCacheRepository.lookupAll(anyCollection()))
+                    .thenReturn(Mono.just(Map.of("1:1", CacheLookup.miss(), "2:1", CacheLookup.miss())));
+            when(pricesDatabaseRepository.countAllByProductAndBrandIn(anyCollection()))
+                    .thenReturn(Mono.just(Map.of(new PriceKey(1L, 1L), 1L, new PriceKey(2L, 1L), MAX_TIMELINE_ROWS + 1)));
+            when(pricesDatabaseRepository.findAllByProductAndBrandIn(anyCollection())).thenReturn(Flux.just(small));
+            when(pricesDatabaseRepository.findApplicable(2L, 1L, now)).thenReturn(Mono.just(large));
+            when(pricesDatabaseRepository.findApplicable(2L, 1L, now.plusDays(1))).thenReturn(Mono.empty());
+            when(pricesCacheRepository.save(anyString(), any(PriceTimeline.class))).thenReturn(Mono.empty());
+
+            List<Optional<ApplicablePrice>> result = applicablePriceService.getApplicablePrices(List.of(
+                    new PriceQuery(2L, 1L, now),
+                    new PriceQuery(1L, 1L, now),
+                    new PriceQuery(2L, 1L, now.plusDays(1))
+            )).block();
+
+            assertThat(result).containsExactly(Optional.of(large), Optional.of(small), Optional.empty());
+            verify(pricesDatabaseRepository, times(1)).findAllByProductAndBrandIn(List.of(new PriceKey(1L, 1L)));
+            verify(pricesCacheRepository, times(1)).save(eq("1:1"), any(PriceTimeline.class));
+            verify(pricesCacheRepository, never()).save(eq("2:1"), any(PriceTimeline.class));
+        }
+
+        @Test
+        @DisplayName("Should not query the database when every key is cached")
+        void shouldSkipDatabaseWhenAllCached() {
+            ApplicablePrice cached = buildPrice(1L, 1L, now.minusHours(1), now.plusHours(1));
+            when(pricesCacheRepository.lookupAll(anyCollection()))
+                    .thenReturn(Mono.just(Map.of("1:1", CacheLookup.of(PriceTimeline.of(List.of(cached))))));
+
+            List<Optional<ApplicablePrice>> result = applicablePriceService.getApplicablePrices(List.of(new PriceQuery(1L, 1L, now))).block();
+
+            assertThat(result).containsExactly(Optional.of(cached));
+            verifyNoInteractions(pricesDatabaseRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("When preloading the cache")
+    class Preloading {
+
+        @Test
+        @DisplayName("Should cache every loadable key with set-based queries and skip large keys")
+        void shouldPreloadKeysSkippingLargeOnes() {
+            ApplicablePrice price = buildPrice(1L, 1L, now.minusHours(1), now.plusHours(1));
+
+            when(pricesDatabaseRepository.countAllByProductAndBrandIn(anyCollection()))
+                    .thenReturn(Mono.just(Map.of(new PriceKey(1L, 1L), 1L, new PriceKey(2L, 1L), MAX_TIMELINE_ROWS + 1)));
+            when(pricesDatabaseRepository.findAllByProductAndBrandIn(anyCollection())).thenReturn(Flux.just(price));
+            when(pricesCacheRepository.save(anyString(), any(PriceTimeline.class))).thenReturn(Mono.empty());
+            when(pricesCacheRepository.saveEmpty(anyString())).thenReturn(Mono.empty());
+
+            Integer cached = applicablePriceService.preload(List.of(
+                    new PriceKey(1L, 1L), new PriceKey(2L, 1L), new PriceKey(3L, 1L))).block();
+
+            assertThat(cached).isEqualTo(2);
+
+            verify(pricesDatabaseRepository, times(1))
+                    .findAllByProductAndBrandIn(List.of(new PriceKey(1L, 1L), new PriceKey(3L, 1L)));
+            verify(pricesCacheRepository, times(1)).save(eq("1:1"), any(PriceTimeline.class));
+            verify(pricesCacheRepository, times(1)).saveEmpty("3:1");
+            verify(pricesCacheRepository, never()).lookupAll(anyCollection());
+        }
+    }
+
+    @Nested
+    @DisplayName("When publishing metrics")
+    class Metrics {
+
+        private double lookups(String result) {
+            return meterRegistry.get(PriceResolutionMetrics.LOOKUP_COUNTER).tag("result", result).counter().count();
+        }
+
+        private long stageCount(String stage) {
+            return meterRegistry.get(PriceResolutionMetrics.STAGE_TIMER).tag("stage", stage).timer().count();
+        }
+
+        @Test
+        @DisplayName("Should time the cache lookup and the resolution of a cache hit")
+        void shouldRecordCacheHit() {
+            ApplicablePrice price = buildPrice(1L, now.minusHours(1), now.plusHours(1));
+            when(pricesCacheRepository.lookup(anyString(), any())).thenReturn(Mono.just(CacheLookup.of(PriceTimeline.of(List.of(price)))));
+
+            applicablePriceService.getApplicablePrice(35455L, 1L, now).block();
+
+            assertThat(lookups("hit")).isEqualTo(1);
+            assertThat(lookups("miss")).isZero();
+            assertThat(stageCount("cache.lookup")).isEqualTo(1);
+            assertThat(stageCount("db.query")).isZero();
+            assertThat(meterRegistry.get(PriceResolutionMetrics.RESOLUTION_TIMER).tag("operation", "single").timer().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should time the database query and cache write of a cache miss and record its rows")
+        void shouldRecordCacheMiss() {
+            ApplicablePrice price = buildPrice(1L, now.minusHours(2), now.plusHours(2));
+            when(pricesCacheRepository.lookup(anyString(), any())).thenReturn(Mono.just(CacheLookup.miss()));
+            when(pricesDatabaseRepository.findAllByProductAndBrand(anyLong(), anyLong())).thenReturn(Flux.just(price, price));
+            when(pricesCacheRepository.save(anyString(), any(PriceTimeline.class))).thenReturn(Mono.empty());
+
+            applicablePriceService.getApplicablePrice(35455L, 1L, now).block();
+
+            assertThat(lookups("miss")).isEqualTo(1);
+            assertThat(stageCount("db.query")).isEqualTo(1);
+            assertThat(stageCount("cache.write")).isEqualTo(1);
+            assertThat(meterRegistry.get(PriceResolutionMetrics.ROWS_SUMMARY).summary().totalAmount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should count the lookup result of every key of a batch")
+        void shouldRecordBatchLookups() {
+            ApplicablePrice cached = buildPrice(1L, 1L, now.minusHours(1), now.plusHours(1));
+            when(pricesCacheRepository.lookupAll(anyCollection())).thenReturn(Mono.just(Map.of(
+                    "1:1", CacheLookup.of(PriceTimeline.of(List.of(cached))),
+                    "3:1", CacheLookup.knownEmpty()
+            )));
+
+            applicablePriceService.getApplicablePrices(List.of(new PriceQuery(1L, 1L, now), new PriceQuery(3L, 1L, now))).block();
+
+            assertThat(lookups("hit")).isEqualTo(1);
+            assertThat(lookups("negative.hit")).isEqualTo(1);
+            assertThat(lookups("miss")).isZero();
+            assertThat(meterRegistry.get(PriceResolutionMetrics.RESOLUTION_TIMER).tag("operation", "batch").timer().count())
+                    .isEqualTo(1);
+        }
+    }
 }
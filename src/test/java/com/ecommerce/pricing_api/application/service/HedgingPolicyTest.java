@@ -0,0 +1,154 @@
+package com.ecommerce.pricing_api.application.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HedgingPolicy Unit Tests")
+class HedgingPolicyTest {
+
+    private static final long DELAY_MILLIS = 50;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private HedgingPolicy policy(long delayMillis, double budgetPercent) {
+        return new HedgingPolicy(true, delayMillis, 95, budgetPercent, meterRegistry);
+    }
+
+    private double hedges(String outcome) {
+        return meterRegistry.get(HedgingPolicy.HEDGE_COUNTER).tag("outcome", outcome).counter().count();
+    }
+
+    private static Mono<String> resolve(Mono<String> lookup) {
+        return lookup.map(value -> "cache:" + value);
+    }
+
+    @Nested
+    @DisplayName("When disabled")
+    class Disabled {
+
+        @Test
+        @DisplayName("Should resolve with the lookup and never query the backup")
+        void shouldPassThrough() {
+            AtomicInteger backups = new AtomicInteger();
+            HedgingPolicy policy = HedgingPolicy.disabled(meterRegistry);
+
+            StepVerifier.withVirtualTime(() -> policy.hedge(
+                            Mono.just("price").delayElement(Duration.ofSeconds(1)),
+                            HedgingPolicyTest::resolve,
+                            () -> Mono.fromSupplier(() -> "db:" + backups.incrementAndGet())))
+                    .expectSubscription()
+                    .thenAwait(Duration.ofSeconds(1))
+                    .expectNext("cache:price")
+                    .verifyComplete();
+
+            assertThat(backups).hasValue(0);
+        }
+    }
+
+    @Nested
+    @DisplayName("With a fixed delay")
+    class FixedDelay {
+
+        @Test
+        @DisplayName("Should start the backup once the delay elapses and cancel the late lookup")
+        void shouldHedgeLateLookup() {
+            HedgingPolicy policy = policy(DELAY_MILLIS, 100);
+            AtomicBoolean cancelled = new AtomicBoolean();
+
+            StepVerifier.withVirtualTime(() -> policy.hedge(
+                            Mono.<String>never().doOnCancel(() -> cancelled.set(true)),
+                            HedgingPolicyTest::resolve,
+                            () -> Mono.just("db")))
+                    .expectSubscription()
+                    .expectNoEvent(Duration.ofMillis(DELAY_MILLIS - 1))
+                    .thenAwait(Duration.ofMillis(1))
+                    .expectNext("db")
+                    .verifyComplete();
+
+            assertThat(cancelled).isTrue();
+            assertThat(hedges("started")).isEqualTo(1);
+            assertThat(hedges("won")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should not start the backup when the lookup answers within the delay")
+        void shouldNotHedgeTimelyLookup() {
+            HedgingPolicy policy = policy(DELAY_MILLIS, 100);
+            AtomicInteger backups = new AtomicInteger();
+
+            StepVerifier.withVirtualTime(() -> policy.hedge(
+                            Mono.just("price").delayElement(Duration.ofMillis(DELAY_MILLIS - 10)),
+                            lookup -> resolve(lookup).delayElement(Duration.ofMillis(DELAY_MILLIS)),
+                            () -> Mono.fromSupplier(() -> "db:" + backups.incrementAndGet())))
+                    .expectSubscription()
+                    .thenAwait(Duration.ofMillis(2 * DELAY_MILLIS))
+                    .expectNext("cache:price")
+                    .verifyComplete();
+
+            assertThat(backups).hasValue(0);
+            assertThat(hedges("started")).isZero();
+        }
+
+        @Test
+        @DisplayName("Should deny hedges once the budget is spent")
+        void shouldDenyBeyondBudget() {
+            HedgingPolicy policy = policy(DELAY_MILLIS, 10);
+            AtomicInteger backups = new AtomicInteger();
+            int requests = 30;
+
+            for (int i = 0; i < requests; i++) {
+                StepVerifier.withVirtualTime(() -> policy.hedge(
+                                Mono.just("price").delayElement(Duration.ofMillis(2 * DELAY_MILLIS)),
+                                HedgingPolicyTest::resolve,
+                                () -> Mono.fromSupplier(() -> "db:" + backups.incrementAndGet())))
+                        .expectSubscription()
+                        .thenAwait(Duration.ofMillis(2 * DELAY_MILLIS))
+                        .expectNextCount(1)
+                        .verifyComplete();
+            }
+
+            assertThat(backups).hasValue(3);
+            assertThat(hedges("started")).isEqualTo(3);
+            assertThat(hedges("denied")).isEqualTo(requests - 3);
+        }
+    }
+
+    @Nested
+    @DisplayName("With an adaptive delay")
+    class AdaptiveDelay {
+
+        @Test
+        @DisplayName("Should stay idle until enough latencies are known, then use their percentile as delay")
+        void shouldLearnDelay() {
+            HedgingPolicy policy = policy(0, 100);
+            assertThat(policy.delayNanos()).isEqualTo(-1);
+
+            for (int i = 0; i < HedgingPolicy.REFRESH_EVERY; i++) {
+                StepVerifier.create(policy.hedge(Mono.just("price"), HedgingPolicyTest::resolve, () -> Mono.just("db")))
+                        .expectNext("cache:price")
+                        .verifyComplete();
+            }
+
+            assertThat(policy.delayNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(1));
+            assertThat(meterRegistry.get(HedgingPolicy.DELAY_GAUGE).gauge().value()).isPositive();
+            assertThat(hedges("started")).isZero();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.ecommerce.pricing_api.application.service;
+
+import com.ecommerce.pricing_api.application.repository.CacheInvalidationBus;
+import com.ecommerce.pricing_api.application.repository.PricesCacheRepository;
+import com.ecommerce.pricing_api.application.repository.PricesDatabaseRepository;
+import com.ecommerce.pricing_api.domain.model.PriceChange;
+import com.ecommerce.pricing_api.domain.model.PriceEntry;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@DisplayName("PriceWriteService Unit Tests")
+class PriceWriteServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private final PricesDatabaseRepository pricesDatabaseRepository = mock(PricesDatabaseRepository.class);
+    private final PricesCacheRepository pricesCacheRepository = mock(PricesCacheRepository.class);
+    private final CacheInvalidationBus cacheInvalidationBus = mock(CacheInvalidationBus.class);
+    private final PriceWriteService priceWriteService = new PriceWriteService(
+            pricesDatabaseRepository, pricesCacheRepository, cacheInvalidationBus, BATCH_SIZE);
+
+    @BeforeEach
+    void setup() {
+        when(pricesCacheRepository.deleteAll(anyCollection())).thenReturn(Mono.empty());
+        when(cacheInvalidationBus.evict(any())).thenReturn(Mono.empty());
+    }
+
+    private static PriceEntry entry(Long id, Long productId) {
+        return new PriceEntry(id, 1L,
+                LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                1L, productId, 0L, BigDecimal.valueOf(35.50), "EUR");
+    }
+
+    private static PriceChange changeOf(Collection<PriceEntry> batch) {
+        Set<PriceKey> keys = new HashSet<>();
+        batch.forEach(e -> keys.add(e.key()));
+        return new PriceChange(batch.size(), keys);
+    }
+
+    @Nested
+    @DisplayName("When upserting entries")
+    class Upserting {
+
+        @Test
+        @DisplayName("Should write entries in batches and merge their changes")
+        void shouldWriteInBatches() {
+            List<Collection<PriceEntry>> batches = new ArrayList<>();
+            when(pricesDatabaseRepository.upsertAll(anyCollection())).thenAnswer(invocation -> {
+                Collection<PriceEntry> batch = invocation.getArgument(0);
+                batches.add(List.copyOf(batch));
+                return Mono.just(changeOf(batch));
+            });
+
+            StepVerifier.create(priceWriteService.upsert(Flux.just(entry(1L, 35455L), entry(2L, 35455L), entry(3L, 35456L))))
+                    .assertNext(change -> {
+                        assertThat(change.entries()).isEqualTo(3);
+                        assertThat(change.keys()).containsExactlyInAnyOrder(new PriceKey(35455L, 1L), new PriceKey(35456L, 1L));
+                    })
+                    .verifyComplete();
+
+            assertThat(batches).hasSize(2);
+            assertThat(batches.get(0)).hasSize(2);
+            assertThat(batches.get(1)).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Should remove changed keys from the shared cache before evicting them on every node")
+        void shouldInvalidateChangedKeysOnly() {
+            when(pricesDatabaseRepository.upsertAll(anyCollection()))
+                    .thenReturn(Mono.just(new PriceChange(1, Set.of(new PriceKey(35455L, 1L)))));
+
+            StepVerifier.create(priceWriteService.upsert(Flux.just(entry(1L, 35455L))))
+                    .expectNextCount(1)
+                    .verifyComplete();
+
+            InOrder inOrder = inOrder(pricesDatabaseRepository, pricesCacheRepository, cacheInvalidationBus);
+            inOrder.verify(pricesDatabaseRepository).upsertAll(anyCollection());
+            inOrder.verify(pricesCacheRepository).deleteAll(List.of("35455:1"));
+            inOrder.verify(cacheInvalidationBus).evict(new PriceKey(35455L, 1L));
+            verify(cacheInvalidationBus, never()).evictBrand(any());
+        }
+
+        @Test
+        @DisplayName("Should not touch the caches when nothing is written")
+        void shouldNotTouchCachesWhenEmpty() {
+            StepVerifier.create(priceWriteService.upsert(Flux.empty()))
+                    .expectNext(PriceChange.none())
+                    .verifyComplete();
+
+            verifyNoInteractions(pricesDatabaseRepository, pricesCacheRepository, cacheInvalidationBus);
+        }
+
+        @Test
+        @DisplayName("Should propagate database errors without invalidating")
+        void shouldPropagateDatabaseErrors() {
+            when(pricesDatabaseRepository.upsertAll(anyCollection()))
+                    .thenReturn(Mono.error(new RuntimeException("DB error")));
+
+            StepVerifier.create(priceWriteService.upsert(Flux.just(entry(1L, 35455L))))
+                    .expectErrorMessage("DB error")
+                    .verify();
+
+            verifyNoInteractions(pricesCacheRepository, cacheInvalidationBus);
+        }
+    }
+
+    @Nested
+    @DisplayName("When deleting entries")
+    class Deleting {
+
+        @Test
+        @DisplayName("Should delete entries and invalidate the keys they belonged to")
+        void shouldDeleteAndInvalidate() {
+            when(pricesDatabaseRepository.deleteAllById(anyCollection()))
+                    .thenReturn(Mono.just(new PriceChange(2, Set.of(new PriceKey(35455L, 1L)))));
+
+            StepVerifier.create(priceWriteService.delete(Flux.just(1L, 2L)))
+                    .assertNext(change -> assertThat(change.entries()).isEqualTo(2))
+                    .verifyComplete();
+
+            verify(pricesDatabaseRepository).deleteAllById(List.of(1L, 2L));
+            verify(pricesCacheRepository).deleteAll(List.of("35455:1"));
+            verify(cacheInvalidationBus).evict(new PriceKey(35455L, 1L));
+        }
+
+        @Test
+        @DisplayName("Should skip invalidation when no entry was deleted")
+        void shouldSkipInvalidationWhenNothingDeleted() {
+            when(pricesDatabaseRepository.deleteAllById(anyCollection())).thenReturn(Mono.just(PriceChange.none()));
+
+            StepVerifier.create(priceWriteService.delete(Flux.just(99L)))
+                    .assertNext(change -> assertThat(change.entries()).isZero())
+                    .verifyComplete();
+
+            verifyNoInteractions(pricesCacheRepository, cacheInvalidationBus);
+        }
+    }
+}
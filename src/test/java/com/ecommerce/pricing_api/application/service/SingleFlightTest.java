@@ -0,0 +1,114 @@
+package com.ecommerce.pricing_api.application.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SingleFlight Unit Tests")
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should share one in-flight load between concurrent callers of the same key")
+    void shouldShareInFlightLoad() {
+        Sinks.One<String> gate = Sinks.one();
+
+        Mono<String> first = singleFlight.execute("k", () -> countedLoad(gate.asMono()));
+        Mono<String> second = singleFlight.execute("k", () -> countedLoad(gate.asMono()));
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> gate.tryEmitValue("value"))
+                .assertNext(tuple -> {
+                    assertThat(tuple.getT1()).isEqualTo("value");
+                    assertThat(tuple.getT2()).isEqualTo("value");
+                })
+                .verifyComplete();
+
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should start a new load once the previous one has completed")
+    void shouldReloadAfterCompletion() {
+        StepVerifier.create(singleFlight.execute("k", () -> countedLoad(Mono.just("a")))).expectNext("a").verifyComplete();
+        StepVerifier.create(singleFlight.execute("k", () -> countedLoad(Mono.just("b")))).expectNext("b").verifyComplete();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should release the key after an error so the next caller retries")
+    void shouldReleaseKeyAfterError() {
+        StepVerifier.create(singleFlight.execute("k", () -> countedLoad(Mono.error(new IllegalStateException("boom")))))
+                .verifyError(IllegalStateException.class);
+
+        StepVerifier.create(singleFlight.execute("k", () -> countedLoad(Mono.just("ok")))).expectNext("ok").verifyComplete();
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not coalesce loads of different keys")
+    void shouldNotCoalesceDifferentKeys() {
+        StepVerifier.create(Mono.zip(
+                        singleFlight.execute("a", () -> countedLoad(Mono.just("a"))),
+                        singleFlight.execute("b", () -> countedLoad(Mono.just("b")))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should load the keys not in flight together and share the in-flight load of the others")
+    void shouldLoadUnclaimedKeysTogether() {
+        Sinks.One<String> gate = Sinks.one();
+        List<List<String>> batches = new ArrayList<>();
+        Mono<String> single = singleFlight.execute("a", () -> countedLoad(gate.asMono()));
+
+        StepVerifier.create(single.zipWith(singleFlight.executeAll(List.of("a", "b", "c"), keys -> {
+                    batches.add(keys);
+                    return Mono.just(Map.of("b", "B"));
+                })))
+                .then(() -> gate.tryEmitValue("A"))
+                .assertNext(tuple -> assertThat(tuple.getT2()).isEqualTo(Map.of("a", "A", "b", "B")))
+                .verifyComplete();
+
+        assertThat(batches).containsExactly(List.of("b", "c"));
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should let single callers of a claimed key share the batch load")
+    void shouldShareBatchLoadWithSingleCallers() {
+        Sinks.One<Map<String, String>> gate = Sinks.one();
+
+        StepVerifier.create(singleFlight.executeAll(List.of("a", "b"), keys -> gate.asMono())
+                        .zipWith(singleFlight.execute("b", () -> countedLoad(Mono.just("other")))))
+                .then(() -> gate.tryEmitValue(Map.of("a", "A", "b", "B")))
+                .assertNext(tuple -> assertThat(tuple.getT2()).isEqualTo("B"))
+                .verifyComplete();
+
+        assertThat(loads).hasValue(0);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    private Mono<String> countedLoad(Mono<String> source) {
+        return Mono.defer(() -> {
+            loads.incrementAndGet();
+            return source;
+        });
+    }
+}
@@ -0,0 +1,246 @@
+package com.ecommerce.pricing_api.benchmark;
+
+import com.ecommerce.pricing_api.application.dto.BatchPriceRequestDto;
+import com.ecommerce.pricing_api.application.dto.BatchPriceResponseDto;
+import com.ecommerce.pricing_api.application.dto.PriceQueryDto;
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
+import com.ecommerce.pricing_api.application.repository.PricesCacheRepository;
+import com.ecommerce.pricing_api.application.repository.PricesDatabaseRepository;
+import com.ecommerce.pricing_api.application.service.ApplicablePriceService;
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceChange;
+import com.ecommerce.pricing_api.domain.model.PriceEntry;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.api.PriceResponseCache;
+import com.ecommerce.pricing_api.infrastructure.api.PricesController;
+import com.ecommerce.pricing_api.infrastructure.api.exceptions.GlobalExceptionHandler;
+import com.ecommerce.pricing_api.infrastructure.config.HttpCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the throughput of resolving a cart through the batch endpoint against one
+ * {@code GET /api/v1/prices} call per line.
+ * <p>
+ * The controller and service are the real ones; Redis and H2 are replaced by in-memory fakes that
+ * add a fixed latency per round trip, so the comparison reflects the number of round trips each
+ * approach needs. Run with {@code mvn test -Pbenchmark}.
+ * </p>
+ */
+@Tag("benchmark")
+class BatchPriceResolutionBenchmark {
+
+    private static final Duration ROUND_TRIP = Duration.ofMillis(1);
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 10, 0);
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 20;
+    private static final int SINGLE_CALL_CONCURRENCY = 16;
+
+    private FakeCache cache;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        cache = new FakeCache();
+        HttpCacheProperties httpCacheProperties = new HttpCacheProperties();
+        PricesController controller = new PricesController(
+                new ApplicablePriceService(new FakeDatabase(), cache, 10_000, new SimpleMeterRegistry()),
+                httpCacheProperties,
+                new PriceResponseCache(Jackson2ObjectMapperBuilder.json().build(), httpCacheProperties));
+        webTestClient = WebTestClient.bindToController(controller)
+                .controllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @ParameterizedTest(name = "{0} lines")
+    @ValueSource(ints = {50, 200})
+    @DisplayName("Batch vs single-call throughput")
+    void compareBatchAndSingleCalls(int lines) {
+        List<PriceQueryDto> cart = IntStream.range(0, lines)
+                .mapToObj(i -> new PriceQueryDto((long) i, 1L, DATE))
+                .toList();
+
+        for (boolean warmCache : new boolean[]{false, true}) {
+            report(lines, warmCache, "batch", measure(warmCache, () -> resolveBatch(cart)));
+            report(lines, warmCache, "single (sequential)", measure(warmCache, () -> resolveOneByOne(cart, 1)));
+            report(lines, warmCache, "single (concurrency " + SINGLE_CALL_CONCURRENCY + ")",
+                    measure(warmCache, () -> resolveOneByOne(cart, SINGLE_CALL_CONCURRENCY)));
+        }
+    }
+
+    private long measure(boolean warmCache, Runnable cartResolution) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            prepareCache(warmCache);
+            cartResolution.run();
+        }
+        long total = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            prepareCache(warmCache);
+            long start = System.nanoTime();
+            cartResolution.run();
+            total += System.nanoTime() - start;
+        }
+        return total / MEASURED_ITERATIONS;
+    }
+
+    private void prepareCache(boolean warmCache) {
+        if (!warmCache) {
+            cache.entries.clear();
+        }
+    }
+
+    private void resolveBatch(List<PriceQueryDto> cart) {
+        BatchPriceResponseDto response = webTestClient.post()
+                .uri("/api/v1/prices/batch")
+                .bodyValue(new BatchPriceRequestDto(cart))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BatchPriceResponseDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(response).isNotNull();
+        assertThat(response.results()).hasSize(cart.size());
+    }
+
+    private void resolveOneByOne(List<PriceQueryDto> cart, int concurrency) {
+        Long resolved = Flux.fromIterable(cart)
+                .flatMap(line -> Mono.fromCallable(() -> webTestClient.get()
+                                        .uri(uriBuilder -> uriBuilder.path("/api/v1/prices")
+                                                .queryParam("applicationDate", line.applicationDate().toString())
+                                                .queryParam("productId", line.productId())
+                                                .queryParam("brandId", line.brandId())
+                                                .build())
+                                        .exchange()
+                                        .expectStatus().isOk())
+                                .subscribeOn(Schedulers.boundedElastic()),
+                        concurrency)
+                .count()
+                .block();
+        assertThat(resolved).isEqualTo(cart.size());
+    }
+
+    private static void report(int lines, boolean warmCache, String mode, long nanosPerCart) {
+        double millis = nanosPerCart / 1_000_000.0;
+        System.out.printf("[batch-benchmark] lines=%d cache=%s mode=%-28s %8.2f ms/cart %10.0f lines/s%n",
+                lines, warmCache ? "warm" : "cold", mode, millis, lines / (millis / 1_000.0));
+    }
+
+    private static ApplicablePrice priceFor(long productId) {
+        return ApplicablePrice.of(
+                productId, 1L, 1L,
+                DATE.minusDays(1), DATE.plusDays(1),
+                BigDecimal.valueOf(35.50), "EUR", 0L
+        );
+    }
+
+    /**
+     * In-memory stand-in for Redis adding {@link #ROUND_TRIP} to every operation.
+     */
+    private static class FakeCache implements PricesCacheRepository {
+
+        private final Map<String, PriceTimeline> entries = new ConcurrentHashMap<>();
+
+        @Override
+        public Mono<Void> save(String key, PriceTimeline timeline) {
+            return Mono.delay(ROUND_TRIP).doOnNext(tick -> entries.put(key, timeline)).then();
+        }
+
+        @Override
+        public Mono<Void> saveEmpty(String key) {
+            return save(key, PriceTimeline.empty());
+        }
+
+        @Override
+        public Mono<CacheLookup> lookup(String key) {
+            return Mono.delay(ROUND_TRIP).map(tick -> lookupNow(key));
+        }
+
+        @Override
+        public Mono<Map<String, CacheLookup>> lookupAll(Collection<String> keys) {
+            return Mono.delay(ROUND_TRIP).map(tick -> {
+                Map<String, CacheLookup> lookups = new HashMap<>();
+                keys.forEach(key -> lookups.put(key, lookupNow(key)));
+                return lookups;
+            });
+        }
+
+        @Override
+        public Mono<Void> deleteAll(Collection<String> keys) {
+            return Mono.delay(ROUND_TRIP).doOnNext(tick -> keys.forEach(entries::remove)).then();
+        }
+
+        private CacheLookup lookupNow(String key) {
+            PriceTimeline timeline = entries.get(key);
+            return timeline == null ? CacheLookup.miss() : CacheLookup.of(timeline);
+        }
+    }
+
+    /**
+     * In-memory stand-in for H2 adding {@link #ROUND_TRIP} to every query.
+     */
+    private static class FakeDatabase implements PricesDatabaseRepository {
+
+        @Override
+        public Flux<ApplicablePrice> findAllByProductAndBrand(Long productId, Long brandId) {
+            return Mono.delay(ROUND_TRIP).thenMany(Flux.just(priceFor(productId)));
+        }
+
+        @Override
+        public Flux<ApplicablePrice> findAllByProductAndBrandIn(Collection<PriceKey> keys) {
+            return Mono.delay(ROUND_TRIP).thenMany(Flux.fromIterable(keys).map(key -> priceFor(key.productId())));
+        }
+
+        @Override
+        public Flux<ApplicablePrice> findAll() {
+            return Flux.empty();
+        }
+
+        @Override
+        public Mono<ApplicablePrice> findApplicable(Long productId, Long brandId, LocalDateTime applicationDate) {
+            return Mono.delay(ROUND_TRIP).thenReturn(priceFor(productId));
+        }
+
+        @Override
+        public Mono<Map<PriceKey, Long>> countAllByProductAndBrandIn(Collection<PriceKey> keys) {
+            return Mono.delay(ROUND_TRIP).thenReturn(keys.stream().collect(Collectors.toMap(key -> key, key -> 1L)));
+        }
+
+        @Override
+        public Flux<PriceKey> findKeysByPriceCount(long limit) {
+            return Flux.empty();
+        }
+
+        @Override
+        public Mono<PriceChange> upsertAll(Collection<PriceEntry> entries) {
+            return Mono.just(PriceChange.none());
+        }
+
+        @Override
+        public Mono<PriceChange> deleteAllById(Collection<Long> ids) {
+            return Mono.just(PriceChange.none());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.ecommerce.pricing_api.benchmark;
+
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.config.RedisProperties.ValueFormat;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer.ApplicablePriceJsonModule;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer.CachedPriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer.PriceTimelineRedisSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the size and the encode/decode time of cached price timelines written as JSON
+ * (the former {@code Jackson2JsonRedisSerializer} setup of {@code RedisConfig}) and with the
+ * compact binary encoding. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class CacheSerializationBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2020, 6, 14, 0, 0);
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 100_000;
+
+    private final Jackson2JsonRedisSerializer<CachedPriceTimeline> json = jsonSerializer();
+    private final RedisSerializer<CachedPriceTimeline> binary = new PriceTimelineRedisSerializer(json, ValueFormat.BINARY);
+
+    @ParameterizedTest(name = "{0} prices")
+    @ValueSource(ints = {1, 4, 32, 256})
+    @DisplayName("JSON vs binary serialization")
+    void compareSerializers(int prices) {
+        CachedPriceTimeline timeline = CachedPriceTimeline.of(buildTimeline(prices), System.currentTimeMillis());
+
+        report(prices, "json", json, timeline);
+        report(prices, "binary", binary, timeline);
+    }
+
+    private static void report(int prices, String format, RedisSerializer<CachedPriceTimeline> serializer,
+                               CachedPriceTimeline timeline) {
+        byte[] bytes = serializer.serialize(timeline);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(timeline);
+
+        int iterations = Math.max(1_000, MEASURED_ITERATIONS / prices);
+        measure(Math.max(1_000, WARMUP_ITERATIONS / prices), () -> serializer.serialize(timeline));
+        long encodeNanos = measure(iterations, () -> serializer.serialize(timeline));
+        measure(Math.max(1_000, WARMUP_ITERATIONS / prices), () -> serializer.deserialize(bytes));
+        long decodeNanos = measure(iterations, () -> serializer.deserialize(bytes));
+
+        System.out.printf("[serialization-benchmark] prices=%d segments=%d format=%-6s %8d bytes encode=%9.0f ns decode=%9.0f ns%n",
+                prices, timeline.segments().size(), format, bytes.length,
+                (double) encodeNanos / iterations, (double) decodeNanos / iterations);
+    }
+
+    private static long measure(int iterations, Runnable operation) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static Jackson2JsonRedisSerializer<CachedPriceTimeline> jsonSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jdk8Module())
+                .registerModule(new ApplicablePriceJsonModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return new Jackson2JsonRedisSerializer<>(objectMapper, CachedPriceTimeline.class);
+    }
+
+    private static PriceTimeline buildTimeline(int prices) {
+        Random random = new Random(prices);
+        List<ApplicablePrice> entries = new ArrayList<>(prices);
+        for (int i = 0; i < prices; i++) {
+            LocalDateTime start = BASE.plusHours(random.nextInt(24 * 365));
+            entries.add(ApplicablePrice.of(
+                    35455L,
+                    1L,
+                    (long) i + 1,
+                    start,
+                    start.plusHours(1 + random.nextInt(24 * 30)).minusSeconds(1),
+                    BigDecimal.valueOf(1_000 + random.nextInt(9_000), 2),
+                    "EUR",
+                    (long) random.nextInt(3)
+            ));
+        }
+        return PriceTimeline.of(entries);
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.pricing_api.benchmark;
+
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.infrastructure.persistance.inmemory.model.PriceTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the memory taken by a million prices held in a {@link PriceTable}, for several numbers of prices
+ * per product and brand, against the same prices held as a list of {@link ApplicablePrice} objects.
+ * <p>
+ * Reports the footprint computed by the table and the heap retained by each representation, measured as the
+ * used heap after a full collection. The heap figures include array and object headers, so they are slightly
+ * above the computed footprint and depend on the JVM settings (compressed pointers, alignment).
+ * Run with {@code mvn test -Pbenchmark}.
+ * </p>
+ */
+@Tag("benchmark")
+class InMemoryStoreFootprintBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final long START = LocalDateTime.of(2020, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+    @ParameterizedTest(name = "{0} prices per key")
+    @ValueSource(ints = {1, 4, 16})
+    @DisplayName("Footprint of a million prices")
+    void footprintPerMillionRows(int pricesPerKey) {
+        long baseline = usedHeap();
+        PriceTable table = table(pricesPerKey);
+        long tableHeap = usedHeap() - baseline;
+
+        List<ApplicablePrice> objects = new ArrayList<>(ROWS);
+        for (int row = 0; row < ROWS; row++) {
+            objects.add(price(row, pricesPerKey));
+        }
+        long objectsHeap = usedHeap() - baseline - tableHeap;
+
+        assertThat(table.rows()).isEqualTo(ROWS);
+        assertThat(objects).hasSize(ROWS);
+        System.out.printf("[store-footprint-benchmark] prices/key=%2d keys=%7d footprint=%6.1f MB table heap=%6.1f MB objects heap=%6.1f MB per million rows%n",
+                pricesPerKey, table.keys(), megabytes(table.footprintBytes()), megabytes(tableHeap), megabytes(objectsHeap));
+    }
+
+    private static PriceTable table(int pricesPerKey) {
+        PriceTable.Builder builder = PriceTable.builder();
+        for (int row = 0; row < ROWS; row++) {
+            builder.add(price(row, pricesPerKey));
+        }
+        return builder.build();
+    }
+
+    private static ApplicablePrice price(int row, int pricesPerKey) {
+        long start = START + ThreadLocalRandom.current().nextInt(86_400 * 365);
+        return new ApplicablePrice(row / pricesPerKey, 1, row % 4 + 1, start, 0, start + 86_400 * 30, 0,
+                ThreadLocalRandom.current().nextLong(100_000), 2, "EUR", row % pricesPerKey, ApplicablePrice.ALL);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static double megabytes(long bytes) {
+        return bytes / 1_000_000.0;
+    }
+}
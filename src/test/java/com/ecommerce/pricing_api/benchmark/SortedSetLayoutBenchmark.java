@@ -0,0 +1,180 @@
+package com.ecommerce.pricing_api.benchmark;
+
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
+import com.ecommerce.pricing_api.application.repository.PricesCacheRepository;
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.config.RedisConfig;
+import com.ecommerce.pricing_api.infrastructure.config.RedisProperties;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.repository.PricesRedisRepository;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.repository.PricesRedisSortedSetRepository;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer.CachedPriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer.PriceSegmentMemberCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.resource.ClientResources;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares resolving single dates of a key with a long price history under the two Redis layouts:
+ * the whole timeline stored as one value and read back on every lookup, and the sorted set of segments
+ * scored by start date, from which only the segment covering the date is read.
+ * <p>
+ * Needs a running Redis, by default on {@code localhost:6379} (for instance the one of
+ * {@code docker-compose.yml}), overridable with {@code BENCHMARK_REDIS_HOST} and {@code BENCHMARK_REDIS_PORT};
+ * skipped otherwise. Run with {@code mvn test -Pbenchmark}.
+ * </p>
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SortedSetLayoutBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final int WARMUP_LOOKUPS = 200;
+    private static final int MEASURED_LOOKUPS = 1_000;
+
+    private LettuceConnectionFactory factory;
+    private PricesRedisRepository valueRepository;
+    private PricesRedisSortedSetRepository sortedSetRepository;
+    private ClientResources clientResources;
+    private ReactiveRedisTemplate<String, CachedPriceTimeline> valueTemplate;
+
+    @BeforeAll
+    void connect() {
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setHost(System.getenv().getOrDefault("BENCHMARK_REDIS_HOST", "localhost"));
+        redisProperties.setPort(Integer.parseInt(System.getenv().getOrDefault("BENCHMARK_REDIS_PORT", "6379")));
+        redisProperties.setTtlSeconds(600);
+        redisProperties.setNegativeTtlSeconds(30);
+        redisProperties.setValueFormat(RedisProperties.ValueFormat.BINARY);
+
+        RedisConfig redisConfig = new RedisConfig();
+        clientResources = redisConfig.lettuceClientResources(redisProperties);
+        factory = (LettuceConnectionFactory) redisConfig.reactiveRedisConnectionFactory(redisProperties, clientResources);
+        factory.afterPropertiesSet();
+        try {
+            ReactiveRedisConnection connection = factory.getReactiveConnection();
+            connection.ping().block(Duration.ofSeconds(2));
+        } catch (RuntimeException e) {
+            factory.destroy();
+            assumeTrue(false, "Redis not reachable on " + redisProperties.getHost() + ":" + redisProperties.getPort());
+        }
+
+        valueTemplate = redisConfig.reactiveRedisTemplate(factory, new ObjectMapper(), redisProperties);
+        valueRepository = new PricesRedisRepository(valueTemplate, redisProperties);
+        sortedSetRepository = new PricesRedisSortedSetRepository(redisConfig.segmentRedisTemplate(factory), redisProperties);
+    }
+
+    @AfterAll
+    void disconnect() {
+        if (factory != null) {
+            factory.destroy();
+        }
+        if (clientResources != null) {
+            clientResources.shutdown();
+        }
+    }
+
+    @ParameterizedTest(name = "{0} prices")
+    @ValueSource(ints = {100, 10_000, 50_000})
+    @DisplayName("Whole value vs sorted set lookups of a single date")
+    void compareLayouts(int prices) {
+        PriceTimeline timeline = buildTimeline(prices);
+        String key = "benchmark-" + prices + ":1";
+
+        long valueSave = time(() -> valueRepository.save(key, timeline).block());
+        long sortedSetSave = time(() -> sortedSetRepository.save(key, timeline).block());
+
+        List<LocalDateTime> dates = randomDates(new Random(prices), WARMUP_LOOKUPS + MEASURED_LOOKUPS, prices);
+        for (LocalDateTime date : dates) {
+            assertThat(resolve(sortedSetRepository.lookup(key, date).block(), date))
+                    .as("sorted set resolution at %s", date)
+                    .isEqualTo(timeline.resolve(date));
+        }
+
+        long valueNanos = measure(dates, date -> resolve(valueRepository.lookup(key, date).block(), date));
+        long sortedSetNanos = measure(dates, date -> resolve(sortedSetRepository.lookup(key, date).block(), date));
+
+        int valueBytes = valueTemplate.getSerializationContext().getValueSerializationPair()
+                .write(CachedPriceTimeline.of(timeline, System.currentTimeMillis())).remaining();
+        double memberBytes = timeline.segments().stream()
+                .mapToInt(segment -> PriceSegmentMemberCodec.encode(segment).length)
+                .average()
+                .orElse(0);
+
+        System.out.printf("[sorted-set-benchmark] prices=%d segments=%d layout=value      save=%7.1f ms lookup=%9.1f us read=%9d bytes%n",
+                prices, timeline.segments().size(), valueSave / 1e6, valueNanos / 1e3 / MEASURED_LOOKUPS, valueBytes);
+        System.out.printf("[sorted-set-benchmark] prices=%d segments=%d layout=sorted-set save=%7.1f ms lookup=%9.1f us read=%9.0f bytes%n",
+                prices, timeline.segments().size(), sortedSetSave / 1e6, sortedSetNanos / 1e3 / MEASURED_LOOKUPS, memberBytes);
+
+        valueTemplate.delete(key, "segments:" + key).block();
+    }
+
+    private static Optional<ApplicablePrice> resolve(CacheLookup lookup, LocalDateTime date) {
+        assertThat(lookup.status()).isEqualTo(CacheLookup.Status.HIT);
+        return lookup.timeline().orElseThrow().resolve(date);
+    }
+
+    private static long measure(List<LocalDateTime> dates, Function<LocalDateTime, Optional<ApplicablePrice>> lookup) {
+        dates.subList(0, WARMUP_LOOKUPS).forEach(lookup::apply);
+        return time(() -> dates.subList(WARMUP_LOOKUPS, dates.size()).forEach(lookup::apply));
+    }
+
+    private static long time(Runnable operation) {
+        long start = System.nanoTime();
+        operation.run();
+        return System.nanoTime() - start;
+    }
+
+    private static List<LocalDateTime> randomDates(Random random, int count, int days) {
+        List<LocalDateTime> dates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dates.add(BASE.minusDays(1).plusMinutes(random.nextInt((days + 2) * 24 * 60)));
+        }
+        return dates;
+    }
+
+    /**
+     * Builds a daily price history with an overlapping, higher priority promotion every tenth day,
+     * so the timeline holds roughly as many segments as prices.
+     */
+    private static PriceTimeline buildTimeline(int prices) {
+        Random random = new Random(prices);
+        List<ApplicablePrice> entries = new ArrayList<>(prices);
+        for (int i = 0; i < prices; i++) {
+            boolean promotion = i % 10 == 9;
+            LocalDateTime start = promotion ? BASE.plusDays(i).minusHours(6) : BASE.plusDays(i);
+            entries.add(ApplicablePrice.of(
+                    35455L,
+                    1L,
+                    (long) i + 1,
+                    start,
+                    start.plusHours(promotion ? 12 : 24).minusSeconds(1),
+                    BigDecimal.valueOf(1_000 + random.nextInt(9_000), 2),
+                    "EUR",
+                    promotion ? 1L : 0L
+            ));
+        }
+        return PriceTimeline.of(entries);
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecommerce.pricing_api.benchmark.jmh;
+
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the memory allocated to materialize the prices of a cached timeline, done once per request
+ * served from Redis, with the compact {@link ApplicablePrice} against the previous representation that
+ * wrapped every field in {@link Optional} and held {@link LocalDateTime} and {@link BigDecimal} objects.
+ * <p>
+ * Both variants read the same decoded primitives, as the binary codec does. Run with {@code -prof gc}
+ * (the default of the {@code jmh} profile): the difference in {@code gc.alloc.rate.norm} between
+ * {@code optionalFields} and {@code compact} is the number of bytes saved per request.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApplicablePriceAllocationBenchmark {
+
+    @Param({"1", "16", "128"})
+    private int prices;
+
+    private ApplicablePrice[] decoded;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        decoded = BenchmarkFixtures.prices(prices).toArray(new ApplicablePrice[0]);
+    }
+
+    @Benchmark
+    public void compact(Blackhole blackhole) {
+        for (ApplicablePrice p : decoded) {
+            blackhole.consume(new ApplicablePrice(p.productId(), p.brandId(), p.priceList(),
+                    p.startEpochSecond(), p.startNano(), p.endEpochSecond(), p.endNano(),
+                    p.priceUnits(), p.priceScale(), p.currency(), p.priority(), p.presence()));
+        }
+    }
+
+    @Benchmark
+    public void optionalFields(Blackhole blackhole) {
+        for (ApplicablePrice p : decoded) {
+            blackhole.consume(new OptionalPrice(
+                    Optional.of(p.productId()),
+                    Optional.of(p.brandId()),
+                    Optional.of(p.priceList()),
+                    Optional.of(LocalDateTime.ofEpochSecond(p.startEpochSecond(), p.startNano(), ZoneOffset.UTC)),
+                    Optional.of(LocalDateTime.ofEpochSecond(p.endEpochSecond(), p.endNano(), ZoneOffset.UTC)),
+                    Optional.of(new BigDecimal(BigInteger.valueOf(p.priceUnits()), p.priceScale())),
+                    Optional.of(p.currency()),
+                    Optional.of(p.priority())
+            ));
+        }
+    }
+
+    /**
+     * The previous representation of a price, kept here as the baseline.
+     */
+    private record OptionalPrice(
+            Optional<Long> productId,
+            Optional<Long> brandId,
+            Optional<Long> priceList,
+            Optional<LocalDateTime> startDate,
+            Optional<LocalDateTime> endDate,
+            Optional<BigDecimal> price,
+            Optional<String> currency,
+            Optional<Long> priority
+    ) {}
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.pricing_api.benchmark.jmh;
+
+import com.ecommerce.pricing_api.application.dto.ApplicablePriceResponseDto;
+import com.ecommerce.pricing_api.application.mapper.ApplicablePriceMapper;
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the mapping of a resolved price to its response DTO, done once per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApplicablePriceMapperBenchmark {
+
+    private Optional<ApplicablePrice> price;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        price = Optional.of(BenchmarkFixtures.prices(1).get(0));
+    }
+
+    @Benchmark
+    public Optional<ApplicablePriceResponseDto> toDto() {
+        return ApplicablePriceMapper.toDto(price);
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.pricing_api.benchmark.jmh;
+
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic price data shared by the JMH benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    static final long PRODUCT_ID = 35455L;
+    static final long BRAND_ID = 1L;
+    static final LocalDateTime BASE = LocalDateTime.of(2020, 6, 14, 0, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Builds overlapping prices of one product and brand spread over a year, with up to three priorities.
+     *
+     * @param count the number of prices
+     * @return the prices, the same for the same count
+     */
+    static List<ApplicablePrice> prices(int count) {
+        Random random = new Random(count);
+        List<ApplicablePrice> prices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = BASE.plusHours(random.nextInt(24 * 365));
+            prices.add(ApplicablePrice.of(
+                    PRODUCT_ID,
+                    BRAND_ID,
+                    (long) i + 1,
+                    start,
+                    start.plusHours(1 + random.nextInt(24 * 30)).minusSeconds(1),
+                    BigDecimal.valueOf(1_000 + random.nextInt(9_000), 2),
+                    "EUR",
+                    (long) random.nextInt(3)
+            ));
+        }
+        return prices;
+    }
+
+    /**
+     * Picks application dates spread over the year covered by {@link #prices(int)}.
+     *
+     * @param count the number of dates
+     * @return the dates, the same for the same count
+     */
+    static LocalDateTime[] applicationDates(int count) {
+        Random random = new Random(-count);
+        LocalDateTime[] dates = new LocalDateTime[count];
+        for (int i = 0; i < count; i++) {
+            dates[i] = BASE.plusMinutes(random.nextInt(60 * 24 * 365));
+        }
+        return dates;
+    }
+}
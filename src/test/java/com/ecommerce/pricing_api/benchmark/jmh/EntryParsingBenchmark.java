@@ -0,0 +1,72 @@
+package com.ecommerce.pricing_api.benchmark.jmh;
+
+import com.ecommerce.pricing_api.infrastructure.persistance.h2.model.EntryPricesTable;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of {@link EntryPricesTable} seed entries the way {@code H2Initializer} streams them:
+ * token by token, binding one entry at a time. Scores are per entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntryParsingBenchmark {
+
+    private static final int ENTRIES = 1_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StringBuilder array = new StringBuilder("[");
+        for (int i = 0; i < ENTRIES; i++) {
+            LocalDateTime start = BenchmarkFixtures.BASE.plusHours(i);
+            array.append(i == 0 ? "" : ",")
+                    .append("{\"id\":").append(i + 1)
+                    .append(",\"brandId\":1")
+                    .append(",\"startDate\":\"").append(start)
+                    .append("\",\"endDate\":\"").append(start.plusDays(30).minusSeconds(1))
+                    .append("\",\"priceList\":").append(i % 4 + 1)
+                    .append(",\"productId\":").append(35455 + i % 100)
+                    .append(",\"priority\":").append(i % 3)
+                    .append(",\"price\":").append(10 + i % 90).append(".45")
+                    .append(",\"currency\":\"EUR\"}");
+        }
+        json = array.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRIES)
+    public void parseStreamed(Blackhole blackhole) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                blackhole.consume(objectMapper.readValue(parser, EntryPricesTable.class));
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.ecommerce.pricing_api.benchmark.jmh;
+
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
+import com.ecommerce.pricing_api.application.repository.PricesCacheRepository;
+import com.ecommerce.pricing_api.application.repository.PricesDatabaseRepository;
+import com.ecommerce.pricing_api.application.service.ApplicablePriceService;
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceChange;
+import com.ecommerce.pricing_api.domain.model.PriceEntry;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the selection of the applicable price by {@link ApplicablePriceService} over keys with a growing
+ * number of prices: resolving against a cached timeline, resolving on a cache miss, which builds the timeline
+ * from the database rows, and building the timeline alone. The cache and the database are in-memory stubs
+ * answering synchronously, so only the service and domain code is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriceResolutionBenchmark {
+
+    private static final int DATES = 1024;
+    private static final long MAX_TIMELINE_ROWS = 10_000;
+
+    @Param({"1", "4", "32", "256", "2048"})
+    private int prices;
+
+    private List<ApplicablePrice> rows;
+    private LocalDateTime[] dates;
+    private ApplicablePriceService hitService;
+    private ApplicablePriceService missService;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        rows = BenchmarkFixtures.prices(prices);
+        dates = BenchmarkFixtures.applicationDates(DATES);
+        Mono<CacheLookup> hit = Mono.just(CacheLookup.of(PriceTimeline.of(rows)));
+        hitService = new ApplicablePriceService(new StubDatabase(rows), new StubCache(hit), MAX_TIMELINE_ROWS, new SimpleMeterRegistry());
+        missService = new ApplicablePriceService(new StubDatabase(rows), new StubCache(Mono.just(CacheLookup.miss())),
+                MAX_TIMELINE_ROWS, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public Optional<ApplicablePrice> resolveCachedTimeline() {
+        return hitService.getApplicablePrice(BenchmarkFixtures.PRODUCT_ID, BenchmarkFixtures.BRAND_ID, nextDate()).block();
+    }
+
+    @Benchmark
+    public Optional<ApplicablePrice> resolveOnCacheMiss() {
+        return missService.getApplicablePrice(BenchmarkFixtures.PRODUCT_ID, BenchmarkFixtures.BRAND_ID, nextDate()).block();
+    }
+
+    @Benchmark
+    public PriceTimeline buildTimeline() {
+        return PriceTimeline.of(rows);
+    }
+
+    private LocalDateTime nextDate() {
+        return dates[next++ & (DATES - 1)];
+    }
+
+    /**
+     * Cache answering every lookup with the same result and accepting every write.
+     */
+    private record StubCache(Mono<CacheLookup> lookup) implements PricesCacheRepository {
+
+        @Override
+        public Mono<Void> save(String key, PriceTimeline timeline) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> saveEmpty(String key) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<CacheLookup> lookup(String key) {
+            return lookup;
+        }
+
+        @Override
+        public Mono<Map<String, CacheLookup>> lookupAll(Collection<String> keys) {
+            return Mono.just(Map.of());
+        }
+
+        @Override
+        public Mono<Void> deleteAll(Collection<String> keys) {
+            return Mono.empty();
+        }
+    }
+
+    /**
+     * Database holding the prices of a single key.
+     */
+    private record StubDatabase(List<ApplicablePrice> rows) implements PricesDatabaseRepository {
+
+        @Override
+        public Flux<ApplicablePrice> findAllByProductAndBrand(Long productId, Long brandId) {
+            return Flux.fromIterable(rows);
+        }
+
+        @Override
+        public Flux<ApplicablePrice> findAllByProductAndBrandIn(Collection<PriceKey> keys) {
+            return Flux.fromIterable(rows);
+        }
+
+        @Override
+        public Flux<ApplicablePrice> findAll() {
+            return Flux.fromIterable(rows);
+        }
+
+        @Override
+        public Mono<ApplicablePrice> findApplicable(Long productId, Long brandId, LocalDateTime applicationDate) {
+            return Mono.justOrEmpty(PriceTimeline.of(rows).resolve(applicationDate));
+        }
+
+        @Override
+        public Mono<Map<PriceKey, Long>> countAllByProductAndBrandIn(Collection<PriceKey> keys) {
+            return Mono.just(Map.of(new PriceKey(BenchmarkFixtures.PRODUCT_ID, BenchmarkFixtures.BRAND_ID), (long) rows.size()));
+        }
+
+        @Override
+        public Flux<PriceKey> findKeysByPriceCount(long limit) {
+            return Flux.just(new PriceKey(BenchmarkFixtures.PRODUCT_ID, BenchmarkFixtures.BRAND_ID));
+        }
+
+        @Override
+        public Mono<PriceChange> upsertAll(Collection<PriceEntry> entries) {
+            return Mono.just(PriceChange.none());
+        }
+
+        @Override
+        public Mono<PriceChange> deleteAllById(Collection<Long> ids) {
+            return Mono.just(PriceChange.none());
+        }
+    }
+}
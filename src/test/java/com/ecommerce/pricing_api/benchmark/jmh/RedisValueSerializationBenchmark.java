@@ -0,0 +1,71 @@
+package com.ecommerce.pricing_api.benchmark.jmh;
+
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.config.RedisConfig;
+import com.ecommerce.pricing_api.infrastructure.config.RedisProperties;
+import com.ecommerce.pricing_api.infrastructure.config.RedisProperties.ValueFormat;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer.CachedPriceTimeline;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoding and decoding of cached timelines by the value serializer of the template built by
+ * {@link RedisConfig}, in each value format. The template is built with an unstarted connection factory,
+ * so no Redis server is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisValueSerializationBenchmark {
+
+    @Param({"JSON", "BINARY"})
+    private ValueFormat format;
+
+    @Param({"1", "32", "256"})
+    private int prices;
+
+    private SerializationPair<CachedPriceTimeline> values;
+    private CachedPriceTimeline timeline;
+    private ByteBuffer encoded;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setValueFormat(format);
+        values = new RedisConfig()
+                .reactiveRedisTemplate(new LettuceConnectionFactory(), new ObjectMapper(), redisProperties)
+                .getSerializationContext()
+                .getValueSerializationPair();
+        timeline = CachedPriceTimeline.of(PriceTimeline.of(BenchmarkFixtures.prices(prices)), System.currentTimeMillis());
+        encoded = values.write(timeline);
+    }
+
+    @Benchmark
+    public ByteBuffer serialize() {
+        return values.write(timeline);
+    }
+
+    @Benchmark
+    public CachedPriceTimeline deserialize() {
+        return values.read(encoded.duplicate());
+    }
+}
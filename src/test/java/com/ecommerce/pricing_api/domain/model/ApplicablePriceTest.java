@@ -0,0 +1,98 @@
+package com.ecommerce.pricing_api.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ApplicablePrice Unit Tests")
+class ApplicablePriceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2020, 6, 14, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2020, 12, 31, 23, 59, 59, 999_999_999);
+
+    @Nested
+    @DisplayName("Building from values")
+    class Building {
+
+        @Test
+        @DisplayName("Should keep every available field exactly")
+        void shouldKeepAvailableFields() {
+            ApplicablePrice price = ApplicablePrice.of(35455L, 1L, 2L, START, END, new BigDecimal("35.50"), "EUR", 1L);
+
+            assertThat(price.has(ApplicablePrice.ALL)).isTrue();
+            assertThat(price.productId()).isEqualTo(35455L);
+            assertThat(price.brandId()).isEqualTo(1L);
+            assertThat(price.priceList()).isEqualTo(2L);
+            assertThat(price.startDate()).isEqualTo(START);
+            assertThat(price.endDate()).isEqualTo(END);
+            assertThat(price.priceUnits()).isEqualTo(3550L);
+            assertThat(price.priceScale()).isEqualTo(2);
+            assertThat(price.price()).isEqualTo(new BigDecimal("35.50"));
+            assertThat(price.currency()).isEqualTo("EUR");
+            assertThat(price.priority()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("Should mark null values as unavailable")
+        void shouldMarkNullsAsUnavailable() {
+            ApplicablePrice price = ApplicablePrice.of(35455L, null, null, START, null, null, null, null);
+
+            assertThat(price.presence()).isEqualTo(ApplicablePrice.PRODUCT_ID | ApplicablePrice.START_DATE);
+            assertThat(price.has(ApplicablePrice.PRODUCT_ID | ApplicablePrice.START_DATE)).isTrue();
+            assertThat(price.has(ApplicablePrice.START_DATE | ApplicablePrice.END_DATE)).isFalse();
+            assertThat(price.endDate()).isNull();
+            assertThat(price.price()).isNull();
+            assertThat(price.currency()).isNull();
+            assertThat(price.priority()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should keep the extreme dates")
+        void shouldKeepExtremeDates() {
+            ApplicablePrice price = ApplicablePrice.of(1L, 1L, 1L, LocalDateTime.MIN, LocalDateTime.MAX,
+                    BigDecimal.ONE, "EUR", 0L);
+
+            assertThat(price.startDate()).isEqualTo(LocalDateTime.MIN);
+            assertThat(price.endDate()).isEqualTo(LocalDateTime.MAX);
+        }
+
+        @Test
+        @DisplayName("Should reject amounts that do not fit a long of minor units")
+        void shouldRejectHugeAmounts() {
+            BigDecimal huge = new BigDecimal("123456789012345678901234567890");
+
+            assertThatThrownBy(() -> ApplicablePrice.of(1L, 1L, 1L, START, END, huge, "EUR", 0L))
+                    .isInstanceOf(ArithmeticException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Normalization")
+    class Normalization {
+
+        @Test
+        @DisplayName("Should zero the fields that are not flagged as available")
+        void shouldZeroUnavailableFields() {
+            ApplicablePrice price = new ApplicablePrice(7L, 8L, 9L, 10L, 11, 12L, 13, 14L, 2, "EUR", 15L,
+                    ApplicablePrice.BRAND_ID);
+
+            assertThat(price).isEqualTo(new ApplicablePrice(0L, 8L, 0L, 0L, 0, 0L, 0, 0L, 0, null, 0L,
+                    ApplicablePrice.BRAND_ID));
+        }
+
+        @Test
+        @DisplayName("Should flag the currency as unavailable when it is null")
+        void shouldClearCurrencyBitForNull() {
+            ApplicablePrice price = new ApplicablePrice(0L, 0L, 0L, 0L, 0, 0L, 0, 0L, 0, null, 0L, ApplicablePrice.ALL);
+
+            assertThat(price.has(ApplicablePrice.CURRENCY)).isFalse();
+            assertThat(price.has(ApplicablePrice.PRIORITY)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.ecommerce.pricing_api.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PriceTimeline Unit Tests")
+class PriceTimelineTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2020, 6, 14, 0, 0);
+
+    private static ApplicablePrice buildPrice(Long priceList, Long priority, LocalDateTime start, LocalDateTime end) {
+        return ApplicablePrice.of(
+                35455L,
+                1L,
+                priceList,
+                start,
+                end,
+                BigDecimal.valueOf(priceList == null ? 0 : priceList * 10),
+                "EUR",
+                priority
+        );
+    }
+
+    /**
+     * Reference implementation: the original filter/reduce selection of {@code ApplicablePriceService}.
+     */
+    private static Optional<ApplicablePrice> filterAndReduce(List<ApplicablePrice> prices, LocalDateTime applicationDate) {
+        return prices.stream()
+                .filter(p ->
+                        p.has(ApplicablePrice.START_DATE | ApplicablePrice.END_DATE) &&
+                                !applicationDate.isBefore(p.startDate()) &&
+                                !applicationDate.isAfter(p.endDate())
+                )
+                .reduce((p1, p2) ->
+                        p1.priority() >= p2.priority() ? p1 : p2
+                );
+    }
+
+    @Nested
+    @DisplayName("Building the timeline")
+    class Building {
+
+        @Test
+        @DisplayName("Should have no segments when there are no prices")
+        void shouldHaveNoSegmentsForEmptyList() {
+            PriceTimeline timeline = PriceTimeline.of(List.of());
+
+            assertThat(timeline.segments()).isEmpty();
+            assertThat(timeline.resolve(BASE)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should ignore prices with missing or inverted dates")
+        void shouldIgnoreInvalidIntervals() {
+            PriceTimeline timeline = PriceTimeline.of(List.of(
+                    buildPrice(1L, 0L, null, BASE.plusDays(1)),
+                    buildPrice(2L, 0L, BASE, null),
+                    buildPrice(3L, 0L, BASE.plusDays(1), BASE)
+            ));
+
+            assertThat(timeline.segments()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should flatten overlapping prices into non-overlapping segments")
+        void shouldFlattenOverlappingPrices() {
+            ApplicablePrice base = buildPrice(1L, 0L, BASE, BASE.plusDays(10));
+            ApplicablePrice promo = buildPrice(2L, 1L, BASE.plusDays(2), BASE.plusDays(4));
+
+            PriceTimeline timeline = PriceTimeline.of(List.of(base, promo));
+
+            assertThat(timeline.segments())
+                    .extracting(PriceSegment::start)
+                    .containsExactly(
+                            BASE,
+                            BASE.plusDays(2),
+                            BASE.plusDays(4).plusNanos(1),
+                            BASE.plusDays(10).plusNanos(1)
+                    );
+            assertThat(timeline.segments())
+                    .extracting(PriceSegment::price)
+                    .containsExactly(Optional.of(base), Optional.of(promo), Optional.of(base), Optional.empty());
+        }
+
+        @Test
+        @DisplayName("Should merge adjacent slices won by the same price")
+        void shouldMergeSlicesWithSameWinner() {
+            ApplicablePrice top = buildPrice(1L, 5L, BASE, BASE.plusDays(10));
+            ApplicablePrice hidden = buildPrice(2L, 1L, BASE.plusDays(2), BASE.plusDays(4));
+
+            PriceTimeline timeline = PriceTimeline.of(List.of(hidden, top));
+
+            assertThat(timeline.segments()).hasSize(2);
+            assertThat(timeline.segments().get(0)).isEqualTo(new PriceSegment(BASE, Optional.of(top)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Resolving a date")
+    class Resolving {
+
+        private final ApplicablePrice first = buildPrice(1L, 0L, BASE, BASE.plusDays(1));
+        private final ApplicablePrice second = buildPrice(2L, 1L, BASE.plusHours(15), BASE.plusHours(18).plusMinutes(30));
+        private final PriceTimeline timeline = PriceTimeline.of(List.of(first, second));
+
+        @Test
+        @DisplayName("Should treat start and end dates as inclusive")
+        void shouldTreatBoundsAsInclusive() {
+            assertThat(timeline.resolve(BASE)).contains(first);
+            assertThat(timeline.resolve(BASE.plusHours(15))).contains(second);
+            assertThat(timeline.resolve(BASE.plusHours(18).plusMinutes(30))).contains(second);
+            assertThat(timeline.resolve(BASE.plusDays(1))).contains(first);
+        }
+
+        @Test
+        @DisplayName("Should return empty outside every price interval")
+        void shouldReturnEmptyOutsideIntervals() {
+            assertThat(timeline.resolve(BASE.minusNanos(1))).isEmpty();
+            assertThat(timeline.resolve(BASE.plusDays(1).plusNanos(1))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should keep the first entry on equal priorities")
+        void shouldKeepFirstEntryOnTies() {
+            ApplicablePrice a = buildPrice(1L, 3L, BASE, BASE.plusDays(1));
+            ApplicablePrice b = buildPrice(2L, 3L, BASE, BASE.plusDays(1));
+
+            assertThat(PriceTimeline.of(List.of(a, b)).resolve(BASE.plusHours(1))).contains(a);
+            assertThat(PriceTimeline.of(List.of(b, a)).resolve(BASE.plusHours(1))).contains(b);
+        }
+
+        @Test
+        @DisplayName("Should treat missing priorities as zero")
+        void shouldTreatMissingPriorityAsZero() {
+            ApplicablePrice noPriority = buildPrice(1L, null, BASE, BASE.plusDays(1));
+            ApplicablePrice negative = buildPrice(2L, -1L, BASE, BASE.plusDays(1));
+
+            assertThat(PriceTimeline.of(List.of(negative, noPriority)).resolve(BASE)).contains(noPriority);
+        }
+
+        @Test
+        @DisplayName("Should support prices open until the end of time")
+        void shouldSupportMaxEndDate() {
+            ApplicablePrice forever = buildPrice(1L, 0L, BASE, LocalDateTime.MAX);
+
+            assertThat(PriceTimeline.of(List.of(forever)).resolve(LocalDateTime.MAX)).contains(forever);
+        }
+    }
+
+    @Nested
+    @DisplayName("Resolving with the next change")
+    class ResolvingWithNextChange {
+
+        private final ApplicablePrice first = buildPrice(1L, 0L, BASE, BASE.plusDays(1));
+        private final ApplicablePrice second = buildPrice(2L, 1L, BASE.plusHours(15), BASE.plusHours(18).plusMinutes(30));
+        private final PriceTimeline timeline = PriceTimeline.of(List.of(first, second));
+
+        @Test
+        @DisplayName("Should report the start of the next segment")
+        void shouldReportNextSegmentStart() {
+            assertThat(timeline.resolveWithNextChange(BASE.plusHours(10)))
+                    .isEqualTo(new ResolvedPrice(Optional.of(first), Optional.of(BASE.plusHours(15))));
+            assertThat(timeline.resolveWithNextChange(BASE.plusHours(16)))
+                    .isEqualTo(new ResolvedPrice(Optional.of(second), Optional.of(BASE.plusHours(18).plusMinutes(30).plusNanos(1))));
+            assertThat(timeline.resolveWithNextChange(BASE.minusDays(1)))
+                    .isEqualTo(new ResolvedPrice(Optional.empty(), Optional.of(BASE)));
+        }
+
+        @Test
+        @DisplayName("Should hold indefinitely after the last segment")
+        void shouldHoldAfterLastSegment() {
+            assertThat(timeline.resolveWithNextChange(BASE.plusDays(2)))
+                    .isEqualTo(new ResolvedPrice(Optional.empty(), Optional.empty()));
+            assertThat(PriceTimeline.empty().resolveWithNextChange(BASE))
+                    .isEqualTo(new ResolvedPrice(Optional.empty(), Optional.empty()));
+        }
+
+        @Test
+        @DisplayName("Should bound a single-segment window by the end of its price")
+        void shouldBoundWindowByPriceEnd() {
+            PriceTimeline window = new PriceTimeline(List.of(new PriceSegment(BASE.plusHours(16), Optional.of(second))));
+            ApplicablePrice forever = buildPrice(3L, 0L, BASE, LocalDateTime.MAX);
+            PriceTimeline openWindow = new PriceTimeline(List.of(new PriceSegment(BASE, Optional.of(forever))));
+
+            assertThat(window.resolveWithNextChange(BASE.plusHours(16)).nextChange())
+                    .contains(BASE.plusHours(18).plusMinutes(30).plusNanos(1));
+            assertThat(openWindow.resolveWithNextChange(BASE).nextChange()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Equivalence with filter/reduce selection")
+    class Equivalence {
+
+        static LongStream seeds() {
+            return LongStream.range(0, 200);
+        }
+
+        @ParameterizedTest(name = "seed {0}")
+        @MethodSource("seeds")
+        @DisplayName("Should resolve the same price as filter/reduce for random price lists")
+        void shouldMatchFilterAndReduce(long seed) {
+            Random random = new Random(seed);
+            List<ApplicablePrice> prices = new ArrayList<>();
+            int size = random.nextInt(25);
+            for (int i = 0; i < size; i++) {
+                LocalDateTime start = random.nextInt(20) == 0 ? null : BASE.plusMinutes(random.nextInt(500));
+                LocalDateTime end = random.nextInt(20) == 0 ? null : BASE.plusMinutes(random.nextInt(500));
+                Long priority = random.nextInt(10) == 0 ? null : (long) random.nextInt(4) - 1;
+                prices.add(buildPrice((long) i, priority, start, end));
+            }
+
+            PriceTimeline timeline = PriceTimeline.of(prices);
+
+            for (int minute = -5; minute <= 505; minute++) {
+                for (LocalDateTime probe : List.of(
+                        BASE.plusMinutes(minute).minusNanos(1),
+                        BASE.plusMinutes(minute),
+                        BASE.plusMinutes(minute).plusSeconds(30))) {
+                    assertThat(timeline.resolve(probe))
+                            .as("seed %d at %s", seed, probe)
+                            .isEqualTo(filterAndReduce(prices, probe));
+                }
+            }
+        }
+
+        @ParameterizedTest(name = "seed {0}")
+        @MethodSource("seeds")
+        @DisplayName("Should never produce overlapping or unsorted segments")
+        void shouldProduceSortedSegments(long seed) {
+            Random random = new Random(seed);
+            List<ApplicablePrice> prices = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(50); i++) {
+                LocalDateTime start = BASE.plusMinutes(random.nextInt(1_000));
+                prices.add(buildPrice((long) i, (long) random.nextInt(5), start, start.plusMinutes(random.nextInt(300))));
+            }
+
+            List<PriceSegment> segments = PriceTimeline.of(prices).segments();
+
+            for (int i = 1; i < segments.size(); i++) {
+                assertThat(segments.get(i).start()).isAfter(segments.get(i - 1).start());
+                assertThat(segments.get(i).price()).isNotEqualTo(segments.get(i - 1).price());
+            }
+        }
+    }
+}
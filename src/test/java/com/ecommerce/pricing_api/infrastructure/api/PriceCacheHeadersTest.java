@@ -0,0 +1,116 @@
+package com.ecommerce.pricing_api.infrastructure.api;
+
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PriceCacheHeaders Unit Tests")
+class PriceCacheHeadersTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2020, 6, 14, 15, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2020, 6, 14, 18, 30);
+
+    private static ApplicablePrice price(String amount, long priority) {
+        return ApplicablePrice.of(35455L, 1L, 2L, START, END, new BigDecimal(amount), "EUR", priority);
+    }
+
+    @Nested
+    @DisplayName("etag method")
+    class EtagMethod {
+
+        @Test
+        @DisplayName("Should return the same quoted tag for equal prices")
+        void shouldBeStableForEqualPrices() {
+            String etag = PriceCacheHeaders.etag(price("25.45", 1L));
+
+            assertThat(etag).startsWith("\"").endsWith("\"");
+            assertThat(PriceCacheHeaders.etag(price("25.45", 1L))).isEqualTo(etag);
+        }
+
+        @Test
+        @DisplayName("Should change when a field shown in the response changes")
+        void shouldChangeWithShownFields() {
+            String etag = PriceCacheHeaders.etag(price("25.45", 1L));
+
+            assertThat(PriceCacheHeaders.etag(price("25.46", 1L))).isNotEqualTo(etag);
+            assertThat(PriceCacheHeaders.etag(price("25.450", 1L))).isNotEqualTo(etag);
+            assertThat(PriceCacheHeaders.etag(ApplicablePrice.of(35455L, 1L, 3L, START, END,
+                    new BigDecimal("25.45"), "EUR", 1L))).isNotEqualTo(etag);
+            assertThat(PriceCacheHeaders.etag(ApplicablePrice.of(35455L, 1L, 2L, START, END.plusSeconds(1),
+                    new BigDecimal("25.45"), "EUR", 1L))).isNotEqualTo(etag);
+            assertThat(PriceCacheHeaders.etag(ApplicablePrice.of(35455L, 1L, 2L, START, END,
+                    new BigDecimal("25.45"), "USD", 1L))).isNotEqualTo(etag);
+        }
+
+        @Test
+        @DisplayName("Should ignore the priority, which is not shown in the response")
+        void shouldIgnorePriority() {
+            assertThat(PriceCacheHeaders.etag(price("25.45", 3L)))
+                    .isEqualTo(PriceCacheHeaders.etag(price("25.45", 1L)));
+            assertThat(PriceCacheHeaders.etag(ApplicablePrice.of(35455L, 1L, 2L, START, END,
+                    new BigDecimal("25.45"), "EUR", null)))
+                    .isEqualTo(PriceCacheHeaders.etag(price("25.45", 1L)));
+        }
+    }
+
+    @Nested
+    @DisplayName("cacheControl method")
+    class CacheControlMethod {
+
+        @Test
+        @DisplayName("Should use the configured limit when the price does not change sooner")
+        void shouldUseLimit() {
+            assertThat(PriceCacheHeaders.cacheControl(START, Optional.of(END), Duration.ofSeconds(60)).getHeaderValue())
+                    .isEqualTo("max-age=60, public");
+            assertThat(PriceCacheHeaders.cacheControl(START, Optional.empty(), Duration.ofSeconds(60)).getHeaderValue())
+                    .isEqualTo("max-age=60, public");
+        }
+
+        @Test
+        @DisplayName("Should end freshness when the price next changes")
+        void shouldBoundByNextChange() {
+            assertThat(PriceCacheHeaders.cacheControl(END.minusSeconds(10), Optional.of(END.plusNanos(1)),
+                    Duration.ofSeconds(60)).getHeaderValue())
+                    .isEqualTo("max-age=10, public");
+            assertThat(PriceCacheHeaders.cacheControl(END, Optional.of(END.plusNanos(1)),
+                    Duration.ofSeconds(60)).getHeaderValue())
+                    .isEqualTo("max-age=0, public");
+            assertThat(PriceCacheHeaders.cacheControl(END, Optional.of(START), Duration.ofSeconds(60)).getHeaderValue())
+                    .isEqualTo("max-age=0, public");
+        }
+    }
+
+    @Nested
+    @DisplayName("notModified method")
+    class NotModifiedMethod {
+
+        @Test
+        @DisplayName("Should match the tag, weak tags, lists and the wildcard")
+        void shouldMatchTags() {
+            String etag = PriceCacheHeaders.etag(price("25.45", 1L));
+
+            assertThat(PriceCacheHeaders.notModified(etag, etag)).isTrue();
+            assertThat(PriceCacheHeaders.notModified("W/" + etag, etag)).isTrue();
+            assertThat(PriceCacheHeaders.notModified("\"a\", " + etag, etag)).isTrue();
+            assertThat(PriceCacheHeaders.notModified("*", etag)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should not match absent or different tags")
+        void shouldNotMatchOtherTags() {
+            String etag = PriceCacheHeaders.etag(price("25.45", 1L));
+
+            assertThat(PriceCacheHeaders.notModified(null, etag)).isFalse();
+            assertThat(PriceCacheHeaders.notModified(" ", etag)).isFalse();
+            assertThat(PriceCacheHeaders.notModified("\"a\", \"b\"", etag)).isFalse();
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.ecommerce.pricing_api.infrastructure.api;
 
 import com.ecommerce.pricing_api.application.dto.ApplicablePriceResponseDto;
+import com.ecommerce.pricing_api.application.dto.BatchPriceRequestDto;
+import com.ecommerce.pricing_api.application.dto.BatchPriceResponseDto;
+import com.ecommerce.pricing_api.application.dto.ErrorResponseDto;
+import com.ecommerce.pricing_api.application.dto.PriceQueryDto;
 import com.ecommerce.pricing_api.application.usecases.ApplicablePriceUseCase;
 import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.ResolvedPrice;
+import com.ecommerce.pricing_api.infrastructure.config.HttpCacheProperties;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -10,17 +16,22 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 
 @WebFluxTest(controllers = PricesController.class)
+@Import({HttpCacheProperties.class, PriceResponseCache.class})
 class PricesControllerIntegrationTest {
 
     @Autowired
@@ -29,6 +40,9 @@ class PricesControllerIntegrationTest {
     @MockBean
     private ApplicablePriceUseCase applicablePriceUseCase;
 
+    @Autowired
+    private PriceResponseCache priceResponseCache;
+
     private static final String BASE_URL = "/api/v1/prices";
 
     @Nested
@@ -38,19 +52,19 @@ class PricesControllerIntegrationTest {
         @Test
         @DisplayName("Should return 200 OK with price when found")
         void shouldReturnPriceWhenFound() {
-            ApplicablePrice applicablePrice = new ApplicablePrice(
-                    Optional.of(35455L),
-                    Optional.of(1L),
-                    Optional.of(2L),
-                    Optional.of(LocalDateTime.now().minusDays(1)),
-                    Optional.of(LocalDateTime.now().plusDays(1)),
-                    Optional.of(BigDecimal.valueOf(25.50)),
-                    Optional.of("EUR"),
-                    Optional.of(1L)
+            ApplicablePrice applicablePrice = ApplicablePrice.of(
+                    35455L,
+                    1L,
+                    2L,
+                    LocalDateTime.now().minusDays(1),
+                    LocalDateTime.now().plusDays(1),
+                    BigDecimal.valueOf(25.50),
+                    "EUR",
+                    1L
             );
 
-            Mockito.when(applicablePriceUseCase.getApplicablePrice(any(), any(), any()))
-                    .thenReturn(Mono.just(Optional.of(applicablePrice)));
+            Mockito.when(applicablePriceUseCase.resolveApplicablePrice(any(), any(), any()))
+                    .thenReturn(Mono.just(ResolvedPrice.of(Optional.of(applicablePrice))));
 
             webTestClient.get()
                     .uri(uriBuilder -> uriBuilder.path(BASE_URL)
@@ -70,8 +84,8 @@ class PricesControllerIntegrationTest {
         @Test
         @DisplayName("Should return 404 Not Found when no applicable price found")
         void shouldReturnNotFoundWhenNoPriceFound() {
-            Mockito.when(applicablePriceUseCase.getApplicablePrice(any(), any(), any()))
-                    .thenReturn(Mono.just(Optional.empty()));
+            Mockito.when(applicablePriceUseCase.resolveApplicablePrice(any(), any(), any()))
+                    .thenReturn(Mono.just(ResolvedPrice.of(Optional.empty())));
 
             webTestClient.get()
                     .uri(uriBuilder -> uriBuilder.path(BASE_URL)
@@ -80,7 +94,15 @@ class PricesControllerIntegrationTest {
                             .queryParam("brandId", 1)
                             .build())
                     .exchange()
-                    .expectStatus().isEqualTo(HttpStatus.NOT_FOUND);
+                    .expectStatus().isEqualTo(HttpStatus.NOT_FOUND)
+                    .expectBody(ErrorResponseDto.class)
+                    .value(error -> {
+                        assert error.status() == 404;
+                        assert error.error().equals("Not Found");
+                        assert error.message().equals(
+                                "No applicable price found for productId=35455, brandId=1 on date=2020-06-14T18:30");
+                        assert error.timestamp() != null;
+                    });
         }
 
         @Test
@@ -96,15 +118,15 @@ class PricesControllerIntegrationTest {
         @Test
         @DisplayName("Test 1: 14th June 10:00")
         void testAt10On14() {
-            ApplicablePrice applicablePrice = new ApplicablePrice(
-                    Optional.of(35455L), Optional.of(1L), Optional.of(1L),
-                    Optional.of(LocalDateTime.of(2020, 6, 14, 0, 0)),
-                    Optional.of(LocalDateTime.of(2020, 12, 31, 23, 59, 59)),
-                    Optional.of(BigDecimal.valueOf(35.50)), Optional.of("EUR"), Optional.of(0L)
+            ApplicablePrice applicablePrice = ApplicablePrice.of(
+                    35455L, 1L, 1L,
+                    LocalDateTime.of(2020, 6, 14, 0, 0),
+                    LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                    BigDecimal.valueOf(35.50), "EUR", 0L
             );
 
-            Mockito.when(applicablePriceUseCase.getApplicablePrice(any(), any(), any()))
-                    .thenReturn(Mono.just(Optional.of(applicablePrice)));
+            Mockito.when(applicablePriceUseCase.resolveApplicablePrice(any(), any(), any()))
+                    .thenReturn(Mono.just(ResolvedPrice.of(Optional.of(applicablePrice))));
 
             webTestClient.get()
                     .uri(uriBuilder -> uriBuilder.path(BASE_URL)
@@ -128,15 +150,15 @@ class PricesControllerIntegrationTest {
         @Test
         @DisplayName("Test 2: 14th June 16:00")
         void testAt16On14() {
-            ApplicablePrice applicablePrice = new ApplicablePrice(
-                    Optional.of(35455L), Optional.of(1L), Optional.of(2L),
-                    Optional.of(LocalDateTime.of(2020, 6, 14, 15, 0)),
-                    Optional.of(LocalDateTime.of(2020, 6, 14, 18, 30)),
-                    Optional.of(BigDecimal.valueOf(25.45)), Optional.of("EUR"), Optional.of(1L)
+            ApplicablePrice applicablePrice = ApplicablePrice.of(
+                    35455L, 1L, 2L,
+                    LocalDateTime.of(2020, 6, 14, 15, 0),
+                    LocalDateTime.of(2020, 6, 14, 18, 30),
+                    BigDecimal.valueOf(25.45), "EUR", 1L
             );
 
-            Mockito.when(applicablePriceUseCase.getApplicablePrice(any(), any(), any()))
-                    .thenReturn(Mono.just(Optional.of(applicablePrice)));
+            Mockito.when(applicablePriceUseCase.resolveApplicablePrice(any(), any(), any()))
+                    .thenReturn(Mono.just(ResolvedPrice.of(Optional.of(applicablePrice))));
 
             webTestClient.get()
                     .uri(uriBuilder -> uriBuilder.path(BASE_URL)
@@ -160,15 +182,15 @@ class PricesControllerIntegrationTest {
         @Test
         @DisplayName("Test 3: 14th June 21:00")
         void testAt21On14() {
-            ApplicablePrice applicablePrice = new ApplicablePrice(
-                    Optional.of(35455L), Optional.of(1L), Optional.of(1L),
-                    Optional.of(LocalDateTime.of(2020, 6, 14, 0, 0)),
-                    Optional.of(LocalDateTime.of(2020, 12, 31, 23, 59, 59)),
-                    Optional.of(BigDecimal.valueOf(35.50)), Optional.of("EUR"), Optional.of(0L)
+            ApplicablePrice applicablePrice = ApplicablePrice.of(
+                    35455L, 1L, 1L,
+                    LocalDateTime.of(2020, 6, 14, 0, 0),
+                    LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                    BigDecimal.valueOf(35.50), "EUR", 0L
             );
 
-            Mockito.when(applicablePriceUseCase.getApplicablePrice(any(), any(), any()))
-                    .thenReturn(Mono.just(Optional.of(applicablePrice)));
+            Mockito.when(applicablePriceUseCase.resolveApplicablePrice(any(), any(), any()))
+                    .thenReturn(Mono.just(ResolvedPrice.of(Optional.of(applicablePrice))));
 
             webTestClient.get()
                     .uri(uriBuilder -> uriBuilder.path(BASE_URL)
@@ -192,15 +214,15 @@ class PricesControllerIntegrationTest {
         @Test
         @DisplayName("Test 4: 15th June 10:00")
         void testAt10On15() {
-            ApplicablePrice applicablePrice = new ApplicablePrice(
-                    Optional.of(35455L), Optional.of(1L), Optional.of(3L),
-                    Optional.of(LocalDateTime.of(2020, 6, 15, 0, 0)),
-                    Optional.of(LocalDateTime.of(2020, 6, 15, 11, 0)),
-                    Optional.of(BigDecimal.valueOf(30.50)), Optional.of("EUR"), Optional.of(1L)
+            ApplicablePrice applicablePrice = ApplicablePrice.of(
+                    35455L, 1L, 3L,
+                    LocalDateTime.of(2020, 6, 15, 0, 0),
+                    LocalDateTime.of(2020, 6, 15, 11, 0),
+                    BigDecimal.valueOf(30.50), "EUR", 1L
             );
 
-            Mockito.when(applicablePriceUseCase.getApplicablePrice(any(), any(), any()))
-                    .thenReturn(Mono.just(Optional.of(applicablePrice)));
+            Mockito.when(applicablePriceUseCase.resolveApplicablePrice(any(), any(), any()))
+                    .thenReturn(Mono.just(ResolvedPrice.of(Optional.of(applicablePrice))));
 
             webTestClient.get()
                     .uri(uriBuilder -> uriBuilder.path(BASE_URL)
@@ -224,15 +246,15 @@ class PricesControllerIntegrationTest {
         @Test
         @DisplayName("Test 5: 16th June 21:00")
         void testAt21On16() {
-            ApplicablePrice applicablePrice = new ApplicablePrice(
-                    Optional.of(35455L), Optional.of(1L), Optional.of(4L),
-                    Optional.of(LocalDateTime.of(2020, 6, 15, 16, 0)),
-                    Optional.of(LocalDateTime.of(2020, 12, 31, 23, 59, 59)),
-                    Optional.of(BigDecimal.valueOf(38.95)), Optional.of("EUR"), Optional.of(1L)
+            ApplicablePrice applicablePrice = ApplicablePrice.of(
+                    35455L, 1L, 4L,
+                    LocalDateTime.of(2020, 6, 15, 16, 0),
+                    LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                    BigDecimal.valueOf(38.95), "EUR", 1L
             );
 
-            Mockito.when(applicablePriceUseCase.getApplicablePrice(any(), any(), any()))
-                    .thenReturn(Mono.just(Optional.of(applicablePrice)));
+            Mockito.when(applicablePriceUseCase.resolveApplicablePrice(any(), any(), any()))
+                    .thenReturn(Mono.just(ResolvedPrice.of(Optional.of(applicablePrice))));
 
             webTestClient.get()
                     .uri(uriBuilder -> uriBuilder.path(BASE_URL)
@@ -254,4 +276,171 @@ class PricesControllerIntegrationTest {
         }
 
     }
+
+    @Nested
+    @DisplayName("When caching applicable price responses")
+    class HttpCachingTests {
+
+        private final ApplicablePrice applicablePrice = ApplicablePrice.of(
+                35455L, 1L, 2L,
+                LocalDateTime.of(2020, 6, 14, 15, 0),
+                LocalDateTime.of(2020, 6, 14, 18, 30),
+                BigDecimal.valueOf(25.45), "EUR", 1L
+        );
+
+        private WebTestClient.ResponseSpec get(String applicationDate, String ifNoneMatch) {
+            return webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder.path(BASE_URL)
+                            .queryParam("applicationDate", applicationDate)
+                            .queryParam("productId", 35455)
+                            .queryParam("brandId", 1)
+                            .build())
+                    .headers(headers -> {
+                        if (ifNoneMatch != null) {
+                            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+                        }
+                    })
+                    .exchange();
+        }
+
+        @Test
+        @DisplayName("Should return the entity tag and a max-age bounded by the next price change")
+        void shouldReturnValidatorsAndFreshness() {
+            Mockito.when(applicablePriceUseCase.resolveApplicablePrice(any(), any(), any()))
+                    .thenReturn(Mono.just(new ResolvedPrice(Optional.of(applicablePrice),
+                            Optional.of(LocalDateTime.of(2020, 6, 14, 18, 0, 30)))));
+
+            get("2020-06-14T18:00:00", null)
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, PriceCacheHeaders.etag(applicablePrice))
+                    .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=30, public");
+        }
+
+        @Test
+        @DisplayName("Should cap the max-age at the configured limit")
+        void shouldCapMaxAge() {
+            Mockito.when(applicablePriceUseCase.resolveApplicablePrice(any(), any(), any()))
+                    .thenReturn(Mono.just(ResolvedPrice.of(Optional.of(applicablePrice))));
+
+            get("2020-06-14T16:00:00", null)
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=60, public");
+        }
+
+        @Test
+        @DisplayName("Should return 304 Not Modified without a body when the entity tag matches")
+        void shouldReturnNotModifiedWhenTagMatches() {
+            Mockito.when(applicablePriceUseCase.resolveApplicablePrice(any(), any(), any()))
+                    .thenReturn(Mono.just(ResolvedPrice.of(Optional.of(applicablePrice))));
+            String etag = PriceCacheHeaders.etag(applicablePrice);
+
+            get("2020-06-14T16:00:00", "\"other\", W/" + etag)
+                    .expectStatus().isNotModified()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                    .expectBody().isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should serialize the body only for the 200 response, not for the 304")
+        void shouldSerializeOnlyForOk() {
+            ApplicablePrice price = ApplicablePrice.of(
+                    35455L, 1L, 7L,
+                    LocalDateTime.of(2020, 6, 14, 15, 0),
+                    LocalDateTime.of(2020, 6, 14, 18, 30),
+                    BigDecimal.valueOf(17.25), "EUR", 1L
+            );
+            Mockito.when(applicablePriceUseCase.resolveApplicablePrice(any(), any(), any()))
+                    .thenReturn(Mono.just(ResolvedPrice.of(Optional.of(price))));
+            long misses = priceResponseCache.stats().missCount();
+            long hits = priceResponseCache.stats().hitCount();
+            String etag = PriceCacheHeaders.etag(price);
+
+            get("2020-06-14T16:00:00", etag)
+                    .expectStatus().isNotModified()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, etag);
+            assertThat(priceResponseCache.stats().requestCount() - misses - hits).isZero();
+
+            get("2020-06-14T16:00:00", null)
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, etag);
+            get("2020-06-14T16:00:00", etag)
+                    .expectStatus().isNotModified();
+
+            assertThat(priceResponseCache.stats().missCount() - misses).isEqualTo(1);
+            assertThat(priceResponseCache.stats().hitCount() - hits).isZero();
+        }
+
+        @Test
+        @DisplayName("Should return 200 OK when the entity tag is stale")
+        void shouldReturnPriceWhenTagIsStale() {
+            Mockito.when(applicablePriceUseCase.resolveApplicablePrice(any(), any(), any()))
+                    .thenReturn(Mono.just(ResolvedPrice.of(Optional.of(applicablePrice))));
+
+            get("2020-06-14T16:00:00", "\"stale\"")
+                    .expectStatus().isOk()
+                    .expectBody(ApplicablePriceResponseDto.class)
+                    .value(dto -> {
+                        assert dto.priceList().equals(2L);
+                    });
+        }
+    }
+
+    @Nested
+    @DisplayName("When fetching applicable prices in batch")
+    class GetApplicablePricesBatchTests {
+
+        @Test
+        @DisplayName("Should return one result per line, reporting not-found per line")
+        void shouldReturnOneResultPerLine() {
+            ApplicablePrice applicablePrice = ApplicablePrice.of(
+                    35455L, 1L, 1L,
+                    LocalDateTime.of(2020, 6, 14, 0, 0),
+                    LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                    BigDecimal.valueOf(35.50), "EUR", 0L
+            );
+
+            Mockito.when(applicablePriceUseCase.getApplicablePrices(any()))
+                    .thenReturn(Mono.just(List.of(Optional.of(applicablePrice), Optional.empty())));
+
+            BatchPriceRequestDto request = new BatchPriceRequestDto(List.of(
+                    new PriceQueryDto(35455L, 1L, LocalDateTime.of(2020, 6, 14, 10, 0)),
+                    new PriceQueryDto(99999L, 1L, LocalDateTime.of(2020, 6, 14, 10, 0))
+            ));
+
+            webTestClient.post()
+                    .uri(BASE_URL + "/batch")
+                    .bodyValue(request)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(BatchPriceResponseDto.class)
+                    .value(response -> {
+                        assert response.results().size() == 2;
+                        assert response.results().get(0).status() == 200;
+                        assert response.results().get(0).price().priceList().equals(1L);
+                        assert response.results().get(1).status() == 404;
+                        assert response.results().get(1).productId().equals(99999L);
+                        assert response.results().get(1).price() == null;
+                    });
+        }
+
+        @Test
+        @DisplayName("Should return 400 Bad Request when the batch is empty")
+        void shouldReturnBadRequestWhenBatchEmpty() {
+            webTestClient.post()
+                    .uri(BASE_URL + "/batch")
+                    .bodyValue(new BatchPriceRequestDto(List.of()))
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+
+        @Test
+        @DisplayName("Should return 400 Bad Request when a line is missing fields")
+        void shouldReturnBadRequestWhenLineInvalid() {
+            webTestClient.post()
+                    .uri(BASE_URL + "/batch")
+                    .bodyValue(new BatchPriceRequestDto(List.of(new PriceQueryDto(35455L, null, null))))
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+    }
 }
@@ -0,0 +1,208 @@
+package com.ecommerce.pricing_api.infrastructure.api;
+
+import com.ecommerce.pricing_api.application.dto.PriceWriteResponseDto;
+import com.ecommerce.pricing_api.application.usecases.PriceWriteUseCase;
+import com.ecommerce.pricing_api.domain.model.PriceChange;
+import com.ecommerce.pricing_api.domain.model.PriceEntry;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+
+@WebFluxTest(controllers = PriceEntriesController.class)
+class PriceEntriesControllerIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private PriceWriteUseCase priceWriteUseCase;
+
+    private static final String BASE_URL = "/api/v1/prices/entries";
+
+    private static final String ENTRY = """
+            {"id":1,"brandId":1,"startDate":"2020-06-14T00:00:00","endDate":"2020-12-31T23:59:59",\
+            "priceList":1,"productId":35455,"priority":0,"price":35.50,"currency":"EUR"}""";
+
+    private static final String OTHER_ENTRY = """
+            {"id":2,"brandId":1,"startDate":"2020-06-14T15:00:00","endDate":"2020-06-14T18:30:00",\
+            "priceList":2,"productId":35455,"priority":1,"price":25.45,"currency":"EUR"}""";
+
+    private static final PriceChange ONE_KEY_CHANGE = new PriceChange(1, Set.of(new PriceKey(35455L, 1L)));
+
+    @Nested
+    @DisplayName("When upserting a single entry")
+    class UpsertTests {
+
+        @Test
+        @DisplayName("Should return 200 OK with the write summary")
+        @SuppressWarnings("unchecked")
+        void shouldUpsertEntry() {
+            Mockito.when(priceWriteUseCase.upsert(any())).thenReturn(Mono.just(ONE_KEY_CHANGE));
+
+            webTestClient.put()
+                    .uri(BASE_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(ENTRY)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(PriceWriteResponseDto.class)
+                    .isEqualTo(new PriceWriteResponseDto(1, 1));
+
+            ArgumentCaptor<Flux<PriceEntry>> captor = ArgumentCaptor.forClass(Flux.class);
+            Mockito.verify(priceWriteUseCase).upsert(captor.capture());
+            StepVerifier.create(captor.getValue())
+                    .assertNext(entry -> {
+                        assertThat(entry.id()).isEqualTo(1L);
+                        assertThat(entry.key()).isEqualTo(new PriceKey(35455L, 1L));
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should return 400 Bad Request when a field is missing")
+        void shouldRejectMissingField() {
+            webTestClient.put()
+                    .uri(BASE_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(ENTRY.replace("\"currency\":\"EUR\"", "\"currency\":null"))
+                    .exchange()
+                    .expectStatus().isBadRequest();
+
+            Mockito.verifyNoInteractions(priceWriteUseCase);
+        }
+
+        @Test
+        @DisplayName("Should return 400 Bad Request when the entry ends before it starts")
+        void shouldRejectInvertedPeriod() {
+            webTestClient.put()
+                    .uri(BASE_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(ENTRY.replace("2020-12-31T23:59:59", "2020-01-01T00:00:00"))
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .jsonPath("$.message").isEqualTo("startDate must not be after endDate");
+        }
+    }
+
+    @Nested
+    @DisplayName("When deleting a single entry")
+    class DeleteTests {
+
+        @Test
+        @DisplayName("Should return 200 OK when the entry is deleted")
+        void shouldDeleteEntry() {
+            Mockito.when(priceWriteUseCase.delete(any())).thenReturn(Mono.just(ONE_KEY_CHANGE));
+
+            webTestClient.delete()
+                    .uri(BASE_URL + "/1")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(PriceWriteResponseDto.class)
+                    .isEqualTo(new PriceWriteResponseDto(1, 1));
+        }
+
+        @Test
+        @DisplayName("Should return 404 Not Found when the entry does not exist")
+        void shouldReturnNotFoundWhenMissing() {
+            Mockito.when(priceWriteUseCase.delete(any())).thenReturn(Mono.just(PriceChange.none()));
+
+            webTestClient.delete()
+                    .uri(BASE_URL + "/99")
+                    .exchange()
+                    .expectStatus().isEqualTo(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Nested
+    @DisplayName("When writing in bulk")
+    class BulkTests {
+
+        @Test
+        @DisplayName("Should stream newline-delimited entries to the use case")
+        @SuppressWarnings("unchecked")
+        void shouldUpsertNdjson() {
+            ArgumentCaptor<Flux<PriceEntry>> captor = ArgumentCaptor.forClass(Flux.class);
+            Mockito.when(priceWriteUseCase.upsert(captor.capture())).thenAnswer(invocation ->
+                    captor.getValue().count().map(count -> new PriceChange(count, Set.of(new PriceKey(35455L, 1L)))));
+
+            webTestClient.post()
+                    .uri(BASE_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .bodyValue(ENTRY + "\n" + OTHER_ENTRY + "\n")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(PriceWriteResponseDto.class)
+                    .isEqualTo(new PriceWriteResponseDto(2, 1));
+        }
+
+        @Test
+        @DisplayName("Should accept a JSON array of entries")
+        @SuppressWarnings("unchecked")
+        void shouldUpsertJsonArray() {
+            ArgumentCaptor<Flux<PriceEntry>> captor = ArgumentCaptor.forClass(Flux.class);
+            Mockito.when(priceWriteUseCase.upsert(captor.capture())).thenAnswer(invocation ->
+                    captor.getValue().count().map(count -> new PriceChange(count, Set.of())));
+
+            webTestClient.post()
+                    .uri(BASE_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue("[" + ENTRY + "," + OTHER_ENTRY + "]")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(PriceWriteResponseDto.class)
+                    .isEqualTo(new PriceWriteResponseDto(2, 0));
+        }
+
+        @Test
+        @DisplayName("Should return 400 Bad Request when an entry of the stream is invalid")
+        @SuppressWarnings("unchecked")
+        void shouldRejectInvalidEntryInStream() {
+            ArgumentCaptor<Flux<PriceEntry>> captor = ArgumentCaptor.forClass(Flux.class);
+            Mockito.when(priceWriteUseCase.upsert(captor.capture())).thenAnswer(invocation ->
+                    captor.getValue().count().map(count -> new PriceChange(count, Set.of())));
+
+            webTestClient.post()
+                    .uri(BASE_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .bodyValue(ENTRY + "\n" + OTHER_ENTRY.replace("25.45", "-1") + "\n")
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+
+        @Test
+        @DisplayName("Should stream identifiers to delete to the use case")
+        @SuppressWarnings("unchecked")
+        void shouldDeleteInBulk() {
+            ArgumentCaptor<Flux<Long>> captor = ArgumentCaptor.forClass(Flux.class);
+            Mockito.when(priceWriteUseCase.delete(captor.capture())).thenAnswer(invocation ->
+                    captor.getValue().count().map(count -> new PriceChange(count, Set.of(new PriceKey(35455L, 1L)))));
+
+            webTestClient.post()
+                    .uri(BASE_URL + "/bulk-delete")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue("[1,2,3]")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(PriceWriteResponseDto.class)
+                    .isEqualTo(new PriceWriteResponseDto(3, 1));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.ecommerce.pricing_api.infrastructure.api;
+
+import com.ecommerce.pricing_api.application.dto.ApplicablePriceResponseDto;
+import com.ecommerce.pricing_api.application.dto.ErrorResponseDto;
+import com.ecommerce.pricing_api.application.mapper.ApplicablePriceMapper;
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.infrastructure.config.HttpCacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PriceResponseCache Unit Tests")
+class PriceResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final ApplicablePrice price = ApplicablePrice.of(
+            35455L, 1L, 2L,
+            LocalDateTime.of(2020, 6, 14, 15, 0),
+            LocalDateTime.of(2020, 6, 14, 18, 30),
+            new BigDecimal("25.45"), "EUR", 1L
+    );
+
+    private PriceResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PriceResponseCache(objectMapper, new HttpCacheProperties());
+    }
+
+    @Nested
+    @DisplayName("response method")
+    class ResponseMethod {
+
+        @Test
+        @DisplayName("Should write the same JSON as the mapped DTO, with the price entity tag")
+        void shouldSerializeLikeTheDto() throws Exception {
+            PriceResponseCache.PriceResponse response = cache.response(price);
+
+            assertThat(response.body())
+                    .isEqualTo(objectMapper.writeValueAsBytes(ApplicablePriceMapper.toDto(Optional.of(price)).orElseThrow()));
+            assertThat(objectMapper.readValue(response.body(), ApplicablePriceResponseDto.class).price())
+                    .isEqualByComparingTo("25.45");
+            assertThat(response.etag()).isEqualTo(PriceCacheHeaders.etag(price));
+        }
+
+        @Test
+        @DisplayName("Should serialize each price once")
+        void shouldReuseSerializedBodies() {
+            PriceResponseCache.PriceResponse first = cache.response(price);
+            PriceResponseCache.PriceResponse second = cache.response(ApplicablePrice.of(
+                    35455L, 1L, 2L,
+                    LocalDateTime.of(2020, 6, 14, 15, 0),
+                    LocalDateTime.of(2020, 6, 14, 18, 30),
+                    new BigDecimal("25.45"), "EUR", 1L
+            ));
+
+            assertThat(second).isSameAs(first);
+            assertThat(cache.stats().hitCount()).isEqualTo(1);
+            assertThat(cache.stats().missCount()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("notFound method")
+    class NotFoundMethod {
+
+        @Test
+        @DisplayName("Should build an error body describing the request")
+        void shouldBuildErrorBody() throws Exception {
+            LocalDateTime before = LocalDateTime.now();
+
+            ErrorResponseDto error = objectMapper.readValue(
+                    cache.notFound(35455L, 1L, LocalDateTime.of(2020, 6, 14, 18, 30)), ErrorResponseDto.class);
+
+            assertThat(error.status()).isEqualTo(404);
+            assertThat(error.error()).isEqualTo("Not Found");
+            assertThat(error.message())
+                    .isEqualTo("No applicable price found for productId=35455, brandId=1 on date=2020-06-14T18:30");
+            assertThat(error.timestamp()).isAfterOrEqualTo(before);
+        }
+
+        @Test
+        @DisplayName("Should write the same JSON as the serialized error, timestamp aside")
+        void shouldSpliceLikeTheMapper() throws Exception {
+            LocalDateTime applicationDate = LocalDateTime.of(2020, 6, 14, 18, 30);
+            byte[] body = cache.notFound(35455L, 1L, applicationDate);
+            ErrorResponseDto error = objectMapper.readValue(body, ErrorResponseDto.class);
+
+            assertThat(body).isEqualTo(objectMapper.writeValueAsBytes(new ErrorResponseDto(
+                    404, "Not Found", error.message(), error.timestamp())));
+        }
+
+        @Test
+        @DisplayName("Should serialize the whole error when the mapper writes dates as timestamps")
+        void shouldFallBackToMapper() throws Exception {
+            ObjectMapper timestamps = new ObjectMapper().registerModule(new JavaTimeModule());
+            PriceResponseCache fallback = new PriceResponseCache(timestamps, new HttpCacheProperties());
+
+            ErrorResponseDto error = timestamps.readValue(
+                    fallback.notFound(35455L, 1L, LocalDateTime.of(2020, 6, 14, 18, 30)), ErrorResponseDto.class);
+
+            assertThat(error.status()).isEqualTo(404);
+            assertThat(error.message())
+                    .isEqualTo("No applicable price found for productId=35455, brandId=1 on date=2020-06-14T18:30");
+        }
+    }
+}
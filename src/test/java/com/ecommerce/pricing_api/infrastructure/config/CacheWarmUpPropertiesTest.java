@@ -0,0 +1,86 @@
+package com.ecommerce.pricing_api.infrastructure.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for CacheWarmUpProperties")
+class CacheWarmUpPropertiesTest {
+
+    @Nested
+    @DisplayName("POJO tests")
+    class PojoTests {
+        @Test
+        @DisplayName("default values before setting")
+        void defaults() {
+            CacheWarmUpProperties props = new CacheWarmUpProperties();
+            assertFalse(props.isEnabled());
+            assertEquals(0L, props.getMaxKeys());
+            assertEquals(100, props.getBatchSize());
+            assertEquals(2, props.getConcurrency());
+            assertEquals(0L, props.getKeysPerSecond());
+            assertFalse(props.isWaitBeforeReady());
+        }
+
+        @Test
+        @DisplayName("setters and getters work correctly")
+        void gettersAndSetters() {
+            CacheWarmUpProperties props = new CacheWarmUpProperties();
+            props.setEnabled(true);
+            props.setMaxKeys(5_000L);
+            props.setBatchSize(250);
+            props.setConcurrency(4);
+            props.setKeysPerSecond(2_000L);
+            props.setWaitBeforeReady(true);
+
+            assertTrue(props.isEnabled());
+            assertEquals(5_000L, props.getMaxKeys());
+            assertEquals(250, props.getBatchSize());
+            assertEquals(4, props.getConcurrency());
+            assertEquals(2_000L, props.getKeysPerSecond());
+            assertTrue(props.isWaitBeforeReady());
+        }
+    }
+
+    @Nested
+    @DisplayName("Spring binding tests")
+    class BindingTests {
+        @EnableConfigurationProperties(CacheWarmUpProperties.class)
+        static class TestConfig {}
+
+        private final ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withUserConfiguration(TestConfig.class);
+
+        @Test
+        @DisplayName("Should bind properties from pricing.warm-up.*")
+        void bindsFromProperties() {
+            runner
+                    .withPropertyValues(
+                            "pricing.warm-up.enabled=true",
+                            "pricing.warm-up.max-keys=10000",
+                            "pricing.warm-up.batch-size=200",
+                            "pricing.warm-up.concurrency=3",
+                            "pricing.warm-up.keys-per-second=5000",
+                            "pricing.warm-up.wait-before-ready=true"
+                    )
+                    .run(ctx -> {
+                        assertThat(ctx).hasSingleBean(CacheWarmUpProperties.class);
+                        CacheWarmUpProperties props = ctx.getBean(CacheWarmUpProperties.class);
+
+                        assertThat(props.isEnabled()).isTrue();
+                        assertThat(props.getMaxKeys()).isEqualTo(10_000L);
+                        assertThat(props.getBatchSize()).isEqualTo(200);
+                        assertThat(props.getConcurrency()).isEqualTo(3);
+                        assertThat(props.getKeysPerSecond()).isEqualTo(5_000L);
+                        assertThat(props.isWaitBeforeReady()).isTrue();
+                    });
+        }
+    }
+}
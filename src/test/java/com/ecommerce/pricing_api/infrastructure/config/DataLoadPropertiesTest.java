@@ -0,0 +1,64 @@
+package com.ecommerce.pricing_api.infrastructure.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Tests for DataLoadProperties")
+class DataLoadPropertiesTest {
+
+    @Nested
+    @DisplayName("POJO tests")
+    class PojoTests {
+        @Test
+        @DisplayName("default values before setting")
+        void defaults() {
+            DataLoadProperties props = new DataLoadProperties();
+            assertEquals(500, props.getBatchSize());
+            assertEquals(4, props.getConcurrency());
+        }
+
+        @Test
+        @DisplayName("setters and getters work correctly")
+        void gettersAndSetters() {
+            DataLoadProperties props = new DataLoadProperties();
+            props.setBatchSize(1_000);
+            props.setConcurrency(8);
+
+            assertEquals(1_000, props.getBatchSize());
+            assertEquals(8, props.getConcurrency());
+        }
+    }
+
+    @Nested
+    @DisplayName("Spring binding tests")
+    class BindingTests {
+        @EnableConfigurationProperties(DataLoadProperties.class)
+        static class TestConfig {}
+
+        private final ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withUserConfiguration(TestConfig.class);
+
+        @Test
+        @DisplayName("Should bind properties from pricing.data-load.*")
+        void bindsFromProperties() {
+            runner
+                    .withPropertyValues(
+                            "pricing.data-load.batch-size=250",
+                            "pricing.data-load.concurrency=2"
+                    )
+                    .run(ctx -> {
+                        assertThat(ctx).hasSingleBean(DataLoadProperties.class);
+                        DataLoadProperties props = ctx.getBean(DataLoadProperties.class);
+
+                        assertThat(props.getBatchSize()).isEqualTo(250);
+                        assertThat(props.getConcurrency()).isEqualTo(2);
+                    });
+        }
+    }
+}
@@ -3,18 +3,39 @@ package com.ecommerce.pricing_api.infrastructure.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer.CachedPriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer.PriceTimelineBinaryCodec;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.resource.ClientResources;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisNode;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.*;
 
 class RedisConfigTest {
 
     private final RedisConfig redisConfig = new RedisConfig();
+    private final ClientResources clientResources = mock(ClientResources.class);
 
     @Test
     @DisplayName("Should create a reactive Redis connection factory")
@@ -23,22 +44,171 @@ class RedisConfigTest {
         redisProperties.setHost("localhost");
         redisProperties.setPort(6379);
 
-        var factory = redisConfig.reactiveRedisConnectionFactory(redisProperties);
+        var factory = redisConfig.reactiveRedisConnectionFactory(redisProperties, clientResources);
 
         assertThat(factory).isNotNull();
     }
 
+    @Test
+    @DisplayName("Should apply the configured timeout to every Redis command")
+    void shouldApplyCommandTimeout() {
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setHost("localhost");
+        redisProperties.setPort(6379);
+        redisProperties.setTimeout(250L);
+
+        var factory = (LettuceConnectionFactory) redisConfig.reactiveRedisConnectionFactory(redisProperties, clientResources);
+
+        assertThat(factory.getClientConfiguration().getCommandTimeout()).isEqualTo(Duration.ofMillis(250));
+    }
+
+    @Test
+    @DisplayName("Should connect to the Sentinels of the configured master")
+    void shouldConfigureSentinelTopology() {
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setTopology(RedisProperties.Topology.SENTINEL);
+        redisProperties.setSentinelMaster("pricing");
+        redisProperties.setNodes(List.of("sentinel-1:26379", "sentinel-2:26379"));
+
+        var factory = (LettuceConnectionFactory) redisConfig.reactiveRedisConnectionFactory(redisProperties, clientResources);
+
+        RedisSentinelConfiguration sentinel = factory.getSentinelConfiguration();
+        assertThat(sentinel).isNotNull();
+        assertThat(sentinel.getMaster().getName()).isEqualTo("pricing");
+        assertThat(sentinel.getSentinels())
+                .extracting(RedisNode::getHost, RedisNode::getPort)
+                .containsExactlyInAnyOrder(tuple("sentinel-1", 26379), tuple("sentinel-2", 26379));
+    }
+
+    @Test
+    @DisplayName("Should connect to a cluster through its seed nodes, refreshing its topology")
+    void shouldConfigureClusterTopology() {
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setTopology(RedisProperties.Topology.CLUSTER);
+        redisProperties.setNodes(List.of("redis-1:6379", "redis-2:6379", "redis-3:6379"));
+        redisProperties.setClusterMaxRedirects(5);
+        redisProperties.setClusterRefreshPeriodMillis(10_000);
+
+        var factory = (LettuceConnectionFactory) redisConfig.reactiveRedisConnectionFactory(redisProperties, clientResources);
+
+        RedisClusterConfiguration cluster = factory.getClusterConfiguration();
+        assertThat(cluster).isNotNull();
+        assertThat(cluster.getClusterNodes()).hasSize(3);
+        assertThat(cluster.getMaxRedirects()).isEqualTo(5);
+        assertThat(factory.getClientConfiguration().getClientOptions()).get()
+                .isInstanceOfSatisfying(ClusterClientOptions.class, options -> {
+                    assertThat(options.getMaxRedirects()).isEqualTo(5);
+                    assertThat(options.getTopologyRefreshOptions().isPeriodicRefreshEnabled()).isTrue();
+                    assertThat(options.getTopologyRefreshOptions().getRefreshPeriod()).isEqualTo(Duration.ofSeconds(10));
+                    assertThat(options.getTopologyRefreshOptions().getAdaptiveRefreshTriggers()).isNotEmpty();
+                });
+    }
+
+    @Test
+    @DisplayName("Should refuse a Sentinel or cluster topology without nodes")
+    void shouldRequireNodes() {
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setTopology(RedisProperties.Topology.CLUSTER);
+
+        assertThatThrownBy(() -> redisConfig.reactiveRedisConnectionFactory(redisProperties, clientResources))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("spring.redis.nodes");
+    }
+
+    @Test
+    @DisplayName("Should apply the read preference and socket options")
+    void shouldApplyClientOptions() {
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setHost("localhost");
+        redisProperties.setPort(6379);
+        redisProperties.setReadFrom(RedisProperties.ReadPreference.REPLICA_PREFERRED);
+        redisProperties.setConnectTimeoutMillis(500);
+        redisProperties.setTcpNoDelay(false);
+
+        var factory = (LettuceConnectionFactory) redisConfig.reactiveRedisConnectionFactory(redisProperties, clientResources);
+
+        var client = factory.getClientConfiguration();
+        assertThat(client.getReadFrom()).contains(ReadFrom.REPLICA_PREFERRED);
+        assertThat(client.getClientResources()).contains(clientResources);
+        SocketOptions socket = client.getClientOptions().orElseThrow().getSocketOptions();
+        assertThat(socket.getConnectTimeout()).isEqualTo(Duration.ofMillis(500));
+        assertThat(socket.isTcpNoDelay()).isFalse();
+        assertThat(socket.isKeepAlive()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep every command on the master by default")
+    void shouldReadFromMasterByDefault() {
+        assertThat(RedisConfig.readFrom(RedisProperties.ReadPreference.PRIMARY)).isEmpty();
+        assertThat(RedisConfig.readFrom(RedisProperties.ReadPreference.LOWEST_LATENCY)).contains(ReadFrom.LOWEST_LATENCY);
+    }
+
+    @Test
+    @DisplayName("Should size the Lettuce thread pools")
+    void shouldSizeThreadPools() {
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setIoThreads(2);
+        redisProperties.setComputationThreads(3);
+
+        ClientResources resources = redisConfig.lettuceClientResources(redisProperties);
+        try {
+            assertThat(resources.ioThreadPoolSize()).isEqualTo(2);
+            assertThat(resources.computationThreadPoolSize()).isEqualTo(3);
+        } finally {
+            resources.shutdown();
+        }
+    }
+
     @Test
     @DisplayName("Should create a configured ReactiveRedisTemplate")
     void shouldCreateReactiveRedisTemplate() {
         ReactiveRedisConnectionFactory mockFactory = mock(ReactiveRedisConnectionFactory.class);
         ObjectMapper spyMapper = Mockito.spy(new ObjectMapper());
 
-        var template = redisConfig.reactiveRedisTemplate(mockFactory, spyMapper);
+        var template = redisConfig.reactiveRedisTemplate(mockFactory, spyMapper, new RedisProperties());
 
         assertThat(template).isInstanceOf(ReactiveRedisTemplate.class);
 
         verify(spyMapper, atLeastOnce()).registerModule(any(JavaTimeModule.class));
         verify(spyMapper, atLeastOnce()).registerModule(any(Jdk8Module.class));
     }
+
+    @Test
+    @DisplayName("Should write cached values in the configured format")
+    void shouldWriteConfiguredValueFormat() {
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setValueFormat(RedisProperties.ValueFormat.BINARY);
+        PriceTimeline timeline = PriceTimeline.of(List.of(ApplicablePrice.of(
+                35455L, 1L, 1L,
+                LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                new BigDecimal("35.50"), "EUR", 0L
+        )));
+
+        var template = redisConfig.reactiveRedisTemplate(mock(ReactiveRedisConnectionFactory.class), new ObjectMapper(), redisProperties);
+        var valuePair = template.getSerializationContext().getValueSerializationPair();
+        CachedPriceTimeline value = CachedPriceTimeline.of(timeline, 1_600_000_000_000L);
+        ByteBuffer written = valuePair.write(value);
+
+        assertThat(written.get(0)).isEqualTo(PriceTimelineBinaryCodec.EXPIRING_VERSION);
+        assertThat(valuePair.read(written)).isEqualTo(value);
+    }
+
+    @Test
+    @DisplayName("Should create a segment template passing values through as raw bytes")
+    void shouldCreateSegmentRedisTemplate() {
+        var template = redisConfig.segmentRedisTemplate(mock(ReactiveRedisConnectionFactory.class));
+        var valuePair = template.getSerializationContext().getValueSerializationPair();
+        byte[] member = {0, 1, 2, (byte) 0xFF};
+
+        assertThat(valuePair.read(valuePair.write(member))).containsExactly(member);
+    }
+
+    @Test
+    @DisplayName("Should create a string template for publishing cache invalidations")
+    void shouldCreateReactiveStringRedisTemplate() {
+        var template = redisConfig.reactiveStringRedisTemplate(mock(ReactiveRedisConnectionFactory.class));
+        var valuePair = template.getSerializationContext().getValueSerializationPair();
+
+        assertThat(valuePair.read(valuePair.write("key:35455:1"))).isEqualTo("key:35455:1");
+    }
 }
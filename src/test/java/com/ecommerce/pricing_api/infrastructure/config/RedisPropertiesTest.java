@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -23,6 +25,26 @@ class RedisPropertiesTest {
             assertEquals(0, props.getPort());
             assertEquals(0L, props.getTimeout());
             assertEquals(0L, props.getTtlSeconds());
+            assertEquals(0L, props.getNegativeTtlSeconds());
+            assertEquals(0L, props.getStaleSeconds());
+            assertEquals(0, props.getTtlJitterPercent());
+            assertEquals(0L, props.getNearCacheMaxEntries());
+            assertEquals(0L, props.getNearCacheTtlSeconds());
+            assertEquals(RedisProperties.ValueFormat.JSON, props.getValueFormat());
+            assertEquals(RedisProperties.Layout.VALUE, props.getLayout());
+            assertEquals("pricing:invalidation", props.getInvalidationChannel());
+            assertEquals(5, props.getCircuitBreakerFailureThreshold());
+            assertEquals(5_000L, props.getCircuitBreakerOpenMillis());
+            assertEquals(RedisProperties.Topology.STANDALONE, props.getTopology());
+            assertTrue(props.getNodes().isEmpty());
+            assertNull(props.getSentinelMaster());
+            assertEquals(3, props.getClusterMaxRedirects());
+            assertEquals(30_000L, props.getClusterRefreshPeriodMillis());
+            assertEquals(RedisProperties.ReadPreference.PRIMARY, props.getReadFrom());
+            assertEquals(0, props.getIoThreads());
+            assertEquals(0, props.getComputationThreads());
+            assertEquals(0L, props.getConnectTimeoutMillis());
+            assertTrue(props.isTcpNoDelay());
         }
 
         @Test
@@ -33,11 +55,51 @@ class RedisPropertiesTest {
             props.setPort(6380);
             props.setTimeout(5_000L);
             props.setTtlSeconds(120L);
+            props.setNegativeTtlSeconds(10L);
+            props.setStaleSeconds(60L);
+            props.setTtlJitterPercent(10);
+            props.setNearCacheMaxEntries(1_000L);
+            props.setNearCacheTtlSeconds(15L);
+            props.setValueFormat(RedisProperties.ValueFormat.BINARY);
+            props.setLayout(RedisProperties.Layout.SORTED_SET);
+            props.setInvalidationChannel("prices:evictions");
+            props.setCircuitBreakerFailureThreshold(3);
+            props.setCircuitBreakerOpenMillis(1_000L);
+            props.setTopology(RedisProperties.Topology.SENTINEL);
+            props.setNodes(List.of("sentinel:26379"));
+            props.setSentinelMaster("pricing");
+            props.setClusterMaxRedirects(5);
+            props.setClusterRefreshPeriodMillis(0L);
+            props.setReadFrom(RedisProperties.ReadPreference.REPLICA_PREFERRED);
+            props.setIoThreads(4);
+            props.setComputationThreads(2);
+            props.setConnectTimeoutMillis(1_000L);
+            props.setTcpNoDelay(false);
 
             assertEquals("redis.local", props.getHost());
             assertEquals(6380, props.getPort());
             assertEquals(5_000L, props.getTimeout());
             assertEquals(120L, props.getTtlSeconds());
+            assertEquals(10L, props.getNegativeTtlSeconds());
+            assertEquals(60L, props.getStaleSeconds());
+            assertEquals(10, props.getTtlJitterPercent());
+            assertEquals(1_000L, props.getNearCacheMaxEntries());
+            assertEquals(15L, props.getNearCacheTtlSeconds());
+            assertEquals(RedisProperties.ValueFormat.BINARY, props.getValueFormat());
+            assertEquals(RedisProperties.Layout.SORTED_SET, props.getLayout());
+            assertEquals("prices:evictions", props.getInvalidationChannel());
+            assertEquals(3, props.getCircuitBreakerFailureThreshold());
+            assertEquals(1_000L, props.getCircuitBreakerOpenMillis());
+            assertEquals(RedisProperties.Topology.SENTINEL, props.getTopology());
+            assertEquals(List.of("sentinel:26379"), props.getNodes());
+            assertEquals("pricing", props.getSentinelMaster());
+            assertEquals(5, props.getClusterMaxRedirects());
+            assertEquals(0L, props.getClusterRefreshPeriodMillis());
+            assertEquals(RedisProperties.ReadPreference.REPLICA_PREFERRED, props.getReadFrom());
+            assertEquals(4, props.getIoThreads());
+            assertEquals(2, props.getComputationThreads());
+            assertEquals(1_000L, props.getConnectTimeoutMillis());
+            assertFalse(props.isTcpNoDelay());
         }
     }
 
@@ -58,7 +120,26 @@ class RedisPropertiesTest {
                             "spring.redis.host=my-redis",
                             "spring.redis.port=6381",
                             "spring.redis.timeout=7500",
-                            "spring.redis.ttl-seconds=300"
+                            "spring.redis.ttl-seconds=300",
+                            "spring.redis.negative-ttl-seconds=45",
+                            "spring.redis.stale-seconds=90",
+                            "spring.redis.ttl-jitter-percent=15",
+                            "spring.redis.near-cache-max-entries=5000",
+                            "spring.redis.near-cache-ttl-seconds=20",
+                            "spring.redis.value-format=binary",
+                            "spring.redis.layout=sorted-set",
+                            "spring.redis.invalidation-channel=prices:evictions",
+                            "spring.redis.circuit-breaker-failure-threshold=10",
+                            "spring.redis.circuit-breaker-open-millis=2000",
+                            "spring.redis.topology=cluster",
+                            "spring.redis.nodes=redis-1:6379,redis-2:6379",
+                            "spring.redis.cluster-max-redirects=4",
+                            "spring.redis.cluster-refresh-period-millis=15000",
+                            "spring.redis.read-from=replica-preferred",
+                            "spring.redis.io-threads=8",
+                            "spring.redis.computation-threads=4",
+                            "spring.redis.connect-timeout-millis=2000",
+                            "spring.redis.tcp-no-delay=false"
                     )
                     .run(ctx -> {
                         assertThat(ctx).hasSingleBean(RedisProperties.class);
@@ -68,6 +149,25 @@ class RedisPropertiesTest {
                         assertThat(props.getPort()).isEqualTo(6381);
                         assertThat(props.getTimeout()).isEqualTo(7_500L);
                         assertThat(props.getTtlSeconds()).isEqualTo(300L);
+                        assertThat(props.getNegativeTtlSeconds()).isEqualTo(45L);
+                        assertThat(props.getStaleSeconds()).isEqualTo(90L);
+                        assertThat(props.getTtlJitterPercent()).isEqualTo(15);
+                        assertThat(props.getNearCacheMaxEntries()).isEqualTo(5_000L);
+                        assertThat(props.getNearCacheTtlSeconds()).isEqualTo(20L);
+                        assertThat(props.getValueFormat()).isEqualTo(RedisProperties.ValueFormat.BINARY);
+                        assertThat(props.getLayout()).isEqualTo(RedisProperties.Layout.SORTED_SET);
+                        assertThat(props.getInvalidationChannel()).isEqualTo("prices:evictions");
+                        assertThat(props.getCircuitBreakerFailureThreshold()).isEqualTo(10);
+                        assertThat(props.getCircuitBreakerOpenMillis()).isEqualTo(2_000L);
+                        assertThat(props.getTopology()).isEqualTo(RedisProperties.Topology.CLUSTER);
+                        assertThat(props.getNodes()).containsExactly("redis-1:6379", "redis-2:6379");
+                        assertThat(props.getClusterMaxRedirects()).isEqualTo(4);
+                        assertThat(props.getClusterRefreshPeriodMillis()).isEqualTo(15_000L);
+                        assertThat(props.getReadFrom()).isEqualTo(RedisProperties.ReadPreference.REPLICA_PREFERRED);
+                        assertThat(props.getIoThreads()).isEqualTo(8);
+                        assertThat(props.getComputationThreads()).isEqualTo(4);
+                        assertThat(props.getConnectTimeoutMillis()).isEqualTo(2_000L);
+                        assertThat(props.isTcpNoDelay()).isFalse();
                     });
         }
 
@@ -83,6 +183,8 @@ class RedisPropertiesTest {
                         assertThat(props.getPort()).isZero();
                         assertThat(props.getTimeout()).isZero();
                         assertThat(props.getTtlSeconds()).isZero();
+                        assertThat(props.getValueFormat()).isEqualTo(RedisProperties.ValueFormat.JSON);
+                        assertThat(props.getLayout()).isEqualTo(RedisProperties.Layout.VALUE);
                     });
         }
     }
@@ -0,0 +1,193 @@
+package com.ecommerce.pricing_api.infrastructure.config;
+
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.repository.PricesRedisRepository;
+import com.ecommerce.pricing_api.support.RedisServerProcess;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.resource.ClientResources;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the Redis cache against locally started {@code redis-server} processes in every supported topology: a
+ * Redis Cluster, a Sentinel-monitored master and a master read through its replica.
+ * <p>
+ * Skipped when no {@code redis-server} executable is found; see {@link RedisServerProcess}.
+ * </p>
+ */
+@DisplayName("Redis topologies Integration Tests")
+class RedisTopologyIntegrationTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+    private static final Duration BLOCK = Duration.ofSeconds(5);
+    private static final int CLUSTER_SLOTS = 16_384;
+
+    private final PriceTimeline timeline = PriceTimeline.of(List.of(ApplicablePrice.of(
+            35455L,
+            1L,
+            1L,
+            LocalDateTime.of(2020, 6, 14, 0, 0),
+            LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+            BigDecimal.valueOf(35.50),
+            "EUR",
+            0L
+    )));
+
+    private final RedisConfig redisConfig = new RedisConfig();
+    private final List<RedisServerProcess> servers = new ArrayList<>();
+    private ClientResources clientResources;
+    private LettuceConnectionFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(RedisServerProcess.isAvailable(), "redis-server not found");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (factory != null) {
+            factory.destroy();
+        }
+        if (clientResources != null) {
+            clientResources.shutdown();
+        }
+        for (RedisServerProcess server : servers) {
+            server.close();
+        }
+    }
+
+    private RedisServerProcess started(RedisServerProcess server) {
+        servers.add(server);
+        return server;
+    }
+
+    private PricesRedisRepository repository(RedisProperties redisProperties) {
+        redisProperties.setTimeout(2_000);
+        redisProperties.setTtlSeconds(600);
+        redisProperties.setNegativeTtlSeconds(600);
+        clientResources = redisConfig.lettuceClientResources(redisProperties);
+        factory = (LettuceConnectionFactory) redisConfig.reactiveRedisConnectionFactory(redisProperties, clientResources);
+        factory.afterPropertiesSet();
+        return new PricesRedisRepository(
+                redisConfig.reactiveRedisTemplate(factory, new ObjectMapper(), redisProperties), redisProperties);
+    }
+
+    private static void await(BooleanSupplier condition, String description) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timed out waiting until " + description);
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted waiting until " + description);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should spread keys over the masters of a cluster and read them back in a single lookup")
+    void shouldUseCluster() throws IOException {
+        List<RedisServerProcess> nodes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            nodes.add(started(RedisServerProcess.startClusterNode()));
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            int[] slots = IntStream.range(i * CLUSTER_SLOTS / nodes.size(), (i + 1) * CLUSTER_SLOTS / nodes.size())
+                    .toArray();
+            nodes.get(i).sync(commands -> commands.clusterAddSlots(slots));
+        }
+        for (RedisServerProcess node : nodes.subList(1, nodes.size())) {
+            nodes.get(0).sync(commands -> commands.clusterMeet("127.0.0.1", node.port()));
+        }
+        await(() -> nodes.stream().allMatch(node -> node.sync(commands -> commands.clusterInfo())
+                .contains("cluster_state:ok")), "the cluster is formed");
+
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setTopology(RedisProperties.Topology.CLUSTER);
+        redisProperties.setNodes(List.of(nodes.get(0).node()));
+        PricesRedisRepository repository = repository(redisProperties);
+        List<String> keys = IntStream.range(0, 50).mapToObj(i -> (35455 + i) + ":1").toList();
+
+        keys.forEach(key -> repository.save(key, timeline).block(BLOCK));
+        Map<String, CacheLookup> lookups = repository.lookupAll(keys).block(BLOCK);
+
+        assertThat(lookups).hasSize(keys.size()).allSatisfy((key, lookup) ->
+                assertThat(lookup).isEqualTo(CacheLookup.of(timeline)));
+        assertThat(nodes).allSatisfy(node -> {
+            Long keysOnNode = node.sync(commands -> commands.dbsize());
+            assertThat(keysOnNode).isPositive();
+        });
+
+        repository.deleteAll(keys).block(BLOCK);
+        assertThat(nodes).allSatisfy(node -> {
+            Long keysOnNode = node.sync(commands -> commands.dbsize());
+            assertThat(keysOnNode).isZero();
+        });
+    }
+
+    @Test
+    @DisplayName("Should find the master through the Sentinels")
+    void shouldUseSentinel() throws IOException {
+        RedisServerProcess master = started(RedisServerProcess.start());
+        RedisServerProcess sentinel = started(RedisServerProcess.startSentinel("pricing", master.port()));
+
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setTopology(RedisProperties.Topology.SENTINEL);
+        redisProperties.setSentinelMaster("pricing");
+        redisProperties.setNodes(List.of(sentinel.node()));
+        PricesRedisRepository repository = repository(redisProperties);
+
+        repository.save("35455:1", timeline).block(BLOCK);
+
+        assertThat(repository.lookup("35455:1").block(BLOCK)).isEqualTo(CacheLookup.of(timeline));
+        Long existing = master.sync(commands -> commands.exists("35455:1"));
+        assertThat(existing).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should write to the master and read from its replica")
+    void shouldReadFromReplica() throws IOException {
+        RedisServerProcess master = started(RedisServerProcess.start());
+        RedisServerProcess replica = started(RedisServerProcess.start(
+                "--replicaof", "127.0.0.1", String.valueOf(master.port())));
+        await(() -> replica.sync(commands -> commands.info("replication")).contains("master_link_status:up"),
+                "the replica is in sync");
+
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setHost("127.0.0.1");
+        redisProperties.setPort(master.port());
+        redisProperties.setReadFrom(RedisProperties.ReadPreference.REPLICA);
+        PricesRedisRepository repository = repository(redisProperties);
+
+        repository.save("35455:1", timeline).block(BLOCK);
+
+        await(() -> CacheLookup.of(timeline).equals(repository.lookup("35455:1").block(BLOCK)),
+                "the replica serves the saved timeline");
+        String replicaStats = replica.sync(commands -> commands.info("commandstats"));
+        String masterStats = master.sync(commands -> commands.info("commandstats"));
+        assertThat(replicaStats).contains("cmdstat_get:");
+        assertThat(masterStats).doesNotContain("cmdstat_get:");
+    }
+}
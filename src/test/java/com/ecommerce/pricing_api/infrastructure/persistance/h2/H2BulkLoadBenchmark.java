@@ -0,0 +1,91 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.h2;
+
+import com.ecommerce.pricing_api.infrastructure.config.DataLoadProperties;
+import com.ecommerce.pricing_api.infrastructure.persistance.h2.model.EntryPricesTable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures how long {@link H2Initializer} takes to load {@code large_entries.json} into a fresh
+ * in-memory H2 database, for several batch sizes and concurrency levels.
+ * <p>
+ * The seed file is replicated {@link #REPLICAS} times with shifted IDs to get closer to a real catalog.
+ * Batch size 1 with concurrency 256 matches the former one-statement-per-row load.
+ * Run with {@code mvn test -Pbenchmark}.
+ * </p>
+ */
+@Tag("benchmark")
+class H2BulkLoadBenchmark {
+
+    private static final String SEED_FILE = "data/prod/es/large_entries.json";
+    private static final int REPLICAS = 50;
+
+    @ParameterizedTest(name = "batch size {0}, concurrency {1}")
+    @CsvSource({"1, 256", "100, 4", "500, 1", "500, 4", "1000, 8"})
+    @DisplayName("Bulk load of the large seed file")
+    void loadLargeSeedFile(int batchSize, int concurrency) {
+        DatabaseClient databaseClient = DatabaseClient.create(ConnectionFactories.get(
+                "r2dbc:h2:mem:///bulk-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=MYSQL"));
+        DataLoadProperties properties = new DataLoadProperties();
+        properties.setBatchSize(batchSize);
+        properties.setConcurrency(concurrency);
+        H2Initializer initializer = new H2Initializer(
+                new ObjectMapper().findAndRegisterModules(), databaseClient, properties, new SimpleMeterRegistry());
+
+        initializer.readSqlFromClasspath("schema.sql").flatMap(initializer::createPricesTableIfNotExists).block();
+        List<EntryPricesTable> entries = replicate(initializer.streamEntriesFromJson(new ClassPathResource(SEED_FILE)).collectList().block());
+
+        long start = System.nanoTime();
+        initializer.insertEntries(Flux.fromIterable(entries)).block();
+        long inserted = System.nanoTime();
+        initializer.readSqlFromClasspath("indexes.sql").flatMap(initializer::createIndexes).block();
+        long indexed = System.nanoTime();
+
+        Long rows = databaseClient.sql("SELECT COUNT(*) AS TOTAL FROM PRICES")
+                .map((row, metadata) -> row.get("TOTAL", Long.class))
+                .one()
+                .block();
+        databaseClient.sql("SHUTDOWN").then().block();
+
+        assertThat(rows).isEqualTo(entries.size());
+        double insertMillis = (inserted - start) / 1_000_000.0;
+        double indexMillis = (indexed - inserted) / 1_000_000.0;
+        System.out.printf("[bulk-load-benchmark] rows=%d batch=%d concurrency=%d insert=%9.1f ms index=%7.1f ms %10.0f rows/s%n",
+                rows, batchSize, concurrency, insertMillis, indexMillis, rows / ((insertMillis + indexMillis) / 1_000.0));
+    }
+
+    private static List<EntryPricesTable> replicate(List<EntryPricesTable> seed) {
+        List<EntryPricesTable> entries = new ArrayList<>(seed.size() * REPLICAS);
+        for (int replica = 0; replica < REPLICAS; replica++) {
+            long offset = (long) replica * seed.size();
+            for (EntryPricesTable entry : seed) {
+                entries.add(EntryPricesTable.builder()
+                        .id(entry.getId() + offset)
+                        .brandId(entry.getBrandId())
+                        .startDate(entry.getStartDate())
+                        .endDate(entry.getEndDate())
+                        .priceList(entry.getPriceList())
+                        .productId(entry.getProductId())
+                        .priority(entry.getPriority())
+                        .price(entry.getPrice())
+                        .currency(entry.getCurrency())
+                        .build());
+            }
+        }
+        return entries;
+    }
+}
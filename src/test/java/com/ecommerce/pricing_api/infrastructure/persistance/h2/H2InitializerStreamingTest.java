@@ -0,0 +1,128 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.h2;
+
+import com.ecommerce.pricing_api.infrastructure.config.DataLoadProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.FetchSpec;
+import reactor.core.publisher.Mono;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that {@link H2Initializer} streams the seed file instead of materializing it.
+ * <p>
+ * A file of {@value #ENTRIES} entries, about 75 MB, is generated and loaded in a forked JVM whose heap is
+ * several times smaller than the parsed entries would take as a list. The database is replaced by a client
+ * that discards every statement, so only the parsing and batching pipeline is measured. The file is kept just
+ * large enough to overflow that heap, so the test stays cheap enough for the default build.
+ * </p>
+ * <p>
+ * A multi-million entry variant of about 1.1 GB, closer to a production seed file, is tagged {@code benchmark}
+ * and only runs with {@code -Pbenchmark}.
+ * </p>
+ */
+class H2InitializerStreamingTest {
+
+    private static final int ENTRIES = 400_000;
+    private static final int LARGE_ENTRIES = 6_000_000;
+    private static final String MAX_HEAP = "-Xmx32m";
+
+    @Test
+    @Timeout(value = 2, unit = TimeUnit.MINUTES)
+    @DisplayName("Should load a file larger than the heap under a small heap")
+    void shouldLoadLargeFileUnderSmallHeap(@TempDir Path dir) throws Exception {
+        assertLoadsUnderSmallHeap(dir, ENTRIES);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @Timeout(value = 20, unit = TimeUnit.MINUTES)
+    @DisplayName("Should load a multi-million entry file under a small heap")
+    void shouldLoadMultiMillionFileUnderSmallHeap(@TempDir Path dir) throws Exception {
+        assertLoadsUnderSmallHeap(dir, LARGE_ENTRIES);
+    }
+
+    private static void assertLoadsUnderSmallHeap(Path dir, int entries) throws Exception {
+        Path file = dir.resolve("entries.json");
+        writeEntries(file, entries);
+
+        Process process = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                MAX_HEAP,
+                "-cp", System.getProperty("surefire.test.class.path", System.getProperty("java.class.path")),
+                Loader.class.getName(),
+                file.toString())
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+        assertThat(process.waitFor()).as(output).isZero();
+        assertThat(output).contains("parsed=" + entries);
+    }
+
+    private static void writeEntries(Path file, int count) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write('[');
+            for (int i = 1; i <= count; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                writer.write("{\"id\":" + i
+                        + ",\"brandId\":1,\"startDate\":\"2020-06-14T00:00:00\",\"endDate\":\"2020-12-31T23:59:59\""
+                        + ",\"priceList\":1,\"productId\":" + (i % 10_000)
+                        + ",\"priority\":0,\"price\":35.50,\"currency\":\"EUR\"}\n");
+            }
+            writer.write(']');
+        }
+    }
+
+    /**
+     * Entry point of the forked JVM: streams the file given as argument through the insert pipeline.
+     */
+    static final class Loader {
+
+        public static void main(String[] args) {
+            H2Initializer initializer = new H2Initializer(
+                    new ObjectMapper().findAndRegisterModules(), discardingDatabaseClient(), new DataLoadProperties(),
+                    new SimpleMeterRegistry());
+            AtomicLong parsed = new AtomicLong();
+
+            initializer.insertEntries(initializer.streamEntriesFromJson(new FileSystemResource(args[0]))
+                            .doOnNext(entry -> parsed.incrementAndGet()))
+                    .block();
+
+            System.out.println("parsed=" + parsed.get());
+        }
+
+        private static DatabaseClient discardingDatabaseClient() {
+            FetchSpec<?> fetchSpec = stub(FetchSpec.class, (self, method) ->
+                    method.equals("rowsUpdated") ? Mono.just(0L) : null);
+            DatabaseClient.GenericExecuteSpec executeSpec = stub(DatabaseClient.GenericExecuteSpec.class, (self, method) ->
+                    method.equals("fetch") ? fetchSpec : self);
+            return stub(DatabaseClient.class, (self, method) -> executeSpec);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T stub(Class<T> type, BiFunction<Object, String, Object> answer) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> answer.apply(proxy, method.getName()));
+        }
+    }
+}
@@ -1,34 +1,60 @@
 package com.ecommerce.pricing_api.infrastructure.persistance.h2;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ecommerce.pricing_api.infrastructure.config.DataLoadProperties;
 import com.ecommerce.pricing_api.infrastructure.persistance.h2.model.EntryPricesTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.FetchSpec;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Map;
+import java.util.stream.LongStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 class H2InitializerTest {
 
     private ObjectMapper objectMapper;
     private DatabaseClient databaseClient;
+    private DataLoadProperties dataLoadProperties;
+    private SimpleMeterRegistry meterRegistry;
     private H2Initializer h2Initializer;
 
     @BeforeEach
     void setup() {
-        objectMapper = new ObjectMapper();
+        objectMapper = new ObjectMapper().findAndRegisterModules();
         databaseClient = mock(DatabaseClient.class);
-        h2Initializer = new H2Initializer(objectMapper, databaseClient);
+        dataLoadProperties = new DataLoadProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        h2Initializer = new H2Initializer(objectMapper, databaseClient, dataLoadProperties, meterRegistry);
+    }
+
+    private static EntryPricesTable buildEntry(long id) {
+        return EntryPricesTable.builder()
+                .id(id)
+                .brandId(1L)
+                .startDate(LocalDateTime.now())
+                .endDate(LocalDateTime.now().plusDays(1))
+                .priceList(1L)
+                .productId(35455L)
+                .priority(0L)
+                .price(BigDecimal.valueOf(50.0))
+                .currency("EUR")
+                .build();
     }
 
     @Nested
@@ -37,19 +63,93 @@ class H2InitializerTest {
         @Test
         @DisplayName("Should initialize database successfully")
         void shouldInitializeDatabaseSuccessfully() {
-            H2Initializer spyInitializer = spy(new H2Initializer(objectMapper, databaseClient));
+            H2Initializer spyInitializer = spy(new H2Initializer(objectMapper, databaseClient, dataLoadProperties, meterRegistry));
 
             doReturn(Mono.just("CREATE TABLE PRICES")).when(spyInitializer).readSqlFromClasspath(anyString());
             doReturn(Mono.empty()).when(spyInitializer).createPricesTableIfNotExists(anyString());
-            doReturn(Mono.just(List.of())).when(spyInitializer).loadEntriesFromJson(anyString());
+            doReturn(Flux.empty()).when(spyInitializer).streamEntriesFromJson(any(), any());
             doReturn(Mono.empty()).when(spyInitializer).insertEntries(any());
+            doReturn(Mono.empty()).when(spyInitializer).createIndexes(anyString());
 
             spyInitializer.init();
 
-            verify(spyInitializer).readSqlFromClasspath(anyString());
+            verify(spyInitializer).readSqlFromClasspath("schema.sql");
+            verify(spyInitializer).readSqlFromClasspath("indexes.sql");
             verify(spyInitializer).createPricesTableIfNotExists(anyString());
-            verify(spyInitializer).loadEntriesFromJson(anyString());
+            verify(spyInitializer).streamEntriesFromJson(any(), any());
             verify(spyInitializer).insertEntries(any());
+            verify(spyInitializer).createIndexes(anyString());
+        }
+
+        @Test
+        @DisplayName("Should create the indexes only after the entries are inserted")
+        void shouldCreateIndexesAfterInsert() {
+            H2Initializer spyInitializer = spy(new H2Initializer(objectMapper, databaseClient, dataLoadProperties, meterRegistry));
+
+            doReturn(Mono.just("SQL")).when(spyInitializer).readSqlFromClasspath(anyString());
+            doReturn(Mono.empty()).when(spyInitializer).createPricesTableIfNotExists(anyString());
+            doReturn(Flux.empty()).when(spyInitializer).streamEntriesFromJson(any(), any());
+            doReturn(Mono.empty()).when(spyInitializer).insertEntries(any());
+            doReturn(Mono.empty()).when(spyInitializer).createIndexes(anyString());
+
+            spyInitializer.init();
+
+            var inOrder = inOrder(spyInitializer);
+            inOrder.verify(spyInitializer).insertEntries(any());
+            inOrder.verify(spyInitializer).createIndexes(anyString());
+        }
+    }
+
+    @Nested
+    class StartupTests {
+
+        @Test
+        @DisplayName("Should run the initialization when the application starts")
+        void shouldInitializeOnApplicationRun() {
+            H2Initializer spyInitializer = spy(new H2Initializer(objectMapper, databaseClient, dataLoadProperties, meterRegistry));
+            doNothing().when(spyInitializer).init();
+
+            spyInitializer.run(null);
+
+            verify(spyInitializer).init();
+        }
+
+        @Test
+        @DisplayName("Should fail the startup when a phase fails")
+        void shouldFailWhenPhaseFails() {
+            H2Initializer spyInitializer = spy(new H2Initializer(objectMapper, databaseClient, dataLoadProperties, meterRegistry));
+
+            doReturn(Mono.just("SQL")).when(spyInitializer).readSqlFromClasspath(anyString());
+            doReturn(Mono.empty()).when(spyInitializer).createPricesTableIfNotExists(anyString());
+            doReturn(Flux.empty()).when(spyInitializer).streamEntriesFromJson(any(), any());
+            doReturn(Mono.error(new RuntimeException("disk full"))).when(spyInitializer).insertEntries(any());
+
+            assertThatThrownBy(spyInitializer::init)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("Database initialization failed")
+                    .hasRootCauseMessage("disk full");
+            verify(spyInitializer, never()).createIndexes(anyString());
+        }
+
+        @Test
+        @DisplayName("Should record the duration of every phase")
+        void shouldRecordPhaseTimings() {
+            H2Initializer spyInitializer = spy(new H2Initializer(objectMapper, databaseClient, dataLoadProperties, meterRegistry));
+
+            doReturn(Mono.just("SQL")).when(spyInitializer).readSqlFromClasspath(anyString());
+            doReturn(Mono.empty()).when(spyInitializer).createPricesTableIfNotExists(anyString());
+            doReturn(Flux.empty()).when(spyInitializer).streamEntriesFromJson(any(), any());
+            doReturn(Mono.empty()).when(spyInitializer).insertEntries(any());
+            doReturn(Mono.empty()).when(spyInitializer).createIndexes(anyString());
+
+            spyInitializer.init();
+
+            for (String phase : new String[]{"ddl", "parse", "insert", "index"}) {
+                assertThat(meterRegistry.find(H2Initializer.PHASE_TIMER).tag("phase", phase).timer())
+                        .as("timer of phase %s", phase)
+                        .isNotNull()
+                        .satisfies(timer -> assertThat(timer.count()).isEqualTo(1));
+            }
         }
     }
 
@@ -64,6 +164,17 @@ class H2InitializerTest {
                     .verifyComplete();
         }
 
+        @Test
+        @DisplayName("Should keep the indexes out of the table DDL")
+        void shouldKeepIndexesOutOfSchema() {
+            StepVerifier.create(h2Initializer.readSqlFromClasspath("schema.sql"))
+                    .expectNextMatches(sql -> !sql.contains("CREATE INDEX"))
+                    .verifyComplete();
+            StepVerifier.create(h2Initializer.readSqlFromClasspath("indexes.sql"))
+                    .expectNextMatches(sql -> sql.contains("CREATE INDEX IF NOT EXISTS idx_prices_query"))
+                    .verifyComplete();
+        }
+
         @Test
         @DisplayName("Should fail if SQL file not found")
         void shouldFailIfSqlFileNotFound() {
@@ -97,16 +208,49 @@ class H2InitializerTest {
     }
 
     @Nested
-    class LoadEntriesFromJsonTests {
+    class StreamEntriesFromJsonTests {
 
         @Test
         @DisplayName("Should fail to load entries if file not found")
         void shouldFailIfJsonNotFound() {
-            StepVerifier.create(h2Initializer.loadEntriesFromJson("data/prod/es/nonexistent.json"))
+            StepVerifier.create(h2Initializer.streamEntriesFromJson(new ClassPathResource("data/prod/es/nonexistent.json")))
                     .expectErrorMatches(throwable -> throwable instanceof RuntimeException &&
                             throwable.getMessage().contains("Could not load JSON"))
                     .verify();
         }
+
+        @Test
+        @DisplayName("Should stream every entry of the seed file in order")
+        void shouldStreamSeedFile() {
+            StepVerifier.create(h2Initializer.streamEntriesFromJson(new ClassPathResource("data/prod/es/entries.json")))
+                    .expectNextMatches(entry -> entry.getId() == 1L && entry.getProductId() == 35455L &&
+                            entry.getStartDate().equals(LocalDateTime.of(2020, 6, 14, 0, 0)))
+                    .expectNextMatches(entry -> entry.getId() == 2L)
+                    .expectNextCount(2)
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should only parse as many entries as requested")
+        void shouldHonourBackpressure() {
+            StepVerifier.create(h2Initializer.streamEntriesFromJson(new ClassPathResource("data/prod/es/large_entries.json")), 2)
+                    .expectNextCount(2)
+                    .expectNoEvent(Duration.ofMillis(100))
+                    .thenRequest(3)
+                    .expectNextCount(3)
+                    .thenCancel()
+                    .verify();
+        }
+
+        @Test
+        @DisplayName("Should fail if the file is not an array of entries")
+        void shouldFailIfNotAnArray() {
+            ByteArrayResource resource = new ByteArrayResource("{\"id\": 1}".getBytes());
+
+            StepVerifier.create(h2Initializer.streamEntriesFromJson(resource))
+                    .expectErrorMatches(throwable -> throwable.getMessage().contains("Could not load JSON"))
+                    .verify();
+        }
     }
 
     @Nested
@@ -115,17 +259,7 @@ class H2InitializerTest {
         @Test
         @DisplayName("Should insert entries successfully")
         void shouldInsertEntriesSuccessfully() {
-            EntryPricesTable entry = EntryPricesTable.builder()
-                    .id(1L)
-                    .brandId(1L)
-                    .startDate(LocalDateTime.now())
-                    .endDate(LocalDateTime.now().plusDays(1))
-                    .priceList(1L)
-                    .productId(35455L)
-                    .priority(0L)
-                    .price(BigDecimal.valueOf(50.0))
-                    .currency("EUR")
-                    .build();
+            EntryPricesTable entry = buildEntry(1L);
 
             DatabaseClient.GenericExecuteSpec executeSpec = mock(DatabaseClient.GenericExecuteSpec.class);
             FetchSpec<Map<String, Object>> fetchSpec = mock(FetchSpec.class);
@@ -135,12 +269,85 @@ class H2InitializerTest {
             when(executeSpec.fetch()).thenReturn(fetchSpec);
             when(fetchSpec.rowsUpdated()).thenReturn(Mono.just(1L));
 
-            StepVerifier.create(h2Initializer.insertEntries(List.of(entry)))
+            StepVerifier.create(h2Initializer.insertEntries(Flux.just(entry)))
                     .verifyComplete();
 
             verify(databaseClient, atLeastOnce()).sql(anyString());
             verify(executeSpec, atLeast(1)).bind(anyString(), any());
             verify(fetchSpec, atLeastOnce()).rowsUpdated();
         }
+
+        @Test
+        @DisplayName("Should insert entries with one multi-row statement per batch")
+        void shouldInsertOneStatementPerBatch() {
+            dataLoadProperties.setBatchSize(2);
+            Flux<EntryPricesTable> entries = Flux.fromStream(LongStream.rangeClosed(1, 5).mapToObj(H2InitializerTest::buildEntry));
+
+            DatabaseClient.GenericExecuteSpec executeSpec = mock(DatabaseClient.GenericExecuteSpec.class);
+            FetchSpec<Map<String, Object>> fetchSpec = mock(FetchSpec.class);
+
+            when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+            when(executeSpec.bind(anyString(), any())).thenReturn(executeSpec);
+            when(executeSpec.fetch()).thenReturn(fetchSpec);
+            when(fetchSpec.rowsUpdated()).thenReturn(Mono.just(2L), Mono.just(2L), Mono.just(1L));
+
+            StepVerifier.create(h2Initializer.insertEntries(entries))
+                    .verifyComplete();
+
+            verify(databaseClient, times(2)).sql(contains("(:id1, :brandId1"));
+            verify(databaseClient, times(3)).sql(contains("VALUES (:id0, :brandId0"));
+            verify(executeSpec, times(5 * 9)).bind(anyString(), any());
+            verify(executeSpec).bind("id0", 5L);
+        }
+
+        @Test
+        @DisplayName("Should count inserted rows and publish the load throughput")
+        void shouldPublishLoadMetrics() {
+            dataLoadProperties.setBatchSize(2);
+            Flux<EntryPricesTable> entries = Flux.fromStream(LongStream.rangeClosed(1, 3).mapToObj(H2InitializerTest::buildEntry));
+
+            DatabaseClient.GenericExecuteSpec executeSpec = mock(DatabaseClient.GenericExecuteSpec.class);
+            FetchSpec<Map<String, Object>> fetchSpec = mock(FetchSpec.class);
+
+            when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+            when(executeSpec.bind(anyString(), any())).thenReturn(executeSpec);
+            when(executeSpec.fetch()).thenReturn(fetchSpec);
+            when(fetchSpec.rowsUpdated()).thenReturn(Mono.just(2L), Mono.just(1L));
+
+            StepVerifier.create(h2Initializer.insertEntries(entries))
+                    .verifyComplete();
+
+            assertThat(meterRegistry.get(H2Initializer.ROWS_COUNTER).counter().count()).isEqualTo(3);
+            assertThat(meterRegistry.get(H2Initializer.THROUGHPUT_GAUGE).gauge().value()).isPositive();
+        }
+
+        @Test
+        @DisplayName("Should complete without statements when there are no entries")
+        void shouldNotInsertWhenNoEntries() {
+            StepVerifier.create(h2Initializer.insertEntries(Flux.empty()))
+                    .verifyComplete();
+
+            verifyNoInteractions(databaseClient);
+        }
+    }
+
+    @Nested
+    class CreateIndexesTests {
+
+        @Test
+        @DisplayName("Should create indexes successfully")
+        void shouldCreateIndexesSuccessfully() {
+            DatabaseClient.GenericExecuteSpec executeSpec = mock(DatabaseClient.GenericExecuteSpec.class);
+            FetchSpec<Map<String, Object>> fetchSpec = mock(FetchSpec.class);
+
+            when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+            when(executeSpec.fetch()).thenReturn(fetchSpec);
+            when(fetchSpec.rowsUpdated()).thenReturn(Mono.just(0L));
+
+            StepVerifier.create(h2Initializer.createIndexes("CREATE INDEX test"))
+                    .verifyComplete();
+
+            verify(databaseClient).sql("CREATE INDEX test");
+        }
     }
 }
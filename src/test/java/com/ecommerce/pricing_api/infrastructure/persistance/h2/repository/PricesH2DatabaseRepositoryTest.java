@@ -1,21 +1,31 @@
 package com.ecommerce.pricing_api.infrastructure.persistance.h2.repository;
 
 import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceChange;
+import com.ecommerce.pricing_api.domain.model.PriceEntry;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
 import io.r2dbc.spi.Row;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.FetchSpec;
 import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.BiFunction;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
 class PricesH2DatabaseRepositoryTest {
@@ -31,15 +41,15 @@ class PricesH2DatabaseRepositoryTest {
     @DisplayName("Should find prices from database and map correctly")
     void shouldFindPricesFromDatabase() {
         // Given
-        ApplicablePrice mockPrice = new ApplicablePrice(
-                Optional.of(35455L),
-                Optional.of(1L),
-                Optional.of(2L),
-                Optional.of(LocalDateTime.now().minusDays(1)),
-                Optional.of(LocalDateTime.now().plusDays(1)),
-                Optional.of(BigDecimal.valueOf(50.00)),
-                Optional.of("EUR"),
-                Optional.of(1L)
+        ApplicablePrice mockPrice = ApplicablePrice.of(
+                35455L,
+                1L,
+                2L,
+                LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusDays(1),
+                BigDecimal.valueOf(50.00),
+                "EUR",
+                1L
         );
 
         when(databaseClient.sql(anyString())).thenReturn(executeSpec);
@@ -57,12 +67,12 @@ class PricesH2DatabaseRepositoryTest {
                 .hasSize(1)
                 .first()
                 .satisfies(price -> {
-                    assertThat(price.productId()).contains(35455L);
-                    assertThat(price.brandId()).contains(1L);
-                    assertThat(price.priceList()).contains(2L);
-                    assertThat(price.price()).contains(BigDecimal.valueOf(50.00));
-                    assertThat(price.currency()).contains("EUR");
-                    assertThat(price.priority()).contains(1L);
+                    assertThat(price.productId()).isEqualTo(35455L);
+                    assertThat(price.brandId()).isEqualTo(1L);
+                    assertThat(price.priceList()).isEqualTo(2L);
+                    assertThat(price.price()).isEqualTo(BigDecimal.valueOf(50.00));
+                    assertThat(price.currency()).isEqualTo("EUR");
+                    assertThat(price.priority()).isEqualTo(1L);
                 });
 
         verify(databaseClient, times(1)).sql(anyString());
@@ -98,8 +108,216 @@ class PricesH2DatabaseRepositoryTest {
     }
 
     @Test
-    @DisplayName("Should map null fields from database to empty Optional")
-    void shouldMapNullFieldsToEmptyOptional() {
+    @DisplayName("Should find prices of many keys with a single set-based query")
+    void shouldFindPricesForManyKeysInOneQuery() {
+        ApplicablePrice mockPrice = ApplicablePrice.of(
+                35455L,
+                1L,
+                2L,
+                LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusDays(1),
+                BigDecimal.valueOf(50.00),
+                "EUR",
+                1L
+        );
+
+        when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        when(executeSpec.bind(eq("keys"), any())).thenReturn(bindSpec);
+        when(bindSpec.map(any(BiFunction.class))).thenReturn(fetchSpec);
+        when(fetchSpec.all()).thenReturn(Flux.just(mockPrice));
+
+        Flux<ApplicablePrice> result = repository.findAllByProductAndBrandIn(List.of(new PriceKey(35455L, 1L), new PriceKey(1L, 2L)));
+
+        assertThat(result.collectList().block()).containsExactly(mockPrice);
+
+        verify(databaseClient, times(1)).sql(contains("(PRODUCT_ID, BRAND_ID) IN (:keys)"));
+        verify(executeSpec, times(1)).bind(eq("keys"), argThat(value -> value instanceof List<?> list && list.size() == 2));
+    }
+
+    @Test
+    @DisplayName("Should not query the database when no keys are given")
+    void shouldNotQueryForEmptyKeys() {
+        assertThat(repository.findAllByProductAndBrandIn(List.of()).collectList().block()).isEmpty();
+
+        verifyNoInteractions(databaseClient);
+    }
+
+    @Test
+    @DisplayName("Should stream every price grouped by product and brand")
+    void shouldFindAllPricesGroupedByKey() {
+        ApplicablePrice mockPrice = ApplicablePrice.of(
+                35455L,
+                1L,
+                2L,
+                LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusDays(1),
+                BigDecimal.valueOf(50.00),
+                "EUR",
+                1L
+        );
+
+        when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        when(executeSpec.map(any(BiFunction.class))).thenReturn(fetchSpec);
+        when(fetchSpec.all()).thenReturn(Flux.just(mockPrice));
+
+        assertThat(repository.findAll().collectList().block()).containsExactly(mockPrice);
+        verify(databaseClient, times(1)).sql(argThat((String sql) ->
+                sql.contains("ORDER BY PRODUCT_ID, BRAND_ID, ID") && !sql.contains("WHERE")));
+        verify(executeSpec, never()).bind(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should resolve the applicable price with a single-row point query")
+    void shouldResolveApplicablePriceInDatabase() {
+        LocalDateTime applicationDate = LocalDateTime.of(2020, 6, 14, 16, 0);
+        ApplicablePrice mockPrice = ApplicablePrice.of(
+                35455L,
+                1L,
+                2L,
+                applicationDate.minusHours(1),
+                applicationDate.plusHours(1),
+                BigDecimal.valueOf(25.45),
+                "EUR",
+                1L
+        );
+
+        when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        when(executeSpec.bind(eq("productId"), any())).thenReturn(bindSpec);
+        when(bindSpec.bind(anyString(), any())).thenReturn(bindSpec);
+        when(bindSpec.map(any(BiFunction.class))).thenReturn(fetchSpec);
+        when(fetchSpec.one()).thenReturn(Mono.just(mockPrice));
+
+        ApplicablePrice result = repository.findApplicable(35455L, 1L, applicationDate).block();
+
+        assertThat(result).isEqualTo(mockPrice);
+        verify(databaseClient, times(1)).sql(argThat((String sql) ->
+                sql.contains("START_DATE <= :applicationDate AND END_DATE >= :applicationDate") &&
+                        sql.contains("ORDER BY PRIORITY DESC, ID") &&
+                        sql.contains("LIMIT 1")));
+        verify(bindSpec, times(1)).bind("brandId", 1L);
+        verify(bindSpec, times(1)).bind("applicationDate", applicationDate);
+        verify(fetchSpec, never()).all();
+    }
+
+    @Test
+    @DisplayName("Should count the prices of many keys with a single grouped query")
+    void shouldCountPricesForManyKeysInOneQuery() {
+        RowsFetchSpec<Map.Entry<PriceKey, Long>> countSpec = mock(RowsFetchSpec.class);
+
+        when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        when(executeSpec.bind(eq("keys"), any())).thenReturn(bindSpec);
+        when(bindSpec.map(any(BiFunction.class))).thenReturn(countSpec);
+        when(countSpec.all()).thenReturn(Flux.just(Map.entry(new PriceKey(35455L, 1L), 4L)));
+
+        Map<PriceKey, Long> result = repository.countAllByProductAndBrandIn(
+                List.of(new PriceKey(35455L, 1L), new PriceKey(1L, 2L))).block();
+
+        assertThat(result).containsExactly(Map.entry(new PriceKey(35455L, 1L), 4L));
+        verify(databaseClient, times(1)).sql(contains("GROUP BY PRODUCT_ID, BRAND_ID"));
+    }
+
+    @Test
+    @DisplayName("Should not count when no keys are given")
+    void shouldNotCountForEmptyKeys() {
+        assertThat(repository.countAllByProductAndBrandIn(List.of()).block()).isEmpty();
+
+        verifyNoInteractions(databaseClient);
+    }
+
+    @Test
+    @DisplayName("Should list the top keys by price count with a limited grouped query")
+    void shouldListTopKeysByPriceCount() {
+        RowsFetchSpec<PriceKey> keySpec = mock(RowsFetchSpec.class);
+
+        when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        when(executeSpec.bind("limit", 2L)).thenReturn(bindSpec);
+        when(bindSpec.map(any(BiFunction.class))).thenReturn(keySpec);
+        when(keySpec.all()).thenReturn(Flux.just(new PriceKey(35455L, 1L), new PriceKey(1L, 1L)));
+
+        assertThat(repository.findKeysByPriceCount(2).collectList().block())
+                .containsExactly(new PriceKey(35455L, 1L), new PriceKey(1L, 1L));
+        verify(databaseClient, times(1)).sql(argThat((String sql) ->
+                sql.contains("ORDER BY COUNT(*) DESC") && sql.contains("LIMIT :limit")));
+    }
+
+    @Test
+    @DisplayName("Should list every key when no limit is given")
+    void shouldListAllKeysWithoutLimit() {
+        RowsFetchSpec<PriceKey> keySpec = mock(RowsFetchSpec.class);
+
+        when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        when(executeSpec.map(any(BiFunction.class))).thenReturn(keySpec);
+        when(keySpec.all()).thenReturn(Flux.just(new PriceKey(35455L, 1L)));
+
+        assertThat(repository.findKeysByPriceCount(0).collectList().block()).containsExactly(new PriceKey(35455L, 1L));
+        verify(databaseClient, times(1)).sql(argThat((String sql) -> !sql.contains("LIMIT")));
+        verify(executeSpec, never()).bind(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should upsert entries with one multi-row merge and report their old and new keys")
+    void shouldUpsertEntriesWithOneMerge() {
+        DatabaseClient.GenericExecuteSpec selectSpec = mock(DatabaseClient.GenericExecuteSpec.class);
+        DatabaseClient.GenericExecuteSpec mergeSpec = mock(DatabaseClient.GenericExecuteSpec.class);
+        RowsFetchSpec<PriceKey> keySpec = mock(RowsFetchSpec.class);
+        FetchSpec<Map<String, Object>> mergeFetch = mock(FetchSpec.class);
+        LocalDateTime start = LocalDateTime.of(2020, 6, 14, 0, 0);
+        List<PriceEntry> entries = List.of(
+                new PriceEntry(1L, 1L, start, start.plusDays(1), 1L, 35455L, 0L, new BigDecimal("35.50"), "EUR"),
+                new PriceEntry(2L, 1L, start, start.plusDays(2), 2L, 35455L, 1L, new BigDecimal("25.45"), "EUR")
+        );
+
+        when(databaseClient.sql(startsWith("SELECT DISTINCT"))).thenReturn(selectSpec);
+        when(selectSpec.bind("ids", List.of(1L, 2L))).thenReturn(selectSpec);
+        when(selectSpec.map(any(BiFunction.class))).thenReturn(keySpec);
+        when(keySpec.all()).thenReturn(Flux.just(new PriceKey(1L, 1L)));
+        when(databaseClient.sql(startsWith("MERGE INTO PRICES"))).thenReturn(mergeSpec);
+        when(mergeSpec.bind(anyString(), any())).thenReturn(mergeSpec);
+        when(mergeSpec.fetch()).thenReturn(mergeFetch);
+        when(mergeFetch.rowsUpdated()).thenReturn(Mono.just(2L));
+
+        PriceChange change = repository.upsertAll(entries).block();
+
+        assertThat(change).isEqualTo(new PriceChange(2, Set.of(new PriceKey(1L, 1L), new PriceKey(35455L, 1L))));
+        verify(databaseClient, times(1)).sql(argThat((String sql) ->
+                sql.startsWith("MERGE INTO PRICES") && sql.contains("KEY (ID)") && sql.contains(":currency1)")));
+        verify(mergeSpec).bind("id1", 2L);
+        verify(mergeSpec).bind("price0", new BigDecimal("35.50"));
+    }
+
+    @Test
+    @DisplayName("Should delete entries by id and report the keys they belonged to")
+    void shouldDeleteEntriesById() {
+        DatabaseClient.GenericExecuteSpec selectSpec = mock(DatabaseClient.GenericExecuteSpec.class);
+        DatabaseClient.GenericExecuteSpec deleteSpec = mock(DatabaseClient.GenericExecuteSpec.class);
+        RowsFetchSpec<PriceKey> keySpec = mock(RowsFetchSpec.class);
+        FetchSpec<Map<String, Object>> deleteFetch = mock(FetchSpec.class);
+
+        when(databaseClient.sql(startsWith("SELECT DISTINCT"))).thenReturn(selectSpec);
+        when(selectSpec.bind("ids", List.of(1L, 99L))).thenReturn(selectSpec);
+        when(selectSpec.map(any(BiFunction.class))).thenReturn(keySpec);
+        when(keySpec.all()).thenReturn(Flux.just(new PriceKey(35455L, 1L)));
+        when(databaseClient.sql("DELETE FROM PRICES WHERE ID IN (:ids)")).thenReturn(deleteSpec);
+        when(deleteSpec.bind("ids", List.of(1L, 99L))).thenReturn(deleteSpec);
+        when(deleteSpec.fetch()).thenReturn(deleteFetch);
+        when(deleteFetch.rowsUpdated()).thenReturn(Mono.just(1L));
+
+        assertThat(repository.deleteAllById(List.of(1L, 99L)).block())
+                .isEqualTo(new PriceChange(1, Set.of(new PriceKey(35455L, 1L))));
+    }
+
+    @Test
+    @DisplayName("Should not write when no entries or ids are given")
+    void shouldNotWriteForEmptyBatches() {
+        assertThat(repository.upsertAll(List.of()).block()).isEqualTo(PriceChange.none());
+        assertThat(repository.deleteAllById(List.of()).block()).isEqualTo(PriceChange.none());
+
+        verifyNoInteractions(databaseClient);
+    }
+
+    @Test
+    @DisplayName("Should map null fields from database to unavailable fields")
+    void shouldMapNullFieldsToUnavailableFields() {
         Row row = mock(Row.class);
 
         when(row.get(eq("PRODUCT_ID"), eq(Long.class))).thenReturn(null);
@@ -111,24 +329,22 @@ class PricesH2DatabaseRepositoryTest {
         when(row.get(eq("CURRENCY"), eq(String.class))).thenReturn(null);
         when(row.get(eq("PRIORITY"), eq(Long.class))).thenReturn(null);
 
-        ApplicablePrice price = new ApplicablePrice(
-                Optional.ofNullable(row.get("PRODUCT_ID", Long.class)),
-                Optional.ofNullable(row.get("BRAND_ID", Long.class)),
-                Optional.ofNullable(row.get("PRICE_LIST", Long.class)),
-                Optional.ofNullable(row.get("START_DATE", LocalDateTime.class)),
-                Optional.ofNullable(row.get("END_DATE", LocalDateTime.class)),
-                Optional.ofNullable(row.get("PRICE", BigDecimal.class)),
-                Optional.ofNullable(row.get("CURRENCY", String.class)),
-                Optional.ofNullable(row.get("PRIORITY", Long.class))
+        ApplicablePrice price = ApplicablePrice.of(
+                row.get("PRODUCT_ID", Long.class),
+                row.get("BRAND_ID", Long.class),
+                row.get("PRICE_LIST", Long.class),
+                row.get("START_DATE", LocalDateTime.class),
+                row.get("END_DATE", LocalDateTime.class),
+                row.get("PRICE", BigDecimal.class),
+                row.get("CURRENCY", String.class),
+                row.get("PRIORITY", Long.class)
         );
 
-        assertThat(price.productId()).isEmpty();
-        assertThat(price.brandId()).isEmpty();
-        assertThat(price.priceList()).isEmpty();
-        assertThat(price.startDate()).isEmpty();
-        assertThat(price.endDate()).isEmpty();
-        assertThat(price.price()).isEmpty();
-        assertThat(price.currency()).isEmpty();
-        assertThat(price.priority()).isEmpty();
+        assertThat(price.presence()).isZero();
+        assertThat(price.startDate()).isNull();
+        assertThat(price.endDate()).isNull();
+        assertThat(price.price()).isNull();
+        assertThat(price.currency()).isNull();
+        assertThat(price.priority()).isZero();
     }
 }
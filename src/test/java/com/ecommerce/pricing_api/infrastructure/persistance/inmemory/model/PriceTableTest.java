@@ -0,0 +1,263 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.inmemory.model;
+
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PriceTable Unit Tests")
+class PriceTableTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2020, 6, 14, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2020, 12, 31, 23, 59, 59);
+
+    private static ApplicablePrice price(long productId, long brandId, LocalDateTime start, LocalDateTime end, long priority) {
+        return ApplicablePrice.of(productId, brandId, priority + 1, start, end, new BigDecimal("35.50"), "EUR", priority);
+    }
+
+    private static ApplicablePrice resolve(PriceTable table, long productId, long brandId, LocalDateTime date) {
+        return table.resolve(PriceTable.pack(productId, brandId), date.toEpochSecond(ZoneOffset.UTC), date.getNano());
+    }
+
+    @Nested
+    @DisplayName("Key packing")
+    class KeyPacking {
+
+        @Test
+        @DisplayName("Should pack and unpack product and brand identifiers")
+        void shouldRoundTripIdentifiers() {
+            long key = PriceTable.pack(35455L, 1L);
+            long largest = PriceTable.pack((1L << 39) - 1, (1L << 24) - 1);
+
+            assertThat(PriceTable.productOf(key)).isEqualTo(35455L);
+            assertThat(PriceTable.brandOf(key)).isEqualTo(1L);
+            assertThat(PriceTable.productOf(largest)).isEqualTo((1L << 39) - 1);
+            assertThat(PriceTable.brandOf(largest)).isEqualTo((1L << 24) - 1);
+            assertThat(largest).isNotEqualTo(PriceTable.NO_KEY);
+        }
+
+        @Test
+        @DisplayName("Should not pack identifiers out of range")
+        void shouldRejectIdentifiersOutOfRange() {
+            assertThat(PriceTable.pack(-1L, 1L)).isEqualTo(PriceTable.NO_KEY);
+            assertThat(PriceTable.pack(1L, -1L)).isEqualTo(PriceTable.NO_KEY);
+            assertThat(PriceTable.pack(1L << 39, 1L)).isEqualTo(PriceTable.NO_KEY);
+            assertThat(PriceTable.pack(1L, 1L << 24)).isEqualTo(PriceTable.NO_KEY);
+        }
+    }
+
+    @Nested
+    @DisplayName("Resolution")
+    class Resolution {
+
+        @Test
+        @DisplayName("Should pick the highest priority, the first row on ties, with inclusive bounds")
+        void shouldApplyPriorityRules() {
+            ApplicablePrice base = price(35455L, 1L, START, END, 0);
+            ApplicablePrice promo = price(35455L, 1L, START.plusDays(1), START.plusDays(2), 1);
+            ApplicablePrice tie = ApplicablePrice.of(35455L, 1L, 9L, START.plusDays(1), START.plusDays(2),
+                    new BigDecimal("20.00"), "EUR", 1L);
+            PriceTable.Builder builder = PriceTable.builder();
+            builder.add(base);
+            builder.add(promo);
+            builder.add(tie);
+            PriceTable table = builder.build();
+
+            assertThat(resolve(table, 35455L, 1L, START)).isEqualTo(base);
+            assertThat(resolve(table, 35455L, 1L, START.plusDays(1))).isEqualTo(promo);
+            assertThat(resolve(table, 35455L, 1L, START.plusDays(2))).isEqualTo(promo);
+            assertThat(resolve(table, 35455L, 1L, START.plusDays(2).plusNanos(1))).isEqualTo(base);
+            assertThat(resolve(table, 35455L, 1L, END)).isEqualTo(base);
+            assertThat(resolve(table, 35455L, 1L, END.plusNanos(1))).isNull();
+            assertThat(resolve(table, 35455L, 1L, START.minusNanos(1))).isNull();
+        }
+
+        @Test
+        @DisplayName("Should return nothing for unknown keys")
+        void shouldReturnNothingForUnknownKeys() {
+            PriceTable.Builder builder = PriceTable.builder();
+            builder.add(price(35455L, 1L, START, END, 0));
+            PriceTable table = builder.build();
+
+            assertThat(resolve(table, 35455L, 2L, START)).isNull();
+            assertThat(table.resolve(PriceTable.NO_KEY, 0, 0)).isNull();
+            assertThat(table.rowsOf(PriceTable.pack(35455L, 2L))).isZero();
+            assertThat(table.prices(PriceTable.pack(35455L, 2L))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should compare fractional seconds when a date has them")
+        void shouldCompareFractionalSeconds() {
+            ApplicablePrice price = price(1L, 1L, START.plusNanos(500), END.plusNanos(999_999_999), 0);
+            PriceTable.Builder builder = PriceTable.builder();
+            builder.add(price);
+            PriceTable table = builder.build();
+
+            assertThat(resolve(table, 1L, 1L, START.plusNanos(499))).isNull();
+            assertThat(resolve(table, 1L, 1L, START.plusNanos(500))).isEqualTo(price);
+            assertThat(resolve(table, 1L, 1L, END.plusNanos(999_999_999))).isEqualTo(price);
+            assertThat(table.footprintBytes() - PriceTable.ROW_BYTES - PriceTable.NANOS_BYTES)
+                    .isEqualTo(emptyTableFootprint(1));
+        }
+
+        @Test
+        @DisplayName("Should resolve like the price timeline on random prices")
+        void shouldMatchPriceTimeline() {
+            Random random = new Random(42);
+            PriceTable.Builder builder = PriceTable.builder();
+            List<List<ApplicablePrice>> keys = new ArrayList<>();
+            for (long product = 0; product < 1_500; product++) {
+                List<ApplicablePrice> prices = new ArrayList<>();
+                for (int i = random.nextInt(6); i >= 0; i--) {
+                    LocalDateTime start = START.plusHours(random.nextInt(200));
+                    ApplicablePrice price = price(product, product % 3, start, start.plusHours(random.nextInt(100)),
+                            random.nextInt(3));
+                    prices.add(price);
+                    builder.add(price);
+                }
+                keys.add(prices);
+            }
+            PriceTable table = builder.build();
+
+            assertThat(table.keys()).isEqualTo(keys.size());
+            for (List<ApplicablePrice> prices : keys) {
+                ApplicablePrice first = prices.get(0);
+                PriceTimeline timeline = PriceTimeline.of(prices);
+                assertThat(table.prices(PriceTable.pack(first.productId(), first.brandId()))).isEqualTo(prices);
+                for (int hour = -1; hour < 310; hour += 7) {
+                    LocalDateTime date = START.plusHours(hour);
+                    assertThat(resolve(table, first.productId(), first.brandId(), date))
+                            .isEqualTo(timeline.resolve(date).orElse(null));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should find the next change past boundaries where the same row keeps winning")
+        void shouldFindNextChange() {
+            PriceTable.Builder builder = PriceTable.builder();
+            builder.add(price(35455L, 1L, START, END, 0));
+            builder.add(price(35455L, 1L, START.plusDays(1), START.plusDays(2), 1));
+            builder.add(price(35455L, 1L, START.plusDays(1).plusHours(1), START.plusDays(3), 0));
+            PriceTable table = builder.build();
+            long key = PriceTable.pack(35455L, 1L);
+
+            assertThat(nextChange(table, key, START.minusDays(1))).isEqualTo(START);
+            assertThat(nextChange(table, key, START)).isEqualTo(START.plusDays(1));
+            assertThat(nextChange(table, key, START.plusDays(1))).isEqualTo(START.plusDays(2).plusNanos(1));
+            assertThat(nextChange(table, key, START.plusDays(2).plusNanos(1))).isEqualTo(END.plusNanos(1));
+            assertThat(nextChange(table, key, END.plusNanos(1))).isNull();
+            assertThat(table.nextChange(PriceTable.pack(35455L, 2L), 0, 0)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should find the next change like the price timeline on random prices")
+        void shouldMatchTimelineNextChange() {
+            Random random = new Random(7);
+            PriceTable.Builder builder = PriceTable.builder();
+            List<List<ApplicablePrice>> keys = new ArrayList<>();
+            for (long product = 0; product < 500; product++) {
+                List<ApplicablePrice> prices = new ArrayList<>();
+                for (int i = random.nextInt(6); i >= 0; i--) {
+                    LocalDateTime start = START.plusHours(random.nextInt(200));
+                    ApplicablePrice price = price(product, 1L, start, start.plusHours(random.nextInt(100)), random.nextInt(3));
+                    prices.add(price);
+                    builder.add(price);
+                }
+                keys.add(prices);
+            }
+            PriceTable table = builder.build();
+
+            for (List<ApplicablePrice> prices : keys) {
+                long key = PriceTable.pack(prices.get(0).productId(), 1L);
+                PriceTimeline timeline = PriceTimeline.of(prices);
+                for (int hour = -1; hour < 310; hour += 7) {
+                    LocalDateTime date = START.plusHours(hour);
+                    assertThat(Optional.ofNullable(nextChange(table, key, date)))
+                            .isEqualTo(timeline.resolveWithNextChange(date).nextChange());
+                }
+            }
+        }
+
+        private static LocalDateTime nextChange(PriceTable table, long key, LocalDateTime date) {
+            return table.nextChange(key, date.toEpochSecond(ZoneOffset.UTC), date.getNano());
+        }
+    }
+
+    @Nested
+    @DisplayName("Building")
+    class Building {
+
+        @Test
+        @DisplayName("Should keep unavailable fields unavailable")
+        void shouldKeepUnavailableFields() {
+            ApplicablePrice partial = ApplicablePrice.of(35455L, 1L, null, START, END, null, null, null);
+            PriceTable.Builder builder = PriceTable.builder();
+            builder.add(partial);
+
+            assertThat(builder.build().prices(PriceTable.pack(35455L, 1L))).containsExactly(partial);
+        }
+
+        @Test
+        @DisplayName("Should skip rows without dates or with identifiers that do not fit a key")
+        void shouldSkipUnusableRows() {
+            PriceTable.Builder builder = PriceTable.builder();
+
+            assertThat(builder.add(ApplicablePrice.of(1L, 1L, 1L, START, null, BigDecimal.ONE, "EUR", 0L))).isFalse();
+            assertThat(builder.add(ApplicablePrice.of(null, 1L, 1L, START, END, BigDecimal.ONE, "EUR", 0L))).isFalse();
+            assertThat(builder.add(price(1L, 1L << 24, START, END, 0))).isFalse();
+            assertThat(builder.add(price(1L, 1L, START, END, 0))).isTrue();
+
+            PriceTable table = builder.build();
+            assertThat(table.rows()).isEqualTo(1);
+            assertThat(table.keys()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should reject rows of a key that are not contiguous")
+        void shouldRejectSplitKeys() {
+            PriceTable.Builder builder = PriceTable.builder();
+            builder.add(price(1L, 1L, START, END, 0));
+            builder.add(price(2L, 1L, START, END, 0));
+            builder.add(price(1L, 1L, START, END, 1));
+
+            assertThatThrownBy(builder::build).isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("Should take a fixed number of bytes per row plus the key index")
+        void shouldReportFootprint() {
+            PriceTable.Builder builder = PriceTable.builder();
+            for (long product = 0; product < 100; product++) {
+                for (int i = 0; i < 4; i++) {
+                    builder.add(price(product, 1L, START.plusDays(i), END, i));
+                }
+            }
+            PriceTable table = builder.build();
+
+            assertThat(table.rows()).isEqualTo(400);
+            assertThat(table.footprintBytes()).isEqualTo(400L * PriceTable.ROW_BYTES + emptyTableFootprint(100));
+        }
+    }
+
+    /**
+     * Returns the footprint of the index of a table with the given number of keys and a single currency:
+     * 16 bytes per slot, with at least twice as many slots as keys.
+     */
+    private static long emptyTableFootprint(int keys) {
+        long slots = Integer.highestOneBit(keys * 2 - 1) << 1;
+        return slots * 16 + Integer.BYTES;
+    }
+}
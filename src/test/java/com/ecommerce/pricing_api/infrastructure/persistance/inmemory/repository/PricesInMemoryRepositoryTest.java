@@ -0,0 +1,311 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.inmemory.repository;
+
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
+import com.ecommerce.pricing_api.application.repository.PricesDatabaseRepository;
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import com.ecommerce.pricing_api.domain.model.PriceSegment;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.domain.model.ResolvedPrice;
+import com.ecommerce.pricing_api.infrastructure.config.InMemoryStoreProperties;
+import com.ecommerce.pricing_api.infrastructure.persistance.inmemory.model.PriceTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("PricesInMemoryRepository Unit Tests")
+class PricesInMemoryRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2020, 6, 14, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2020, 12, 31, 23, 59, 59);
+
+    private final ApplicablePrice base = price(35455L, 1L, START, END, 0);
+    private final ApplicablePrice promo = price(35455L, 1L, START.plusDays(1), START.plusDays(2), 1);
+    private final ApplicablePrice otherBrand = price(35455L, 2L, START, END, 0);
+    private final ApplicablePrice otherProduct = price(35456L, 1L, START, END, 0);
+
+    private PricesDatabaseRepository database;
+    private SimpleMeterRegistry meterRegistry;
+    private PricesInMemoryRepository store;
+
+    private static ApplicablePrice price(long productId, long brandId, LocalDateTime start, LocalDateTime end, long priority) {
+        return ApplicablePrice.of(productId, brandId, priority + 1, start, end, new BigDecimal("35.50"), "EUR", priority);
+    }
+
+    @BeforeEach
+    void setUp() {
+        database = mock(PricesDatabaseRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        store = new PricesInMemoryRepository(database, new InMemoryStoreProperties(), meterRegistry);
+        when(database.findAll()).thenReturn(Flux.just(base, promo, otherBrand, otherProduct));
+    }
+
+    private CacheLookup lookup(String key, LocalDateTime date) {
+        return store.lookup(key, date).block();
+    }
+
+    @Nested
+    @DisplayName("Loading")
+    class Loading {
+
+        @Test
+        @DisplayName("Should miss every key until the table is loaded")
+        void shouldMissBeforeLoad() {
+            assertThat(lookup("35455:1", START).status()).isEqualTo(CacheLookup.Status.MISS);
+        }
+
+        @Test
+        @DisplayName("Should load the table at startup and publish its size")
+        void shouldLoadAtStartup() {
+            store.run(new DefaultApplicationArguments());
+
+            assertThat(lookup("35455:1", START).status()).isEqualTo(CacheLookup.Status.HIT);
+            assertThat(meterRegistry.get(PricesInMemoryRepository.ROWS_GAUGE).gauge().value()).isEqualTo(4);
+            assertThat(meterRegistry.get(PricesInMemoryRepository.KEYS_GAUGE).gauge().value()).isEqualTo(3);
+            assertThat(meterRegistry.get(PricesInMemoryRepository.MEMORY_GAUGE).gauge().value()).isPositive();
+            assertThat(meterRegistry.get(PricesInMemoryRepository.RELOAD_TIMER).timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should keep serving from the database when the startup load fails")
+        void shouldSurviveFailedLoad() {
+            when(database.findAll()).thenReturn(Flux.error(new IllegalStateException("DB down")));
+
+            store.run(new DefaultApplicationArguments());
+
+            assertThat(lookup("35455:1", START).status()).isEqualTo(CacheLookup.Status.MISS);
+        }
+
+        @Test
+        @DisplayName("Should replace the table on reload and drop its overrides")
+        void shouldReplaceTableOnReload() {
+            store.reload().block();
+            store.evict(new PriceKey(35455L, 1L));
+            when(database.findAll()).thenReturn(Flux.just(otherProduct));
+
+            store.reload().block();
+
+            assertThat(lookup("35455:1", START).status()).isEqualTo(CacheLookup.Status.EMPTY);
+            assertThat(lookup("35456:1", START).status()).isEqualTo(CacheLookup.Status.HIT);
+            assertThat(store.table().rows()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should carry invalidations received during a reload over to the new table")
+        void shouldKeepInvalidationsDuringReload() {
+            store.reload().block();
+            Sinks.Many<ApplicablePrice> rows = Sinks.many().unicast().onBackpressureBuffer();
+            when(database.findAll()).thenReturn(rows.asFlux());
+
+            StepVerifier.create(store.reload())
+                    .then(() -> {
+                        rows.tryEmitNext(base);
+                        store.evict(new PriceKey(35455L, 1L));
+                        rows.tryEmitNext(otherProduct);
+                        rows.tryEmitComplete();
+                    })
+                    .verifyComplete();
+
+            assertThat(lookup("35455:1", START).status()).isEqualTo(CacheLookup.Status.MISS);
+            assertThat(lookup("35456:1", START).status()).isEqualTo(CacheLookup.Status.HIT);
+        }
+
+        @Test
+        @DisplayName("Should run a requested reload again once the running one completes")
+        void shouldCoalesceConcurrentReloads() {
+            Sinks.Many<ApplicablePrice> rows = Sinks.many().unicast().onBackpressureBuffer();
+            when(database.findAll()).thenReturn(rows.asFlux(), Flux.just(otherProduct));
+
+            StepVerifier.create(store.reload())
+                    .then(() -> {
+                        store.evictAll();
+                        rows.tryEmitNext(base);
+                        rows.tryEmitComplete();
+                    })
+                    .verifyComplete();
+
+            verify(database, times(2)).findAll();
+            assertThat(lookup("35455:1", START).status()).isEqualTo(CacheLookup.Status.EMPTY);
+            assertThat(lookup("35456:1", START).status()).isEqualTo(CacheLookup.Status.HIT);
+        }
+    }
+
+    @Nested
+    @DisplayName("Lookups")
+    class Lookups {
+
+        @BeforeEach
+        void load() {
+            store.reload().block();
+        }
+
+        @Test
+        @DisplayName("Should resolve a date into a window holding the winner and the segment that follows it")
+        void shouldResolveDateWindow() {
+            CacheLookup lookup = lookup("35455:1", START.plusDays(1));
+
+            assertThat(lookup.status()).isEqualTo(CacheLookup.Status.HIT);
+            PriceTimeline window = lookup.timeline().orElseThrow();
+            assertThat(window.segments()).containsExactly(
+                    new PriceSegment(START.plusDays(1), Optional.of(promo)),
+                    new PriceSegment(START.plusDays(2).plusNanos(1), Optional.of(base)));
+            assertThat(window.resolveWithNextChange(START.plusDays(1)))
+                    .isEqualTo(new ResolvedPrice(Optional.of(promo), Optional.of(START.plusDays(2).plusNanos(1))));
+        }
+
+        @Test
+        @DisplayName("Should return an empty window when no price applies at the date")
+        void shouldReturnEmptyWindowOutsidePrices() {
+            CacheLookup lookup = lookup("35455:1", END.plusDays(1));
+
+            assertThat(lookup.status()).isEqualTo(CacheLookup.Status.HIT);
+            assertThat(lookup.timeline().orElseThrow().resolve(END.plusDays(1))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should report keys absent from the table as known empty")
+        void shouldReportAbsentKeysAsEmpty() {
+            assertThat(lookup("99999:1", START).status()).isEqualTo(CacheLookup.Status.EMPTY);
+            assertThat(store.lookup("99999:1").block().status()).isEqualTo(CacheLookup.Status.EMPTY);
+        }
+
+        @Test
+        @DisplayName("Should build whole timelines for key and multi-key lookups")
+        void shouldBuildWholeTimelines() {
+            PriceTimeline expected = PriceTimeline.of(List.of(base, promo));
+
+            assertThat(store.lookup("35455:1").block().timeline()).contains(expected);
+            Map<String, CacheLookup> lookups = store.lookupAll(List.of("35455:1", "35456:1", "99999:1")).block();
+            assertThat(lookups).hasSize(3);
+            assertThat(lookups.get("35455:1").timeline()).contains(expected);
+            assertThat(lookups.get("35456:1").timeline()).contains(PriceTimeline.of(List.of(otherProduct)));
+            assertThat(lookups.get("99999:1").status()).isEqualTo(CacheLookup.Status.EMPTY);
+        }
+
+        @Test
+        @DisplayName("Should miss keys that do not fit a packed key")
+        void shouldMissUnpackableKeys() {
+            assertThat(PricesInMemoryRepository.packedKey("35455:1")).isEqualTo(PriceTable.pack(35455L, 1L));
+            assertThat(PricesInMemoryRepository.packedKey("35455:" + (1L << 24))).isEqualTo(PriceTable.NO_KEY);
+            assertThat(PricesInMemoryRepository.packedKey("35455")).isEqualTo(PriceTable.NO_KEY);
+            assertThat(PricesInMemoryRepository.packedKey("a:1")).isEqualTo(PriceTable.NO_KEY);
+
+            store.save("35455:" + (1L << 24), PriceTimeline.of(List.of(base))).block();
+
+            assertThat(lookup("35455:" + (1L << 24), START).status()).isEqualTo(CacheLookup.Status.MISS);
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation")
+    class Invalidation {
+
+        @BeforeEach
+        void load() {
+            store.reload().block();
+        }
+
+        @Test
+        @DisplayName("Should miss an evicted key until its timeline is saved again")
+        void shouldMissEvictedKeyUntilSaved() {
+            PriceTimeline reloaded = PriceTimeline.of(List.of(otherProduct));
+
+            store.evict(new PriceKey(35455L, 1L));
+            assertThat(lookup("35455:1", START).status()).isEqualTo(CacheLookup.Status.MISS);
+            assertThat(lookup("35455:2", START).status()).isEqualTo(CacheLookup.Status.HIT);
+
+            store.save("35455:1", reloaded).block();
+            assertThat(lookup("35455:1", START).timeline()).contains(reloaded);
+
+            store.saveEmpty("35455:1").block();
+            assertThat(lookup("35455:1", START).status()).isEqualTo(CacheLookup.Status.EMPTY);
+        }
+
+        @Test
+        @DisplayName("Should miss deleted keys")
+        void shouldMissDeletedKeys() {
+            StepVerifier.create(store.deleteAll(List.of("35455:1", "35456:1"))).verifyComplete();
+
+            assertThat(lookup("35455:1", START).status()).isEqualTo(CacheLookup.Status.MISS);
+            assertThat(lookup("35456:1", START).status()).isEqualTo(CacheLookup.Status.MISS);
+            assertThat(lookup("35455:2", START).status()).isEqualTo(CacheLookup.Status.HIT);
+        }
+
+        @Test
+        @DisplayName("Should miss every key of an evicted brand, including saved ones")
+        void shouldMissEvictedBrand() {
+            store.save("35455:1", PriceTimeline.of(List.of(base))).block();
+
+            store.evictBrand(1L);
+
+            assertThat(lookup("35455:1", START).status()).isEqualTo(CacheLookup.Status.MISS);
+            assertThat(lookup("35456:1", START).status()).isEqualTo(CacheLookup.Status.MISS);
+            assertThat(lookup("35455:2", START).status()).isEqualTo(CacheLookup.Status.HIT);
+
+            store.save("35456:1", PriceTimeline.of(List.of(otherProduct))).block();
+            assertThat(lookup("35456:1", START).status()).isEqualTo(CacheLookup.Status.HIT);
+        }
+
+        @Test
+        @DisplayName("Should compact overrides into a new table once too many keys are overridden")
+        void shouldReloadOnTooManyOverrides() {
+            InMemoryStoreProperties properties = new InMemoryStoreProperties();
+            properties.setMaxOverrides(2);
+            PricesInMemoryRepository bounded = new PricesInMemoryRepository(database, properties, new SimpleMeterRegistry());
+            bounded.reload().block();
+            clearInvocations(database);
+            when(database.findAll()).thenReturn(Flux.just(otherBrand));
+
+            bounded.save("35455:1", PriceTimeline.of(List.of(otherProduct))).block();
+            verify(database, never()).findAll();
+            bounded.evict(new PriceKey(35456L, 1L));
+
+            verify(database, times(1)).findAll();
+            assertThat(bounded.table().rows()).isEqualTo(1);
+            assertThat(bounded.lookup("35455:1", START).block()).isEqualTo(CacheLookup.knownEmpty());
+            assertThat(bounded.lookup("35455:2", START).block().status()).isEqualTo(CacheLookup.Status.HIT);
+        }
+
+        @Test
+        @DisplayName("Should reload the table when every key is evicted")
+        void shouldReloadOnEvictAll() {
+            when(database.findAll()).thenReturn(Flux.just(otherBrand));
+
+            store.evictAll();
+
+            assertThat(lookup("35455:1", START).status()).isEqualTo(CacheLookup.Status.EMPTY);
+            assertThat(store.table().rows()).isEqualTo(1);
+            verify(database, times(2)).findAll();
+        }
+    }
+
+    @Test
+    @DisplayName("Should complete cache writes without touching the database")
+    void shouldNotQueryDatabaseOnWrites() {
+        StepVerifier.create(store.save("35455:1", PriceTimeline.empty()).then(Mono.defer(() -> store.saveEmpty("35455:1"))))
+                .verifyComplete();
+
+        verify(database, never()).findAll();
+    }
+}
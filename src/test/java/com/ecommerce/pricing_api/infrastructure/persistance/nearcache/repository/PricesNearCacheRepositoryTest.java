@@ -0,0 +1,331 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.nearcache.repository;
+
+import com.ecommerce.pricing_api.application.repository.CacheInvalidationBus;
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
+import com.ecommerce.pricing_api.application.repository.PricesDatabaseRepository;
+import com.ecommerce.pricing_api.application.service.ApplicablePriceService;
+import com.ecommerce.pricing_api.application.service.PriceWriteService;
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceChange;
+import com.ecommerce.pricing_api.domain.model.PriceEntry;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.config.RedisProperties;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.repository.PricesRedisRepository;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.repository.PricesRedisSortedSetRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PricesNearCacheRepositoryTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private PricesRedisRepository redisRepository;
+    private PricesNearCacheRepository nearCacheRepository;
+
+    private final PriceTimeline timeline = PriceTimeline.of(List.of(ApplicablePrice.of(
+            35455L,
+            1L,
+            1L,
+            LocalDateTime.of(2020, 6, 14, 0, 0),
+            LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+            BigDecimal.valueOf(35.50),
+            "EUR",
+            0L
+    )));
+
+    @BeforeEach
+    void setUp() {
+        redisRepository = mock(PricesRedisRepository.class);
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setNearCacheMaxEntries(2);
+        redisProperties.setNearCacheTtlSeconds(30);
+        redisProperties.setNegativeTtlSeconds(5);
+
+        nearCacheRepository = new PricesNearCacheRepository(redisRepository, redisProperties, nanos::get, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Should read through from Redis on a local miss and serve later lookups locally")
+    void shouldReadThroughAndServeLocally() {
+        when(redisRepository.lookup("35455:1")).thenReturn(Mono.just(CacheLookup.of(timeline)));
+
+        StepVerifier.create(nearCacheRepository.lookup("35455:1")).expectNext(CacheLookup.of(timeline)).verifyComplete();
+        StepVerifier.create(nearCacheRepository.lookup("35455:1")).expectNext(CacheLookup.of(timeline)).verifyComplete();
+
+        verify(redisRepository, times(1)).lookup("35455:1");
+        assertThat(nearCacheRepository.stats().hitCount()).isEqualTo(1);
+        assertThat(nearCacheRepository.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report a miss when neither the near cache nor Redis hold the key")
+    void shouldReportMissOnFullMiss() {
+        when(redisRepository.lookup(any())).thenReturn(Mono.just(CacheLookup.miss()));
+
+        StepVerifier.create(nearCacheRepository.lookup("1:1")).expectNext(CacheLookup.miss()).verifyComplete();
+
+        assertThat(nearCacheRepository.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep saved timelines locally and write them through to Redis")
+    void shouldWriteThrough() {
+        when(redisRepository.save(any(), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(nearCacheRepository.save("35455:1", timeline)).verifyComplete();
+        StepVerifier.create(nearCacheRepository.lookup("35455:1")).expectNext(CacheLookup.of(timeline)).verifyComplete();
+
+        verify(redisRepository).save("35455:1", timeline);
+        verify(redisRepository, never()).lookup(any());
+    }
+
+    @Test
+    @DisplayName("Should expire entries after the configured TTL")
+    void shouldExpireAfterTtl() {
+        when(redisRepository.save(any(), any())).thenReturn(Mono.empty());
+        when(redisRepository.lookup(any())).thenReturn(Mono.just(CacheLookup.miss()));
+
+        nearCacheRepository.save("35455:1", timeline).block();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+
+        StepVerifier.create(nearCacheRepository.lookup("35455:1")).expectNext(CacheLookup.miss()).verifyComplete();
+        verify(redisRepository).lookup("35455:1");
+    }
+
+    @Test
+    @DisplayName("Should keep known-empty keys locally only for the negative TTL")
+    void shouldKeepKnownEmptyKeysForNegativeTtl() {
+        when(redisRepository.saveEmpty(any())).thenReturn(Mono.empty());
+        when(redisRepository.lookup(any())).thenReturn(Mono.just(CacheLookup.miss()));
+
+        nearCacheRepository.saveEmpty("1:1").block();
+
+        StepVerifier.create(nearCacheRepository.lookup("1:1")).expectNext(CacheLookup.knownEmpty()).verifyComplete();
+        verify(redisRepository, never()).lookup(any());
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(6));
+
+        StepVerifier.create(nearCacheRepository.lookup("1:1")).expectNext(CacheLookup.miss()).verifyComplete();
+        verify(redisRepository).saveEmpty("1:1");
+    }
+
+    @Test
+    @DisplayName("Should evict entries beyond the configured size")
+    void shouldEvictBeyondMaxEntries() {
+        when(redisRepository.save(any(), any())).thenReturn(Mono.empty());
+
+        nearCacheRepository.save("1:1", timeline).block();
+        nearCacheRepository.save("2:1", timeline).block();
+        nearCacheRepository.save("3:1", timeline).block();
+
+        assertThat(nearCacheRepository.stats().evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should multi-get from Redis only the keys missing locally")
+    void shouldLookupAllReadingThroughOnlyLocalMisses() {
+        when(redisRepository.save(any(), any())).thenReturn(Mono.empty());
+        when(redisRepository.lookupAll(any())).thenReturn(Mono.just(Map.of(
+                "2:1", CacheLookup.knownEmpty(),
+                "3:1", CacheLookup.miss()
+        )));
+
+        nearCacheRepository.save("1:1", timeline).block();
+
+        StepVerifier.create(nearCacheRepository.lookupAll(List.of("1:1", "2:1", "3:1")))
+                .expectNext(Map.of(
+                        "1:1", CacheLookup.of(timeline),
+                        "2:1", CacheLookup.knownEmpty(),
+                        "3:1", CacheLookup.miss()
+                ))
+                .verifyComplete();
+        StepVerifier.create(nearCacheRepository.lookup("2:1")).expectNext(CacheLookup.knownEmpty()).verifyComplete();
+
+        verify(redisRepository).lookupAll(List.of("2:1", "3:1"));
+        verify(redisRepository, never()).lookup(any());
+    }
+
+    @Test
+    @DisplayName("Should keep whole timelines read for a single date locally")
+    void shouldRememberDateLookupsOfWholeTimelines() {
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 10, 0);
+        when(redisRepository.lookup("35455:1", date)).thenReturn(Mono.just(CacheLookup.of(timeline)));
+
+        StepVerifier.create(nearCacheRepository.lookup("35455:1", date)).expectNext(CacheLookup.of(timeline)).verifyComplete();
+        StepVerifier.create(nearCacheRepository.lookup("35455:1", date.plusDays(1))).expectNext(CacheLookup.of(timeline)).verifyComplete();
+
+        verify(redisRepository, times(1)).lookup(eq("35455:1"), any());
+    }
+
+    @Test
+    @DisplayName("Should not keep the single-date windows of the sorted-set layout locally")
+    void shouldNotRememberSortedSetWindows() {
+        PricesRedisSortedSetRepository sortedSetRepository = mock(PricesRedisSortedSetRepository.class);
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setNearCacheMaxEntries(2);
+        redisProperties.setNearCacheTtlSeconds(30);
+        redisProperties.setNegativeTtlSeconds(5);
+        redisProperties.setLayout(RedisProperties.Layout.SORTED_SET);
+        PricesNearCacheRepository rangedNearCache =
+                new PricesNearCacheRepository(sortedSetRepository, redisProperties, nanos::get, Runnable::run);
+
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 10, 0);
+        when(sortedSetRepository.lookup("35455:1", date)).thenReturn(Mono.just(CacheLookup.of(timeline)));
+        when(sortedSetRepository.lookup("1:1", date)).thenReturn(Mono.just(CacheLookup.knownEmpty()));
+
+        StepVerifier.create(rangedNearCache.lookup("35455:1", date)).expectNext(CacheLookup.of(timeline)).verifyComplete();
+        StepVerifier.create(rangedNearCache.lookup("35455:1", date)).expectNext(CacheLookup.of(timeline)).verifyComplete();
+        StepVerifier.create(rangedNearCache.lookup("1:1", date)).expectNext(CacheLookup.knownEmpty()).verifyComplete();
+        StepVerifier.create(rangedNearCache.lookup("1:1", date)).expectNext(CacheLookup.knownEmpty()).verifyComplete();
+
+        verify(sortedSetRepository, times(2)).lookup("35455:1", date);
+        verify(sortedSetRepository, times(1)).lookup("1:1", date);
+    }
+
+    @Test
+    @DisplayName("Should drop an evicted key and read it through from Redis again")
+    void shouldEvictKey() {
+        when(redisRepository.save(any(), any())).thenReturn(Mono.empty());
+        when(redisRepository.lookup(any())).thenReturn(Mono.just(CacheLookup.miss()));
+        nearCacheRepository.save("35455:1", timeline).block();
+        nearCacheRepository.save("35456:1", timeline).block();
+
+        nearCacheRepository.evict(new PriceKey(35455L, 1L));
+
+        StepVerifier.create(nearCacheRepository.lookup("35455:1")).expectNext(CacheLookup.miss()).verifyComplete();
+        StepVerifier.create(nearCacheRepository.lookup("35456:1")).expectNext(CacheLookup.of(timeline)).verifyComplete();
+        verify(redisRepository, times(1)).lookup(any());
+    }
+
+    @Test
+    @DisplayName("Should drop only the keys of an evicted brand")
+    void shouldEvictBrand() {
+        when(redisRepository.save(any(), any())).thenReturn(Mono.empty());
+        when(redisRepository.lookup(any())).thenReturn(Mono.just(CacheLookup.miss()));
+        nearCacheRepository.save("35455:1", timeline).block();
+        nearCacheRepository.save("35455:11", timeline).block();
+
+        nearCacheRepository.evictBrand(1L);
+
+        StepVerifier.create(nearCacheRepository.lookup("35455:1")).expectNext(CacheLookup.miss()).verifyComplete();
+        StepVerifier.create(nearCacheRepository.lookup("35455:11")).expectNext(CacheLookup.of(timeline)).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should drop every key when evicting all")
+    void shouldEvictAll() {
+        when(redisRepository.save(any(), any())).thenReturn(Mono.empty());
+        when(redisRepository.lookup(any())).thenReturn(Mono.just(CacheLookup.miss()));
+        nearCacheRepository.save("35455:1", timeline).block();
+        nearCacheRepository.save("1:2", timeline).block();
+
+        nearCacheRepository.evictAll();
+
+        StepVerifier.create(nearCacheRepository.lookup("35455:1")).expectNext(CacheLookup.miss()).verifyComplete();
+        StepVerifier.create(nearCacheRepository.lookup("1:2")).expectNext(CacheLookup.miss()).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should not keep a Redis read that was in flight when an invalidation arrived")
+    void shouldNotRememberReadsRacingAnInvalidation() {
+        Sinks.One<CacheLookup> inFlight = Sinks.one();
+        when(redisRepository.lookup("35455:1"))
+                .thenReturn(inFlight.asMono())
+                .thenReturn(Mono.just(CacheLookup.miss()));
+
+        StepVerifier.create(nearCacheRepository.lookup("35455:1"))
+                .then(() -> {
+                    nearCacheRepository.evict(new PriceKey(35455L, 1L));
+                    inFlight.tryEmitValue(CacheLookup.of(timeline));
+                })
+                .expectNext(CacheLookup.of(timeline))
+                .verifyComplete();
+        StepVerifier.create(nearCacheRepository.lookup("35455:1")).expectNext(CacheLookup.miss()).verifyComplete();
+
+        verify(redisRepository, times(2)).lookup("35455:1");
+    }
+
+    @Test
+    @DisplayName("Should drop deleted keys locally and delete them from Redis")
+    void shouldDeleteLocallyAndFromRedis() {
+        when(redisRepository.save(any(), any())).thenReturn(Mono.empty());
+        when(redisRepository.deleteAll(any())).thenReturn(Mono.empty());
+        when(redisRepository.lookup(any())).thenReturn(Mono.just(CacheLookup.miss()));
+        nearCacheRepository.save("35455:1", timeline).block();
+        nearCacheRepository.save("35456:1", timeline).block();
+
+        StepVerifier.create(nearCacheRepository.deleteAll(List.of("35455:1"))).verifyComplete();
+
+        StepVerifier.create(nearCacheRepository.lookup("35455:1")).expectNext(CacheLookup.miss()).verifyComplete();
+        StepVerifier.create(nearCacheRepository.lookup("35456:1")).expectNext(CacheLookup.of(timeline)).verifyComplete();
+        verify(redisRepository).deleteAll(List.of("35455:1"));
+    }
+
+    @Test
+    @DisplayName("Should drop the save of a load that Redis missed before an invalidation")
+    void shouldDropSavesRacingAnInvalidation() {
+        when(redisRepository.lookup("35455:1")).thenReturn(Mono.just(CacheLookup.miss()));
+        when(redisRepository.save(any(), any())).thenReturn(Mono.empty());
+        when(redisRepository.deleteAll(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(nearCacheRepository.lookup("35455:1")).expectNext(CacheLookup.miss()).verifyComplete();
+        nearCacheRepository.deleteAll(List.of("35455:1")).block();
+        StepVerifier.create(nearCacheRepository.save("35455:1", timeline)).verifyComplete();
+
+        StepVerifier.create(nearCacheRepository.lookup("35455:1")).expectNext(CacheLookup.miss()).verifyComplete();
+        StepVerifier.create(nearCacheRepository.save("35455:1", timeline)).verifyComplete();
+        verify(redisRepository, times(1)).save("35455:1", timeline);
+    }
+
+    @Test
+    @DisplayName("Should not cache the prices a slow load read before a concurrent write")
+    void shouldNotCacheSlowLoadRacingAWrite() {
+        PricesDatabaseRepository database = mock(PricesDatabaseRepository.class);
+        CacheInvalidationBus bus = mock(CacheInvalidationBus.class);
+        ApplicablePriceService reads = new ApplicablePriceService(database, nearCacheRepository, 10, new SimpleMeterRegistry());
+        PriceWriteService writes = new PriceWriteService(database, nearCacheRepository, bus, 10);
+        PriceEntry entry = new PriceEntry(1L, 1L, LocalDateTime.of(2020, 6, 14, 0, 0),
+                LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1L, 35455L, 0L, BigDecimal.valueOf(30.50), "EUR");
+        Sinks.Many<ApplicablePrice> slowLoad = Sinks.many().unicast().onBackpressureBuffer();
+        when(redisRepository.lookup(eq("35455:1"), any())).thenReturn(Mono.just(CacheLookup.miss()));
+        when(redisRepository.save(any(), any())).thenReturn(Mono.empty());
+        when(redisRepository.deleteAll(any())).thenReturn(Mono.empty());
+        when(database.findAllByProductAndBrand(35455L, 1L)).thenReturn(slowLoad.asFlux());
+        when(database.upsertAll(any())).thenReturn(Mono.just(new PriceChange(1, Set.of(new PriceKey(35455L, 1L)))));
+        when(bus.evict(any())).thenReturn(Mono.empty());
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 10, 0);
+
+        StepVerifier.create(reads.getApplicablePrice(35455L, 1L, date))
+                .then(() -> {
+                    writes.upsert(Flux.just(entry)).block();
+                    slowLoad.tryEmitNext(timeline.resolve(date).orElseThrow());
+                    slowLoad.tryEmitComplete();
+                })
+                .expectNextMatches(Optional::isPresent)
+                .verifyComplete();
+
+        verify(redisRepository).deleteAll(List.of("35455:1"));
+        verify(redisRepository, never()).save(any(), any());
+        StepVerifier.create(nearCacheRepository.lookup("35455:1", date)).expectNext(CacheLookup.miss()).verifyComplete();
+    }
+}
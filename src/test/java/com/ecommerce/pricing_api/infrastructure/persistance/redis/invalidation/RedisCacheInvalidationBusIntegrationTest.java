@@ -0,0 +1,191 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.invalidation;
+
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
+import com.ecommerce.pricing_api.application.repository.PricesCacheRepository;
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.config.RedisConfig;
+import com.ecommerce.pricing_api.infrastructure.config.RedisProperties;
+import com.ecommerce.pricing_api.infrastructure.persistance.nearcache.repository.PricesNearCacheRepository;
+import com.ecommerce.pricing_api.support.RedisStandIn;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.assertj.AssertableApplicationContext;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Runs two application contexts, standing for two nodes, against a local Redis stand-in, and checks that an
+ * invalidation published by one node evicts the near cache of the other.
+ */
+@DisplayName("RedisCacheInvalidationBus Integration Tests")
+class RedisCacheInvalidationBusIntegrationTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    private final PriceTimeline timeline = PriceTimeline.of(List.of(ApplicablePrice.of(
+            35455L,
+            1L,
+            1L,
+            LocalDateTime.of(2020, 6, 14, 0, 0),
+            LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+            BigDecimal.valueOf(35.50),
+            "EUR",
+            0L
+    )));
+
+    private RedisStandIn redis;
+    private ApplicationContextRunner runner;
+
+    @Configuration
+    @EnableConfigurationProperties(RedisProperties.class)
+    static class NodeConfig {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        /**
+         * Stands for the shared Redis cache, which always misses, so lookups only hit the near cache.
+         */
+        @Bean
+        @Qualifier(RedisConfig.REDIS_CACHE)
+        PricesCacheRepository sharedCache() {
+            return new PricesCacheRepository() {
+                @Override
+                public Mono<Void> save(String key, PriceTimeline timeline) {
+                    return Mono.empty();
+                }
+
+                @Override
+                public Mono<Void> saveEmpty(String key) {
+                    return Mono.empty();
+                }
+
+                @Override
+                public Mono<CacheLookup> lookup(String key) {
+                    return Mono.just(CacheLookup.miss());
+                }
+
+                @Override
+                public Mono<Map<String, CacheLookup>> lookupAll(Collection<String> keys) {
+                    return Mono.just(Map.of());
+                }
+
+                @Override
+                public Mono<Void> deleteAll(Collection<String> keys) {
+                    return Mono.empty();
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        redis = new RedisStandIn();
+        runner = new ApplicationContextRunner()
+                .withUserConfiguration(NodeConfig.class, RedisConfig.class,
+                        PricesNearCacheRepository.class, RedisCacheInvalidationBus.class)
+                .withPropertyValues(
+                        "spring.redis.host=localhost",
+                        "spring.redis.port=" + redis.port(),
+                        "spring.redis.near-cache-max-entries=100",
+                        "spring.redis.near-cache-ttl-seconds=600",
+                        "spring.redis.negative-ttl-seconds=600"
+                );
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        redis.close();
+    }
+
+    @Test
+    @DisplayName("Should evict a key from the near cache of every node")
+    void shouldEvictKeyOnEveryNode() {
+        runner.run(nodeA -> runner.run(nodeB -> {
+            awaitSubscribed(nodeA, nodeB);
+            cache(nodeA, "35455:1", "35456:1");
+            cache(nodeB, "35455:1", "35456:1");
+
+            nodeA.getBean(RedisCacheInvalidationBus.class).evict(new PriceKey(35455L, 1L)).block();
+
+            await(() -> !isCached(nodeB, "35455:1"));
+            assertThat(isCached(nodeA, "35455:1")).isFalse();
+            assertThat(isCached(nodeA, "35456:1")).isTrue();
+            assertThat(isCached(nodeB, "35456:1")).isTrue();
+        }));
+    }
+
+    @Test
+    @DisplayName("Should evict every key of a brand from the near cache of every node")
+    void shouldEvictBrandOnEveryNode() {
+        runner.run(nodeA -> runner.run(nodeB -> {
+            awaitSubscribed(nodeA, nodeB);
+            cache(nodeA, "35455:1", "35456:1", "35455:2");
+            cache(nodeB, "35455:1", "35456:1", "35455:2");
+
+            nodeB.getBean(RedisCacheInvalidationBus.class).evictBrand(1L).block();
+
+            await(() -> !isCached(nodeA, "35455:1") && !isCached(nodeA, "35456:1"));
+            assertThat(isCached(nodeB, "35455:1")).isFalse();
+            assertThat(isCached(nodeB, "35456:1")).isFalse();
+            assertThat(isCached(nodeA, "35455:2")).isTrue();
+            assertThat(isCached(nodeB, "35455:2")).isTrue();
+        }));
+    }
+
+    private void cache(AssertableApplicationContext node, String... keys) {
+        PricesNearCacheRepository nearCache = node.getBean(PricesNearCacheRepository.class);
+        for (String key : keys) {
+            nearCache.save(key, timeline).block();
+        }
+    }
+
+    private static boolean isCached(AssertableApplicationContext node, String key) {
+        CacheLookup lookup = node.getBean(PricesNearCacheRepository.class).lookup(key).block();
+        return lookup != null && lookup.status() == CacheLookup.Status.HIT;
+    }
+
+    private static void awaitSubscribed(AssertableApplicationContext... nodes) {
+        for (AssertableApplicationContext node : nodes) {
+            assertThat(node).hasNotFailed();
+            await(() -> node.getBean(RedisCacheInvalidationBus.class).isSubscribed());
+        }
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met within " + TIMEOUT_MILLIS + " ms");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted while waiting");
+            }
+        }
+    }
+}
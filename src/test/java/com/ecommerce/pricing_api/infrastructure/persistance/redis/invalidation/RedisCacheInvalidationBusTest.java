@@ -0,0 +1,103 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.invalidation;
+
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import com.ecommerce.pricing_api.infrastructure.config.RedisProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RedisCacheInvalidationBus Unit Tests")
+class RedisCacheInvalidationBusTest {
+
+    private final ReactiveStringRedisTemplate template = mock(ReactiveStringRedisTemplate.class);
+    private final LocalPriceCache nearCache = mock(LocalPriceCache.class);
+    private final LocalPriceCache otherCache = mock(LocalPriceCache.class);
+    private final RedisCacheInvalidationBus bus = new RedisCacheInvalidationBus(
+            mock(ReactiveRedisConnectionFactory.class), template, List.of(nearCache, otherCache), new RedisProperties());
+
+    @Nested
+    @DisplayName("Publishing")
+    class Publishing {
+
+        @Test
+        @DisplayName("Should evict a key locally before publishing it on the channel")
+        void shouldEvictKeyLocallyThenPublish() {
+            when(template.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(2L));
+
+            StepVerifier.create(bus.evict(new PriceKey(35455L, 1L))).verifyComplete();
+
+            InOrder inOrder = inOrder(nearCache, template);
+            inOrder.verify(nearCache).evict(new PriceKey(35455L, 1L));
+            inOrder.verify(template).convertAndSend("pricing:invalidation", "key:35455:1");
+            verify(otherCache).evict(new PriceKey(35455L, 1L));
+        }
+
+        @Test
+        @DisplayName("Should evict a brand locally and publish it on the channel")
+        void shouldEvictBrandLocallyThenPublish() {
+            when(template.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+
+            StepVerifier.create(bus.evictBrand(1L)).verifyComplete();
+
+            verify(nearCache).evictBrand(1L);
+            verify(template).convertAndSend("pricing:invalidation", "brand:1");
+        }
+
+        @Test
+        @DisplayName("Should propagate publishing errors")
+        void shouldPropagatePublishErrors() {
+            when(template.convertAndSend(anyString(), anyString())).thenReturn(Mono.error(new IllegalStateException("Redis down")));
+
+            StepVerifier.create(bus.evict(new PriceKey(35455L, 1L))).expectError(IllegalStateException.class).verify();
+
+            verify(nearCache).evict(new PriceKey(35455L, 1L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Receiving")
+    class Receiving {
+
+        @Test
+        @DisplayName("Should apply key evictions to every local cache")
+        void shouldApplyKeyEvictions() {
+            bus.apply("key:35455:1");
+
+            verify(nearCache).evict(new PriceKey(35455L, 1L));
+            verify(otherCache).evict(new PriceKey(35455L, 1L));
+        }
+
+        @Test
+        @DisplayName("Should apply brand evictions to every local cache")
+        void shouldApplyBrandEvictions() {
+            bus.apply("brand:2");
+
+            verify(nearCache).evictBrand(2L);
+            verify(otherCache).evictBrand(2L);
+        }
+
+        @Test
+        @DisplayName("Should ignore unknown and malformed messages")
+        void shouldIgnoreUnknownMessages() {
+            bus.apply("product:35455");
+            bus.apply("key:35455");
+            bus.apply("key:abc:1");
+            bus.apply("brand:");
+
+            verify(nearCache, never()).evict(any());
+            verify(nearCache, never()).evictBrand(any());
+            verify(nearCache, never()).evictAll();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.repository;
+
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.config.RedisProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CacheExpiry Unit Tests")
+class CacheExpiryTest {
+
+    private final PriceTimeline timeline = PriceTimeline.of(List.of(ApplicablePrice.of(
+            35455L,
+            1L,
+            1L,
+            LocalDateTime.of(2020, 6, 14, 0, 0),
+            LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+            BigDecimal.valueOf(35.50),
+            "EUR",
+            0L
+    )));
+
+    private RedisProperties redisProperties;
+
+    @BeforeEach
+    void setUp() {
+        redisProperties = new RedisProperties();
+        redisProperties.setTtlSeconds(600);
+        redisProperties.setNegativeTtlSeconds(30);
+    }
+
+    @Nested
+    @DisplayName("Time-to-lives")
+    class TimeToLives {
+
+        @Test
+        @DisplayName("Should keep the configured TTLs without jitter nor stale window")
+        void shouldKeepConfiguredTtls() {
+            CacheExpiry expiry = new CacheExpiry(redisProperties, () -> 0.99);
+
+            assertThat(expiry.ttl()).isEqualTo(Duration.ofSeconds(600));
+            assertThat(expiry.negativeTtl()).isEqualTo(Duration.ofSeconds(30));
+            assertThat(expiry.tracksStaleness()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should shorten TTLs by a random share of the jitter")
+        void shouldJitterTtls() {
+            redisProperties.setTtlJitterPercent(20);
+
+            assertThat(new CacheExpiry(redisProperties, () -> 0.0).ttl()).isEqualTo(Duration.ofSeconds(600));
+            assertThat(new CacheExpiry(redisProperties, () -> 0.5).ttl()).isEqualTo(Duration.ofSeconds(540));
+            assertThat(new CacheExpiry(redisProperties, () -> 0.5).negativeTtl()).isEqualTo(Duration.ofSeconds(27));
+        }
+
+        @Test
+        @DisplayName("Should keep timelines, but not known-empty markers, for the stale window past their TTL")
+        void shouldExtendTimelineTtlByStaleWindow() {
+            redisProperties.setStaleSeconds(60);
+            CacheExpiry expiry = new CacheExpiry(redisProperties, () -> 0.5);
+
+            assertThat(expiry.ttl()).isEqualTo(Duration.ofSeconds(660));
+            assertThat(expiry.negativeTtl()).isEqualTo(Duration.ofSeconds(30));
+            assertThat(expiry.tracksStaleness()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Staleness")
+    class Staleness {
+
+        private static final long NOW = 1_600_000_000_000L;
+
+        private CacheExpiry expiry;
+
+        @BeforeEach
+        void setUp() {
+            redisProperties.setStaleSeconds(60);
+            expiry = new CacheExpiry(redisProperties, () -> 0.0, () -> NOW);
+        }
+
+        @Test
+        @DisplayName("Should place the soft expiry a stale window before the hard one")
+        void shouldComputeSoftExpiry() {
+            assertThat(expiry.softExpiry(expiry.ttl())).isEqualTo(NOW + 600_000);
+        }
+
+        @Test
+        @DisplayName("Should keep hits fresh until their stored soft expiry")
+        void shouldFlagHitsPastSoftExpiry() {
+            CacheLookup hit = CacheLookup.of(timeline);
+
+            assertThat(expiry.markBySoftExpiry(hit, NOW + 1)).isEqualTo(hit);
+            assertThat(expiry.markBySoftExpiry(hit, NOW)).isEqualTo(CacheLookup.stale(timeline));
+            assertThat(expiry.markBySoftExpiry(hit, 0)).isEqualTo(hit);
+        }
+
+        @Test
+        @DisplayName("Should keep hits fresh until their remaining TTL enters the stale window")
+        void shouldFlagHitsWithinStaleWindow() {
+            CacheLookup hit = CacheLookup.of(timeline);
+
+            assertThat(expiry.markByTtl(hit, 60_001)).isEqualTo(hit);
+            assertThat(expiry.markByTtl(hit, 60_000)).isEqualTo(CacheLookup.stale(timeline));
+            assertThat(expiry.markByTtl(hit, 1)).isEqualTo(CacheLookup.stale(timeline));
+            assertThat(expiry.markByTtl(hit, -1)).isEqualTo(hit);
+        }
+
+        @Test
+        @DisplayName("Should never flag misses nor known-empty markers, nor anything without a stale window")
+        void shouldIgnoreMissesAndKnownEmpty() {
+            assertThat(expiry.markByTtl(CacheLookup.miss(), 1)).isEqualTo(CacheLookup.miss());
+            assertThat(expiry.markBySoftExpiry(CacheLookup.knownEmpty(), NOW)).isEqualTo(CacheLookup.knownEmpty());
+
+            redisProperties.setStaleSeconds(0);
+            CacheLookup hit = CacheLookup.of(timeline);
+            assertThat(expiry.markByTtl(hit, 1)).isEqualTo(hit);
+            assertThat(expiry.markBySoftExpiry(hit, NOW)).isEqualTo(hit);
+        }
+    }
+}
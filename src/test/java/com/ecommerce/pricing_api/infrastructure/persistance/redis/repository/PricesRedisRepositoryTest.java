@@ -1,7 +1,10 @@
 package com.ecommerce.pricing_api.infrastructure.persistance.redis.repository;
 
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
 import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
 import com.ecommerce.pricing_api.infrastructure.config.RedisProperties;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer.CachedPriceTimeline;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,18 +15,25 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class PricesRedisRepositoryTest {
 
+    private static final long NOW = 1_600_000_000_000L;
+
     private PricesRedisRepository pricesRedisRepository;
-    private ReactiveRedisTemplate<String, List<ApplicablePrice>> redisTemplate;
-    private ReactiveValueOperations<String, List<ApplicablePrice>> valueOperations;
+    private ReactiveRedisTemplate<String, CachedPriceTimeline> redisTemplate;
+    private ReactiveValueOperations<String, CachedPriceTimeline> valueOperations;
     private RedisProperties redisProperties;
 
     @BeforeEach
@@ -34,6 +44,7 @@ class PricesRedisRepositoryTest {
         redisProperties.setHost("localhost");
         redisProperties.setPort(6379);
         redisProperties.setTtlSeconds(600);
+        redisProperties.setNegativeTtlSeconds(30);
 
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 
@@ -43,41 +54,179 @@ class PricesRedisRepositoryTest {
     @Test
     @DisplayName("Should save prices into Redis")
     void shouldSavePricesIntoRedis() {
-        List<ApplicablePrice> prices = List.of(new ApplicablePrice(
-                Optional.of(1L),
-                Optional.of(1L),
-                Optional.of(1L),
-                Optional.of(LocalDateTime.now()),
-                Optional.of(LocalDateTime.now()),
-                Optional.of(BigDecimal.valueOf(50)),
-                Optional.of("EUR"),
-                Optional.of(1L)
+        List<ApplicablePrice> prices = List.of(ApplicablePrice.of(
+                1L,
+                1L,
+                1L,
+                LocalDateTime.now(),
+                LocalDateTime.now(),
+                BigDecimal.valueOf(50),
+                "EUR",
+                1L
         ));
 
         when(valueOperations.set(any(), any(), any())).thenReturn(Mono.just(true));
 
-        StepVerifier.create(pricesRedisRepository.save("test-key", prices))
+        StepVerifier.create(pricesRedisRepository.save("test-key", PriceTimeline.of(prices)))
                 .verifyComplete();
     }
 
     @Test
     @DisplayName("Should find prices from Redis")
     void shouldFindPricesFromRedis() {
-        List<ApplicablePrice> prices = List.of(new ApplicablePrice(
-                Optional.of(1L),
-                Optional.of(1L),
-                Optional.of(1L),
-                Optional.of(LocalDateTime.now()),
-                Optional.of(LocalDateTime.now()),
-                Optional.of(BigDecimal.valueOf(50)),
-                Optional.of("EUR"),
-                Optional.of(1L)
+        List<ApplicablePrice> prices = List.of(ApplicablePrice.of(
+                1L,
+                1L,
+                1L,
+                LocalDateTime.now(),
+                LocalDateTime.now(),
+                BigDecimal.valueOf(50),
+                "EUR",
+                1L
         ));
 
-        when(valueOperations.get(any())).thenReturn(Mono.just(prices));
+        when(valueOperations.get(any())).thenReturn(Mono.just(CachedPriceTimeline.of(PriceTimeline.of(prices), 0)));
+
+        StepVerifier.create(pricesRedisRepository.lookup("test-key"))
+                .expectNextMatches(lookup -> lookup.status() == CacheLookup.Status.HIT &&
+                        lookup.timeline().orElseThrow().segments().get(0).price()
+                                .map(ApplicablePrice::productId)
+                                .isPresent())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should report a miss when the key is not in Redis")
+    void shouldReportMissWhenKeyAbsent() {
+        when(valueOperations.get(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(pricesRedisRepository.lookup("test-key"))
+                .expectNext(CacheLookup.miss())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should store known-empty keys with the negative TTL and report them as empty")
+    void shouldSaveAndFindKnownEmptyKeys() {
+        when(valueOperations.set(any(), any(), any())).thenReturn(Mono.just(true));
+        when(valueOperations.get(any())).thenReturn(Mono.just(CachedPriceTimeline.of(PriceTimeline.empty(), 0)));
+
+        StepVerifier.create(pricesRedisRepository.saveEmpty("test-key"))
+                .verifyComplete();
+        StepVerifier.create(pricesRedisRepository.lookup("test-key"))
+                .expectNext(CacheLookup.knownEmpty())
+                .verifyComplete();
+
+        verify(valueOperations).set(eq("test-key"), eq(CachedPriceTimeline.of(PriceTimeline.empty(), 0)), eq(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    @DisplayName("Should look up many keys with a single multi-get")
+    void shouldLookupManyKeysWithMultiGet() {
+        PriceTimeline timeline = PriceTimeline.of(List.of(ApplicablePrice.of(
+                1L,
+                1L,
+                1L,
+                LocalDateTime.now(),
+                LocalDateTime.now(),
+                BigDecimal.valueOf(50),
+                "EUR",
+                1L
+        )));
+
+        when(valueOperations.multiGet(any())).thenReturn(Mono.just(Arrays.asList(
+                CachedPriceTimeline.of(timeline, 0), null, CachedPriceTimeline.of(PriceTimeline.empty(), 0))));
 
-        StepVerifier.create(pricesRedisRepository.find("test-key"))
-                .expectNextMatches(price -> price.productId().isPresent())
+        StepVerifier.create(pricesRedisRepository.lookupAll(List.of("a", "b", "c")))
+                .expectNext(Map.of(
+                        "a", CacheLookup.of(timeline),
+                        "b", CacheLookup.miss(),
+                        "c", CacheLookup.knownEmpty()
+                ))
                 .verifyComplete();
+
+        verify(valueOperations).multiGet(List.of("a", "b", "c"));
+    }
+
+    @Test
+    @DisplayName("Should write jittered TTLs extended by the stale window, and the soft expiry in the value")
+    void shouldWriteJitteredTtls() {
+        redisProperties.setStaleSeconds(60);
+        redisProperties.setTtlJitterPercent(10);
+        PricesRedisRepository repository = new PricesRedisRepository(redisTemplate, redisProperties,
+                new CacheExpiry(redisProperties, () -> 0.5, () -> NOW));
+        when(valueOperations.set(any(), any(), any())).thenReturn(Mono.just(true));
+
+        StepVerifier.create(repository.save("a", timeline())).verifyComplete();
+        StepVerifier.create(repository.saveEmpty("b")).verifyComplete();
+
+        verify(valueOperations).set(eq("a"), eq(CachedPriceTimeline.of(timeline(), NOW + 570_000)),
+                eq(Duration.ofSeconds(570 + 60)));
+        verify(valueOperations).set(eq("b"), eq(CachedPriceTimeline.of(PriceTimeline.empty(), 0)),
+                eq(Duration.ofMillis(28_500)));
+    }
+
+    @Test
+    @DisplayName("Should flag hits past the soft expiry stored in their value as stale")
+    void shouldFlagStaleHits() {
+        redisProperties.setStaleSeconds(60);
+        PricesRedisRepository repository = new PricesRedisRepository(redisTemplate, redisProperties,
+                new CacheExpiry(redisProperties, () -> 0.0, () -> NOW));
+        PriceTimeline timeline = timeline();
+        when(valueOperations.get("fresh")).thenReturn(Mono.just(CachedPriceTimeline.of(timeline, NOW + 1)));
+        when(valueOperations.get("stale")).thenReturn(Mono.just(CachedPriceTimeline.of(timeline, NOW)));
+
+        StepVerifier.create(repository.lookup("fresh"))
+                .expectNext(CacheLookup.of(timeline))
+                .verifyComplete();
+        StepVerifier.create(repository.lookup("stale"))
+                .expectNext(CacheLookup.stale(timeline))
+                .verifyComplete();
+
+        verify(redisTemplate, never()).getExpire(any());
+    }
+
+    @Test
+    @DisplayName("Should flag the stale hits of a multi-get without any further command")
+    void shouldFlagStaleHitsOfMultiGet() {
+        redisProperties.setStaleSeconds(60);
+        PricesRedisRepository repository = new PricesRedisRepository(redisTemplate, redisProperties,
+                new CacheExpiry(redisProperties, () -> 0.0, () -> NOW));
+        PriceTimeline timeline = timeline();
+        when(valueOperations.multiGet(any())).thenReturn(Mono.just(Arrays.asList(
+                CachedPriceTimeline.of(timeline, NOW + 540_000), CachedPriceTimeline.of(timeline, NOW - 5_000), null)));
+
+        StepVerifier.create(repository.lookupAll(List.of("a", "b", "c")))
+                .expectNext(Map.of(
+                        "a", CacheLookup.of(timeline),
+                        "b", CacheLookup.stale(timeline),
+                        "c", CacheLookup.miss()
+                ))
+                .verifyComplete();
+
+        verify(redisTemplate, never()).getExpire(any());
+    }
+
+    @Test
+    @DisplayName("Should delete many keys with a single DEL")
+    void shouldDeleteManyKeysWithOneDel() {
+        when(redisTemplate.delete("a", "b")).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(pricesRedisRepository.deleteAll(List.of("a", "b"))).verifyComplete();
+
+        verify(redisTemplate).delete("a", "b");
+    }
+
+    private static PriceTimeline timeline() {
+        return PriceTimeline.of(List.of(ApplicablePrice.of(
+                1L,
+                1L,
+                1L,
+                LocalDateTime.of(2020, 6, 14, 0, 0),
+                LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                BigDecimal.valueOf(50),
+                "EUR",
+                1L
+        )));
     }
 }
@@ -0,0 +1,244 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.repository;
+
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceSegment;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.domain.model.ResolvedPrice;
+import com.ecommerce.pricing_api.infrastructure.config.RedisProperties;
+import com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer.PriceSegmentMemberCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PricesRedisSortedSetRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2020, 6, 14, 0, 0);
+
+    private PricesRedisSortedSetRepository repository;
+    private ReactiveRedisTemplate<String, byte[]> redisTemplate;
+
+    private final ApplicablePrice base = buildPrice(1L, 0L, BASE, BASE.plusDays(10));
+    private final ApplicablePrice promo = buildPrice(2L, 1L, BASE.plusDays(2), BASE.plusDays(4));
+    private final PriceTimeline timeline = PriceTimeline.of(List.of(base, promo));
+
+    private static ApplicablePrice buildPrice(Long priceList, Long priority, LocalDateTime start, LocalDateTime end) {
+        return ApplicablePrice.of(
+                35455L,
+                1L,
+                priceList,
+                start,
+                end,
+                BigDecimal.valueOf(priceList * 10),
+                "EUR",
+                priority
+        );
+    }
+
+    private static List<Object> reply(List<byte[]> members, long ttlMillis) {
+        List<Object> reply = new ArrayList<>(members);
+        reply.add(ttlMillis);
+        return reply;
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = Mockito.mock(ReactiveRedisTemplate.class);
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setTtlSeconds(600);
+        redisProperties.setNegativeTtlSeconds(30);
+
+        repository = new PricesRedisSortedSetRepository(redisTemplate, redisProperties);
+    }
+
+    @Test
+    @DisplayName("Should fill the sorted set with one scored member per segment in a single script call")
+    void shouldFillSortedSetAtomically() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(4L));
+
+        StepVerifier.create(repository.save("35455:1", timeline)).verifyComplete();
+
+        ArgumentCaptor<List<byte[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("segments:35455:1")), args.capture());
+        assertThat(args.getValue()).hasSize(1 + 2 * timeline.segments().size());
+        assertThat(new String(args.getValue().get(0), StandardCharsets.UTF_8)).isEqualTo("600000");
+        for (int i = 0; i < timeline.segments().size(); i++) {
+            PriceSegment segment = timeline.segments().get(i);
+            assertThat(new String(args.getValue().get(1 + 2 * i), StandardCharsets.UTF_8))
+                    .isEqualTo(PriceSegmentMemberCodec.score(segment.start()));
+            assertThat(PriceSegmentMemberCodec.decode(args.getValue().get(2 + 2 * i))).isEqualTo(segment);
+        }
+    }
+
+    @Test
+    @DisplayName("Should store known-empty keys as a single empty member with the negative TTL")
+    void shouldSaveKnownEmptyMarker() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(1L));
+
+        StepVerifier.create(repository.saveEmpty("1:1")).verifyComplete();
+
+        ArgumentCaptor<List<byte[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("segments:1:1")), args.capture());
+        assertThat(args.getValue()).extracting(bytes -> new String(bytes, StandardCharsets.UTF_8))
+                .containsExactly("30000", "-inf", "");
+    }
+
+    @Test
+    @DisplayName("Should read whole timelines, misses and known-empty keys with the read script")
+    void shouldLookupWholeTimelines() {
+        List<byte[]> members = timeline.segments().stream().map(PriceSegmentMemberCodec::encode).toList();
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("segments:35455:1")), anyList()))
+                .thenReturn(Flux.just(reply(members, 600_000)));
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("segments:1:1")), anyList()))
+                .thenReturn(Flux.just(reply(List.of(new byte[0]), 30_000)));
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("segments:2:1")), anyList()))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(repository.lookup("35455:1")).expectNext(CacheLookup.of(timeline)).verifyComplete();
+        StepVerifier.create(repository.lookup("1:1")).expectNext(CacheLookup.knownEmpty()).verifyComplete();
+        StepVerifier.create(repository.lookup("2:1")).expectNext(CacheLookup.miss()).verifyComplete();
+        StepVerifier.create(repository.lookupAll(List.of("35455:1", "1:1", "2:1")))
+                .expectNext(Map.of(
+                        "35455:1", CacheLookup.of(timeline),
+                        "1:1", CacheLookup.knownEmpty(),
+                        "2:1", CacheLookup.miss()
+                ))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should resolve a date from the single segment returned by the range script")
+    void shouldLookupCoveringSegment() {
+        LocalDateTime date = BASE.plusDays(3);
+        PriceSegment covering = timeline.segments().get(1);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.just(reply(List.of(PriceSegmentMemberCodec.encode(covering)), 600_000)));
+
+        StepVerifier.create(repository.lookup("35455:1", date))
+                .assertNext(lookup -> {
+                    assertThat(lookup.status()).isEqualTo(CacheLookup.Status.HIT);
+                    assertThat(lookup.timeline().orElseThrow().segments()).containsExactly(covering);
+                    assertThat(lookup.timeline().orElseThrow().resolve(date)).contains(promo);
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<List<byte[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("segments:35455:1")), args.capture());
+        assertThat(new String(args.getValue().get(0), StandardCharsets.UTF_8)).isEqualTo(PriceSegmentMemberCodec.score(date));
+        assertThat(args.getValue().get(1)).isEqualTo(PriceSegmentMemberCodec.prefix(date));
+        verify(redisTemplate, never()).getExpire(any(String.class));
+    }
+
+    @Test
+    @DisplayName("Should tell when the price next changes from the segment following the covering one")
+    void shouldLookupNextSegment() {
+        LocalDateTime date = BASE.plusDays(3);
+        PriceSegment covering = timeline.segments().get(1);
+        PriceSegment next = timeline.segments().get(2);
+        List<Object> reply = reply(List.of(PriceSegmentMemberCodec.encode(covering)), 600_000);
+        reply.add(PriceSegmentMemberCodec.encode(next));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(reply));
+
+        StepVerifier.create(repository.lookup("35455:1", date))
+                .assertNext(lookup -> {
+                    assertThat(lookup.timeline().orElseThrow().segments()).containsExactly(covering, next);
+                    assertThat(lookup.timeline().orElseThrow().resolveWithNextChange(date))
+                            .isEqualTo(new ResolvedPrice(Optional.of(promo), Optional.of(next.start())));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should tell when the first segment starts for dates before it")
+    void shouldLookupFirstSegmentBeforeIt() {
+        PriceSegment first = timeline.segments().get(0);
+        List<Object> reply = reply(List.of("N".getBytes(StandardCharsets.UTF_8)), 600_000);
+        reply.add(PriceSegmentMemberCodec.encode(first));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(reply));
+
+        StepVerifier.create(repository.lookup("35455:1", BASE.minusDays(1)))
+                .assertNext(lookup -> assertThat(lookup.timeline().orElseThrow().resolveWithNextChange(BASE.minusDays(1)))
+                        .isEqualTo(new ResolvedPrice(Optional.empty(), Optional.of(BASE))))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should tell misses, known-empty keys and dates before the first segment apart")
+    void shouldMapScriptReplies() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("segments:1:1")), anyList()))
+                .thenReturn(Flux.empty());
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("segments:2:1")), anyList()))
+                .thenReturn(Flux.just(reply(List.of("E".getBytes(StandardCharsets.UTF_8)), 30_000)));
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("segments:35455:1")), anyList()))
+                .thenReturn(Flux.just(reply(List.of("N".getBytes(StandardCharsets.UTF_8)), 600_000)));
+
+        StepVerifier.create(repository.lookup("1:1", BASE)).expectNext(CacheLookup.miss()).verifyComplete();
+        StepVerifier.create(repository.lookup("2:1", BASE)).expectNext(CacheLookup.knownEmpty()).verifyComplete();
+        StepVerifier.create(repository.lookup("35455:1", BASE.minusDays(1)))
+                .assertNext(lookup -> {
+                    assertThat(lookup.status()).isEqualTo(CacheLookup.Status.HIT);
+                    assertThat(lookup.timeline().orElseThrow().resolve(BASE.minusDays(1))).isEmpty();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should write jittered TTLs and flag segments replied within the stale window as stale")
+    void shouldExpireWithJitterAndStaleWindow() {
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setTtlSeconds(600);
+        redisProperties.setNegativeTtlSeconds(30);
+        redisProperties.setStaleSeconds(60);
+        redisProperties.setTtlJitterPercent(10);
+        PricesRedisSortedSetRepository staleAware =
+                new PricesRedisSortedSetRepository(redisTemplate, new CacheExpiry(redisProperties, () -> 0.5));
+        PriceSegment covering = timeline.segments().get(1);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.just(4L))
+                .thenReturn(Flux.just(reply(List.of(PriceSegmentMemberCodec.encode(covering)), 30_000)));
+
+        StepVerifier.create(staleAware.save("35455:1", timeline)).verifyComplete();
+        StepVerifier.create(staleAware.lookup("35455:1", BASE.plusDays(3)))
+                .expectNext(CacheLookup.stale(new PriceTimeline(List.of(covering))))
+                .verifyComplete();
+
+        ArgumentCaptor<List<byte[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), eq(List.of("segments:35455:1")), args.capture());
+        assertThat(new String(args.getAllValues().get(0).get(0), StandardCharsets.UTF_8)).isEqualTo("630000");
+        verify(redisTemplate, never()).getExpire(any(String.class));
+    }
+
+    @Test
+    @DisplayName("Should delete the sorted sets of many keys with a single DEL")
+    void shouldDeleteSortedSetsWithOneDel() {
+        when(redisTemplate.delete("segments:35455:1", "segments:1:1")).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(repository.deleteAll(List.of("35455:1", "1:1"))).verifyComplete();
+
+        verify(redisTemplate).delete("segments:35455:1", "segments:1:1");
+    }
+}
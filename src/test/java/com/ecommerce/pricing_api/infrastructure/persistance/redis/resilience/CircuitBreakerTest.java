@@ -0,0 +1,158 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CircuitBreaker Unit Tests")
+class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(5);
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private CircuitBreaker breaker(int failureThreshold) {
+        return new CircuitBreaker(failureThreshold, OPEN_DURATION, nanos::get);
+    }
+
+    private static void fail(CircuitBreaker breaker, int times) {
+        for (int i = 0; i < times; i++) {
+            long permit = breaker.tryAcquire();
+            assertThat(permit).isNotEqualTo(CircuitBreaker.REJECTED);
+            breaker.onFailure(permit);
+        }
+    }
+
+    @Nested
+    @DisplayName("While closed")
+    class Closed {
+
+        @Test
+        @DisplayName("Should open after the threshold of consecutive failures")
+        void shouldOpenAfterConsecutiveFailures() {
+            CircuitBreaker breaker = breaker(3);
+
+            fail(breaker, 2);
+            assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+            fail(breaker, 1);
+            assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+            assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.REJECTED);
+        }
+
+        @Test
+        @DisplayName("Should reset the failure count on success")
+        void shouldResetOnSuccess() {
+            CircuitBreaker breaker = breaker(3);
+
+            fail(breaker, 2);
+            breaker.onSuccess(breaker.tryAcquire());
+            fail(breaker, 2);
+
+            assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        }
+
+        @Test
+        @DisplayName("Should never open when disabled")
+        void shouldNeverOpenWhenDisabled() {
+            CircuitBreaker breaker = breaker(0);
+
+            fail(breaker, 100);
+
+            assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        }
+    }
+
+    @Nested
+    @DisplayName("Once open")
+    class Open {
+
+        @Test
+        @DisplayName("Should let a single trial through after the open duration, closing on its success")
+        void shouldCloseAfterSuccessfulTrial() {
+            CircuitBreaker breaker = breaker(1);
+            fail(breaker, 1);
+
+            nanos.addAndGet(OPEN_DURATION.toNanos() - 1);
+            assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.REJECTED);
+
+            nanos.incrementAndGet();
+            long trial = breaker.tryAcquire();
+            assertThat(trial).isNotEqualTo(CircuitBreaker.REJECTED);
+            assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+            assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.REJECTED);
+
+            breaker.onSuccess(trial);
+            assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+            assertThat(breaker.tryAcquire()).isNotEqualTo(CircuitBreaker.REJECTED);
+        }
+
+        @Test
+        @DisplayName("Should stay half-open when a call admitted before opening succeeds during the trial")
+        void shouldIgnoreSuccessOfCallsAdmittedBeforeTrial() {
+            CircuitBreaker breaker = breaker(1);
+            long late = breaker.tryAcquire();
+            fail(breaker, 1);
+            nanos.addAndGet(OPEN_DURATION.toNanos());
+            long trial = breaker.tryAcquire();
+
+            breaker.onSuccess(late);
+            assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+            breaker.onSuccess(trial);
+            assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        }
+
+        @Test
+        @DisplayName("Should ignore the outcome of a previous trial once a new one started")
+        void shouldIgnoreOutcomeOfPreviousTrial() {
+            CircuitBreaker breaker = breaker(1);
+            fail(breaker, 1);
+            nanos.addAndGet(OPEN_DURATION.toNanos());
+            long previous = breaker.tryAcquire();
+            breaker.onCancel(previous);
+            long trial = breaker.tryAcquire();
+
+            breaker.onSuccess(previous);
+            assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+            breaker.onFailure(trial);
+            assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        }
+
+        @Test
+        @DisplayName("Should open again for a whole open duration when the trial fails")
+        void shouldReopenAfterFailedTrial() {
+            CircuitBreaker breaker = breaker(1);
+            fail(breaker, 1);
+            nanos.addAndGet(OPEN_DURATION.toNanos());
+
+            fail(breaker, 1);
+
+            assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+            nanos.addAndGet(OPEN_DURATION.toNanos() - 1);
+            assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.REJECTED);
+            nanos.incrementAndGet();
+            assertThat(breaker.tryAcquire()).isNotEqualTo(CircuitBreaker.REJECTED);
+        }
+
+        @Test
+        @DisplayName("Should allow a new trial right away when the trial is cancelled")
+        void shouldAllowNewTrialAfterCancel() {
+            CircuitBreaker breaker = breaker(1);
+            fail(breaker, 1);
+            nanos.addAndGet(OPEN_DURATION.toNanos());
+            long trial = breaker.tryAcquire();
+
+            breaker.onCancel(trial);
+
+            assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+            assertThat(breaker.tryAcquire()).isNotEqualTo(CircuitBreaker.REJECTED);
+        }
+    }
+}
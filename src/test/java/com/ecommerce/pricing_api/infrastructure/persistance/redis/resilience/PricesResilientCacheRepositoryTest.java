@@ -0,0 +1,234 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.resilience;
+
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
+import com.ecommerce.pricing_api.application.repository.PricesDatabaseRepository;
+import com.ecommerce.pricing_api.application.service.ApplicablePriceService;
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.config.RedisProperties;
+import com.ecommerce.pricing_api.support.FaultInjectingCacheRepository;
+import com.ecommerce.pricing_api.support.FaultInjectingCacheRepository.Fault;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("PricesResilientCacheRepository Unit Tests")
+class PricesResilientCacheRepositoryTest {
+
+    private static final int FAILURE_THRESHOLD = 3;
+    private static final long OPEN_MILLIS = 5_000;
+    private static final long TIMEOUT_MILLIS = 200;
+
+    private final LocalDateTime now = LocalDateTime.of(2020, 6, 14, 10, 0);
+    private final ApplicablePrice price = ApplicablePrice.of(35455L, 1L, 1L, now.minusDays(1), now.plusDays(1),
+            new BigDecimal("35.50"), "EUR", 0L);
+    private final PriceTimeline timeline = PriceTimeline.of(List.of(price));
+
+    private final AtomicLong nanos = new AtomicLong();
+    private FaultInjectingCacheRepository redis;
+    private SimpleMeterRegistry meterRegistry;
+    private PricesResilientCacheRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setTimeout(TIMEOUT_MILLIS);
+        redisProperties.setCircuitBreakerFailureThreshold(FAILURE_THRESHOLD);
+        redisProperties.setCircuitBreakerOpenMillis(OPEN_MILLIS);
+        redis = new FaultInjectingCacheRepository();
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new PricesResilientCacheRepository(redis, redisProperties, meterRegistry, nanos::get);
+    }
+
+    private double fallbacks(String operation, String reason) {
+        return meterRegistry.get(PricesResilientCacheRepository.FALLBACK_COUNTER)
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .counter()
+                .count();
+    }
+
+    private double state(String state) {
+        return meterRegistry.get(PricesResilientCacheRepository.STATE_GAUGE).tag("state", state).gauge().value();
+    }
+
+    private void openBreaker() {
+        redis.inject(Fault.ERROR);
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            repository.lookup("35455:1").block();
+        }
+        assertThat(repository.breakerState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Nested
+    @DisplayName("While Redis is healthy")
+    class Healthy {
+
+        @Test
+        @DisplayName("Should pass every operation through")
+        void shouldPassThrough() {
+            StepVerifier.create(repository.save("35455:1", timeline)).verifyComplete();
+
+            StepVerifier.create(repository.lookup("35455:1", now))
+                    .expectNext(CacheLookup.of(timeline))
+                    .verifyComplete();
+            StepVerifier.create(repository.lookupAll(List.of("35455:1")))
+                    .expectNext(Map.of("35455:1", CacheLookup.of(timeline)))
+                    .verifyComplete();
+            assertThat(repository.breakerState()).isEqualTo(CircuitBreaker.State.CLOSED);
+            assertThat(state("closed")).isEqualTo(1);
+            assertThat(state("open")).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("When Redis fails")
+    class Failing {
+
+        @Test
+        @DisplayName("Should answer lookups as misses and skip writes")
+        void shouldFallBack() {
+            redis.inject(Fault.ERROR);
+
+            StepVerifier.create(repository.lookup("35455:1", now))
+                    .expectNext(CacheLookup.miss())
+                    .verifyComplete();
+            StepVerifier.create(repository.lookupAll(List.of("35455:1", "35456:1")))
+                    .expectNext(Map.of("35455:1", CacheLookup.miss(), "35456:1", CacheLookup.miss()))
+                    .verifyComplete();
+            StepVerifier.create(repository.save("35455:1", timeline)).verifyComplete();
+
+            assertThat(fallbacks("lookup", "error")).isEqualTo(1);
+            assertThat(fallbacks("lookupAll", "error")).isEqualTo(1);
+            assertThat(fallbacks("save", "error")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should answer a miss once the timeout elapses when Redis hangs")
+        void shouldTimeOut() {
+            redis.inject(Fault.HANG);
+
+            StepVerifier.withVirtualTime(() -> repository.lookup("35455:1", now))
+                    .expectSubscription()
+                    .thenAwait(Duration.ofMillis(TIMEOUT_MILLIS))
+                    .expectNext(CacheLookup.miss())
+                    .verifyComplete();
+
+            assertThat(fallbacks("lookup", "timeout")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should keep failing deletions, within the timeout")
+        void shouldPropagateDeletionFailures() {
+            redis.inject(Fault.ERROR);
+            StepVerifier.create(repository.deleteAll(List.of("35455:1")))
+                    .expectError(RedisConnectionFailureException.class)
+                    .verify();
+
+            redis.inject(Fault.HANG);
+            StepVerifier.withVirtualTime(() -> repository.deleteAll(List.of("35455:1")))
+                    .expectSubscription()
+                    .thenAwait(Duration.ofMillis(TIMEOUT_MILLIS))
+                    .expectError(TimeoutException.class)
+                    .verify();
+        }
+    }
+
+    @Nested
+    @DisplayName("Once the breaker opens")
+    class BreakerOpen {
+
+        @Test
+        @DisplayName("Should stop calling Redis until the open duration elapses")
+        void shouldStopCallingRedis() {
+            openBreaker();
+            int calls = redis.calls();
+
+            StepVerifier.create(repository.lookup("35455:1", now))
+                    .expectNext(CacheLookup.miss())
+                    .verifyComplete();
+            StepVerifier.create(repository.save("35455:1", timeline)).verifyComplete();
+            StepVerifier.create(repository.saveEmpty("35456:1")).verifyComplete();
+
+            assertThat(redis.calls()).isEqualTo(calls);
+            assertThat(fallbacks("lookup", "open")).isEqualTo(1);
+            assertThat(fallbacks("save", "open")).isEqualTo(1);
+            assertThat(fallbacks("saveEmpty", "open")).isEqualTo(1);
+            assertThat(state("open")).isEqualTo(1);
+            assertThat(state("closed")).isZero();
+        }
+
+        @Test
+        @DisplayName("Should close once a trial call succeeds after the open duration")
+        void shouldCloseAfterRecovery() {
+            openBreaker();
+            redis.inject(Fault.NONE);
+            redis.save("35455:1", timeline).block();
+
+            nanos.addAndGet(Duration.ofMillis(OPEN_MILLIS).toNanos());
+
+            StepVerifier.create(repository.lookup("35455:1", now))
+                    .expectNext(CacheLookup.of(timeline))
+                    .verifyComplete();
+            assertThat(repository.breakerState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        }
+
+        @Test
+        @DisplayName("Should open again when the trial call fails")
+        void shouldReopenWhenTrialFails() {
+            openBreaker();
+            nanos.addAndGet(Duration.ofMillis(OPEN_MILLIS).toNanos());
+            int calls = redis.calls();
+
+            repository.lookup("35455:1", now).block();
+            repository.lookup("35455:1", now).block();
+
+            assertThat(redis.calls()).isEqualTo(calls + 1);
+            assertThat(repository.breakerState()).isEqualTo(CircuitBreaker.State.OPEN);
+        }
+    }
+
+    @Nested
+    @DisplayName("Behind the price service")
+    class BehindPriceService {
+
+        @Test
+        @DisplayName("Should resolve prices in the database while Redis is down")
+        void shouldResolveInDatabase() {
+            PricesDatabaseRepository database = mock(PricesDatabaseRepository.class);
+            when(database.findAllByProductAndBrand(anyLong(), anyLong())).thenAnswer(invocation -> Flux.just(price));
+            ApplicablePriceService service = new ApplicablePriceService(database, repository, 10_000, meterRegistry);
+            redis.inject(Fault.ERROR);
+
+            for (int i = 0; i < FAILURE_THRESHOLD + 2; i++) {
+                assertThat(service.getApplicablePrice(35455L, 1L, now).block()).isEqualTo(Optional.of(price));
+            }
+
+            assertThat(repository.breakerState()).isEqualTo(CircuitBreaker.State.OPEN);
+            assertThat(fallbacks("lookup", "open")).isPositive();
+            assertThat(redis.contains("35455:1")).isFalse();
+            verify(database, times(FAILURE_THRESHOLD + 2)).findAllByProductAndBrand(35455L, 1L);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer;
+
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceSegment;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PriceSegmentMemberCodec Unit Tests")
+class PriceSegmentMemberCodecTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2020, 6, 14, 0, 0);
+
+    private static ApplicablePrice buildPrice(String amount) {
+        return ApplicablePrice.of(
+                35455L,
+                1L,
+                2L,
+                BASE,
+                BASE.plusDays(1),
+                new BigDecimal(amount),
+                "EUR",
+                1L
+        );
+    }
+
+    @Nested
+    @DisplayName("Round trips")
+    class RoundTrips {
+
+        @Test
+        @DisplayName("Should round trip a segment with a price")
+        void shouldRoundTripPricedSegment() {
+            PriceSegment segment = new PriceSegment(BASE.plusNanos(1), Optional.of(buildPrice("25.45")));
+
+            assertThat(PriceSegmentMemberCodec.decode(PriceSegmentMemberCodec.encode(segment))).isEqualTo(segment);
+        }
+
+        @Test
+        @DisplayName("Should encode gaps as the start prefix alone")
+        void shouldEncodeGapsAsPrefix() {
+            PriceSegment gap = new PriceSegment(BASE.minusYears(80), Optional.empty());
+
+            byte[] member = PriceSegmentMemberCodec.encode(gap);
+
+            assertThat(member).isEqualTo(PriceSegmentMemberCodec.prefix(gap.start()));
+            assertThat(PriceSegmentMemberCodec.decode(member)).isEqualTo(gap);
+        }
+
+        @Test
+        @DisplayName("Should reject members shorter than the prefix")
+        void shouldRejectTruncatedMembers() {
+            assertThatThrownBy(() -> PriceSegmentMemberCodec.decode(new byte[PriceSegmentMemberCodec.PREFIX_LENGTH - 1]))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Ordering")
+    class Ordering {
+
+        @Test
+        @DisplayName("Should sort prefixes byte by byte in chronological order")
+        void shouldSortPrefixesChronologically() {
+            Random random = new Random(42);
+            List<LocalDateTime> dates = new ArrayList<>(List.of(
+                    LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_999),
+                    LocalDateTime.of(1970, 1, 1, 0, 0),
+                    BASE,
+                    BASE.plusNanos(1)
+            ));
+            for (int i = 0; i < 500; i++) {
+                dates.add(BASE.plusSeconds(random.nextInt(2_000_000) - 1_000_000L).plusNanos(random.nextInt(3)));
+            }
+
+            List<byte[]> prefixes = new ArrayList<>(dates.stream().map(PriceSegmentMemberCodec::prefix).toList());
+            prefixes.sort(Arrays::compareUnsigned);
+            dates.sort(LocalDateTime::compareTo);
+
+            assertThat(prefixes).zipSatisfy(dates, (prefix, date) ->
+                    assertThat(prefix).isEqualTo(PriceSegmentMemberCodec.prefix(date)));
+        }
+
+        @Test
+        @DisplayName("Should score dates by their epoch second")
+        void shouldScoreByEpochSecond() {
+            assertThat(PriceSegmentMemberCodec.score(LocalDateTime.of(1970, 1, 1, 0, 0, 1, 500))).isEqualTo("1");
+            assertThat(PriceSegmentMemberCodec.score(BASE)).isEqualTo("1592092800");
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer;
+
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceSegment;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PriceTimelineBinaryCodec Unit Tests")
+class PriceTimelineBinaryCodecTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2020, 6, 14, 0, 0);
+
+    private static ApplicablePrice buildPrice(Long priceList, Long priority, LocalDateTime start, LocalDateTime end,
+                                              String amount, String currency) {
+        return ApplicablePrice.of(
+                35455L,
+                1L,
+                priceList,
+                start,
+                end,
+                amount == null ? null : new BigDecimal(amount),
+                currency,
+                priority
+        );
+    }
+
+    private static PriceTimeline roundTrip(PriceTimeline timeline) {
+        return PriceTimelineBinaryCodec.decode(PriceTimelineBinaryCodec.encode(timeline));
+    }
+
+    @Nested
+    @DisplayName("Round trips")
+    class RoundTrips {
+
+        @Test
+        @DisplayName("Should round trip an empty timeline in three bytes")
+        void shouldRoundTripEmptyTimeline() {
+            byte[] bytes = PriceTimelineBinaryCodec.encode(PriceTimeline.empty());
+
+            assertThat(bytes).containsExactly(PriceTimelineBinaryCodec.VERSION, 0, 0);
+            assertThat(PriceTimelineBinaryCodec.decode(bytes)).isEqualTo(PriceTimeline.empty());
+        }
+
+        @Test
+        @DisplayName("Should round trip overlapping prices with gaps and nanosecond segment starts")
+        void shouldRoundTripOverlappingPrices() {
+            PriceTimeline timeline = PriceTimeline.of(List.of(
+                    buildPrice(1L, 0L, BASE, BASE.plusMonths(6), "35.50", "EUR"),
+                    buildPrice(2L, 1L, BASE.plusHours(15), BASE.plusHours(18).plusMinutes(30), "25.45", "EUR"),
+                    buildPrice(3L, 1L, BASE.plusYears(1), LocalDateTime.MAX, "38.95", "EUR")
+            ));
+
+            assertThat(timeline.segments()).extracting(PriceSegment::price).contains(Optional.empty());
+            assertThat(roundTrip(timeline)).isEqualTo(timeline);
+        }
+
+        @Test
+        @DisplayName("Should keep missing fields, negative values, scales and unknown currencies")
+        void shouldRoundTripUnusualFields() {
+            ApplicablePrice unusual = ApplicablePrice.of(
+                    null,
+                    -7L,
+                    null,
+                    BASE.minusYears(80).plusNanos(123_456_789),
+                    BASE,
+                    new BigDecimal("-1.2345"),
+                    "XBT",
+                    Long.MIN_VALUE
+            );
+            PriceTimeline timeline = new PriceTimeline(List.of(
+                    new PriceSegment(BASE.minusYears(80), Optional.of(unusual)),
+                    new PriceSegment(BASE.plusNanos(1), Optional.empty())
+            ));
+
+            PriceTimeline decoded = roundTrip(timeline);
+
+            assertThat(decoded).isEqualTo(timeline);
+            assertThat(decoded.segments().get(0).price().orElseThrow().price()).isEqualTo(new BigDecimal("-1.2345"));
+        }
+
+        @ParameterizedTest(name = "seed {0}")
+        @ValueSource(longs = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10})
+        @DisplayName("Should round trip random timelines")
+        void shouldRoundTripRandomTimelines(long seed) {
+            Random random = new Random(seed);
+            List<ApplicablePrice> prices = new ArrayList<>();
+            for (int i = 0; i < random.nextInt(40); i++) {
+                LocalDateTime start = BASE.plusMinutes(random.nextInt(100_000));
+                prices.add(buildPrice((long) i, (long) random.nextInt(5), start, start.plusMinutes(random.nextInt(5_000)),
+                        random.nextInt(10_000) + "." + random.nextInt(100), random.nextBoolean() ? "EUR" : "USD"));
+            }
+            PriceTimeline timeline = PriceTimeline.of(prices);
+
+            assertThat(roundTrip(timeline)).isEqualTo(timeline);
+        }
+    }
+
+    @Nested
+    @DisplayName("Encoding")
+    class Encoding {
+
+        @Test
+        @DisplayName("Should write each distinct price once")
+        void shouldDeduplicatePrices() {
+            ApplicablePrice base = buildPrice(1L, 0L, BASE, BASE.plusDays(10), "35.50", "EUR");
+            ApplicablePrice promo = buildPrice(2L, 1L, BASE.plusDays(2), BASE.plusDays(4), "25.45", "EUR");
+
+            PriceTimeline decoded = roundTrip(PriceTimeline.of(List.of(base, promo)));
+
+            assertThat(decoded.segments()).hasSize(4);
+            assertThat(decoded.segments().get(2).price().orElseThrow())
+                    .isSameAs(decoded.segments().get(0).price().orElseThrow());
+        }
+
+        @Test
+        @DisplayName("Should round trip the soft expiry of cached timelines and read values without one")
+        void shouldRoundTripSoftExpiry() {
+            PriceTimeline timeline = PriceTimeline.of(List.of(buildPrice(1L, 0L, BASE, BASE.plusDays(1), "35.50", "EUR")));
+            CachedPriceTimeline cached = CachedPriceTimeline.of(timeline, 1_600_000_000_000L);
+
+            byte[] bytes = PriceTimelineBinaryCodec.encode(cached);
+
+            assertThat(bytes[0]).isEqualTo(PriceTimelineBinaryCodec.EXPIRING_VERSION);
+            assertThat(PriceTimelineBinaryCodec.decodeCached(bytes)).isEqualTo(cached);
+            assertThat(PriceTimelineBinaryCodec.decode(bytes)).isEqualTo(timeline);
+            assertThat(PriceTimelineBinaryCodec.decodeCached(PriceTimelineBinaryCodec.encode(timeline)))
+                    .isEqualTo(CachedPriceTimeline.of(timeline, 0));
+        }
+
+        @Test
+        @DisplayName("Should only flag binary values as binary")
+        void shouldRecognizeBinaryValues() {
+            assertThat(PriceTimelineBinaryCodec.isBinary(PriceTimelineBinaryCodec.encode(PriceTimeline.empty()))).isTrue();
+            assertThat(PriceTimelineBinaryCodec.isBinary("{\"segments\":[]}".getBytes(StandardCharsets.UTF_8))).isFalse();
+            assertThat(PriceTimelineBinaryCodec.isBinary(" {}".getBytes(StandardCharsets.UTF_8))).isFalse();
+            assertThat(PriceTimelineBinaryCodec.isBinary(new byte[0])).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Decoding malformed input")
+    class Malformed {
+
+        private final byte[] valid = PriceTimelineBinaryCodec.encode(PriceTimeline.of(List.of(
+                buildPrice(1L, 0L, BASE, BASE.plusDays(1), "35.50", "EUR"))));
+
+        @Test
+        @DisplayName("Should reject unknown versions")
+        void shouldRejectUnknownVersion() {
+            byte[] bytes = valid.clone();
+            bytes[0] = 3;
+
+            assertThatThrownBy(() -> PriceTimelineBinaryCodec.decode(bytes))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("version");
+        }
+
+        @Test
+        @DisplayName("Should reject truncated values")
+        void shouldRejectTruncatedValues() {
+            for (int length = 1; length < valid.length; length++) {
+                byte[] truncated = Arrays.copyOf(valid, length);
+                assertThatThrownBy(() -> PriceTimelineBinaryCodec.decode(truncated))
+                        .as("length %d", length)
+                        .isInstanceOf(RuntimeException.class);
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject trailing bytes")
+        void shouldRejectTrailingBytes() {
+            byte[] bytes = Arrays.copyOf(valid, valid.length + 1);
+
+            assertThatThrownBy(() -> PriceTimelineBinaryCodec.decode(bytes))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("trailing");
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.redis.serializer;
+
+import com.ecommerce.pricing_api.domain.model.ApplicablePrice;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import com.ecommerce.pricing_api.infrastructure.config.RedisProperties.ValueFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PriceTimelineRedisSerializer Unit Tests")
+class PriceTimelineRedisSerializerTest {
+
+    private final Jackson2JsonRedisSerializer<CachedPriceTimeline> jsonSerializer = jsonSerializer();
+    private final PriceTimelineRedisSerializer jsonWriter = new PriceTimelineRedisSerializer(jsonSerializer, ValueFormat.JSON);
+    private final PriceTimelineRedisSerializer binaryWriter = new PriceTimelineRedisSerializer(jsonSerializer, ValueFormat.BINARY);
+
+    private final CachedPriceTimeline timeline = CachedPriceTimeline.of(
+            PriceTimeline.of(List.of(buildPrice("35.50"), buildPrice("25.45"))), 1_600_000_000_000L);
+
+    private static Jackson2JsonRedisSerializer<CachedPriceTimeline> jsonSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jdk8Module())
+                .registerModule(new ApplicablePriceJsonModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return new Jackson2JsonRedisSerializer<>(objectMapper, CachedPriceTimeline.class);
+    }
+
+    private static ApplicablePrice buildPrice(String amount) {
+        return ApplicablePrice.of(
+                35455L,
+                1L,
+                1L,
+                LocalDateTime.of(2020, 6, 14, 0, 0),
+                LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+                new BigDecimal(amount),
+                "EUR",
+                0L
+        );
+    }
+
+    @Nested
+    @DisplayName("Writing")
+    class Writing {
+
+        @Test
+        @DisplayName("Should write JSON when configured for JSON")
+        void shouldWriteJson() {
+            byte[] bytes = jsonWriter.serialize(timeline);
+
+            assertThat(bytes[0]).isEqualTo((byte) '{');
+            assertThat(new String(bytes, StandardCharsets.UTF_8)).contains("\"softExpiresAt\":1600000000000");
+            assertThat(jsonSerializer.deserialize(bytes)).isEqualTo(timeline);
+        }
+
+        @Test
+        @DisplayName("Should write the compact binary encoding when configured for binary")
+        void shouldWriteBinary() {
+            byte[] bytes = binaryWriter.serialize(timeline);
+
+            assertThat(bytes[0]).isEqualTo(PriceTimelineBinaryCodec.EXPIRING_VERSION);
+            assertThat(bytes.length).isLessThan(jsonWriter.serialize(timeline).length / 4);
+        }
+
+        @Test
+        @DisplayName("Should write an empty value for null")
+        void shouldWriteEmptyForNull() {
+            assertThat(binaryWriter.serialize(null)).isEmpty();
+            assertThat(binaryWriter.deserialize(new byte[0])).isNull();
+            assertThat(binaryWriter.deserialize(null)).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Reading during a migration")
+    class Migration {
+
+        @Test
+        @DisplayName("Should read JSON values when writing binary")
+        void shouldReadJsonWhenWritingBinary() {
+            assertThat(binaryWriter.deserialize(jsonWriter.serialize(timeline))).isEqualTo(timeline);
+        }
+
+        @Test
+        @DisplayName("Should read binary values when writing JSON")
+        void shouldReadBinaryWhenWritingJson() {
+            assertThat(jsonWriter.deserialize(binaryWriter.serialize(timeline))).isEqualTo(timeline);
+        }
+
+        @Test
+        @DisplayName("Should read JSON values written with one field per price attribute")
+        void shouldReadLegacyJson() {
+            String json = """
+                    {"segments":[
+                      {"start":"2020-06-14T00:00:00","price":{"productId":35455,"brandId":1,"priceList":1,
+                        "startDate":"2020-06-14T00:00:00","endDate":"2020-12-31T23:59:59",
+                        "price":35.50,"currency":"EUR","priority":0}},
+                      {"start":"2020-12-31T23:59:59.000000001","price":null}
+                    ]}""";
+            CachedPriceTimeline expected = CachedPriceTimeline.of(PriceTimeline.of(List.of(buildPrice("35.50"))), 0);
+
+            assertThat(binaryWriter.deserialize(json.getBytes(StandardCharsets.UTF_8))).isEqualTo(expected);
+            assertThat(new String(jsonWriter.serialize(expected), StandardCharsets.UTF_8))
+                    .contains("\"endDate\":\"2020-12-31T23:59:59\"", "\"price\":35.50", "\"priority\":0");
+        }
+
+        @Test
+        @DisplayName("Should raise a SerializationException for corrupt binary values")
+        void shouldFailOnCorruptBinary() {
+            byte[] bytes = binaryWriter.serialize(timeline);
+            byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+
+            assertThatThrownBy(() -> binaryWriter.deserialize(truncated))
+                    .isInstanceOf(SerializationException.class);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.ecommerce.pricing_api.infrastructure.persistance.warmup;
+
+import com.ecommerce.pricing_api.application.repository.PricesDatabaseRepository;
+import com.ecommerce.pricing_api.application.usecases.CacheWarmUpUseCase;
+import com.ecommerce.pricing_api.domain.model.PriceKey;
+import com.ecommerce.pricing_api.infrastructure.config.CacheWarmUpProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CacheWarmUp Unit Tests")
+class CacheWarmUpTest {
+
+    private final PricesDatabaseRepository databaseRepository = mock(PricesDatabaseRepository.class);
+    private final CacheWarmUpUseCase cacheWarmUpUseCase = mock(CacheWarmUpUseCase.class);
+    private final CacheWarmUpProperties properties = new CacheWarmUpProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CacheWarmUp cacheWarmUp = new CacheWarmUp(databaseRepository, cacheWarmUpUseCase, properties, meterRegistry);
+
+    private static Flux<PriceKey> keys(int count) {
+        return Flux.fromStream(LongStream.rangeClosed(1, count).mapToObj(id -> new PriceKey(id, 1L)));
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        properties.setBatchSize(2);
+        when(cacheWarmUpUseCase.preload(any())).thenAnswer(invocation ->
+                Mono.just(invocation.<Collection<PriceKey>>getArgument(0).size()));
+    }
+
+    @Nested
+    @DisplayName("Warming up")
+    class WarmingUp {
+
+        @Test
+        @DisplayName("Should cache the top keys in batches and record the keys and duration")
+        void shouldCacheKeysInBatches() {
+            properties.setMaxKeys(5);
+            when(databaseRepository.findKeysByPriceCount(5)).thenReturn(keys(5));
+
+            StepVerifier.create(cacheWarmUp.warmUp()).verifyComplete();
+
+            verify(cacheWarmUpUseCase).preload(List.of(new PriceKey(1L, 1L), new PriceKey(2L, 1L)));
+            verify(cacheWarmUpUseCase).preload(List.of(new PriceKey(3L, 1L), new PriceKey(4L, 1L)));
+            verify(cacheWarmUpUseCase).preload(List.of(new PriceKey(5L, 1L)));
+            assertThat(meterRegistry.get(CacheWarmUp.KEYS_COUNTER).counter().count()).isEqualTo(5.0);
+            assertThat(meterRegistry.get(CacheWarmUp.DURATION_TIMER).timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should not start batches faster than the configured rate")
+        void shouldThrottleBatches() {
+            properties.setKeysPerSecond(2);
+            when(databaseRepository.findKeysByPriceCount(anyLong())).thenReturn(keys(6));
+
+            StepVerifier.withVirtualTime(() -> cacheWarmUp.warmUp())
+                    .expectSubscription()
+                    .thenAwait(Duration.ofMillis(999))
+                    .then(() -> verify(cacheWarmUpUseCase, never()).preload(any()))
+                    .thenAwait(Duration.ofMillis(1))
+                    .then(() -> verify(cacheWarmUpUseCase, times(1)).preload(any()))
+                    .thenAwait(Duration.ofSeconds(2))
+                    .verifyComplete();
+
+            verify(cacheWarmUpUseCase, times(3)).preload(any());
+        }
+
+        @Test
+        @DisplayName("Should complete without error when the warm-up fails")
+        void shouldSwallowFailures() {
+            when(databaseRepository.findKeysByPriceCount(anyLong())).thenReturn(keys(4));
+            doReturn(Mono.error(new IllegalStateException("Redis down"))).when(cacheWarmUpUseCase).preload(any());
+
+            StepVerifier.create(cacheWarmUp.warmUp()).verifyComplete();
+
+            assertThat(meterRegistry.find(CacheWarmUp.DURATION_TIMER).timer()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Startup")
+    class Startup {
+
+        @Test
+        @DisplayName("Should not touch the database or the cache when disabled")
+        void shouldDoNothingWhenDisabled() {
+            properties.setEnabled(false);
+
+            cacheWarmUp.run(new DefaultApplicationArguments());
+
+            verifyNoInteractions(databaseRepository, cacheWarmUpUseCase);
+        }
+
+        @Test
+        @DisplayName("Should block until the warm-up finishes when readiness waits for it")
+        void shouldBlockWhenWaitingBeforeReady() {
+            properties.setWaitBeforeReady(true);
+            when(databaseRepository.findKeysByPriceCount(anyLong())).thenReturn(keys(3));
+
+            cacheWarmUp.run(new DefaultApplicationArguments());
+
+            verify(cacheWarmUpUseCase, times(2)).preload(any());
+            assertThat(meterRegistry.get(CacheWarmUp.DURATION_TIMER).timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should return right away and warm up in the background otherwise")
+        void shouldRunInBackground() {
+            Sinks.Many<PriceKey> pending = Sinks.many().unicast().onBackpressureBuffer();
+            when(databaseRepository.findKeysByPriceCount(anyLong())).thenReturn(pending.asFlux());
+
+            cacheWarmUp.run(new DefaultApplicationArguments());
+
+            verify(cacheWarmUpUseCase, never()).preload(any());
+
+            pending.tryEmitNext(new PriceKey(1L, 1L));
+            pending.tryEmitComplete();
+
+            verify(cacheWarmUpUseCase).preload(List.of(new PriceKey(1L, 1L)));
+            assertThat(meterRegistry.get(CacheWarmUp.DURATION_TIMER).timer().count()).isEqualTo(1);
+        }
+    }
+}
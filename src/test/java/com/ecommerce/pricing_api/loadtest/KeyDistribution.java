@@ -0,0 +1,63 @@
+package com.ecommerce.pricing_api.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Picks the rank, from {@code 0} to {@code keys - 1}, of the key requested next.
+ */
+interface KeyDistribution {
+
+    /**
+     * Picks the next key.
+     *
+     * @param random the source of randomness of the calling thread
+     * @return the rank of the key, {@code 0} being the most requested one for skewed distributions
+     */
+    int next(SplittableRandom random);
+
+    /**
+     * Builds the distribution described by the settings.
+     *
+     * @param settings the settings of the run
+     * @return the key distribution
+     */
+    static KeyDistribution of(LoadTestSettings settings) {
+        return switch (settings.distribution()) {
+            case UNIFORM -> uniform(settings.keys());
+            case ZIPF -> zipf(settings.keys(), settings.zipfExponent());
+        };
+    }
+
+    /**
+     * Every key equally likely.
+     *
+     * @param keys the number of keys
+     * @return the uniform distribution
+     */
+    static KeyDistribution uniform(int keys) {
+        return random -> random.nextInt(keys);
+    }
+
+    /**
+     * The key of rank {@code k} (1-based) picked with a probability proportional to {@code 1 / k^exponent},
+     * by a binary search over the precomputed cumulative distribution.
+     *
+     * @param keys     the number of keys
+     * @param exponent the skew, {@code 0} being uniform and {@code ~1} typical of catalog traffic
+     * @return the Zipfian distribution
+     */
+    static KeyDistribution zipf(int keys, double exponent) {
+        double[] cumulative = new double[keys];
+        double total = 0;
+        for (int k = 0; k < keys; k++) {
+            total += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = total;
+        }
+        double sum = total;
+        return random -> {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            return Math.min(keys - 1, index >= 0 ? index : -index - 1);
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.pricing_api.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("KeyDistribution Unit Tests")
+class KeyDistributionTest {
+
+    private static final int KEYS = 1_000;
+    private static final int SAMPLES = 200_000;
+
+    private static int[] sample(KeyDistribution distribution) {
+        SplittableRandom random = new SplittableRandom(1);
+        int[] counts = new int[KEYS];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[distribution.next(random)]++;
+        }
+        return counts;
+    }
+
+    @Test
+    @DisplayName("Should spread uniform picks evenly over every key")
+    void shouldSpreadUniformPicks() {
+        int[] counts = sample(KeyDistribution.uniform(KEYS));
+
+        for (int count : counts) {
+            assertThat(count).isBetween(SAMPLES / KEYS / 2, SAMPLES / KEYS * 2);
+        }
+    }
+
+    @Test
+    @DisplayName("Should pick Zipfian keys in proportion to the inverse of their rank")
+    void shouldSkewZipfianPicks() {
+        int[] counts = sample(KeyDistribution.zipf(KEYS, 1.0));
+
+        assertThat((double) counts[0] / counts[1]).isBetween(1.8, 2.2);
+        assertThat((double) counts[0] / counts[9]).isBetween(8.0, 12.0);
+        assertThat(counts[KEYS - 1]).isLessThan(counts[0] / 100);
+    }
+
+    @Test
+    @DisplayName("Should behave as uniform with a zero exponent")
+    void shouldBeUniformWithZeroExponent() {
+        int[] counts = sample(KeyDistribution.zipf(KEYS, 0.0));
+
+        assertThat(counts[0]).isBetween(SAMPLES / KEYS / 2, SAMPLES / KEYS * 2);
+        assertThat(counts[KEYS - 1]).isBetween(SAMPLES / KEYS / 2, SAMPLES / KEYS * 2);
+    }
+}
@@ -0,0 +1,126 @@
+package com.ecommerce.pricing_api.loadtest;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * Open-loop load generator: requests are scheduled at the target arrival rate whatever the response times, as
+ * independent users would send them, instead of one after another by a fixed set of clients.
+ * <p>
+ * The calling thread paces the arrivals and sends each request without waiting for its response. At most
+ * {@code concurrency} requests are in flight; an arrival finding every slot busy waits for one, and that wait
+ * counts in its latency.
+ * </p>
+ */
+final class LoadGenerator {
+
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final HttpClient client;
+    private final LoadTestSettings settings;
+    private final IntFunction<String> uris;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    /**
+     * Creates a generator.
+     *
+     * @param client   the client, bound to the base URL of the application
+     * @param settings the arrival rate, arrival process and concurrency
+     * @param uris     builds the URI of the request for an arrival, given its sequence number
+     */
+    LoadGenerator(HttpClient client, LoadTestSettings settings, IntFunction<String> uris) {
+        this.client = client;
+        this.settings = settings;
+        this.uris = uris;
+    }
+
+    /**
+     * Sends requests at the target rate for the given duration, then waits for the last responses.
+     *
+     * @param duration how long to schedule requests for
+     * @return the report of the phase
+     * @throws InterruptedException if interrupted while waiting for a slot or for the last responses
+     */
+    LoadReport run(Duration duration) throws InterruptedException {
+        int rate = settings.rate();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / (double) rate;
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, (long) (rate * duration.toSeconds() * 1.2) + 1_024);
+        long[] latencies = new long[capacity];
+        AtomicInteger recorded = new AtomicInteger();
+        AtomicLongArray statuses = new AtomicLongArray(3);
+        LongAdder errors = new LongAdder();
+        Semaphore slots = new Semaphore(settings.concurrency());
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long scheduled = start;
+        int sent = 0;
+        while (scheduled < end) {
+            waitUntil(scheduled);
+            slots.acquire();
+            long intended = scheduled;
+            client.get()
+                    .uri(uris.apply(sent))
+                    .response((response, body) -> body.then(Mono.just(response.status().code())))
+                    .single()
+                    .doFinally(signal -> slots.release())
+                    .subscribe(status -> {
+                                long latency = System.nanoTime() - intended;
+                                int index = recorded.getAndIncrement();
+                                if (index < latencies.length) {
+                                    latencies[index] = latency;
+                                }
+                                statuses.incrementAndGet(status == 200 ? 0 : status == 404 ? 1 : 2);
+                            },
+                            error -> errors.increment());
+            sent++;
+            scheduled += nextGapNanos(meanGapNanos);
+        }
+        if (!slots.tryAcquire(settings.concurrency(), 30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Responses still pending 30 s after the end of the phase");
+        }
+
+        long[] byStatus = {statuses.get(0), statuses.get(1), statuses.get(2)};
+        return LoadReport.of(rate, duration, sent, byStatus, errors.sum(), latencies,
+                Math.min(recorded.get(), latencies.length));
+    }
+
+    /**
+     * Returns the gap before the next arrival.
+     *
+     * @param meanGapNanos the mean gap at the target rate
+     * @return the gap, constant or exponentially distributed
+     */
+    private long nextGapNanos(double meanGapNanos) {
+        return switch (settings.arrival()) {
+            case CONSTANT -> Math.round(meanGapNanos);
+            case POISSON -> Math.round(-Math.log(1.0 - random.nextDouble()) * meanGapNanos);
+        };
+    }
+
+    /**
+     * Parks until shortly before the deadline, then spins, so arrivals stay on schedule at high rates.
+     *
+     * @param deadline the {@link System#nanoTime()} to wait for
+     */
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
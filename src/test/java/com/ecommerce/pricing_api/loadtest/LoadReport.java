@@ -0,0 +1,108 @@
+package com.ecommerce.pricing_api.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a measured load test phase. Latencies are measured from the time each request was scheduled to be
+ * sent, not from when it was actually sent, so time spent waiting for a free slot counts, and a stalled server
+ * cannot hide its latency by slowing the generator down (coordinated omission).
+ *
+ * @param targetRate  the requested arrival rate, in requests per second
+ * @param duration    the duration of the phase
+ * @param requests    the requests scheduled
+ * @param ok          the responses with status 200
+ * @param notFound    the responses with status 404
+ * @param otherStatus the responses with any other status
+ * @param errors      the requests that failed without a response
+ * @param p50Nanos    the median latency
+ * @param p99Nanos    the 99th percentile latency
+ * @param p999Nanos   the 99.9th percentile latency
+ * @param maxNanos    the highest latency
+ */
+record LoadReport(
+        int targetRate,
+        Duration duration,
+        long requests,
+        long ok,
+        long notFound,
+        long otherStatus,
+        long errors,
+        long p50Nanos,
+        long p99Nanos,
+        long p999Nanos,
+        long maxNanos
+) {
+
+    /**
+     * Builds the report of a phase from the latencies of its completed requests.
+     *
+     * @param targetRate the requested arrival rate
+     * @param duration   the duration of the phase
+     * @param requests   the requests scheduled
+     * @param statuses   the responses by status: 200, 404 and any other
+     * @param errors     the requests that failed without a response
+     * @param latencies  the latency of every response, in nanoseconds, in any order; sorted in place
+     * @param count      the number of latencies recorded at the start of the array
+     * @return the report
+     */
+    static LoadReport of(int targetRate, Duration duration, long requests, long[] statuses, long errors,
+                         long[] latencies, int count) {
+        Arrays.sort(latencies, 0, count);
+        return new LoadReport(targetRate, duration, requests, statuses[0], statuses[1], statuses[2], errors,
+                percentile(latencies, count, 0.50),
+                percentile(latencies, count, 0.99),
+                percentile(latencies, count, 0.999),
+                count == 0 ? 0 : latencies[count - 1]);
+    }
+
+    /**
+     * Returns the responses received per second over the phase.
+     *
+     * @return the achieved throughput
+     */
+    double throughput() {
+        return (ok + notFound + otherStatus) / (duration.toNanos() / 1e9);
+    }
+
+    /**
+     * Formats the report for the console.
+     *
+     * @return a one-line summary
+     */
+    String format() {
+        return String.format(Locale.ROOT,
+                "[load-test] target=%d req/s achieved=%.0f req/s requests=%d ok=%d notFound=%d other=%d errors=%d "
+                        + "p50=%.2f ms p99=%.2f ms p999=%.2f ms max=%.2f ms",
+                targetRate, throughput(), requests, ok, notFound, otherStatus, errors,
+                millis(p50Nanos), millis(p99Nanos), millis(p999Nanos), millis(maxNanos));
+    }
+
+    /**
+     * Formats the report as JSON, so runs can be compared by tools.
+     *
+     * @return the report as a JSON object
+     */
+    String toJson() {
+        return String.format(Locale.ROOT,
+                "{\"targetRate\":%d,\"durationSeconds\":%d,\"throughput\":%.1f,\"requests\":%d,\"ok\":%d,"
+                        + "\"notFound\":%d,\"otherStatus\":%d,\"errors\":%d,"
+                        + "\"latencyMillis\":{\"p50\":%.3f,\"p99\":%.3f,\"p999\":%.3f,\"max\":%.3f}}",
+                targetRate, duration.toSeconds(), throughput(), requests, ok, notFound, otherStatus, errors,
+                millis(p50Nanos), millis(p99Nanos), millis(p999Nanos), millis(maxNanos));
+    }
+
+    private static long percentile(long[] sorted, int count, double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
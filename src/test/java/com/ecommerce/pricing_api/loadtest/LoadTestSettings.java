@@ -0,0 +1,73 @@
+package com.ecommerce.pricing_api.loadtest;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Settings of a load test run, read from {@code loadtest.*} system properties so they can be passed on the Maven
+ * command line, e.g. {@code mvn test -Pload-test -Dloadtest.rate=5000 -Dloadtest.distribution=uniform}.
+ *
+ * @param rate             target request arrival rate, in requests per second
+ * @param arrival          how arrivals are spaced around the target rate
+ * @param warmUp           duration of the unmeasured warm-up phase
+ * @param duration         duration of the measured phase
+ * @param concurrency      maximum number of requests in flight; later arrivals wait for a slot
+ * @param keys             number of distinct product keys seeded and requested
+ * @param pricesPerKey     number of price entries seeded per key
+ * @param distribution     how requests are spread over the keys
+ * @param zipfExponent     skew of the Zipfian distribution, {@code 0} being uniform
+ * @param missingKeyRatio  share of requests for products without prices, served as 404
+ */
+record LoadTestSettings(
+        int rate,
+        Arrival arrival,
+        Duration warmUp,
+        Duration duration,
+        int concurrency,
+        int keys,
+        int pricesPerKey,
+        Distribution distribution,
+        double zipfExponent,
+        double missingKeyRatio
+) {
+
+    /**
+     * How the arrival times of the requests are spaced.
+     */
+    enum Arrival {
+        /** A request every {@code 1 / rate} seconds. */
+        CONSTANT,
+        /** Exponentially distributed gaps averaging {@code 1 / rate} seconds, as independent clients would produce. */
+        POISSON
+    }
+
+    /**
+     * How the requested keys are picked.
+     */
+    enum Distribution {
+        /** Every key equally likely. */
+        UNIFORM,
+        /** The key of rank {@code k} requested proportionally to {@code 1 / k^s}. */
+        ZIPF
+    }
+
+    /**
+     * Reads the settings from the system properties, with defaults sized for a laptop.
+     *
+     * @return the settings of the run
+     */
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.rate", 2_000),
+                Arrival.valueOf(System.getProperty("loadtest.arrival", "poisson").toUpperCase(Locale.ROOT)),
+                Duration.ofSeconds(Long.getLong("loadtest.warm-up-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30)),
+                Integer.getInteger("loadtest.concurrency", 256),
+                Integer.getInteger("loadtest.keys", 10_000),
+                Integer.getInteger("loadtest.prices-per-key", 4),
+                Distribution.valueOf(System.getProperty("loadtest.distribution", "zipf").toUpperCase(Locale.ROOT)),
+                Double.parseDouble(System.getProperty("loadtest.zipf-exponent", "0.99")),
+                Double.parseDouble(System.getProperty("loadtest.missing-key-ratio", "0.0"))
+        );
+    }
+}
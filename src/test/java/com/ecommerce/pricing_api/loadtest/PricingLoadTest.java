@@ -0,0 +1,169 @@
+package com.ecommerce.pricing_api.loadtest;
+
+import com.ecommerce.pricing_api.PricingApiApplication;
+import com.ecommerce.pricing_api.support.RedisStandIn;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test of {@code GET /api/v1/prices}, runnable on a single machine without external services.
+ * <p>
+ * Starts a {@link RedisStandIn} and the whole application against it, seeds {@code loadtest.keys} products
+ * through the bulk write endpoint, then drives open-loop traffic with a {@link LoadGenerator}: an unmeasured
+ * warm-up phase, which also fills the caches, followed by the measured phase. Products are picked with the
+ * configured {@link KeyDistribution} and application dates uniformly over the seeded period.
+ * </p>
+ * <p>
+ * Run with {@code mvn test -Pload-test}, tuned with the {@code loadtest.*} properties of
+ * {@link LoadTestSettings}. The report is printed and written to {@code target/load-test-result.json}.
+ * </p>
+ */
+@Tag("load-test")
+class PricingLoadTest {
+
+    private static final long FIRST_PRODUCT_ID = 1_000_000L;
+    private static final long FIRST_ENTRY_ID = 1_000_000L;
+    private static final LocalDateTime PERIOD_START = LocalDateTime.of(2020, 6, 14, 0, 0);
+    private static final int PERIOD_DAYS = 200;
+    private static final int DATES = 4_096;
+    private static final Path RESULT = Path.of("target", "load-test-result.json");
+
+    @Test
+    @DisplayName("Load test of the price lookup endpoint")
+    void loadTestPriceLookup() throws IOException, InterruptedException {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        System.out.println("[load-test] " + settings);
+
+        try (RedisStandIn redis = new RedisStandIn();
+             ConfigurableApplicationContext application = start(redis)) {
+            int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+            ConnectionProvider connections = ConnectionProvider.builder("load-test")
+                    .maxConnections(settings.concurrency())
+                    .pendingAcquireMaxCount(-1)
+                    .build();
+            HttpClient client = HttpClient.create(connections).baseUrl("http://127.0.0.1:" + port);
+            try {
+                seed(client, settings);
+                System.out.println("[load-test] seeded " + settings.keys() + " keys");
+
+                LoadGenerator generator = new LoadGenerator(client, settings, requests(settings));
+                System.out.println("[load-test] warm-up " + generator.run(settings.warmUp()).format());
+                LoadReport report = generator.run(settings.duration());
+
+                System.out.println(report.format());
+                Files.createDirectories(RESULT.getParent());
+                Files.writeString(RESULT, report.toJson());
+
+                assertThat(report.errors()).isZero();
+                assertThat(report.otherStatus()).isZero();
+                assertThat(report.ok()).isPositive();
+            } finally {
+                connections.dispose();
+            }
+        }
+    }
+
+    /**
+     * Starts the application on a random port against the Redis stand-in, logging warnings only.
+     *
+     * @param redis the Redis stand-in
+     * @return the running application
+     */
+    private static ConfigurableApplicationContext start(RedisStandIn redis) {
+        return new SpringApplicationBuilder(PricingApiApplication.class).run(
+                "--APP_ENV=prod",
+                "--APP_REGION=es",
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.redis.host=127.0.0.1",
+                "--spring.redis.port=" + redis.port(),
+                "--pricing.warm-up.enabled=false",
+                "--logging.level.com.ecommerce.pricing_api=WARN"
+        );
+    }
+
+    /**
+     * Writes the prices of every key with a single streamed bulk upsert: a base price over the whole period and
+     * higher-priority promotions of a few days.
+     *
+     * @param client   the client bound to the application
+     * @param settings the number of keys and of prices per key
+     */
+    private static void seed(HttpClient client, LoadTestSettings settings) {
+        Flux<String> lines = Flux.range(0, settings.keys())
+                .concatMap(rank -> Flux.range(0, settings.pricesPerKey()).map(index -> entry(rank, index, settings.pricesPerKey())));
+
+        Integer status = client
+                .headers(headers -> headers.set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+                .post()
+                .uri("/api/v1/prices/entries/bulk")
+                .send(ByteBufFlux.fromString(lines))
+                .responseSingle((response, body) -> body.asString().defaultIfEmpty("")
+                        .map(text -> response.status().code()))
+                .block(Duration.ofMinutes(5));
+        assertThat(status).as("seed status").isEqualTo(200);
+    }
+
+    /**
+     * Builds the NDJSON line of a seeded price.
+     *
+     * @param rank  the rank of the key
+     * @param index the index of the price within the key, {@code 0} being the base price
+     * @param count the number of prices per key
+     * @return the entry as a JSON line
+     */
+    private static String entry(int rank, int index, int count) {
+        LocalDateTime start = index == 0 ? PERIOD_START : PERIOD_START.plusDays((rank * 31L + index * 47L) % (PERIOD_DAYS - 7));
+        LocalDateTime end = index == 0 ? PERIOD_START.plusDays(PERIOD_DAYS).minusSeconds(1) : start.plusDays(1 + index % 7);
+        return String.format(
+                "{\"id\":%d,\"brandId\":1,\"startDate\":\"%s\",\"endDate\":\"%s\",\"priceList\":%d,"
+                        + "\"productId\":%d,\"priority\":%d,\"price\":%d.%02d,\"currency\":\"EUR\"}%n",
+                FIRST_ENTRY_ID + (long) rank * count + index, ISO_LOCAL_DATE_TIME.format(start),
+                ISO_LOCAL_DATE_TIME.format(end), index + 1,
+                FIRST_PRODUCT_ID + rank, index == 0 ? 0 : 1, 10 + (rank + index) % 90, index * 5);
+    }
+
+    /**
+     * Builds the request URIs: the product is picked with the configured distribution, or among unseeded products
+     * for the configured share of missing keys, and the application date uniformly over the seeded period.
+     *
+     * @param settings the key distribution and share of missing keys
+     * @return the URI of each arrival, called from the generator thread only
+     */
+    private static IntFunction<String> requests(LoadTestSettings settings) {
+        KeyDistribution distribution = KeyDistribution.of(settings);
+        SplittableRandom random = new SplittableRandom(7);
+        String[] dates = new String[DATES];
+        for (int i = 0; i < DATES; i++) {
+            dates[i] = ISO_LOCAL_DATE_TIME.format(PERIOD_START.plusMinutes(random.nextLong(PERIOD_DAYS * 24L * 60)));
+        }
+        return sequence -> {
+            long productId = random.nextDouble() < settings.missingKeyRatio()
+                    ? FIRST_PRODUCT_ID + settings.keys() + distribution.next(random)
+                    : FIRST_PRODUCT_ID + distribution.next(random);
+            return "/api/v1/prices?applicationDate=" + dates[random.nextInt(DATES)]
+                    + "&productId=" + productId + "&brandId=1";
+        };
+    }
+}
@@ -0,0 +1,124 @@
+package com.ecommerce.pricing_api.support;
+
+import com.ecommerce.pricing_api.application.repository.CacheLookup;
+import com.ecommerce.pricing_api.application.repository.PricesCacheRepository;
+import com.ecommerce.pricing_api.domain.model.PriceTimeline;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * In-memory {@link PricesCacheRepository} standing for Redis, into which faults can be injected at any time:
+ * every operation then fails with a connection error, or never answers.
+ * <p>
+ * Timelines are kept in a map, and keys saved as empty are kept as {@link PriceTimeline#empty()}. Every call
+ * reaching the repository is counted, including the ones that fail, so tests can tell whether a caller stopped
+ * sending calls.
+ * </p>
+ */
+public class FaultInjectingCacheRepository implements PricesCacheRepository {
+
+    /**
+     * Faults that can be injected.
+     */
+    public enum Fault {
+        /**
+         * Operations behave normally.
+         */
+        NONE,
+        /**
+         * Operations fail immediately with a {@link RedisConnectionFailureException}.
+         */
+        ERROR,
+        /**
+         * Operations never complete, as with a stalled connection.
+         */
+        HANG
+    }
+
+    private final Map<String, PriceTimeline> values = new ConcurrentHashMap<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile Fault fault = Fault.NONE;
+
+    /**
+     * Makes every subsequent operation behave as the given fault.
+     *
+     * @param fault the fault to inject, or {@link Fault#NONE} to heal the repository
+     */
+    public void inject(Fault fault) {
+        this.fault = fault;
+    }
+
+    /**
+     * Returns the number of operations received so far.
+     *
+     * @return the number of calls
+     */
+    public int calls() {
+        return calls.get();
+    }
+
+    /**
+     * Tells whether a timeline or an empty marker is stored under the key.
+     *
+     * @param key the cache key
+     * @return {@code true} if the key is stored
+     */
+    public boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    @Override
+    public Mono<Void> save(String key, PriceTimeline timeline) {
+        return call(() -> Mono.fromRunnable(() -> values.put(key, timeline)));
+    }
+
+    @Override
+    public Mono<Void> saveEmpty(String key) {
+        return call(() -> Mono.fromRunnable(() -> values.put(key, PriceTimeline.empty())));
+    }
+
+    @Override
+    public Mono<CacheLookup> lookup(String key) {
+        return call(() -> Mono.fromSupplier(() -> lookupNow(key)));
+    }
+
+    @Override
+    public Mono<Map<String, CacheLookup>> lookupAll(Collection<String> keys) {
+        return call(() -> Mono.fromSupplier(() -> {
+            Map<String, CacheLookup> lookups = new HashMap<>();
+            keys.forEach(key -> lookups.put(key, lookupNow(key)));
+            return lookups;
+        }));
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Collection<String> keys) {
+        return call(() -> Mono.fromRunnable(() -> keys.forEach(values::remove)));
+    }
+
+    private CacheLookup lookupNow(String key) {
+        PriceTimeline timeline = values.get(key);
+        if (timeline == null) {
+            return CacheLookup.miss();
+        }
+        return timeline.segments().isEmpty() ? CacheLookup.knownEmpty() : CacheLookup.of(timeline);
+    }
+
+    private <T> Mono<T> call(Supplier<Mono<T>> operation) {
+        return Mono.defer(() -> {
+            calls.incrementAndGet();
+            return switch (fault) {
+                case NONE -> operation.get();
+                case ERROR -> Mono.error(new RedisConnectionFailureException("Injected Redis failure"));
+                case HANG -> Mono.never();
+            };
+        });
+    }
+}
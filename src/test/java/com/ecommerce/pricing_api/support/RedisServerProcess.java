@@ -0,0 +1,232 @@
+package com.ecommerce.pricing_api.support;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A real {@code redis-server} process started on a free loopback port, for the tests that need what
+ * {@link RedisStandIn} does not speak: replication, Sentinel and Redis Cluster.
+ * <p>
+ * The executable is taken from the {@code redis.server} system property or the {@code REDIS_SERVER} environment
+ * variable, and defaults to {@code redis-server} on the path; tests should skip themselves when
+ * {@link #isAvailable()} is {@code false}. Each process runs without persistence in its own temporary directory,
+ * where its log is written, and is killed and cleaned up on {@link #close()}.
+ * </p>
+ */
+public class RedisServerProcess implements AutoCloseable {
+
+    private static final String EXECUTABLE =
+            System.getProperty("redis.server", System.getenv().getOrDefault("REDIS_SERVER", "redis-server"));
+    private static final long STARTUP_TIMEOUT_MILLIS = 10_000;
+    private static final int CLUSTER_BUS_PORT_OFFSET = 10_000;
+
+    private final Process process;
+    private final int port;
+    private final Path directory;
+
+    private RedisServerProcess(List<String> command, int port, Path directory) throws IOException {
+        this.port = port;
+        this.directory = directory;
+        this.process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(directory.resolve("redis.log").toFile())
+                .start();
+        awaitReady();
+    }
+
+    /**
+     * Tells whether the {@code redis-server} executable can be run.
+     *
+     * @return {@code true} if the executable answered {@code --version}
+     */
+    public static boolean isAvailable() {
+        try {
+            Process version = new ProcessBuilder(EXECUTABLE, "--version").redirectErrorStream(true).start();
+            version.getInputStream().readAllBytes();
+            return version.waitFor(5, TimeUnit.SECONDS) && version.exitValue() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Starts a server with the given extra options, such as {@code --replicaof}.
+     *
+     * @param options the command line options added after the port, bind address and persistence options
+     * @return the started server, answering {@code PING}
+     * @throws IOException if the server cannot be started or does not answer in time
+     */
+    public static RedisServerProcess start(String... options) throws IOException {
+        return start(freePort(), options);
+    }
+
+    /**
+     * Starts a node with cluster mode enabled, not yet part of any cluster. Its port is chosen so that its
+     * cluster bus port, ten thousand above, is free too.
+     *
+     * @return the started node, answering {@code PING}
+     * @throws IOException if the node cannot be started or does not answer in time
+     */
+    public static RedisServerProcess startClusterNode() throws IOException {
+        int port;
+        do {
+            port = freePort();
+        } while (port + CLUSTER_BUS_PORT_OFFSET > 65_535 || !isFree(port + CLUSTER_BUS_PORT_OFFSET));
+        return start(port, "--cluster-enabled", "yes", "--cluster-config-file", "nodes.conf",
+                "--cluster-node-timeout", "2000");
+    }
+
+    private static RedisServerProcess start(int port, String... options) throws IOException {
+        Path directory = Files.createTempDirectory("redis-" + port + "-");
+        List<String> command = new ArrayList<>(List.of(EXECUTABLE,
+                "--port", String.valueOf(port),
+                "--bind", "127.0.0.1",
+                "--save", "",
+                "--appendonly", "no",
+                "--dir", directory.toString()));
+        command.addAll(List.of(options));
+        return new RedisServerProcess(command, port, directory);
+    }
+
+    /**
+     * Starts a Sentinel monitoring the master running on the given loopback port under the given name.
+     *
+     * @param masterName the name the master is monitored under
+     * @param masterPort the port of the master
+     * @return the started Sentinel, answering {@code PING}
+     * @throws IOException if the Sentinel cannot be started or does not answer in time
+     */
+    public static RedisServerProcess startSentinel(String masterName, int masterPort) throws IOException {
+        int port = freePort();
+        Path directory = Files.createTempDirectory("sentinel-" + port + "-");
+        Path config = directory.resolve("sentinel.conf");
+        Files.writeString(config, String.join("\n",
+                "port " + port,
+                "bind 127.0.0.1",
+                "dir " + directory,
+                "sentinel monitor " + masterName + " 127.0.0.1 " + masterPort + " 1",
+                "sentinel down-after-milliseconds " + masterName + " 1000",
+                ""));
+        return new RedisServerProcess(List.of(EXECUTABLE, config.toString(), "--sentinel"), port, directory);
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the local port
+     */
+    public int port() {
+        return port;
+    }
+
+    /**
+     * Returns the {@code host:port} address of the server, as configured in {@code spring.redis.nodes}.
+     *
+     * @return the node address
+     */
+    public String node() {
+        return "127.0.0.1:" + port;
+    }
+
+    /**
+     * Runs commands against the server over a dedicated connection, closed once they are done.
+     *
+     * @param commands the commands to run
+     * @param <T>      the type of their result
+     * @return the result of the commands
+     */
+    public <T> T sync(Function<RedisCommands<String, String>, T> commands) {
+        RedisClient client = RedisClient.create(RedisURI.create("127.0.0.1", port));
+        try (StatefulRedisConnection<String, String> connection = client.connect()) {
+            return commands.apply(connection.sync());
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        process.destroy();
+        try {
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor(5, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    private void awaitReady() throws IOException {
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("redis-server exited with " + process.exitValue() + ": "
+                        + Files.readString(directory.resolve("redis.log")));
+            }
+            if (answersPing()) {
+                return;
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        close();
+        throw new IOException("redis-server did not answer on port " + port);
+    }
+
+    private boolean answersPing() {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setSoTimeout(1_000);
+            OutputStream out = socket.getOutputStream();
+            out.write("PING\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            byte[] reply = in.readNBytes(5);
+            return new String(reply, StandardCharsets.US_ASCII).equals("+PONG");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static boolean isFree(int port) {
+        try (ServerSocket socket = new ServerSocket(port, 1, InetAddress.getLoopbackAddress())) {
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.ecommerce.pricing_api.support;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Minimal local stand-in for a Redis server, speaking just enough RESP2 for the tests and the load test to run
+ * the application without an external Redis:
+ * <ul>
+ *     <li>connection: {@code PING}, {@code CLIENT}, {@code SELECT}, {@code INFO}, {@code QUIT};</li>
+ *     <li>strings: {@code GET}, {@code MGET}, {@code SET} (with {@code EX} or {@code PX}), {@code DEL},
+ *     {@code EXISTS}, {@code FLUSHALL};</li>
+ *     <li>pub/sub: {@code SUBSCRIBE}, {@code UNSUBSCRIBE}, {@code PUBLISH}.</li>
+ * </ul>
+ * {@code HELLO} is rejected as an unknown command, so clients fall back to RESP2. Values are kept as raw bytes and
+ * expire lazily, when read. Each connection is served by its own thread, and replies to pipelined commands are
+ * flushed together once the pipeline is drained.
+ */
+public class RedisStandIn implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final Map<String, Value> values = new ConcurrentHashMap<>();
+    private final Map<String, Set<Connection>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Starts the stand-in on a free loopback port.
+     *
+     * @throws IOException if the server socket cannot be opened
+     */
+    public RedisStandIn() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::accept, "redis-stand-in-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Returns the port the stand-in listens on.
+     *
+     * @return the local port
+     */
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns the number of keys currently stored, expired or not.
+     *
+     * @return the number of stored keys
+     */
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.forEach(Connection::close);
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Connection connection = new Connection(socket);
+                connections.add(connection);
+                Thread reader = new Thread(connection::serve, "redis-stand-in-connection");
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private int publish(String channel, byte[] message) {
+        Set<Connection> receivers = subscribers.getOrDefault(channel, Set.of());
+        receivers.forEach(receiver -> receiver.push(array(bulk("message"), bulk(channel), bulk(message))));
+        return receivers.size();
+    }
+
+    private byte[] get(String key) {
+        Value value = values.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (value.expired()) {
+            values.remove(key, value);
+            return null;
+        }
+        return value.bytes();
+    }
+
+    private static byte[] bulk(String value) {
+        return bulk(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] bulk(byte[] value) {
+        if (value == null) {
+            return ascii("$-1\r\n");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(value.length + 16);
+        out.writeBytes(ascii("$" + value.length + "\r\n"));
+        out.writeBytes(value);
+        out.writeBytes(ascii("\r\n"));
+        return out.toByteArray();
+    }
+
+    private static byte[] array(byte[]... elements) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(ascii("*" + elements.length + "\r\n"));
+        for (byte[] element : elements) {
+            out.writeBytes(element);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] integer(long value) {
+        return ascii(":" + value + "\r\n");
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String text(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A stored value and the wall-clock time at which it expires, or {@code 0} if it never does.
+     */
+    private record Value(byte[] bytes, long expiresAtMillis) {
+
+        boolean expired() {
+            return expiresAtMillis != 0 && System.currentTimeMillis() >= expiresAtMillis;
+        }
+    }
+
+    private final class Connection {
+
+        private static final byte[] OK = ascii("+OK\r\n");
+
+        private final Socket socket;
+        private final Set<String> channels = new CopyOnWriteArraySet<>();
+        private OutputStream out;
+
+        private Connection(Socket socket) {
+            this.socket = socket;
+        }
+
+        private void serve() {
+            try (InputStream in = new BufferedInputStream(socket.getInputStream());
+                 OutputStream buffered = new BufferedOutputStream(socket.getOutputStream())) {
+                synchronized (this) {
+                    out = buffered;
+                }
+                List<byte[]> command;
+                while ((command = readCommand(in)) != null) {
+                    byte[] reply = handle(command);
+                    synchronized (this) {
+                        if (reply != null) {
+                            out.write(reply);
+                        }
+                        if (in.available() == 0) {
+                            out.flush();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // connection closed by the client or by close()
+            } finally {
+                channels.forEach(channel -> subscribers.getOrDefault(channel, Set.of()).remove(this));
+                connections.remove(this);
+                close();
+            }
+        }
+
+        private byte[] handle(List<byte[]> command) {
+            List<String> args = command.stream().map(RedisStandIn::text).toList();
+            return switch (args.get(0).toUpperCase(Locale.ROOT)) {
+                case "PING" -> ascii("+PONG\r\n");
+                case "CLIENT", "SELECT", "QUIT" -> OK;
+                case "INFO" -> bulk("# Server\r\nredis_version:7.0.0\r\n");
+                case "GET" -> bulk(get(args.get(1)));
+                case "MGET" -> {
+                    byte[][] replies = new byte[args.size() - 1][];
+                    for (int i = 1; i < args.size(); i++) {
+                        replies[i - 1] = bulk(get(args.get(i)));
+                    }
+                    yield array(replies);
+                }
+                case "SET" -> {
+                    long expiresAt = 0;
+                    for (int i = 3; i + 1 < args.size(); i += 2) {
+                        String option = args.get(i).toUpperCase(Locale.ROOT);
+                        long amount = Long.parseLong(args.get(i + 1));
+                        if (option.equals("EX")) {
+                            expiresAt = System.currentTimeMillis() + amount * 1000;
+                        } else if (option.equals("PX")) {
+                            expiresAt = System.currentTimeMillis() + amount;
+                        }
+                    }
+                    values.put(args.get(1), new Value(command.get(2), expiresAt));
+                    yield OK;
+                }
+                case "DEL", "EXISTS" -> {
+                    boolean delete = args.get(0).equalsIgnoreCase("DEL");
+                    long count = 0;
+                    for (int i = 1; i < args.size(); i++) {
+                        if (get(args.get(i)) != null) {
+                            count++;
+                        }
+                        if (delete) {
+                            values.remove(args.get(i));
+                        }
+                    }
+                    yield integer(count);
+                }
+                case "FLUSHALL", "FLUSHDB" -> {
+                    values.clear();
+                    yield OK;
+                }
+                case "PUBLISH" -> integer(publish(args.get(1), command.get(2)));
+                case "SUBSCRIBE" -> {
+                    ByteArrayOutputStream replies = new ByteArrayOutputStream();
+                    args.subList(1, args.size()).forEach(channel -> {
+                        channels.add(channel);
+                        subscribers.computeIfAbsent(channel, c -> new CopyOnWriteArraySet<>()).add(this);
+                        replies.writeBytes(array(bulk("subscribe"), bulk(channel), integer(channels.size())));
+                    });
+                    yield replies.toByteArray();
+                }
+                case "UNSUBSCRIBE" -> {
+                    List<String> targets = args.size() > 1 ? args.subList(1, args.size()) : new ArrayList<>(channels);
+                    ByteArrayOutputStream replies = new ByteArrayOutputStream();
+                    targets.forEach(channel -> {
+                        channels.remove(channel);
+                        subscribers.getOrDefault(channel, Set.of()).remove(this);
+                        replies.writeBytes(array(bulk("unsubscribe"), bulk(channel), integer(channels.size())));
+                    });
+                    yield replies.toByteArray();
+                }
+                default -> ascii("-ERR unknown command '" + args.get(0) + "'\r\n");
+            };
+        }
+
+        /**
+         * Writes a message published by another connection, flushing it right away.
+         *
+         * @param message the encoded message
+         */
+        private synchronized void push(byte[] message) {
+            if (out == null) {
+                return;
+            }
+            try {
+                out.write(message);
+                out.flush();
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        private void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // already closed
+            }
+        }
+
+        private static List<byte[]> readCommand(InputStream in) throws IOException {
+            String header = readLine(in);
+            if (header == null) {
+                return null;
+            }
+            int count = Integer.parseInt(header.substring(1));
+            List<byte[]> arguments = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int length = Integer.parseInt(readLine(in).substring(1));
+                byte[] value = in.readNBytes(length);
+                in.readNBytes(2);
+                arguments.add(value);
+            }
+            return arguments;
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            StringBuilder line = new StringBuilder();
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\r') {
+                    in.read();
+                    return line.toString();
+                }
+                line.append((char) b);
+            }
+            return null;
+        }
+    }
+}